@@ -20,7 +20,12 @@ import android.os.Parcelable;
 import android.support.v4.content.ContextCompat;
 import android.test.AndroidTestCase;
 import android.util.AttributeSet;
+import android.util.Log;
 import android.util.Xml;
+import android.view.View;
+import android.view.ViewGroup;
+
+import junit.framework.Assert;
 
 import org.xmlpull.v1.XmlPullParser;
 
@@ -37,6 +42,106 @@ import de.mrapp.android.validation.AbstractValidateableView.SavedState;
  */
 public class AbstractValidateableViewTest extends AndroidTestCase {
 
+    /**
+     * The number of views, which are created in order to measure the costs of the different modes,
+     * which may be used to render messages.
+     */
+    private static final int BENCHMARK_VIEW_COUNT = 40;
+
+    /**
+     * Returns the number of bytes, which are currently used on the Java heap, after running the
+     * garbage collector.
+     *
+     * @return The number of bytes, which are currently used on the Java heap, as a {@link Long}
+     * value
+     */
+    private long getUsedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+
+        for (int i = 0; i < 3; i++) {
+            runtime.gc();
+            runtime.runFinalization();
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Creates multiple views and returns the average number of bytes, which are retained by each
+     * of them.
+     *
+     * @param showMessage
+     *         True, if a message should be shown by each view, false otherwise
+     * @return The average number of bytes, which are retained by each view, as a {@link Long}
+     * value
+     */
+    private long measureRetainedSize(final boolean showMessage) {
+        AbstractValidateableViewImplementation[] views =
+                new AbstractValidateableViewImplementation[BENCHMARK_VIEW_COUNT];
+        long usedMemory = getUsedMemory();
+
+        for (int i = 0; i < views.length; i++) {
+            views[i] = new AbstractValidateableViewImplementation(getContext());
+
+            if (showMessage) {
+                views[i].setHelperText("helperText");
+            }
+        }
+
+        long retainedSize = (getUsedMemory() - usedMemory) / views.length;
+        assertEquals(BENCHMARK_VIEW_COUNT, views.length);
+        return retainedSize;
+    }
+
+    /**
+     * Returns the number of views, a specific view consists of, including the view itself.
+     *
+     * @param view
+     *         The view as an instance of the class {@link View}
+     * @return The number of views, the given view consists of, as an {@link Integer} value
+     */
+    private int countViews(final View view) {
+        int count = 1;
+
+        if (view instanceof ViewGroup) {
+            ViewGroup viewGroup = (ViewGroup) view;
+
+            for (int i = 0; i < viewGroup.getChildCount(); i++) {
+                count += countViews(viewGroup.getChildAt(i));
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Creates, measures and lays out multiple views, which use a specific mode to render messages,
+     * and returns the time, this took.
+     *
+     * @param mode
+     *         The mode, which should be used to render messages, as a value of the enum {@link
+     *         MessageRenderingMode}
+     * @return The time, it took to create, measure and lay out the views, in nanoseconds as a
+     * {@link Long} value
+     */
+    private long benchmark(final MessageRenderingMode mode) {
+        int widthMeasureSpec = View.MeasureSpec.makeMeasureSpec(1080, View.MeasureSpec.EXACTLY);
+        int heightMeasureSpec = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+        long startTime = System.nanoTime();
+
+        for (int i = 0; i < BENCHMARK_VIEW_COUNT; i++) {
+            AbstractValidateableViewImplementation abstractValidateableView =
+                    new AbstractValidateableViewImplementation(getContext());
+            abstractValidateableView.setMessageRenderingMode(mode);
+            abstractValidateableView.setHelperText("helperText");
+            abstractValidateableView.measure(widthMeasureSpec, heightMeasureSpec);
+            abstractValidateableView.layout(0, 0, abstractValidateableView.getMeasuredWidth(),
+                    abstractValidateableView.getMeasuredHeight());
+        }
+
+        return System.nanoTime() - startTime;
+    }
+
     /**
      * Tests, if all properties are set correctly by the constructor, which expects a context as a
      * parameter.
@@ -438,4 +543,93 @@ public class AbstractValidateableViewTest extends AndroidTestCase {
         assertEquals(errorMessage, restoredAbstractValidateableView.getError());
     }
 
-}
\ No newline at end of file
+    /**
+     * Tests the functionality of the method, which allows to set the mode, which is used to render
+     * messages.
+     */
+    public final void testSetMessageRenderingMode() {
+        CharSequence error = "error";
+        AbstractValidateableViewImplementation abstractValidateableView =
+                new AbstractValidateableViewImplementation(getContext());
+        assertEquals(MessageRenderingMode.TEXT_VIEWS,
+                abstractValidateableView.getMessageRenderingMode());
+        abstractValidateableView.setError(error);
+        int textViewsCount = countViews(abstractValidateableView);
+        abstractValidateableView.setMessageRenderingMode(MessageRenderingMode.SINGLE_VIEW);
+        assertEquals(MessageRenderingMode.SINGLE_VIEW,
+                abstractValidateableView.getMessageRenderingMode());
+        assertEquals(error, abstractValidateableView.getError());
+        assertEquals(textViewsCount - 2, countViews(abstractValidateableView));
+        abstractValidateableView.setErrorColor(Color.RED);
+        abstractValidateableView.setError(null);
+        assertNull(abstractValidateableView.getError());
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown, if the mode, which is used to render
+     * messages, is set to null.
+     */
+    public final void testSetMessageRenderingModeThrowsException() {
+        try {
+            new AbstractValidateableViewImplementation(getContext()).setMessageRenderingMode(null);
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+    /**
+     * Measures the time, which is needed to create, measure and lay out views, which use the
+     * different modes to render messages.
+     */
+    public final void testMessageRenderingModeBenchmark() {
+        benchmark(MessageRenderingMode.TEXT_VIEWS);
+        benchmark(MessageRenderingMode.SINGLE_VIEW);
+        long textViewsDuration = benchmark(MessageRenderingMode.TEXT_VIEWS);
+        long singleViewDuration = benchmark(MessageRenderingMode.SINGLE_VIEW);
+        Log.i(getClass().getSimpleName(),
+                "Creating, measuring and laying out " + BENCHMARK_VIEW_COUNT + " views took " +
+                        textViewsDuration / 1000 + "us using text views and " +
+                        singleViewDuration / 1000 + "us using a single view");
+        assertTrue(textViewsDuration > 0);
+        assertTrue(singleViewDuration > 0);
+    }
+
+    /**
+     * Ensures, that the views, which are used to show messages, are not created until the first
+     * message is shown.
+     */
+    public final void testMessageViewsAreCreatedLazily() {
+        AbstractValidateableViewImplementation abstractValidateableView =
+                new AbstractValidateableViewImplementation(getContext());
+        int initialCount = countViews(abstractValidateableView);
+        abstractValidateableView.setErrorColor(Color.RED);
+        abstractValidateableView.setHelperTextColor(Color.BLUE);
+        assertNull(abstractValidateableView.getError());
+        assertEquals(initialCount, countViews(abstractValidateableView));
+        abstractValidateableView.setError("error");
+        assertEquals("error", abstractValidateableView.getError());
+        assertEquals(initialCount + 3, countViews(abstractValidateableView));
+        abstractValidateableView.setError(null);
+        assertNull(abstractValidateableView.getError());
+        assertEquals(initialCount + 3, countViews(abstractValidateableView));
+        abstractValidateableView.setMessageRenderingMode(MessageRenderingMode.SINGLE_VIEW);
+        assertEquals(initialCount, countViews(abstractValidateableView));
+        abstractValidateableView.setHelperText("helperText");
+        assertEquals(initialCount + 1, countViews(abstractValidateableView));
+    }
+
+    /**
+     * Measures the number of bytes, which are retained by views, which do not show any messages,
+     * compared to views, whose views, which are used to show messages, have been created.
+     */
+    public final void testRetainedSizeOfMessageViews() {
+        long lazySize = measureRetainedSize(false);
+        long eagerSize = measureRetainedSize(true);
+        Log.i(getClass().getSimpleName(),
+                "Each view retains " + lazySize + " bytes without messages and " + eagerSize +
+                        " bytes with messages");
+        assertTrue(eagerSize > 0);
+    }
+
+}
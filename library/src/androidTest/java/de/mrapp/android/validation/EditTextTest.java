@@ -16,6 +16,7 @@ package de.mrapp.android.validation;
 import android.content.Context;
 import android.os.Build;
 import android.test.AndroidTestCase;
+import android.text.InputFilter;
 import android.util.AttributeSet;
 import android.util.Xml;
 
@@ -94,4 +95,39 @@ public class EditTextTest extends AndroidTestCase {
         assertEquals(maxNumberOfCharacters, editText.getMaxNumberOfCharacters());
     }
 
+    /**
+     * Tests the functionality of the method, which allows to set, whether the input should be
+     * filtered by the validators of the edit text.
+     */
+    public final void testFilterInput() {
+        EditText editText = new EditText(getContext());
+        assertFalse(editText.isInputFiltered());
+        editText.addValidator(Validators.number("foo"));
+        editText.setText("a1b2");
+        assertEquals("a1b2", editText.getText().toString());
+        editText.filterInput(true);
+        assertTrue(editText.isInputFiltered());
+        editText.setText("a1b2");
+        assertEquals("12", editText.getText().toString());
+        assertEquals(0, editText.getFilters().length);
+        editText.removeAllValidators();
+        editText.setText("a1b2");
+        assertEquals("a1b2", editText.getText().toString());
+    }
+
+    /**
+     * Tests, if the input filters, which have been set by using the method setFilters, are
+     * combined with the input filters of the validators.
+     */
+    public final void testSetFiltersIfInputIsFiltered() {
+        EditText editText = new EditText(getContext());
+        editText.filterInput(true);
+        editText.addValidator(Validators.noWhitespace("foo"));
+        InputFilter[] filters = new InputFilter[]{new InputFilter.LengthFilter(3)};
+        editText.setFilters(filters);
+        assertSame(filters, editText.getFilters());
+        editText.setText("a b c d");
+        assertEquals("abc", editText.getText().toString());
+    }
+
 }
\ No newline at end of file
@@ -25,6 +25,10 @@ import org.xmlpull.v1.XmlPullParser;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.regex.Pattern;
+
+import de.mrapp.android.validation.constraints.text.RegexConstraint;
+import de.mrapp.android.validation.regex.RegexEngine;
 
 /**
  * Tests the functionality of the class {@link PasswordEditText}.
@@ -717,4 +721,29 @@ public class PasswordEditTextTest extends AndroidTestCase {
         assertEquals(prefix + ": " + helperText2, passwordEditText.getHelperText().toString());
     }
 
+    /**
+     * Ensures, that constraints, which use the engine {@link RegexEngine#JAVA}, produce the same
+     * password strength as when they are verified individually, even if their regular
+     * expressions are not supported by the engine {@link RegexEngine#LINEAR}.
+     */
+    public final void testVerifyPasswordStrengthUsingJavaEngine() {
+        String prefix = "prefix";
+        CharSequence helperText1 = "helperText1";
+        CharSequence helperText2 = "helperText2";
+        RegexConstraint javaConstraint =
+                new RegexConstraint(Pattern.compile("(?=.*\\d)(?=.*[a-z]).*"), RegexEngine.JAVA);
+        RegexConstraint linearConstraint = new RegexConstraint(Pattern.compile(".*[a-z].*"),
+                RegexEngine.LINEAR);
+        PasswordEditText passwordEditText = new PasswordEditText(getContext());
+        passwordEditText.setPasswordVerificationPrefix(prefix);
+        passwordEditText.addAllConstraints(javaConstraint, linearConstraint);
+        passwordEditText.addAllHelperTexts(helperText1, helperText2);
+        passwordEditText.setText("abc");
+        assertFalse(javaConstraint.isSatisfied("abc"));
+        assertEquals(prefix + ": " + helperText1, passwordEditText.getHelperText().toString());
+        passwordEditText.setText("abc1");
+        assertTrue(javaConstraint.isSatisfied("abc1"));
+        assertEquals(prefix + ": " + helperText2, passwordEditText.getHelperText().toString());
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation;
+
+import android.content.Context;
+import android.database.DataSetObserver;
+import android.test.AndroidTestCase;
+import android.widget.ArrayAdapter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests the functionality of the class {@link SearchableSpinner}.
+ *
+ * @author Michael Rapp
+ */
+public class SearchableSpinnerTest extends AndroidTestCase {
+
+    /**
+     * Waits until the index of a specific spinner has been built.
+     *
+     * @param spinner
+     *         The spinner as an instance of the class {@link SearchableSpinner}
+     * @throws InterruptedException
+     *         The exception, which is thrown, if the current thread has been interrupted
+     */
+    private void awaitIndex(final SearchableSpinner spinner) throws InterruptedException {
+        long timeout = System.currentTimeMillis() + 5000;
+
+        while (!spinner.isIndexBuilt() && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(spinner.isIndexBuilt());
+    }
+
+    /**
+     * An array adapter, which counts the observers, which are registered at it.
+     */
+    private static class ObservedArrayAdapter extends ArrayAdapter<CharSequence> {
+
+        /**
+         * The number of observers, which are currently registered.
+         */
+        private int observerCount;
+
+        /**
+         * Creates a new array adapter, which counts the observers, which are registered at it.
+         *
+         * @param context
+         *         The context, which should be used by the adapter, as an instance of the class
+         *         {@link Context}
+         * @param items
+         *         A list, which contains the adapter's items, as an instance of the type {@link
+         *         List}
+         */
+        ObservedArrayAdapter(final Context context, final List<CharSequence> items) {
+            super(context, android.R.layout.simple_spinner_item, items);
+        }
+
+        @Override
+        public void registerDataSetObserver(final DataSetObserver observer) {
+            super.registerDataSetObserver(observer);
+            observerCount++;
+        }
+
+        @Override
+        public void unregisterDataSetObserver(final DataSetObserver observer) {
+            super.unregisterDataSetObserver(observer);
+            observerCount--;
+        }
+
+    }
+
+    /**
+     * Tests, if all properties are set correctly by the constructor, which expects a context as a
+     * parameter.
+     */
+    public final void testConstructorWithContextParameter() {
+        SearchableSpinner spinner = new SearchableSpinner(getContext());
+        assertEquals(getContext(), spinner.getContext());
+        assertEquals(getContext().getText(R.string.searchable_spinner_filter_hint),
+                spinner.getFilterHint());
+        assertEquals(0, spinner.getFilterText().length());
+        assertFalse(spinner.isIndexBuilt());
+    }
+
+    /**
+     * Tests the functionality of the setFilterHint-method.
+     */
+    public final void testSetFilterHint() {
+        SearchableSpinner spinner = new SearchableSpinner(getContext());
+        spinner.setFilterHint("foo");
+        assertEquals("foo", spinner.getFilterHint());
+    }
+
+    /**
+     * Tests the functionality of the setFilterText-method.
+     *
+     * @throws InterruptedException
+     *         The exception, which is thrown, if the current thread has been interrupted
+     */
+    public final void testSetFilterText() throws InterruptedException {
+        SearchableSpinner spinner = new SearchableSpinner(getContext());
+        spinner.setAdapter(new ArrayAdapter<CharSequence>(getContext(),
+                android.R.layout.simple_spinner_item,
+                new CharSequence[]{"New York", "Newark", "Zürich"}));
+        awaitIndex(spinner);
+        assertEquals(4, spinner.getCount());
+        spinner.setSelection(2);
+        spinner.setFilterText("new");
+        assertEquals(3, spinner.getCount());
+        assertEquals("Newark", spinner.getSelectedItem());
+        spinner.setFilterText("zur");
+        assertEquals(2, spinner.getCount());
+        assertEquals(0, spinner.getSelectedItemPosition());
+        assertEquals("Zürich", spinner.getItemAtPosition(1));
+        spinner.setFilterText(null);
+        assertEquals(4, spinner.getCount());
+    }
+
+    /**
+     * Ensures, that the selected item remains selected, if the items of the adapter are changed
+     * while a filter is applied.
+     *
+     * @throws InterruptedException
+     *         The exception, which is thrown, if the current thread has been interrupted
+     */
+    public final void testSelectionIsKeptWhenItemsAreChangedWhileFiltered()
+            throws InterruptedException {
+        SearchableSpinner spinner = new SearchableSpinner(getContext());
+        ArrayAdapter<CharSequence> adapter = new ArrayAdapter<>(getContext(),
+                android.R.layout.simple_spinner_item,
+                new ArrayList<CharSequence>(Arrays.asList("Boston", "New York", "Newark")));
+        spinner.setAdapter(adapter);
+        awaitIndex(spinner);
+        spinner.setFilterText("new");
+        spinner.setSelection(2);
+        assertEquals("Newark", spinner.getSelectedItem());
+        adapter.add("Zürich");
+        assertEquals(5, spinner.getCount());
+        assertEquals("Newark", spinner.getSelectedItem());
+        awaitIndex(spinner);
+        assertEquals(3, spinner.getCount());
+        assertEquals("Newark", spinner.getSelectedItem());
+    }
+
+    /**
+     * Ensures, that the observers, which are registered at an adapter, are unregistered, when the
+     * adapter is replaced.
+     */
+    public final void testObserversAreUnregisteredWhenAdapterIsReplaced() {
+        SearchableSpinner spinner = new SearchableSpinner(getContext());
+        ObservedArrayAdapter adapter = new ObservedArrayAdapter(getContext(),
+                new ArrayList<CharSequence>(Arrays.asList("Boston", "New York")));
+        spinner.setAdapter(adapter);
+        assertEquals(2, adapter.observerCount);
+        spinner.setHint("foo");
+        assertEquals(2, adapter.observerCount);
+        spinner.setAdapter(new ArrayAdapter<CharSequence>(getContext(),
+                android.R.layout.simple_spinner_item, new CharSequence[]{"Zürich"}));
+        assertEquals(0, adapter.observerCount);
+    }
+
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.test.AndroidTestCase;
+
+import junit.framework.Assert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import de.mrapp.android.validation.validators.AbstractValidator;
+
+/**
+ * Tests the functionality of the class {@link ValidationDependencyGraph}.
+ *
+ * @author Michael Rapp
+ */
+public class ValidationDependencyGraphTest extends AndroidTestCase {
+
+    /**
+     * A list, which contains the names of the validateables in the order, they have been
+     * validated.
+     */
+    private final List<String> validations = new ArrayList<>();
+
+    /**
+     * Creates and returns a model, whose validations are recorded.
+     *
+     * @param name
+     *         The name of the model as a {@link String}. The name may not be null
+     * @return The model, which has been created, as an instance of the class {@link
+     * ValidationModel}. The model may not be null
+     */
+    private ValidationModel<CharSequence> createModel(@NonNull final String name) {
+        ValidationModel<CharSequence> model = new ValidationModel<>();
+        model.validateOnValueChange(false);
+        model.addValidator(new AbstractValidator<CharSequence>("error") {
+
+            @Override
+            public boolean validate(final CharSequence value) {
+                validations.add(name);
+                return true;
+            }
+
+        });
+        return model;
+    }
+
+    /**
+     * Runs a specific runnable on the main thread and waits until it has finished.
+     *
+     * @param runnable
+     *         The runnable, which should be run, as an instance of the type {@link Runnable}
+     * @throws InterruptedException
+     *         The exception, which is thrown, if the current thread has been interrupted
+     */
+    private void runOnMainThread(@NonNull final Runnable runnable) throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        new Handler(Looper.getMainLooper()).post(new Runnable() {
+
+            @Override
+            public void run() {
+                try {
+                    runnable.run();
+                } finally {
+                    latch.countDown();
+                }
+            }
+
+        });
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Tests, if the transitive dependents of a validateable are validated in topological order
+     * and only once per change.
+     *
+     * @throws InterruptedException
+     *         The exception, which is thrown, if the current thread has been interrupted
+     */
+    public final void testNotifyChanged() throws InterruptedException {
+        final ValidationModel<CharSequence> password = createModel("password");
+        final ValidationModel<CharSequence> confirmation = createModel("confirmation");
+        final ValidationModel<CharSequence> summary = createModel("summary");
+        final ValidationModel<CharSequence> unrelated = createModel("unrelated");
+        final ValidationDependencyGraph graph = new ValidationDependencyGraph();
+        final List<List<String>> results = new ArrayList<>();
+        graph.addDependency(summary, confirmation);
+        graph.addDependency(summary, password);
+        graph.addDependency(confirmation, password);
+        graph.add(unrelated);
+        assertEquals(Arrays.<Validateable<?>>asList(confirmation, summary),
+                graph.getDependents(password));
+        runOnMainThread(new Runnable() {
+
+            @Override
+            public void run() {
+                graph.notifyChanged(password);
+                results.add(new ArrayList<>(validations));
+                confirmation.validate();
+                summary.validate();
+                unrelated.validate();
+                graph.flush();
+                validations.clear();
+                graph.notifyChanged(password);
+                results.add(new ArrayList<>(validations));
+                validations.clear();
+                graph.removeDependency(summary, confirmation);
+                graph.removeDependency(summary, password);
+                graph.notifyChanged(password);
+                results.add(new ArrayList<>(validations));
+            }
+
+        });
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isEmpty());
+        assertEquals(Arrays.asList("confirmation", "summary"), results.get(1));
+        assertEquals(Arrays.asList("confirmation"), results.get(2));
+    }
+
+    /**
+     * Tests, if the dependents of a validateable are validated, after the validateable has been
+     * validated on the main thread.
+     *
+     * @throws InterruptedException
+     *         The exception, which is thrown, if the current thread has been interrupted
+     */
+    public final void testRevalidationAfterValidation() throws InterruptedException {
+        final ValidationModel<CharSequence> password = createModel("password");
+        final ValidationModel<CharSequence> confirmation = createModel("confirmation");
+        final ValidationDependencyGraph graph = new ValidationDependencyGraph();
+        graph.addDependency(confirmation, password);
+        runOnMainThread(new Runnable() {
+
+            @Override
+            public void run() {
+                confirmation.validate();
+                password.validate();
+                password.validate();
+            }
+
+        });
+        runOnMainThread(new Runnable() {
+
+            @Override
+            public void run() {
+
+            }
+
+        });
+        assertEquals(Arrays.asList("confirmation", "password", "password", "confirmation"),
+                validations);
+    }
+
+    /**
+     * Tests, if the dependencies, which are declared by validators, are added to the graph.
+     */
+    public final void testAddDependentValidator() {
+        EditText password = new EditText(getContext());
+        EditText confirmation = new EditText(getContext());
+        confirmation.addValidator(Validators.equal("not equal", password));
+        ValidationDependencyGraph graph = new ValidationDependencyGraph();
+        graph.add(confirmation);
+        assertEquals(Arrays.<Validateable<?>>asList(confirmation), graph.getDependents(password));
+        graph.remove(confirmation);
+        assertTrue(graph.getDependents(password).isEmpty());
+    }
+
+    /**
+     * Ensures, that an {@link IllegalArgumentException} is thrown, if a dependency, which would
+     * introduce a cycle, is added.
+     */
+    public final void testAddDependencyThrowsExceptionOnCycle() {
+        ValidationModel<CharSequence> model1 = createModel("model1");
+        ValidationModel<CharSequence> model2 = createModel("model2");
+        ValidationModel<CharSequence> model3 = createModel("model3");
+        ValidationDependencyGraph graph = new ValidationDependencyGraph();
+        graph.addDependency(model2, model1);
+        graph.addDependency(model3, model2);
+
+        try {
+            graph.addDependency(model1, model3);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+
+        }
+
+        try {
+            graph.addDependency(model1, model1);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+
+        }
+    }
+
+}
@@ -14,12 +14,12 @@
 package de.mrapp.android.validation;
 
 /**
- * An implementation of the interface {@link ValidationListener}, which is needed for test
+ * An implementation of the interface {@link ValidationTimeoutListener}, which is needed for test
  * purposes.
  *
  * @author Michael Rapp
  */
-public class ValidationListenerImplementation implements ValidationListener<CharSequence> {
+public class ValidationListenerImplementation implements ValidationTimeoutListener<CharSequence> {
 
     /**
      * True, if the onValidationSuccess-method has been called, false otherwise.
@@ -31,6 +31,11 @@ public class ValidationListenerImplementation implements ValidationListener<Char
      */
     private boolean onValidationFailure;
 
+    /**
+     * True, if the onValidationTimeout-method has been called, false otherwise.
+     */
+    private boolean onValidationTimeout;
+
     /**
      * Returns, whether the onValidationSuccess-method has been called, or not.
      *
@@ -49,12 +54,22 @@ public class ValidationListenerImplementation implements ValidationListener<Char
         return onValidationFailure;
     }
 
+    /**
+     * Returns, whether the onValidationTimeout-method has been called, or not.
+     *
+     * @return True, if the onValidationTimeout-method has been called, false otherwise
+     */
+    public final boolean hasOnValidationTimeoutBeenCalled() {
+        return onValidationTimeout;
+    }
+
     /**
      * Rests the listener.
      */
     public final void reset() {
         onValidationSuccess = false;
         onValidationFailure = false;
+        onValidationTimeout = false;
     }
 
     @Override
@@ -68,4 +83,10 @@ public class ValidationListenerImplementation implements ValidationListener<Char
         onValidationFailure = true;
     }
 
+    @Override
+    public final void onValidationTimeout(final Validateable<CharSequence> view,
+                                          final Validator<CharSequence> validator) {
+        onValidationTimeout = true;
+    }
+
 }
\ No newline at end of file
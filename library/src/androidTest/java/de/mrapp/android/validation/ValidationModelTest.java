@@ -0,0 +1,280 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation;
+
+import android.test.AndroidTestCase;
+
+import junit.framework.Assert;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import de.mrapp.android.validation.regex.MatchBudget;
+import de.mrapp.android.validation.regex.RegexEngine;
+import de.mrapp.android.validation.regex.TimeoutBehavior;
+import de.mrapp.android.validation.validators.AbstractValidator;
+import de.mrapp.android.validation.validators.text.RegexValidator;
+
+/**
+ * Tests the functionality of the class {@link ValidationModel}.
+ *
+ * @author Michael Rapp
+ */
+public class ValidationModelTest extends AndroidTestCase {
+
+    /**
+     * A validator, which counts its invocations and fails, if a text is shorter than a specific
+     * length.
+     */
+    private static class CountingValidator extends AbstractValidator<CharSequence> {
+
+        /**
+         * The minimum length of valid texts.
+         */
+        private final int minLength;
+
+        /**
+         * The number of times, the validator has been invoked.
+         */
+        private int invocationCount;
+
+        /**
+         * Creates a new validator, which counts its invocations and fails, if a text is shorter
+         * than a specific length.
+         *
+         * @param minLength
+         *         The minimum length of valid texts as an {@link Integer} value
+         */
+        CountingValidator(final int minLength) {
+            super("too short");
+            this.minLength = minLength;
+        }
+
+        @Override
+        public boolean validate(final CharSequence value) {
+            invocationCount++;
+            return value != null && value.length() >= minLength;
+        }
+
+    }
+
+    /**
+     * Creates and returns a validator, which exceeds its budget when validating texts, which
+     * consist of more than four characters, and reports the timeout.
+     *
+     * @return The validator, which has been created, as an instance of the class {@link
+     * RegexValidator}
+     */
+    private RegexValidator createTimingOutValidator() {
+        RegexValidator validator =
+                new RegexValidator("timed out", Pattern.compile("[0-9]+"), RegexEngine.LINEAR);
+        validator.setMatchBudget(new MatchBudget(4, MatchBudget.UNLIMITED, TimeUnit.SECONDS));
+        validator.setTimeoutBehavior(TimeoutBehavior.REPORT);
+        return validator;
+    }
+
+    /**
+     * Tests, if all properties are set correctly by the constructor.
+     */
+    public final void testConstructor() {
+        ValidationModel<CharSequence> model = new ValidationModel<>("foo");
+        assertEquals("foo", model.getValue());
+        assertFalse(model.isValidated());
+        assertFalse(model.isValid());
+        assertNull(model.getFailedValidator());
+        assertNull(model.getView());
+        assertTrue(model.getValidators().isEmpty());
+        assertTrue(model.isValidatedOnValueChange());
+        assertTrue(model.isValidatedOnFocusLost());
+        assertNull(new ValidationModel<CharSequence>().getValue());
+    }
+
+    /**
+     * Tests the functionality of the method, which allows to validate the value of a model, which
+     * is not bound to a view.
+     */
+    public final void testValidate() {
+        CountingValidator validator = new CountingValidator(3);
+        ValidationListenerImplementation listener = new ValidationListenerImplementation();
+        ValidationModel<CharSequence> model = new ValidationModel<>("fo");
+        model.addValidator(validator);
+        model.addValidationListener(listener);
+        assertFalse(model.validate());
+        assertTrue(model.isValidated());
+        assertFalse(model.isValid());
+        assertEquals(validator, model.getFailedValidator());
+        assertTrue(listener.hasOnValidationFailureBeenCalled());
+        listener.reset();
+        model.validateOnValueChange(false);
+        model.setValue("foo");
+        assertFalse(model.isValidated());
+        assertTrue(model.validate());
+        assertTrue(model.isValid());
+        assertNull(model.getFailedValidator());
+        assertTrue(listener.hasOnValidationSuccessBeenCalled());
+        assertEquals(2, validator.invocationCount);
+    }
+
+    /**
+     * Ensures, that listeners are notified, if a validator of a model, which is not bound to a
+     * view, exceeds its budget and reports the timeout.
+     */
+    public final void testValidateReportsTimeout() {
+        RegexValidator validator = createTimingOutValidator();
+        ValidationListenerImplementation listener = new ValidationListenerImplementation();
+        final boolean[] failureReported = new boolean[1];
+        ValidationModel<CharSequence> model = new ValidationModel<>("0123456789");
+        model.addValidator(validator);
+        model.addValidationListener(listener);
+        model.addValidationListener(new ValidationListener<CharSequence>() {
+
+            @Override
+            public void onValidationSuccess(final Validateable<CharSequence> view) {
+
+            }
+
+            @Override
+            public void onValidationFailure(final Validateable<CharSequence> view,
+                                            final Validator<CharSequence> validator) {
+                failureReported[0] = true;
+            }
+
+        });
+        assertFalse(model.validate());
+        assertEquals(validator, model.getFailedValidator());
+        assertTrue(listener.hasOnValidationTimeoutBeenCalled());
+        assertFalse(listener.hasOnValidationFailureBeenCalled());
+        assertTrue(failureReported[0]);
+    }
+
+    /**
+     * Ensures, that listeners are notified, if a validator of a model, which is bound to a view,
+     * exceeds its budget and reports the timeout.
+     */
+    public final void testValidateBoundModelReportsTimeout() {
+        RegexValidator validator = createTimingOutValidator();
+        ValidationListenerImplementation listener = new ValidationListenerImplementation();
+        ValidationModel<CharSequence> model = new ValidationModel<>("0123456789");
+        model.addValidator(validator);
+        model.validateOnValueChange(false);
+        model.addValidationListener(listener);
+        EditText editText = new EditText(getContext());
+        editText.bindModel(model);
+        assertFalse(editText.validate());
+        assertEquals(validator.getErrorMessage(), editText.getError());
+        assertTrue(listener.hasOnValidationTimeoutBeenCalled());
+        assertFalse(listener.hasOnValidationFailureBeenCalled());
+    }
+
+    /**
+     * Tests the functionality of the method, which allows to set the value of a model.
+     */
+    public final void testSetValue() {
+        CountingValidator validator = new CountingValidator(3);
+        ValidationModel<CharSequence> model = new ValidationModel<>();
+        model.addValidator(validator);
+        model.setValue("foo");
+        assertTrue(model.isValid());
+        assertEquals(1, validator.invocationCount);
+        model.setValue("foo");
+        assertEquals(1, validator.invocationCount);
+        model.invalidate();
+        assertFalse(model.isValidated());
+    }
+
+    /**
+     * Tests, if the cached result of a model is shown, when a view is bound to it, without
+     * validating the model's value again.
+     */
+    public final void testBindModelRendersCachedResult() {
+        CountingValidator validator = new CountingValidator(3);
+        ValidationModel<CharSequence> invalidModel = new ValidationModel<>("fo");
+        invalidModel.addValidator(validator);
+        invalidModel.validate();
+        ValidationModel<CharSequence> validModel = new ValidationModel<>("foo");
+        validModel.addValidator(validator);
+        validModel.validate();
+        assertEquals(2, validator.invocationCount);
+        EditText editText = new EditText(getContext());
+        editText.bindModel(invalidModel);
+        assertEquals(invalidModel, editText.getModel());
+        assertEquals(editText, invalidModel.getView());
+        assertEquals("fo", editText.getText().toString());
+        assertEquals("too short", editText.getError());
+        assertEquals(1, editText.getValidators().size());
+        editText.bindModel(validModel);
+        assertNull(invalidModel.getView());
+        assertEquals("foo", editText.getText().toString());
+        assertNull(editText.getError());
+        assertEquals(2, validator.invocationCount);
+    }
+
+    /**
+     * Tests, if the value of a model is updated, when the value of the view, it is bound to, is
+     * changed.
+     */
+    public final void testViewUpdatesModel() {
+        CountingValidator validator = new CountingValidator(3);
+        ValidationModel<CharSequence> model = new ValidationModel<>("foo");
+        model.addValidator(validator);
+        model.validateOnValueChange(false);
+        model.validate();
+        EditText editText = new EditText(getContext());
+        editText.bindModel(model);
+        assertFalse(editText.isValidatedOnValueChange());
+        editText.setText("fo");
+        assertEquals("fo", model.getValue());
+        assertFalse(model.isValidated());
+        assertFalse(editText.validate());
+        assertFalse(model.isValid());
+        assertEquals(validator, model.getFailedValidator());
+        editText.setText("bar");
+        editText.unbindModel();
+        assertNull(editText.getModel());
+        assertNull(model.getView());
+        assertEquals("bar", model.getValue());
+        assertTrue(editText.getValidators().isEmpty());
+    }
+
+    /**
+     * Tests, if a model, which is bound to a view, is validated by the view.
+     */
+    public final void testValidateBoundModel() {
+        CountingValidator validator = new CountingValidator(3);
+        ValidationModel<CharSequence> model = new ValidationModel<>("fo");
+        model.addValidator(validator);
+        EditText editText = new EditText(getContext());
+        editText.bindModel(model);
+        assertFalse(model.validate());
+        assertEquals("too short", editText.getError());
+        model.setValue("foo");
+        assertEquals("foo", editText.getText().toString());
+        assertTrue(model.isValid());
+        assertNull(editText.getError());
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown, if a view is bound to a model, which
+     * is null.
+     */
+    public final void testBindModelThrowsException() {
+        try {
+            new EditText(getContext()).bindModel(null);
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.test.AndroidTestCase;
+
+import junit.framework.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import de.mrapp.android.validation.validators.AbstractValidator;
+
+/**
+ * Tests the functionality of the class {@link ValidationStrictMode}.
+ *
+ * @author Michael Rapp
+ */
+public class ValidationStrictModeTest extends AndroidTestCase {
+
+    /**
+     * A validator, which takes a specific time to validate values.
+     */
+    private static class SlowValidator extends AbstractValidator<CharSequence> {
+
+        /**
+         * The time in milliseconds, the validator takes to validate values.
+         */
+        private final long duration;
+
+        /**
+         * Creates a new validator, which takes a specific time to validate values.
+         *
+         * @param duration
+         *         The time in milliseconds, the validator should take to validate values, as a
+         *         {@link Long} value
+         */
+        SlowValidator(final long duration) {
+            super("foo");
+            this.duration = duration;
+        }
+
+        @Override
+        public boolean validate(final CharSequence value) {
+            try {
+                Thread.sleep(duration);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            return true;
+        }
+
+    }
+
+    /**
+     * Runs a specific runnable on the main thread and waits until it has finished.
+     *
+     * @param runnable
+     *         The runnable, which should be run, as an instance of the type {@link Runnable}
+     * @throws InterruptedException
+     *         The exception, which is thrown, if the current thread has been interrupted
+     */
+    private void runOnMainThread(@NonNull final Runnable runnable) throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        new Handler(Looper.getMainLooper()).post(new Runnable() {
+
+            @Override
+            public void run() {
+                try {
+                    runnable.run();
+                } finally {
+                    latch.countDown();
+                }
+            }
+
+        });
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Override
+    protected final void tearDown() throws Exception {
+        ValidationStrictMode.setPolicy(ValidationStrictMode.Policy.LAX);
+        super.tearDown();
+    }
+
+    /**
+     * Ensures, that the lax policy is used by default.
+     */
+    public final void testDefaultPolicy() {
+        assertEquals(ValidationStrictMode.Policy.LAX, ValidationStrictMode.getPolicy());
+        assertEquals(0, ValidationStrictMode.Policy.LAX.getValidatorBudget());
+        assertEquals(0, ValidationStrictMode.Policy.LAX.getViewBudget());
+    }
+
+    /**
+     * Tests the functionality of the builder, which allows to create policies.
+     */
+    public final void testBuilder() {
+        ValidationStrictMode.Policy policy =
+                new ValidationStrictMode.Policy.Builder().detectSlowValidators(2,
+                        TimeUnit.MILLISECONDS)
+                        .detectSlowViews(0.5f, 20, TimeUnit.MILLISECONDS).penaltyLog().build();
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(2), policy.getValidatorBudget());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(10), policy.getViewBudget());
+    }
+
+    /**
+     * Ensures, that an {@link IllegalArgumentException} is thrown by the builder, if the frame
+     * fraction is not greater than 0.
+     */
+    public final void testBuilderThrowsExceptionWhenFrameFractionIsInvalid() {
+        try {
+            new ValidationStrictMode.Policy.Builder().detectSlowViews(0);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+
+        }
+    }
+
+    /**
+     * Ensures, that a slow validator, which is invoked on the main thread, is reported.
+     *
+     * @throws InterruptedException
+     *         The exception, which is thrown, if the current thread has been interrupted
+     */
+    public final void testSlowValidatorIsReported() throws InterruptedException {
+        final List<ValidationStrictMode.Violation> violations = new ArrayList<>();
+        ValidationStrictMode.setPolicy(new ValidationStrictMode.Policy.Builder()
+                .detectSlowValidators(1, TimeUnit.MILLISECONDS)
+                .penaltyListener(new ValidationStrictMode.ViolationListener() {
+
+                    @Override
+                    public void onViolation(
+                            @NonNull final ValidationStrictMode.Violation violation) {
+                        violations.add(violation);
+                    }
+
+                }).build());
+        runOnMainThread(new Runnable() {
+
+            @Override
+            public void run() {
+                EditText editText = new EditText(getContext());
+                editText.validateOnValueChange(false);
+                editText.addValidator(new SlowValidator(10));
+                editText.addValidator(Validators.notEmpty("bar"));
+                editText.setText("abc");
+                editText.validate();
+            }
+
+        });
+        assertEquals(1, violations.size());
+        ValidationStrictMode.Violation violation = violations.get(0);
+        assertEquals(SlowValidator.class, violation.getValidatorClass());
+        assertEquals(EditText.class, violation.getViewClass());
+        assertEquals(3, violation.getInputLength());
+        assertTrue(violation.getDuration() > violation.getBudget());
+    }
+
+    /**
+     * Ensures, that a slow validation of a view on the main thread causes an exception to be
+     * thrown, if the policy specifies to do so.
+     *
+     * @throws InterruptedException
+     *         The exception, which is thrown, if the current thread has been interrupted
+     */
+    public final void testSlowViewThrowsException() throws InterruptedException {
+        final List<RuntimeException> exceptions = new ArrayList<>();
+        ValidationStrictMode.setPolicy(new ValidationStrictMode.Policy.Builder()
+                .detectSlowViews(0.1f).penaltyThrow().build());
+        runOnMainThread(new Runnable() {
+
+            @Override
+            public void run() {
+                EditText editText = new EditText(getContext());
+                editText.validateOnValueChange(false);
+                editText.addValidator(new SlowValidator(10));
+
+                try {
+                    editText.validate();
+                } catch (ValidationStrictMode.ViolationException e) {
+                    exceptions.add(e);
+                }
+            }
+
+        });
+        assertEquals(1, exceptions.size());
+        assertNull(((ValidationStrictMode.ViolationException) exceptions.get(0)).getViolation()
+                .getValidatorClass());
+    }
+
+    /**
+     * Ensures, that validations, which are not performed on the main thread, are not measured.
+     */
+    public final void testBackgroundThreadIsNotMeasured() {
+        ValidationStrictMode.setPolicy(new ValidationStrictMode.Policy.Builder()
+                .detectSlowValidators(1, TimeUnit.MILLISECONDS).penaltyThrow().build());
+        EditText editText = new EditText(getContext());
+        editText.validateOnValueChange(false);
+        editText.addValidator(new SlowValidator(10));
+        assertTrue(editText.validate());
+    }
+
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation;
+
+import android.test.AndroidTestCase;
+
+/**
+ * Tests the functionality of the class {@link ValidationTrace}.
+ *
+ * @author Michael Rapp
+ */
+public class ValidationTraceTest extends AndroidTestCase {
+
+    @Override
+    protected final void tearDown() throws Exception {
+        ValidationTrace.setEnabled(false);
+        super.tearDown();
+    }
+
+    /**
+     * Ensures, that tracing is disabled by default.
+     */
+    public final void testDisabledByDefault() {
+        assertFalse(ValidationTrace.isEnabled());
+        assertFalse(ValidationTrace.beginSection(ValidationTrace.SECTION_VALIDATE));
+    }
+
+    /**
+     * Tests the functionality of the setEnabled-method.
+     */
+    public final void testSetEnabled() {
+        ValidationTrace.setEnabled(true);
+        assertTrue(ValidationTrace.isEnabled());
+        boolean traced = ValidationTrace.beginSection(Validators.number("foo"));
+        assertTrue(traced);
+        ValidationTrace.endSection(traced);
+        ValidationTrace.setEnabled(false);
+        assertFalse(ValidationTrace.isEnabled());
+    }
+
+    /**
+     * Ensures, that views can be validated, while tracing is enabled.
+     */
+    public final void testValidateWhileEnabled() {
+        ValidationTrace.setEnabled(true);
+        EditText editText = new EditText(getContext());
+        editText.addValidator(Validators.number("foo"));
+        editText.setText("abc");
+        assertFalse(editText.validate());
+        assertEquals("foo", editText.getError().toString());
+        editText.setText("123");
+        assertTrue(editText.validate());
+    }
+
+}
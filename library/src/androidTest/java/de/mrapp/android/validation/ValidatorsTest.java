@@ -14,9 +14,18 @@
 package de.mrapp.android.validation;
 
 import android.test.AndroidTestCase;
+import android.util.Log;
+import android.util.Patterns;
 
+import junit.framework.Assert;
+
+import java.util.Collections;
 import java.util.regex.Pattern;
 
+import de.mrapp.android.validation.datastructure.AhoCorasickAutomaton;
+import de.mrapp.android.validation.datastructure.FrontCodedStringSet;
+import de.mrapp.android.validation.regex.Automaton;
+import de.mrapp.android.validation.validators.misc.EmailAddressValidator;
 import de.mrapp.android.validation.validators.text.Case;
 
 /**
@@ -146,6 +155,31 @@ public class ValidatorsTest extends AndroidTestCase {
         assertNotNull(Validators.regex(getContext(), Pattern.compile(".")));
     }
 
+    /**
+     * Tests the functionality of the regex-method, which expects a char sequence and an automaton
+     * as parameters.
+     */
+    public final void testRegexWithCharSequenceAndAutomatonParameters() {
+        assertNotNull(Validators.regex("foo", Automaton.compile(".")));
+    }
+
+    /**
+     * Tests the functionality of the regex-method, which expects a context, a resource id and an
+     * automaton as parameters.
+     */
+    public final void testRegexWithContextResourceIdAndAutomatonParameters() {
+        assertNotNull(
+                Validators.regex(getContext(), android.R.string.cancel, Automaton.compile(".")));
+    }
+
+    /**
+     * Tests the functionality of the regex-method, which expects a context and an automaton as
+     * parameters.
+     */
+    public final void testRegexWithContextAndAutomatonParameters() {
+        assertNotNull(Validators.regex(getContext(), Automaton.compile(".")));
+    }
+
     /**
      * Tests the functionality of the notEmpty-method, which expects a char sequence as a
      * parameter.
@@ -497,4 +531,200 @@ public class ValidatorsTest extends AndroidTestCase {
         assertNotNull(Validators.phoneNumber(getContext()));
     }
 
+    /**
+     * Tests the functionality of the regionalPhoneNumber-method, which expects a char sequence, a
+     * context and a region code as parameters.
+     */
+    public final void testRegionalPhoneNumberWithCharSequenceContextAndRegionCodeParameters() {
+        assertNotNull(Validators.regionalPhoneNumber("foo", getContext(), "DE"));
+    }
+
+    /**
+     * Tests the functionality of the regionalPhoneNumber-method, which expects a context, a
+     * resource id and a region code as parameters.
+     */
+    public final void testRegionalPhoneNumberWithContextResourceIdAndRegionCodeParameters() {
+        assertNotNull(
+                Validators.regionalPhoneNumber(getContext(), android.R.string.cancel, "DE"));
+    }
+
+    /**
+     * Tests the functionality of the regionalPhoneNumber-method, which expects a context and a
+     * region code as parameters.
+     */
+    public final void testRegionalPhoneNumberWithContextAndRegionCodeParameters() {
+        assertNotNull(Validators.regionalPhoneNumber(getContext(), "DE"));
+    }
+
+    /**
+     * Tests the functionality of the registrableDomainName-method, which expects a char sequence
+     * and a context as parameters.
+     */
+    public final void testRegistrableDomainNameWithCharSequenceAndContextParameters() {
+        assertNotNull(Validators.registrableDomainName("foo", getContext()));
+    }
+
+    /**
+     * Tests the functionality of the registrableDomainName-method, which expects a context and a
+     * resource id as parameters.
+     */
+    public final void testRegistrableDomainNameWithContextAndResourceIdParameters() {
+        assertNotNull(Validators.registrableDomainName(getContext(), android.R.string.cancel));
+    }
+
+    /**
+     * Tests the functionality of the registrableDomainName-method, which expects a context as a
+     * parameter.
+     */
+    public final void testRegistrableDomainNameWithContextParameter() {
+        assertNotNull(Validators.registrableDomainName(getContext()));
+    }
+
+    /**
+     * Tests the functionality of the registrableEmailAddress-method, which expects a char sequence
+     * and a context as parameters.
+     */
+    public final void testRegistrableEmailAddressWithCharSequenceAndContextParameters() {
+        assertNotNull(Validators.registrableEmailAddress("foo", getContext()));
+    }
+
+    /**
+     * Tests the functionality of the registrableEmailAddress-method, which expects a context and a
+     * resource id as parameters.
+     */
+    public final void testRegistrableEmailAddressWithContextAndResourceIdParameters() {
+        assertNotNull(Validators.registrableEmailAddress(getContext(), android.R.string.cancel));
+    }
+
+    /**
+     * Tests the functionality of the registrableEmailAddress-method, which expects a context as a
+     * parameter.
+     */
+    public final void testRegistrableEmailAddressWithContextParameter() {
+        assertNotNull(Validators.registrableEmailAddress(getContext()));
+    }
+
+    /**
+     * Tests the functionality of the blocklist-method, which expects a char sequence and an
+     * automaton as parameters.
+     */
+    public final void testBlocklistWithCharSequenceParameter() {
+        assertNotNull(Validators.blocklist("foo",
+                new AhoCorasickAutomaton(Collections.singletonList("foo"), 0)));
+    }
+
+    /**
+     * Tests the functionality of the blocklist-method, which expects a context, a resource id and
+     * an automaton as parameters.
+     */
+    public final void testBlocklistWithContextAndResourceIdParameters() {
+        assertNotNull(Validators.blocklist(getContext(), android.R.string.cancel,
+                new AhoCorasickAutomaton(Collections.singletonList("foo"), 0)));
+    }
+
+    /**
+     * Tests the functionality of the blocklist-method, which expects a context and an automaton as
+     * parameters.
+     */
+    public final void testBlocklistWithContextParameter() {
+        assertNotNull(Validators.blocklist(getContext(),
+                new AhoCorasickAutomaton(Collections.singletonList("foo"), 0)));
+    }
+
+    /**
+     * Tests the functionality of the allowlist-method, which expects a char sequence and a set as
+     * parameters.
+     */
+    public final void testAllowlistWithCharSequenceParameter() {
+        assertNotNull(Validators.allowlist("foo",
+                FrontCodedStringSet.build(Collections.singletonList("foo"))));
+    }
+
+    /**
+     * Tests the functionality of the allowlist-method, which expects a context, a resource id and
+     * a set as parameters.
+     */
+    public final void testAllowlistWithContextAndResourceIdParameters() {
+        assertNotNull(Validators.allowlist(getContext(), android.R.string.cancel,
+                FrontCodedStringSet.build(Collections.singletonList("foo"))));
+    }
+
+    /**
+     * Tests the functionality of the allowlist-method, which expects a context and a set as
+     * parameters.
+     */
+    public final void testAllowlistWithContextParameter() {
+        assertNotNull(Validators.allowlist(getContext(),
+                FrontCodedStringSet.build(Collections.singletonList("foo"))));
+    }
+
+    /**
+     * Tests the functionality of the method, which allows to prewarm validators and constraints.
+     *
+     * @throws InterruptedException
+     *         The exception, which is thrown, if the current thread has been interrupted
+     */
+    public final void testPrewarm() throws InterruptedException {
+        Thread thread = Validators.prewarm(PrewarmTarget.values());
+        assertTrue(thread.isDaemon());
+        thread.join();
+        assertTrue(Validators.emailAddress("foo").validate("someone@example.com"));
+        assertFalse(Validators.emailAddress("foo").validate("someone"));
+        assertTrue(Validators.number("foo").validate("123"));
+        assertFalse(Validators.number("foo").validate("12a"));
+        assertTrue(Constraints.containsSymbol().isSatisfied("p@ss"));
+    }
+
+    /**
+     * Ensures, that validators can be used, while they are being prewarmed.
+     *
+     * @throws InterruptedException
+     *         The exception, which is thrown, if the current thread has been interrupted
+     */
+    public final void testValidateWhilePrewarming() throws InterruptedException {
+        Thread thread = Validators.prewarm(PrewarmTarget.values());
+        assertTrue(Validators.iPv6Address("foo").validate("2001:db8::1"));
+        assertFalse(Validators.iPv4Address("foo").validate("192.168.0.256"));
+        thread.join();
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown by the method, which allows to
+     * prewarm validators and constraints, if a target is null.
+     */
+    public final void testPrewarmThrowsExceptionWhenTargetIsNull() {
+        try {
+            Validators.prewarm(PrewarmTarget.NUMBER, null);
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+    /**
+     * Measures the latency of the first validation after prewarming and compares it to the
+     * latency of the first validation of a newly compiled regular expression, as it would occur
+     * without prewarming.
+     *
+     * @throws InterruptedException
+     *         The exception, which is thrown, if the current thread has been interrupted
+     */
+    public final void testFirstValidationLatencyBenchmark() throws InterruptedException {
+        String text = "someone@example.com";
+        long startTime = System.nanoTime();
+        Pattern.compile("(^$)|" + Patterns.EMAIL_ADDRESS.pattern()).matcher(text)
+                .matches();
+        long coldDuration = System.nanoTime() - startTime;
+        long prewarmStartTime = System.nanoTime();
+        Validators.prewarm(PrewarmTarget.EMAIL_ADDRESS).join();
+        long prewarmDuration = System.nanoTime() - prewarmStartTime;
+        startTime = System.nanoTime();
+        assertTrue(new EmailAddressValidator("foo").validate(text));
+        long warmDuration = System.nanoTime() - startTime;
+        Log.i(getClass().getSimpleName(),
+                "The first validation took " + coldDuration / 1000 + "us without prewarming and " +
+                        warmDuration / 1000 + "us after prewarming in the background for " +
+                        prewarmDuration / 1000 + "us");
+    }
+
 }
\ No newline at end of file
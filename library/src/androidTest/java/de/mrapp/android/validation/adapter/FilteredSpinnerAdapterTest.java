@@ -0,0 +1,141 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.adapter;
+
+import android.support.annotation.NonNull;
+import android.test.AndroidTestCase;
+import android.widget.ArrayAdapter;
+
+import junit.framework.Assert;
+
+/**
+ * Tests the functionality of the class {@link FilteredSpinnerAdapter}.
+ *
+ * @author Michael Rapp
+ */
+public class FilteredSpinnerAdapterTest extends AndroidTestCase {
+
+    /**
+     * Creates and returns a {@link FilteredSpinnerAdapter}, which may be used for test purposes.
+     *
+     * @return The adapter, which has been created, as an instance of the class {@link
+     * FilteredSpinnerAdapter}
+     */
+    private FilteredSpinnerAdapter createAdapter() {
+        ArrayAdapter<CharSequence> adapter = new ArrayAdapter<CharSequence>(getContext(),
+                android.R.layout.simple_spinner_dropdown_item,
+                new CharSequence[]{"entry1", "entry2", "entry3"});
+        return new FilteredSpinnerAdapter(adapter);
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown by the constructor, if the adapter is
+     * null.
+     */
+    public final void testConstructorThrowsException() {
+        try {
+            new FilteredSpinnerAdapter(null);
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+    /**
+     * Tests the functionality of the adapter, if no filter is set.
+     */
+    public final void testWithoutFilter() {
+        FilteredSpinnerAdapter adapter = createAdapter();
+        assertFalse(adapter.isFiltered());
+        assertEquals(3, adapter.getCount());
+        assertEquals("entry2", adapter.getItem(1));
+        assertEquals(1, adapter.getOriginalPosition(1));
+        assertEquals(2, adapter.getFilteredPosition(2));
+        assertEquals(-1, adapter.getFilteredPosition(3));
+    }
+
+    /**
+     * Tests the functionality of the setFilter-method.
+     */
+    public final void testSetFilter() {
+        FilteredSpinnerAdapter adapter = createAdapter();
+        adapter.setFilter(new int[]{0, 2});
+        assertTrue(adapter.isFiltered());
+        assertEquals(2, adapter.getCount());
+        assertEquals("entry1", adapter.getItem(0));
+        assertEquals("entry3", adapter.getItem(1));
+        assertEquals(2, adapter.getOriginalPosition(1));
+        assertEquals(1, adapter.getFilteredPosition(2));
+        assertEquals(-1, adapter.getFilteredPosition(1));
+        assertNotNull(adapter.getDropDownView(1, null, null));
+        adapter.setFilter(null);
+        assertEquals(3, adapter.getCount());
+    }
+
+    /**
+     * Ensures, that the filter is reset, when the items of the wrapped adapter have been changed.
+     */
+    public final void testFilterIsResetWhenDataSetChanged() {
+        FilteredSpinnerAdapter adapter = createAdapter();
+        adapter.setFilter(new int[]{1});
+        ((ArrayAdapter<?>) adapter.getAdapter()).notifyDataSetChanged();
+        assertFalse(adapter.isFiltered());
+        assertEquals(3, adapter.getCount());
+    }
+
+    /**
+     * Ensures, that the listener, which is notified, when the filter is reset, is notified before
+     * and after the filter is reset, because the items of the wrapped adapter have been changed.
+     */
+    public final void testFilterResetListener() {
+        final FilteredSpinnerAdapter adapter = createAdapter();
+        final int[] originalPositions = new int[]{-1, -1};
+        adapter.setFilterResetListener(new FilteredSpinnerAdapter.FilterResetListener() {
+
+            @Override
+            public void onBeforeFilterReset(@NonNull final FilteredSpinnerAdapter adapter) {
+                assertTrue(adapter.isFiltered());
+                originalPositions[0] = adapter.getOriginalPosition(0);
+            }
+
+            @Override
+            public void onFilterReset(@NonNull final FilteredSpinnerAdapter adapter) {
+                assertFalse(adapter.isFiltered());
+                originalPositions[1] = adapter.getOriginalPosition(0);
+            }
+
+        });
+        adapter.setFilter(new int[]{2});
+        ((ArrayAdapter<?>) adapter.getAdapter()).notifyDataSetChanged();
+        assertEquals(2, originalPositions[0]);
+        assertEquals(0, originalPositions[1]);
+    }
+
+    /**
+     * Tests the functionality of the detach- and attach-method.
+     */
+    public final void testDetachAndAttach() {
+        FilteredSpinnerAdapter adapter = createAdapter();
+        adapter.setFilter(new int[]{1});
+        adapter.detach();
+        ((ArrayAdapter<?>) adapter.getAdapter()).notifyDataSetChanged();
+        assertTrue(adapter.isFiltered());
+        adapter.attach();
+        assertFalse(adapter.isFiltered());
+        adapter.setFilter(new int[]{1});
+        ((ArrayAdapter<?>) adapter.getAdapter()).notifyDataSetChanged();
+        assertFalse(adapter.isFiltered());
+    }
+
+}
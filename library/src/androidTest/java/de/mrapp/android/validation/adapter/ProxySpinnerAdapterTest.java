@@ -17,7 +17,11 @@ import android.content.Context;
 import android.content.res.ColorStateList;
 import android.graphics.Color;
 import android.test.AndroidTestCase;
+import android.view.View;
+import android.view.ViewGroup;
 import android.widget.ArrayAdapter;
+import android.widget.BaseAdapter;
+import android.widget.TextView;
 
 import junit.framework.Assert;
 
@@ -28,6 +32,103 @@ import junit.framework.Assert;
  */
 public class ProxySpinnerAdapterTest extends AndroidTestCase {
 
+    /**
+     * An adapter, which counts the number of views it creates, which is needed for test purposes.
+     */
+    private class CountingAdapter extends BaseAdapter {
+
+        /**
+         * The number of items of the adapter.
+         */
+        private final int count;
+
+        /**
+         * The number of view types of the adapter.
+         */
+        private final int viewTypeCount;
+
+        /**
+         * The number of views, which have been created by the adapter.
+         */
+        private int createdViews;
+
+        /**
+         * The view, which has most recently been passed to the adapter in order to be recycled.
+         */
+        private View lastConvertView;
+
+        /**
+         * Creates a new adapter, which counts the number of views it creates.
+         *
+         * @param count
+         *         The number of items of the adapter as an {@link Integer} value
+         * @param viewTypeCount
+         *         The number of view types of the adapter as an {@link Integer} value
+         */
+        CountingAdapter(final int count, final int viewTypeCount) {
+            this.count = count;
+            this.viewTypeCount = viewTypeCount;
+        }
+
+        @Override
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public Object getItem(final int position) {
+            return "entry" + position;
+        }
+
+        @Override
+        public long getItemId(final int position) {
+            return position;
+        }
+
+        @Override
+        public int getViewTypeCount() {
+            return viewTypeCount;
+        }
+
+        @Override
+        public int getItemViewType(final int position) {
+            return position % viewTypeCount;
+        }
+
+        @Override
+        public View getView(final int position, final View convertView, final ViewGroup parent) {
+            lastConvertView = convertView;
+            TextView view = (TextView) convertView;
+
+            if (view == null) {
+                view = new TextView(getContext());
+                createdViews++;
+            }
+
+            view.setText((CharSequence) getItem(position));
+            return view;
+        }
+
+    }
+
+    /**
+     * Simulates scrolling through the drop down list of a specific adapter, while a specific
+     * number of rows is visible, by recycling the rows, which leave the visible area.
+     *
+     * @param adapter
+     *         The adapter as an instance of the class {@link ProxySpinnerAdapter}
+     * @param visibleRows
+     *         The number of visible rows as an {@link Integer} value
+     */
+    private void scrollDropDown(final ProxySpinnerAdapter adapter, final int visibleRows) {
+        View[] rows = new View[visibleRows];
+
+        for (int i = 0; i < adapter.getCount(); i++) {
+            int row = i % visibleRows;
+            rows[row] = adapter.getDropDownView(i, rows[row], null);
+        }
+    }
+
     /**
      * Creates and returns a {@link ProxySpinnerAdapter}, which may be used for test purposes.
      *
@@ -204,4 +305,78 @@ public class ProxySpinnerAdapterTest extends AndroidTestCase {
         assertTrue(proxySpinnerAdapter.isEnabled(2));
     }
 
-}
\ No newline at end of file
+    /**
+     * Ensures, that the view, which is used to display the hint, is only inflated once.
+     */
+    public final void testHintViewIsCached() {
+        ProxySpinnerAdapter proxySpinnerAdapter =
+                createAdapter(new CharSequence[]{"entry1", "entry2"});
+        View hintView = proxySpinnerAdapter.getView(0, null, null);
+        assertSame(hintView, proxySpinnerAdapter.getView(0, null, null));
+        assertSame(hintView, proxySpinnerAdapter.getView(0, hintView, null));
+        View placeholderView = proxySpinnerAdapter.getDropDownView(0, null, null);
+        assertSame(placeholderView, proxySpinnerAdapter.getDropDownView(0, null, null));
+    }
+
+    /**
+     * Ensures, that views are passed to the wrapped adapter in order to be recycled.
+     */
+    public final void testGetViewRecyclesConvertView() {
+        CountingAdapter adapter = new CountingAdapter(10, 1);
+        ProxySpinnerAdapter proxySpinnerAdapter =
+                new ProxySpinnerAdapter(getContext(), adapter, android.R.layout.simple_spinner_item,
+                        "hint", null);
+        View view = proxySpinnerAdapter.getView(1, null, null);
+        assertSame(view, proxySpinnerAdapter.getView(2, view, null));
+        assertEquals(1, adapter.createdViews);
+    }
+
+    /**
+     * Ensures, that the views, which are used to display the hint, are not passed to the wrapped
+     * adapter in order to be recycled.
+     */
+    public final void testHintViewIsNotPassedToWrappedAdapter() {
+        CountingAdapter adapter = new CountingAdapter(10, 1);
+        ProxySpinnerAdapter proxySpinnerAdapter =
+                new ProxySpinnerAdapter(getContext(), adapter, android.R.layout.simple_spinner_item,
+                        "hint", null);
+        View hintView = proxySpinnerAdapter.getView(0, null, null);
+        proxySpinnerAdapter.getView(1, hintView, null);
+        assertNull(adapter.lastConvertView);
+        View placeholderView = proxySpinnerAdapter.getDropDownView(0, null, null);
+        proxySpinnerAdapter.getDropDownView(1, placeholderView, null);
+        assertNull(adapter.lastConvertView);
+    }
+
+    /**
+     * Ensures, that views are only passed to the wrapped adapter in order to be recycled, if their
+     * view type matches the view type of the item, which should be displayed.
+     */
+    public final void testConvertViewIsOnlyRecycledForMatchingViewType() {
+        CountingAdapter adapter = new CountingAdapter(10, 2);
+        ProxySpinnerAdapter proxySpinnerAdapter =
+                new ProxySpinnerAdapter(getContext(), adapter, android.R.layout.simple_spinner_item,
+                        "hint", null);
+        View view = proxySpinnerAdapter.getDropDownView(1, null, null);
+        proxySpinnerAdapter.getDropDownView(2, view, null);
+        assertNull(adapter.lastConvertView);
+        proxySpinnerAdapter.getDropDownView(3, view, null);
+        assertSame(view, adapter.lastConvertView);
+        assertEquals(1, proxySpinnerAdapter.getViewTypeCount());
+    }
+
+    /**
+     * Ensures, that scrolling through the drop down list of an adapter with many items only creates
+     * as many views as there are visible rows.
+     */
+    public final void testScrollingDropDownInflationCount() {
+        int visibleRows = 10;
+        CountingAdapter adapter = new CountingAdapter(1000, 1);
+        ProxySpinnerAdapter proxySpinnerAdapter =
+                new ProxySpinnerAdapter(getContext(), adapter, android.R.layout.simple_spinner_item,
+                        "hint", null);
+        scrollDropDown(proxySpinnerAdapter, visibleRows);
+        assertTrue(adapter.createdViews <= visibleRows + 1);
+    }
+
+}
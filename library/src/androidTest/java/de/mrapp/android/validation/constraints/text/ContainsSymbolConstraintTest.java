@@ -15,6 +15,8 @@ package de.mrapp.android.validation.constraints.text;
 
 import junit.framework.TestCase;
 
+import de.mrapp.android.validation.regex.RegexEngine;
+
 /**
  * Tests the functionality of the class {@link ContainsSymbolConstraint}.
  *
@@ -38,4 +40,22 @@ public class ContainsSymbolConstraintTest extends TestCase {
         assertFalse(containsSymbolConstraint.isSatisfied("abcabc"));
     }
 
+    /**
+     * Ensures, that the isSatisfied-method produces the same results for unpaired surrogates,
+     * regardless of the engine, which is used.
+     */
+    public final void testIsSatisfiedWithUnpairedSurrogateIsIndependentOfEngine() {
+        ContainsSymbolConstraint containsSymbolConstraint = new ContainsSymbolConstraint();
+        String[] texts = {"abc\uD83D", "\uDE00abc", "abc\uD83D\uDE00", "abc"};
+
+        for (String text : texts) {
+            containsSymbolConstraint.setEngine(RegexEngine.JAVA);
+            boolean expected = containsSymbolConstraint.isSatisfied(text);
+            containsSymbolConstraint.setEngine(RegexEngine.LINEAR);
+            assertEquals(text, expected, containsSymbolConstraint.isSatisfied(text));
+        }
+
+        assertTrue(containsSymbolConstraint.isSatisfied("abc\uD83D"));
+    }
+
 }
\ No newline at end of file
@@ -16,8 +16,19 @@ package de.mrapp.android.validation.constraints.text;
 import junit.framework.Assert;
 import junit.framework.TestCase;
 
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
+import de.mrapp.android.validation.ValidationTimeoutException;
+import de.mrapp.android.validation.ValueSupplier;
+import de.mrapp.android.validation.regex.AutomatonCache;
+import de.mrapp.android.validation.regex.MatchBudget;
+import de.mrapp.android.validation.regex.RegexEngine;
+import de.mrapp.android.validation.regex.TimeoutBehavior;
+import de.mrapp.android.validation.regex.UnsupportedPatternException;
+
 /**
  * Tests the functionality of the class {@link RegexConstraint}.
  *
@@ -51,6 +62,173 @@ public class RegexConstraintTest extends TestCase {
         }
     }
 
+    /**
+     * Tests, if all properties are set correctly by the constructor, which expects an engine as a
+     * parameter.
+     */
+    public final void testConstructorWithEngineParameter() {
+        RegexConstraint regexConstraint = new RegexConstraint(REGEX, RegexEngine.LINEAR);
+        assertEquals(REGEX, regexConstraint.getRegex());
+        assertEquals(RegexEngine.LINEAR, regexConstraint.getEngine());
+    }
+
+    /**
+     * Ensures, that the automaton, which is used by the linear engine, is retrieved from the
+     * default cache, if one has been set.
+     */
+    public final void testIsSatisfiedUsingLinearEngineUsesDefaultCache() {
+        File directory = new File(System.getProperty("java.io.tmpdir"), "RegexConstraintTest");
+        AutomatonCache cache = new AutomatonCache(directory);
+        cache.clear();
+        AutomatonCache.setDefault(cache);
+
+        try {
+            RegexConstraint regexConstraint =
+                    new RegexConstraint(Pattern.compile("[a-z]+"), RegexEngine.LINEAR);
+            assertTrue(regexConstraint.isSatisfied("abc"));
+            assertFalse(regexConstraint.isSatisfied("abc1"));
+            File[] files = directory.listFiles();
+            assertNotNull(files);
+            assertEquals(1, files.length);
+            long lastModified = files[0].lastModified();
+            regexConstraint = new RegexConstraint(Pattern.compile("[a-z]+"), RegexEngine.LINEAR);
+            assertTrue(regexConstraint.isSatisfied("abc"));
+            assertEquals(lastModified, files[0].lastModified());
+        } finally {
+            AutomatonCache.setDefault(null);
+            cache.clear();
+        }
+    }
+
+    /**
+     * Ensures, that a regular expression, which is provided by a supplier, is not obtained before
+     * the constraint is used for the first time.
+     */
+    public final void testRegexIsObtainedFromSupplierWhenUsedForTheFirstTime() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Pattern regex = Pattern.compile("[a-z]+");
+        RegexConstraint regexConstraint = new RegexConstraint();
+        regexConstraint.setRegexSupplier(new ValueSupplier<Pattern>() {
+
+            @Override
+            public Pattern getValue() {
+                calls.incrementAndGet();
+                return regex;
+            }
+
+        });
+        assertEquals(0, calls.get());
+        assertTrue(regexConstraint.isSatisfied("abc"));
+        assertFalse(regexConstraint.isSatisfied("abc1"));
+        assertEquals(1, calls.get());
+        assertEquals(regex, regexConstraint.getRegex());
+        assertNotNull(regexConstraint.getRegexSupplier());
+        regexConstraint.setRegex(Pattern.compile("[0-9]+"));
+        assertNull(regexConstraint.getRegexSupplier());
+        assertTrue(regexConstraint.isSatisfied("123"));
+        assertEquals(1, calls.get());
+    }
+
+    /**
+     * Tests the functionality of the method, which allows to set the engine.
+     */
+    public final void testSetEngine() {
+        RegexConstraint regexConstraint = new RegexConstraint(REGEX);
+        assertEquals(RegexEngine.JAVA, regexConstraint.getEngine());
+        regexConstraint.setEngine(RegexEngine.LINEAR);
+        assertEquals(RegexEngine.LINEAR, regexConstraint.getEngine());
+        assertTrue(regexConstraint.isSatisfied("0123456789"));
+        assertFalse(regexConstraint.isSatisfied("abcdefghijkl"));
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown by the method, which allows to set the
+     * engine, if the engine is null.
+     */
+    public final void testSetEngineThrowsNullPointerException() {
+        try {
+            RegexConstraint regexConstraint = new RegexConstraint(REGEX);
+            regexConstraint.setEngine(null);
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+    /**
+     * Ensures, that an {@link UnsupportedPatternException} is thrown by the method, which allows to
+     * set the engine, if the regular expression is not supported by the linear engine.
+     */
+    public final void testSetEngineThrowsUnsupportedPatternException() {
+        RegexConstraint regexConstraint = new RegexConstraint(Pattern.compile("(?=a)a"));
+
+        try {
+            regexConstraint.setEngine(RegexEngine.LINEAR);
+            Assert.fail();
+        } catch (UnsupportedPatternException e) {
+            assertEquals(RegexEngine.JAVA, regexConstraint.getEngine());
+        }
+    }
+
+    /**
+     * Tests the functionality of the isSatisfied-method, if the budget of matching a single text
+     * is exceeded.
+     */
+    public final void testIsSatisfiedIfMatchBudgetIsExceeded() {
+        RegexConstraint regexConstraint = new RegexConstraint(REGEX, RegexEngine.LINEAR);
+        regexConstraint
+                .setMatchBudget(new MatchBudget(4, MatchBudget.UNLIMITED, TimeUnit.SECONDS));
+        assertTrue(regexConstraint.isSatisfied("0123"));
+        assertFalse(regexConstraint.isSatisfied("01234"));
+        regexConstraint.setTimeoutBehavior(TimeoutBehavior.VALID);
+        assertTrue(regexConstraint.isSatisfied("01234"));
+        regexConstraint.setTimeoutBehavior(TimeoutBehavior.REPORT);
+
+        try {
+            regexConstraint.isSatisfied("01234");
+            Assert.fail();
+        } catch (ValidationTimeoutException e) {
+
+        }
+    }
+
+    /**
+     * Ensures, that a budget cannot be combined with the engine {@link RegexEngine#JAVA}, if it
+     * cannot be enforced by it, i.e. on Android.
+     */
+    public final void testSetMatchBudgetUsingJavaEngine() {
+        MatchBudget matchBudget = new MatchBudget(4, MatchBudget.UNLIMITED, TimeUnit.SECONDS);
+        RegexConstraint regexConstraint = new RegexConstraint(REGEX);
+        assertTrue(RegexEngine.LINEAR.isMatchBudgetEnforceable());
+        assertEquals(!"Dalvik".equals(System.getProperty("java.vm.name")),
+                RegexEngine.JAVA.isMatchBudgetEnforceable());
+
+        if (RegexEngine.JAVA.isMatchBudgetEnforceable()) {
+            regexConstraint.setMatchBudget(matchBudget);
+            assertEquals(matchBudget, regexConstraint.getMatchBudget());
+        } else {
+            try {
+                regexConstraint.setMatchBudget(matchBudget);
+                Assert.fail();
+            } catch (IllegalArgumentException e) {
+
+            }
+
+            assertNull(regexConstraint.getMatchBudget());
+            regexConstraint.setEngine(RegexEngine.LINEAR);
+            regexConstraint.setMatchBudget(matchBudget);
+
+            try {
+                regexConstraint.setEngine(RegexEngine.JAVA);
+                Assert.fail();
+            } catch (IllegalArgumentException e) {
+
+            }
+
+            assertEquals(RegexEngine.LINEAR, regexConstraint.getEngine());
+        }
+    }
+
     /**
      * Tests the functionality of the method, which allows to set the regular expression.
      */
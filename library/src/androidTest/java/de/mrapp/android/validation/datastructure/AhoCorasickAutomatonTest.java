@@ -0,0 +1,252 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.datastructure;
+
+import android.test.AndroidTestCase;
+import android.util.Log;
+
+import junit.framework.Assert;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tests the functionality of the class {@link AhoCorasickAutomaton}.
+ *
+ * @author Michael Rapp
+ */
+public class AhoCorasickAutomatonTest extends AndroidTestCase {
+
+    /**
+     * Creates and returns a random word, which consists of lowercase letters.
+     *
+     * @param random
+     *         The random number generator, which should be used, as an instance of the class
+     *         {@link Random}. The random number generator may not be null
+     * @param alphabetSize
+     *         The number of different letters, which should be used, as an {@link Integer} value
+     * @param maxLength
+     *         The maximum length of the word as an {@link Integer} value
+     * @return The word, which has been created, as a {@link String}. The word may not be null
+     */
+    private String createWord(final Random random, final int alphabetSize, final int maxLength) {
+        char[] characters = new char[1 + random.nextInt(maxLength)];
+
+        for (int i = 0; i < characters.length; i++) {
+            characters[i] = (char) ('a' + random.nextInt(alphabetSize));
+        }
+
+        return new String(characters);
+    }
+
+    /**
+     * Returns, whether a specific text contains any of specific keywords, or not, by searching for
+     * each keyword separately.
+     *
+     * @param keywords
+     *         A list, which contains the keywords, as an instance of the type {@link List}. The
+     *         list may not be null
+     * @param text
+     *         The text as a {@link String}. The text may not be null
+     * @return True, if the given text contains any of the given keywords, false otherwise
+     */
+    private boolean containsAny(final List<String> keywords, final String text) {
+        for (String keyword : keywords) {
+            if (text.contains(keyword)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown by the constructor, if the keywords
+     * are null.
+     */
+    public final void testConstructorThrowsExceptionIfKeywordsAreNull() {
+        try {
+            new AhoCorasickAutomaton(null, 0);
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+    /**
+     * Ensures, that an {@link IllegalArgumentException} is thrown by the constructor, if the flags
+     * are invalid.
+     */
+    public final void testConstructorThrowsExceptionIfFlagsAreInvalid() {
+        try {
+            new AhoCorasickAutomaton(Collections.singletonList("foo"), 4);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+
+        }
+    }
+
+    /**
+     * Tests the functionality of the findFirst-method.
+     */
+    public final void testFindFirst() {
+        AhoCorasickAutomaton automaton =
+                new AhoCorasickAutomaton(Arrays.asList("he", "she", "his", "hers", null, ""), 0);
+        assertEquals(4, automaton.getKeywordCount());
+        assertEquals(0, automaton.findFirst("ahe"));
+        assertEquals(1, automaton.findFirst("ushers"));
+        assertEquals(2, automaton.findFirst("this"));
+        assertEquals(-1, automaton.findFirst("hi"));
+        assertEquals(-1, automaton.findFirst(""));
+        assertEquals(-1, automaton.findFirst("HE"));
+    }
+
+    /**
+     * Tests the functionality of the containsAny-method, if keywords are matched
+     * case-insensitively.
+     */
+    public final void testContainsAnyCaseInsensitive() {
+        AhoCorasickAutomaton automaton = new AhoCorasickAutomaton(Arrays.asList("Admin", "root"),
+                AhoCorasickAutomaton.CASE_INSENSITIVE);
+        assertTrue(automaton.containsAny("the_ADMIN"));
+        assertTrue(automaton.containsAny("Root"));
+        assertFalse(automaton.containsAny("r00t"));
+        assertFalse(automaton.containsAny("adm1n"));
+    }
+
+    /**
+     * Tests the functionality of the containsAny-method, if leetspeak characters are normalized.
+     */
+    public final void testContainsAnyLeetspeak() {
+        AhoCorasickAutomaton automaton = new AhoCorasickAutomaton(Arrays.asList("Admin", "root"),
+                AhoCorasickAutomaton.CASE_INSENSITIVE | AhoCorasickAutomaton.LEETSPEAK);
+        assertTrue(automaton.containsAny("r00t"));
+        assertTrue(automaton.containsAny("xx4DM1Nxx"));
+        assertTrue(automaton.containsAny("@dmin"));
+        assertFalse(automaton.containsAny("r0ad"));
+    }
+
+    /**
+     * Tests the functionality of the containsAny-method by comparing it to searching for each
+     * keyword separately.
+     */
+    public final void testContainsAnyMatchesNaiveSearch() {
+        Random random = new Random(47);
+
+        for (int i = 0; i < 50; i++) {
+            List<String> keywords = new ArrayList<>();
+
+            for (int j = random.nextInt(20); j >= 0; j--) {
+                keywords.add(createWord(random, 3, 5));
+            }
+
+            AhoCorasickAutomaton automaton = new AhoCorasickAutomaton(keywords, 0);
+
+            for (int j = 0; j < 50; j++) {
+                String text = createWord(random, 4, 20);
+                assertEquals(keywords + " / " + text, containsAny(keywords, text),
+                        automaton.containsAny(text));
+                int index = automaton.findFirst(text);
+                assertTrue(index == -1 || text.contains(keywords.get(index)));
+            }
+        }
+    }
+
+    /**
+     * Tests the functionality of the read-method.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the stream could not be read
+     */
+    public final void testRead() throws IOException {
+        byte[] data = "# reserved names\nadmin\n\n  Root  \nsüß\n".getBytes("UTF-8");
+        AhoCorasickAutomaton automaton =
+                AhoCorasickAutomaton.read(new ByteArrayInputStream(data), 0);
+        assertEquals(3, automaton.getKeywordCount());
+        assertTrue(automaton.containsAny("xadminx"));
+        assertTrue(automaton.containsAny("Root"));
+        assertTrue(automaton.containsAny("süßigkeit"));
+        assertFalse(automaton.containsAny("reserved"));
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown by the read-method, if the stream is
+     * null.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the stream could not be read
+     */
+    public final void testReadThrowsException() throws IOException {
+        try {
+            AhoCorasickAutomaton.read(null, 0);
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+    /**
+     * Measures the memory footprint and the throughput of an automaton, which contains a large
+     * number of keywords, and compares it to searching for each keyword separately.
+     */
+    public final void testThroughputBenchmark() {
+        Random random = new Random(47);
+        List<String> keywords = new ArrayList<>();
+
+        for (int i = 0; i < 50000; i++) {
+            keywords.add(createWord(random, 26, 4) + createWord(random, 26, 8));
+        }
+
+        long startTime = System.nanoTime();
+        AhoCorasickAutomaton automaton =
+                new AhoCorasickAutomaton(keywords, AhoCorasickAutomaton.CASE_INSENSITIVE);
+        long buildTime = System.nanoTime() - startTime;
+        List<String> texts = new ArrayList<>();
+        long characters = 0;
+
+        for (int i = 0; i < 200; i++) {
+            String text = createWord(random, 26, 64);
+            texts.add(text);
+            characters += text.length();
+        }
+
+        startTime = System.nanoTime();
+
+        for (String text : texts) {
+            automaton.containsAny(text);
+        }
+
+        long automatonTime = System.nanoTime() - startTime;
+        List<String> naiveKeywords = keywords.subList(0, 1000);
+        startTime = System.nanoTime();
+
+        for (String text : texts) {
+            containsAny(naiveKeywords, text.toLowerCase());
+        }
+
+        long naiveTime = (System.nanoTime() - startTime) * (keywords.size() / 1000);
+        Log.i(getClass().getSimpleName(), automaton + ": built in " + buildTime / 1000000 +
+                "ms, " + automaton.getMemoryFootprint() / 1024 + "KiB, " +
+                characters * 1000000000L / Math.max(1, automatonTime) +
+                " chars/s, naive search (extrapolated): " +
+                characters * 1000000000L / Math.max(1, naiveTime) + " chars/s");
+        assertTrue(automaton.getMemoryFootprint() > 0);
+    }
+
+}
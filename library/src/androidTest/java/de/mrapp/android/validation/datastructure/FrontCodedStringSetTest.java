@@ -0,0 +1,310 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.datastructure;
+
+import android.test.AndroidTestCase;
+import android.util.Log;
+
+import junit.framework.Assert;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Tests the functionality of the class {@link FrontCodedStringSet}.
+ *
+ * @author Michael Rapp
+ */
+public class FrontCodedStringSetTest extends AndroidTestCase {
+
+    /**
+     * Creates and returns a random string, which consists of characters of a specific alphabet.
+     *
+     * @param random
+     *         The random number generator, which should be used, as an instance of the class
+     *         {@link Random}. The random number generator may not be null
+     * @param alphabet
+     *         The alphabet as a {@link String}. The alphabet may not be null
+     * @param maxLength
+     *         The maximum length of the string as an {@link Integer} value
+     * @return The string, which has been created, as a {@link String}. The string may not be null
+     */
+    private String createString(final Random random, final String alphabet, final int maxLength) {
+        StringBuilder builder = new StringBuilder();
+
+        for (int i = random.nextInt(maxLength + 1); i > 0; i--) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Writes a specific set to a byte array.
+     *
+     * @param set
+     *         The set, which should be written, as an instance of the class {@link
+     *         FrontCodedStringSet}. The set may not be null
+     * @return The byte array, the set has been written to, as a {@link Byte} array. The array may
+     * not be null
+     * @throws IOException
+     *         The exception, which is thrown, if the set could not be written
+     */
+    private byte[] toByteArray(final FrontCodedStringSet set) throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        set.writeTo(stream);
+        return stream.toByteArray();
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown by the build-method, if the strings
+     * are null.
+     */
+    public final void testBuildThrowsExceptionIfStringsAreNull() {
+        try {
+            FrontCodedStringSet.build(null);
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+    /**
+     * Ensures, that an {@link IllegalArgumentException} is thrown by the build-method, if the
+     * bucket size is less than 1.
+     */
+    public final void testBuildThrowsExceptionIfBucketSizeIsInvalid() {
+        try {
+            FrontCodedStringSet.build(Collections.singletonList("foo"), 0);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+
+        }
+    }
+
+    /**
+     * Tests the functionality of the contains-method.
+     */
+    public final void testContains() {
+        FrontCodedStringSet set = FrontCodedStringSet.build(
+                Arrays.asList("Berlin", "Bern", "Bergen", "Zürich", "São Paulo", "Berlin", null,
+                        "😀", "B"), 2);
+        assertEquals(7, set.size());
+        assertTrue(set.contains("Berlin"));
+        assertTrue(set.contains(new StringBuilder("Bern")));
+        assertTrue(set.contains("Bergen"));
+        assertTrue(set.contains("Zürich"));
+        assertTrue(set.contains("São Paulo"));
+        assertTrue(set.contains("😀"));
+        assertTrue(set.contains("B"));
+        assertFalse(set.contains("Ber"));
+        assertFalse(set.contains("berlin"));
+        assertFalse(set.contains("Berlins"));
+        assertFalse(set.contains("A"));
+        assertFalse(set.contains("Zurich"));
+        assertFalse(set.contains("\uD83D"));
+        assertFalse(set.contains(""));
+    }
+
+    /**
+     * Tests the functionality of the contains-method, if the set is empty.
+     */
+    public final void testContainsIfEmpty() {
+        FrontCodedStringSet set = FrontCodedStringSet.build(Collections.<String>emptyList());
+        assertEquals(0, set.size());
+        assertFalse(set.contains("foo"));
+        assertFalse(set.contains(""));
+    }
+
+    /**
+     * Tests the functionality of the contains-method by comparing it to a {@link HashSet} for
+     * different bucket sizes.
+     */
+    public final void testContainsMatchesHashSet() {
+        Random random = new Random(48);
+        String alphabet = "abcäß中";
+
+        for (int bucketSize : new int[]{1, 2, 3, 16, 64}) {
+            Set<String> strings = new HashSet<>();
+
+            for (int i = 0; i < 500; i++) {
+                strings.add(createString(random, alphabet, 6));
+            }
+
+            FrontCodedStringSet set = FrontCodedStringSet.build(strings, bucketSize);
+            assertEquals(strings.size(), set.size());
+
+            for (String string : strings) {
+                assertTrue(string, set.contains(string));
+            }
+
+            for (int i = 0; i < 2000; i++) {
+                String string = createString(random, alphabet, 7);
+                assertEquals(string, strings.contains(string), set.contains(string));
+            }
+        }
+    }
+
+    /**
+     * Tests the functionality of the methods, which allow to write a set and to read it from a
+     * buffer or a memory-mapped file.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the set could not be written or read
+     */
+    public final void testWriteAndRead() throws IOException {
+        FrontCodedStringSet set = FrontCodedStringSet.build(Arrays.asList("LH", "BA", "AF"));
+        byte[] data = toByteArray(set);
+        assertEquals(set.getByteSize(), data.length);
+        FrontCodedStringSet wrappedSet = FrontCodedStringSet.wrap(ByteBuffer.wrap(data));
+        assertEquals(3, wrappedSet.size());
+        assertTrue(wrappedSet.contains("BA"));
+        assertFalse(wrappedSet.contains("UA"));
+        File file = File.createTempFile("FrontCodedStringSetTest", ".bin");
+
+        try {
+            FileOutputStream stream = new FileOutputStream(file);
+
+            try {
+                stream.write(data);
+            } finally {
+                stream.close();
+            }
+
+            FrontCodedStringSet mappedSet = FrontCodedStringSet.map(file);
+            assertTrue(mappedSet.isDirect());
+            assertEquals(0, mappedSet.getMemoryFootprint());
+            assertTrue(mappedSet.contains("AF"));
+            assertTrue(mappedSet.contains("LH"));
+            assertFalse(mappedSet.contains("KL"));
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Ensures, that an {@link IOException} is thrown by the wrap-method, if the buffer does not
+     * contain a valid set.
+     */
+    public final void testWrapThrowsExceptionIfBufferIsInvalid() {
+        try {
+            FrontCodedStringSet.wrap(ByteBuffer.wrap(new byte[]{1, 2, 3}));
+            Assert.fail();
+        } catch (IOException e) {
+
+        }
+
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(24);
+            buffer.putInt(FrontCodedStringSet.MAGIC).putInt(FrontCodedStringSet.FORMAT_VERSION)
+                    .putInt(10).putInt(4).putInt(1).putInt(1000);
+            buffer.flip();
+            FrontCodedStringSet.wrap(buffer);
+            Assert.fail();
+        } catch (IOException e) {
+
+        }
+    }
+
+    /**
+     * Ensures, that an {@link IllegalStateException} is thrown by the contains-method, if the
+     * strings of the set are corrupt.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the set could not be written or read
+     */
+    public final void testContainsThrowsExceptionIfStringsAreCorrupt() throws IOException {
+        byte[] data = toByteArray(FrontCodedStringSet.build(Arrays.asList("AF", "BA", "LH")));
+        int offset = ByteBuffer.wrap(data).getInt(20);
+        Arrays.fill(data, offset, data.length, (byte) 0x80);
+        FrontCodedStringSet set = FrontCodedStringSet.wrap(ByteBuffer.wrap(data));
+
+        try {
+            set.contains("BA");
+            Assert.fail();
+        } catch (IllegalStateException e) {
+
+        }
+
+        data[offset] = 0x7F;
+        set = FrontCodedStringSet.wrap(ByteBuffer.wrap(data));
+
+        try {
+            set.contains("BA");
+            Assert.fail();
+        } catch (IllegalStateException e) {
+
+        }
+    }
+
+    /**
+     * Measures the heap footprint and the latency of looking up texts in a large set and compares
+     * them to a {@link HashSet}.
+     */
+    public final void testMemoryAndLatencyBenchmark() {
+        Random random = new Random(48);
+        List<String> strings = new ArrayList<>();
+
+        for (int i = 0; i < 200000; i++) {
+            strings.add("SKU-" + (100000000 + random.nextInt(900000000)));
+        }
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long memoryBefore = runtime.totalMemory() - runtime.freeMemory();
+        Set<String> hashSet = new HashSet<>(strings);
+        System.gc();
+        long hashSetFootprint = runtime.totalMemory() - runtime.freeMemory() - memoryBefore;
+        FrontCodedStringSet set = FrontCodedStringSet.build(strings);
+        List<CharSequence> queries = new ArrayList<>();
+
+        for (int i = 0; i < 100000; i++) {
+            queries.add(new StringBuilder(i % 2 == 0 ? strings.get(random.nextInt(
+                    strings.size())) : "SKU-" + (100000000 + random.nextInt(900000000))));
+        }
+
+        int found = 0;
+        long startTime = System.nanoTime();
+
+        for (CharSequence query : queries) {
+            found += set.contains(query) ? 1 : 0;
+        }
+
+        long setTime = System.nanoTime() - startTime;
+        int hashSetFound = 0;
+        startTime = System.nanoTime();
+
+        for (CharSequence query : queries) {
+            hashSetFound += hashSet.contains(query.toString()) ? 1 : 0;
+        }
+
+        long hashSetTime = System.nanoTime() - startTime;
+        assertEquals(hashSetFound, found);
+        Log.i(getClass().getSimpleName(), set + ": " + set.getMemoryFootprint() / 1024 +
+                "KiB, " + setTime / queries.size() + "ns per lookup; HashSet: ~" +
+                hashSetFootprint / 1024 + "KiB, " + hashSetTime / queries.size() +
+                "ns per lookup");
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.datastructure;
+
+import android.test.AndroidTestCase;
+
+import junit.framework.Assert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests the functionality of the class {@link PrefixIndex}.
+ *
+ * @author Michael Rapp
+ */
+public class PrefixIndexTest extends AndroidTestCase {
+
+    /**
+     * Creates and returns an index, which may be used for test purposes.
+     *
+     * @return The index, which has been created, as an instance of the class {@link PrefixIndex}
+     */
+    private PrefixIndex createIndex() {
+        return new PrefixIndex(Arrays.asList("New York", "Zürich", "São Paulo", "York",
+                "Newark", null, "Los Angeles"));
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown by the constructor, if the labels are
+     * null.
+     */
+    public final void testConstructorThrowsException() {
+        try {
+            new PrefixIndex(null);
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+    /**
+     * Tests the functionality of the normalize-method.
+     */
+    public final void testNormalize() {
+        assertEquals("zurich", PrefixIndex.normalize("Zürich"));
+        assertEquals("sao paulo", PrefixIndex.normalize("SÃO PAULO"));
+    }
+
+    /**
+     * Tests the functionality of the size-method.
+     */
+    public final void testSize() {
+        assertEquals(7, createIndex().size());
+    }
+
+    /**
+     * Tests the functionality of the search-method.
+     */
+    public final void testSearch() {
+        PrefixIndex index = createIndex();
+        assertTrue(Arrays.equals(new int[]{0, 4}, index.search("new")));
+        assertTrue(Arrays.equals(new int[]{0, 3}, index.search("YORK")));
+        assertTrue(Arrays.equals(new int[]{1}, index.search("zu")));
+        assertTrue(Arrays.equals(new int[]{2}, index.search("são p")));
+        assertTrue(Arrays.equals(new int[]{2}, index.search("paulo")));
+        assertTrue(Arrays.equals(new int[]{0}, index.search("new y")));
+        assertEquals(0, index.search("x").length);
+        assertNull(index.search(" "));
+    }
+
+    /**
+     * Ensures, that labels, which contain multiple words with the same prefix, are only returned
+     * once.
+     */
+    public final void testSearchReturnsUniquePositions() {
+        PrefixIndex index = new PrefixIndex(Arrays.asList("Baden-Baden", "Bad Ems"));
+        assertTrue(Arrays.equals(new int[]{0, 1}, index.search("bad")));
+    }
+
+    /**
+     * Ensures, that searching an index with many labels is fast.
+     */
+    public final void testSearchLargeIndex() {
+        List<String> labels = new ArrayList<>();
+
+        for (int i = 0; i < 10000; i++) {
+            labels.add("City " + i);
+        }
+
+        PrefixIndex index = new PrefixIndex(labels);
+        long startTime = System.nanoTime();
+        int[] positions = index.search("9999");
+        long duration = System.nanoTime() - startTime;
+        assertTrue(Arrays.equals(new int[]{9999}, positions));
+        assertTrue(duration < 5000000);
+    }
+
+}
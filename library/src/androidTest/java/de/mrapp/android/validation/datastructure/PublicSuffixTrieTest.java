@@ -0,0 +1,265 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.datastructure;
+
+import android.test.AndroidTestCase;
+
+import junit.framework.Assert;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Tests the functionality of the class {@link PublicSuffixTrie}.
+ *
+ * @author Michael Rapp
+ */
+public class PublicSuffixTrieTest extends AndroidTestCase {
+
+    /**
+     * The rules, which are used for test purposes.
+     */
+    private static final String RULES =
+            "// comment\n\ncom\nuk\nco.uk\njp\n*.kawasaki.jp\n!city.kawasaki.jp\n*.ck\n" +
+                    "!www.ck\nde // trailing comment\nрф\n";
+
+    /**
+     * Creates and returns a trie, which may be used for test purposes.
+     *
+     * @return The trie, which has been created, as an instance of the class {@link
+     * PublicSuffixTrie}
+     * @throws IOException
+     *         The exception, which is thrown, if the trie could not be created
+     */
+    private PublicSuffixTrie createTrie() throws IOException {
+        return PublicSuffixTrie.read(new ByteArrayInputStream(RULES.getBytes("UTF-8")));
+    }
+
+    /**
+     * Returns the registrable domain of a specific domain name.
+     *
+     * @param trie
+     *         The trie, which should be used, as an instance of the class {@link
+     *         PublicSuffixTrie}. The trie may not be null
+     * @param domainName
+     *         The domain name as a {@link String}. The domain name may not be null
+     * @return The registrable domain as a {@link String} or null, if the domain name does not
+     * contain a registrable domain
+     */
+    private String getRegistrableDomain(final PublicSuffixTrie trie, final String domainName) {
+        int start = trie.getRegistrableDomainStart(domainName);
+        return start != -1 ? domainName.substring(start) : null;
+    }
+
+    /**
+     * Returns the public suffix of a specific domain name.
+     *
+     * @param trie
+     *         The trie, which should be used, as an instance of the class {@link
+     *         PublicSuffixTrie}. The trie may not be null
+     * @param domainName
+     *         The domain name as a {@link String}. The domain name may not be null
+     * @return The public suffix as a {@link String} or null, if the top-level domain is unknown
+     */
+    private String getPublicSuffix(final PublicSuffixTrie trie, final String domainName) {
+        int start = trie.getPublicSuffixStart(domainName);
+        return start != -1 ? domainName.substring(start) : null;
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown by the read-method, if the stream is
+     * null.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the stream could not be read
+     */
+    public final void testReadThrowsException() throws IOException {
+        try {
+            PublicSuffixTrie.read(null);
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+    /**
+     * Tests the functionality of the getRuleCount-method.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the trie could not be created
+     */
+    public final void testGetRuleCount() throws IOException {
+        assertEquals(10, createTrie().getRuleCount());
+    }
+
+    /**
+     * Tests the functionality of the getPublicSuffixStart-method.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the trie could not be created
+     */
+    public final void testGetPublicSuffixStart() throws IOException {
+        PublicSuffixTrie trie = createTrie();
+        assertEquals("com", getPublicSuffix(trie, "com"));
+        assertEquals("com", getPublicSuffix(trie, "www.example.com"));
+        assertEquals("COM", getPublicSuffix(trie, "Example.COM"));
+        assertEquals("co.uk", getPublicSuffix(trie, "www.example.co.uk"));
+        assertEquals("uk", getPublicSuffix(trie, "example.uk"));
+        assertEquals("foo.kawasaki.jp", getPublicSuffix(trie, "a.foo.kawasaki.jp"));
+        assertEquals("kawasaki.jp", getPublicSuffix(trie, "city.kawasaki.jp"));
+        assertEquals("kawasaki.jp", getPublicSuffix(trie, "www.city.kawasaki.jp"));
+        assertEquals("jp", getPublicSuffix(trie, "kawasaki.jp"));
+        assertEquals("example.ck", getPublicSuffix(trie, "example.ck"));
+        assertEquals("ck", getPublicSuffix(trie, "www.ck"));
+        assertEquals("рф", getPublicSuffix(trie, "пример.рф"));
+        assertNull(getPublicSuffix(trie, "example.con"));
+        assertNull(getPublicSuffix(trie, "example.com."));
+        assertNull(getPublicSuffix(trie, ""));
+    }
+
+    /**
+     * Tests the functionality of the getPublicSuffixStart-method, if the implicit rule is applied
+     * to top-level domains, which are not contained by the trie.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the trie could not be created
+     */
+    public final void testGetPublicSuffixStartWithImplicitRule() throws IOException {
+        PublicSuffixTrie trie = createTrie();
+        String text = "www.example.club";
+        assertEquals(-1, trie.getPublicSuffixStart(text, 0, text.length(), false));
+        assertEquals(12, trie.getPublicSuffixStart(text, 0, text.length(), true));
+        assertEquals(4, trie.getPublicSuffixStart("foo.com", 0, 7, true));
+        text = "192.168.0.1";
+        assertEquals(-1, trie.getPublicSuffixStart(text, 0, text.length(), true));
+        text = "example.club.";
+        assertEquals(-1, trie.getPublicSuffixStart(text, 0, text.length(), true));
+    }
+
+    /**
+     * Tests the functionality of the getRegistrableDomainStart-method.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the trie could not be created
+     */
+    public final void testGetRegistrableDomainStart() throws IOException {
+        PublicSuffixTrie trie = createTrie();
+        assertEquals("example.com", getRegistrableDomain(trie, "www.example.com"));
+        assertEquals("example.co.uk", getRegistrableDomain(trie, "www.example.co.uk"));
+        assertNull(getRegistrableDomain(trie, "co.uk"));
+        assertEquals("city.kawasaki.jp", getRegistrableDomain(trie, "www.city.kawasaki.jp"));
+        assertEquals("www.ck", getRegistrableDomain(trie, "www.ck"));
+        assertEquals("a.foo.kawasaki.jp", getRegistrableDomain(trie, "a.foo.kawasaki.jp"));
+        assertNull(getRegistrableDomain(trie, "com"));
+        assertNull(getRegistrableDomain(trie, "foo.kawasaki.jp"));
+        assertNull(getRegistrableDomain(trie, "example.ck"));
+        assertNull(getRegistrableDomain(trie, ".com"));
+        assertNull(getRegistrableDomain(trie, "gmail.con"));
+        assertNull(getRegistrableDomain(trie, "192.168.0.1"));
+    }
+
+    /**
+     * Tests the functionality of the getRegistrableDomainStart-method, if the implicit rule is
+     * applied to top-level domains, which are not contained by the trie.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the trie could not be created
+     */
+    public final void testGetRegistrableDomainStartWithImplicitRule() throws IOException {
+        PublicSuffixTrie trie = createTrie();
+        String text = "www.example.club";
+        assertEquals(-1, trie.getRegistrableDomainStart(text, 0, text.length(), false));
+        assertEquals(4, trie.getRegistrableDomainStart(text, 0, text.length(), true));
+        text = "club";
+        assertEquals(-1, trie.getRegistrableDomainStart(text, 0, text.length(), true));
+        text = "192.168.0.1";
+        assertEquals(-1, trie.getRegistrableDomainStart(text, 0, text.length(), true));
+        text = "www.example.co.uk";
+        assertEquals(4, trie.getRegistrableDomainStart(text, 0, text.length(), true));
+    }
+
+    /**
+     * Tests the functionality of the getRegistrableDomainStart-method, which expects a range of a
+     * text as parameters.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the trie could not be created
+     */
+    public final void testGetRegistrableDomainStartWithRange() throws IOException {
+        PublicSuffixTrie trie = createTrie();
+        String text = "john@mail.example.de>";
+        assertEquals(10, trie.getRegistrableDomainStart(text, 5, text.length() - 1));
+        assertEquals(-1, trie.getRegistrableDomainStart(text, 5, text.length()));
+        assertEquals(-1, trie.getRegistrableDomainStart(text, 18, text.length() - 1));
+
+        try {
+            trie.getRegistrableDomainStart(text, 5, text.length() + 1);
+            Assert.fail();
+        } catch (IndexOutOfBoundsException e) {
+
+        }
+    }
+
+    /**
+     * Tests the functionality of the methods, which allow to write a trie and to read it from a
+     * buffer or a memory-mapped file.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the trie could not be written or read
+     */
+    public final void testWriteAndRead() throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        createTrie().writeTo(stream);
+        byte[] data = stream.toByteArray();
+        PublicSuffixTrie wrappedTrie = PublicSuffixTrie.wrap(ByteBuffer.wrap(data));
+        assertEquals(10, wrappedTrie.getRuleCount());
+        assertEquals("example.co.uk", getRegistrableDomain(wrappedTrie, "example.co.uk"));
+        File file = File.createTempFile("PublicSuffixTrieTest", ".bin");
+
+        try {
+            FileOutputStream fileStream = new FileOutputStream(file);
+
+            try {
+                fileStream.write(data);
+            } finally {
+                fileStream.close();
+            }
+
+            PublicSuffixTrie mappedTrie = PublicSuffixTrie.map(file);
+            assertEquals(0, mappedTrie.getMemoryFootprint());
+            assertEquals("city.kawasaki.jp", getRegistrableDomain(mappedTrie, "city.kawasaki.jp"));
+            assertNull(getRegistrableDomain(mappedTrie, "example.con"));
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Ensures, that an {@link IOException} is thrown by the wrap-method, if the buffer does not
+     * contain a valid trie.
+     */
+    public final void testWrapThrowsException() {
+        try {
+            PublicSuffixTrie.wrap(ByteBuffer.wrap(new byte[]{1, 2, 3, 4}));
+            Assert.fail();
+        } catch (IOException e) {
+
+        }
+    }
+
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.file;
+
+import android.test.AndroidTestCase;
+
+import junit.framework.Assert;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import de.mrapp.android.validation.Validator;
+import de.mrapp.android.validation.Validators;
+
+/**
+ * Tests the functionality of the class {@link MappedFileValidator}.
+ *
+ * @author Michael Rapp
+ */
+public class MappedFileValidatorTest extends AndroidTestCase {
+
+    /**
+     * The content of the file, which is used for test purposes. The lines 2, 4 and 7 are invalid.
+     */
+    private static final String CONTENT = "123\nabc\r\n456\nä1\n\n789\r\n0a";
+
+    /**
+     * Creates and returns a file with a specific content, which may be used for test purposes.
+     *
+     * @param content
+     *         The content of the file as a {@link String}
+     * @return The file, which has been created, as an instance of the class {@link File}
+     * @throws IOException
+     *         The exception, which is thrown, if the file could not be written
+     */
+    private File createFile(final String content) throws IOException {
+        File file = File.createTempFile("validation", ".txt", getContext().getCacheDir());
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+
+        try {
+            writer.write(content);
+        } finally {
+            writer.close();
+        }
+
+        return file;
+    }
+
+    /**
+     * Returns the validator, which is used for test purposes.
+     *
+     * @return The validator, which is used for test purposes, as an instance of the type {@link
+     * Validator}
+     */
+    private Validator<CharSequence> createValidator() {
+        return Validators.number("foo");
+    }
+
+    /**
+     * Tests, if all properties are set correctly by the constructor.
+     */
+    public final void testConstructor() {
+        Validator<CharSequence> validator = createValidator();
+        MappedFileValidator mappedFileValidator = new MappedFileValidator(validator, 2);
+        assertEquals(validator, mappedFileValidator.getValidator());
+        assertEquals(2, mappedFileValidator.getParallelism());
+        assertEquals(MappedFileValidator.DEFAULT_WINDOW_SIZE, mappedFileValidator.getWindowSize());
+        assertEquals(MappedFileValidator.DEFAULT_CHUNK_SIZE, mappedFileValidator.getChunkSize());
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown by the constructor, if the validator
+     * is null.
+     */
+    public final void testConstructorThrowsExceptionWhenValidatorIsNull() {
+        try {
+            new MappedFileValidator(null);
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+    /**
+     * Ensures, that an {@link IllegalArgumentException} is thrown by the constructor, if the
+     * parallelism is less than 1.
+     */
+    public final void testConstructorThrowsExceptionWhenParallelismIsLessThanOne() {
+        try {
+            new MappedFileValidator(createValidator(), 0);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+
+        }
+    }
+
+    /**
+     * Ensures, that an {@link IllegalArgumentException} is thrown, if the window size is set to a
+     * value less than 1.
+     */
+    public final void testSetWindowSizeThrowsException() {
+        try {
+            new MappedFileValidator(createValidator()).setWindowSize(0);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+
+        }
+    }
+
+    /**
+     * Ensures, that an {@link IllegalArgumentException} is thrown, if the chunk size is set to a
+     * value less than 1.
+     */
+    public final void testSetChunkSizeThrowsException() {
+        try {
+            new MappedFileValidator(createValidator()).setChunkSize(0);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+
+        }
+    }
+
+    /**
+     * Tests the functionality of the validate-method.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the file could not be read
+     */
+    public final void testValidate() throws IOException {
+        File file = createFile(CONTENT);
+        MappedFileValidator mappedFileValidator = new MappedFileValidator(createValidator());
+        long[] failedLines = mappedFileValidator.validate(file);
+        assertEquals(3, failedLines.length);
+        assertEquals(2, failedLines[0]);
+        assertEquals(4, failedLines[1]);
+        assertEquals(7, failedLines[2]);
+    }
+
+    /**
+     * Tests the functionality of the validate-method, if small windows and chunks are used.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the file could not be read
+     */
+    public final void testValidateWithSmallWindowsAndChunks() throws IOException {
+        File file = createFile(CONTENT);
+        MappedFileValidator mappedFileValidator = new MappedFileValidator(createValidator(), 4);
+        mappedFileValidator.setWindowSize(10);
+        mappedFileValidator.setChunkSize(2);
+        long[] failedLines = mappedFileValidator.validate(file);
+        assertEquals(3, failedLines.length);
+        assertEquals(2, failedLines[0]);
+        assertEquals(4, failedLines[1]);
+        assertEquals(7, failedLines[2]);
+    }
+
+    /**
+     * Tests the functionality of the validate-method, if all lines are valid.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the file could not be read
+     */
+    public final void testValidateSucceeds() throws IOException {
+        File file = createFile("1\n2\n3\n");
+        MappedFileValidator mappedFileValidator = new MappedFileValidator(createValidator());
+        assertEquals(0, mappedFileValidator.validate(file).length);
+    }
+
+    /**
+     * Ensures, that an {@link IOException} is thrown by the validate-method, if a line is longer
+     * than the window size.
+     */
+    public final void testValidateThrowsExceptionWhenLineIsLongerThanWindow() {
+        try {
+            File file = createFile("123456789\n1\n");
+            MappedFileValidator mappedFileValidator = new MappedFileValidator(createValidator());
+            mappedFileValidator.setWindowSize(4);
+            mappedFileValidator.validate(file);
+            Assert.fail();
+        } catch (IOException e) {
+
+        }
+    }
+
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.form;
+
+import android.support.v7.widget.RecyclerView;
+import android.test.AndroidTestCase;
+import android.widget.ArrayAdapter;
+import android.widget.FrameLayout;
+
+import junit.framework.Assert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import de.mrapp.android.validation.EditText;
+import de.mrapp.android.validation.Spinner;
+import de.mrapp.android.validation.Validators;
+
+/**
+ * Tests the functionality of the class {@link FormAdapter}.
+ *
+ * @author Michael Rapp
+ */
+public class FormAdapterTest extends AndroidTestCase {
+
+    /**
+     * The number of fields, which are contained by the forms, which are used by the tests.
+     */
+    private static final int FIELD_COUNT = 300;
+
+    /**
+     * Creates and returns a list of text fields, which must not be empty.
+     *
+     * @return A list, which contains the fields, which have been created, as an instance of the
+     * type {@link List}
+     */
+    private List<TextFormField> createTextFields() {
+        List<TextFormField> fields = new ArrayList<>();
+
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            TextFormField field = new TextFormField("field " + i);
+            field.setHint("hint " + i);
+            field.getModel().addValidator(Validators.notEmpty("empty"));
+            fields.add(field);
+        }
+
+        return fields;
+    }
+
+    /**
+     * Tests, if the validity of a form can be determined without creating any views.
+     */
+    public final void testIsValid() {
+        List<TextFormField> fields = createTextFields();
+        FormAdapter formAdapter = new FormAdapter(fields);
+        assertEquals(FIELD_COUNT, formAdapter.getItemCount());
+        assertFalse(formAdapter.isValidated(0));
+        assertTrue(formAdapter.isValid());
+        assertTrue(formAdapter.isValidated(FIELD_COUNT - 1));
+        fields.get(150).setValue("");
+        fields.get(200).setValue("");
+        assertFalse(formAdapter.isValid());
+        assertFalse(formAdapter.isValid(150));
+        assertEquals(150, formAdapter.getFirstInvalidPosition());
+        fields.get(150).setValue("foo");
+        assertEquals(200, formAdapter.getFirstInvalidPosition());
+        assertEquals(200, formAdapter.validate());
+
+        for (TextFormField field : fields) {
+            assertNull(field.getModel().getView());
+        }
+    }
+
+    /**
+     * Ensures, that the result of a field's last validation is discarded, if its value is changed
+     * without validating it.
+     */
+    public final void testIsValidAfterValueIsChanged() {
+        List<TextFormField> fields = createTextFields();
+        fields.get(100).getModel().validateOnValueChange(false);
+        FormAdapter formAdapter = new FormAdapter(fields);
+        assertTrue(formAdapter.isValid());
+        assertTrue(formAdapter.isValidated(100));
+        fields.get(100).setValue("");
+        assertFalse(formAdapter.isValidated(100));
+        assertFalse(formAdapter.isValid());
+        assertEquals(100, formAdapter.getFirstInvalidPosition());
+        fields.get(100).setValue("foo");
+        assertFalse(formAdapter.isValidated(100));
+        assertTrue(formAdapter.isValid());
+        fields.get(100).getModel().invalidate();
+        assertFalse(formAdapter.isValidated(100));
+        assertTrue(formAdapter.isValid(100));
+        assertTrue(formAdapter.isValidated(100));
+    }
+
+    /**
+     * Ensures, that fields can be reused by another adapter, which is notified instead of the
+     * previous one, when the fields are validated.
+     */
+    public final void testFieldsAreReusedByAnotherAdapter() {
+        List<TextFormField> fields = createTextFields();
+        FormAdapter formAdapter = new FormAdapter(fields);
+        assertTrue(formAdapter.isValid());
+        List<TextFormField> reversedFields = new ArrayList<>(fields);
+        Collections.reverse(reversedFields);
+        FormAdapter reusingFormAdapter = new FormAdapter(reversedFields);
+
+        for (TextFormField field : fields) {
+            assertSame(reusingFormAdapter, field.getAdapter());
+        }
+
+        assertTrue(reusingFormAdapter.isValid());
+        fields.get(0).setValue("");
+        assertTrue(reusingFormAdapter.isValidated(FIELD_COUNT - 1));
+        assertEquals(FIELD_COUNT - 1, reusingFormAdapter.getFirstInvalidPosition());
+        fields.get(0).setValue("foo");
+        assertTrue(reusingFormAdapter.isValidated(FIELD_COUNT - 1));
+        assertTrue(reusingFormAdapter.isValid());
+    }
+
+    /**
+     * Tests the functionality of the methods, which allow to create, bind and recycle views.
+     */
+    public final void testBindViewHolder() {
+        List<TextFormField> fields = createTextFields();
+        fields.get(1).setValue("");
+        FormAdapter formAdapter = new FormAdapter(fields);
+        FrameLayout parent = new FrameLayout(getContext());
+        FormAdapter.ViewHolder viewHolder = formAdapter
+                .onCreateViewHolder(parent, formAdapter.getItemViewType(0));
+        EditText editText = (EditText) viewHolder.getView();
+        formAdapter.onBindViewHolder(viewHolder, 0);
+        assertEquals("field 0", editText.getText().toString());
+        assertEquals("hint 0", editText.getHint());
+        assertEquals(fields.get(0).getModel(), editText.getModel());
+        editText.setText("changed");
+        formAdapter.onViewRecycled(viewHolder);
+        assertNull(editText.getModel());
+        assertEquals("changed", fields.get(0).getValue());
+        assertFalse(formAdapter.isValid(1));
+        formAdapter.onBindViewHolder(viewHolder, 1);
+        assertEquals("", editText.getText().toString());
+        assertEquals("empty", editText.getError());
+    }
+
+    /**
+     * Tests the functionality of the adapter, if it contains fields, which allow to select items.
+     */
+    public final void testSpinnerFormField() {
+        ArrayAdapter<String> arrayAdapter = new ArrayAdapter<>(getContext(),
+                android.R.layout.simple_spinner_item, new String[]{"foo", "bar"});
+        SpinnerFormField spinnerField = new SpinnerFormField(arrayAdapter, "bar");
+        spinnerField.getModel().addValidator(Validators.notNull("null"));
+        SpinnerFormField emptySpinnerField = new SpinnerFormField(arrayAdapter);
+        emptySpinnerField.getModel().addValidator(Validators.notNull("null"));
+        FormAdapter formAdapter = new FormAdapter(
+                Arrays.<FormField<?>>asList(new TextFormField("foo"), spinnerField,
+                        emptySpinnerField));
+        assertTrue(formAdapter.getItemViewType(0) != formAdapter.getItemViewType(1));
+        assertEquals(2, formAdapter.getFirstInvalidPosition());
+        FormAdapter.ViewHolder viewHolder = formAdapter
+                .onCreateViewHolder(new FrameLayout(getContext()), formAdapter.getItemViewType(1));
+        Spinner spinner = (Spinner) viewHolder.getView();
+        formAdapter.onBindViewHolder(viewHolder, 1);
+        assertEquals("bar", spinner.getSelectedItem());
+        formAdapter.onBindViewHolder(viewHolder, 2);
+        assertNull(spinner.getSelectedItem());
+        assertEquals("null", spinner.getError());
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown, if the collection, which is passed
+     * to the constructor, is null.
+     */
+    public final void testConstructorThrowsException() {
+        try {
+            new FormAdapter(null);
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+    /**
+     * Ensures, that {@link RecyclerView#NO_POSITION} is returned, if an empty form is validated.
+     */
+    public final void testValidateEmptyForm() {
+        FormAdapter formAdapter = new FormAdapter(new ArrayList<FormField<?>>());
+        assertEquals(RecyclerView.NO_POSITION, formAdapter.validate());
+        assertTrue(formAdapter.isValid());
+    }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.form;
+
+import android.support.annotation.NonNull;
+import android.test.AndroidTestCase;
+
+import junit.framework.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.mrapp.android.validation.ValidationModel;
+import de.mrapp.android.validation.validators.AbstractValidator;
+
+/**
+ * Tests the functionality of the class {@link ValidityTracker}.
+ *
+ * @author Michael Rapp
+ */
+public class ValidityTrackerTest extends AndroidTestCase {
+
+    /**
+     * The number of validateables, which are tracked by the tests.
+     */
+    private static final int FIELD_COUNT = 40;
+
+    /**
+     * A validator, which counts its invocations and fails, if a text is empty.
+     */
+    private static class CountingValidator extends AbstractValidator<CharSequence> {
+
+        /**
+         * The number of times, the validator has been invoked.
+         */
+        private int invocationCount;
+
+        /**
+         * Creates a new validator, which counts its invocations and fails, if a text is empty.
+         */
+        CountingValidator() {
+            super("empty");
+        }
+
+        @Override
+        public boolean validate(final CharSequence value) {
+            invocationCount++;
+            return value != null && value.length() > 0;
+        }
+
+    }
+
+    /**
+     * A listener, which records the changes of the overall validity.
+     */
+    private static class RecordingListener implements ValidityTracker.ValidityListener {
+
+        /**
+         * A list, which contains the recorded changes.
+         */
+        private final List<Boolean> changes = new ArrayList<>();
+
+        @Override
+        public void onValidityChanged(@NonNull final ValidityTracker tracker,
+                                      final boolean valid) {
+            changes.add(valid);
+        }
+
+    }
+
+    /**
+     * Tests, if the validity is tracked incrementally and if listeners are only notified, when the
+     * overall validity changes.
+     */
+    public final void testValidityChanges() {
+        List<ValidationModel<CharSequence>> models = new ArrayList<>();
+        List<CountingValidator> validators = new ArrayList<>();
+        ValidityTracker tracker = new ValidityTracker();
+        RecordingListener listener = new RecordingListener();
+        tracker.addValidityListener(listener);
+
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            CountingValidator validator = new CountingValidator();
+            ValidationModel<CharSequence> model = new ValidationModel<>();
+            model.addValidator(validator);
+            tracker.add(model);
+            models.add(model);
+            validators.add(validator);
+        }
+
+        assertFalse(tracker.isValid());
+        assertEquals(FIELD_COUNT, tracker.getInvalidCount());
+        assertEquals(1, listener.changes.size());
+
+        for (ValidationModel<CharSequence> model : models) {
+            model.setValue("foo");
+        }
+
+        assertTrue(tracker.isValid());
+        assertEquals(0, tracker.getInvalidCount());
+        assertNull(tracker.getFirstInvalid());
+        assertEquals(2, listener.changes.size());
+        assertTrue(listener.changes.get(1));
+        models.get(5).setValue("");
+        models.get(5).setValue("");
+        models.get(5).setValue("bar");
+        models.get(5).setValue("");
+        assertFalse(tracker.isValid());
+        assertFalse(tracker.isValid(models.get(5)));
+        assertTrue(tracker.isValid(models.get(6)));
+        assertEquals(models.get(5), tracker.getFirstInvalid());
+        assertEquals(5, listener.changes.size());
+
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            assertEquals(i == 5 ? 4 : 1, validators.get(i).invocationCount);
+        }
+
+        tracker.remove(models.get(5));
+        assertTrue(tracker.isValid());
+        assertEquals(6, listener.changes.size());
+        models.get(5).setValue("baz");
+        models.get(5).setValue("");
+        assertTrue(tracker.isValid());
+    }
+
+    /**
+     * Tests, if validateables, which are considered to be valid until they have been validated,
+     * are tracked correctly.
+     */
+    public final void testAddInitiallyValid() {
+        ValidityTracker tracker = new ValidityTracker();
+        ValidationModel<CharSequence> model = new ValidationModel<>();
+        model.addValidator(new CountingValidator());
+        tracker.add(model, true);
+        tracker.add(model);
+        assertTrue(tracker.isValid());
+        assertFalse(model.validate());
+        assertFalse(tracker.isValid());
+        assertEquals(1, tracker.getInvalidCount());
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown, if a validateable, which is null, is
+     * added.
+     */
+    public final void testAddThrowsException() {
+        try {
+            new ValidityTracker().add(null);
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+}
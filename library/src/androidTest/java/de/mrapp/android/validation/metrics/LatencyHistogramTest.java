@@ -0,0 +1,109 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.metrics;
+
+import android.test.AndroidTestCase;
+
+/**
+ * Tests the functionality of the class {@link LatencyHistogram}.
+ *
+ * @author Michael Rapp
+ */
+public class LatencyHistogramTest extends AndroidTestCase {
+
+    /**
+     * Ensures, that each value is counted in a bucket, whose bounds contain the value.
+     */
+    public final void testBucketBounds() {
+        for (long value = 0; value < 1000000; value += 13) {
+            int index = LatencyHistogram.getBucketIndex(value);
+            assertTrue(value >= LatencyHistogram.getLowerBound(index));
+            assertTrue(value <= LatencyHistogram.getUpperBound(index));
+        }
+
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1,
+                LatencyHistogram.getBucketIndex(Long.MAX_VALUE));
+    }
+
+    /**
+     * Tests the functionality of the snapshot-method.
+     */
+    public final void testSnapshot() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot(false);
+        assertEquals(100, snapshot.getTotalCount());
+        assertEquals(50500d, snapshot.getMean());
+        assertEquals(100000, snapshot.getMax());
+        long median = snapshot.getValueAtPercentile(50);
+        assertTrue(median >= 50000);
+        assertTrue(median <= 50000 + 50000 / LatencyHistogram.SUB_BUCKET_COUNT);
+        assertEquals(100000, snapshot.getValueAtPercentile(100));
+        assertEquals(100, histogram.getTotalCount());
+    }
+
+    /**
+     * Tests the functionality of the snapshot-method, if the histogram should be reset.
+     */
+    public final void testSnapshotWithReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(10);
+        histogram.record(-1);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot(true);
+        assertEquals(2, snapshot.getTotalCount());
+        assertEquals(10, snapshot.getMax());
+        assertEquals(0, histogram.getTotalCount());
+        snapshot = histogram.snapshot(false);
+        assertEquals(0, snapshot.getTotalCount());
+        assertEquals(0, snapshot.getValueAtPercentile(50));
+    }
+
+    /**
+     * Ensures, that values, which are recorded by multiple threads at once, are not lost.
+     *
+     * @throws InterruptedException
+     *         The exception, which is thrown, if the current thread has been interrupted
+     */
+    public final void testConcurrentRecording() throws InterruptedException {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[4];
+
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(new Runnable() {
+
+                @Override
+                public void run() {
+                    for (int j = 0; j < 10000; j++) {
+                        histogram.record(j);
+                    }
+                }
+
+            });
+            threads[i].start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot(false);
+        assertEquals(40000, snapshot.getTotalCount());
+        assertEquals(9999, snapshot.getMax());
+    }
+
+}
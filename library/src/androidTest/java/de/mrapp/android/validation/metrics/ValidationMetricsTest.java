@@ -0,0 +1,227 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.metrics;
+
+import android.test.AndroidTestCase;
+
+import junit.framework.Assert;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+import de.mrapp.android.validation.EditText;
+import de.mrapp.android.validation.Validateable;
+import de.mrapp.android.validation.ValidationModel;
+import de.mrapp.android.validation.Validator;
+import de.mrapp.android.validation.Validators;
+import de.mrapp.android.validation.validators.ConjunctiveValidator;
+import de.mrapp.android.validation.validators.DisjunctiveValidator;
+import de.mrapp.android.validation.validators.text.Case;
+
+/**
+ * Tests the functionality of the class {@link ValidationMetrics}.
+ *
+ * @author Michael Rapp
+ */
+public class ValidationMetricsTest extends AndroidTestCase {
+
+    /**
+     * Returns the statistics of a specific validator from a list.
+     *
+     * @param statistics
+     *         The list, which contains the statistics, as an instance of the type {@link List}
+     * @param validator
+     *         The validator, whose statistics should be returned, as an instance of the type {@link
+     *         Validator}
+     * @return The statistics of the given validator as an instance of the class {@link
+     * ValidatorStatistics} or null, if the list does not contain any statistics of the validator
+     */
+    private ValidatorStatistics find(final List<ValidatorStatistics> statistics,
+                                     final Validator<?> validator) {
+        for (ValidatorStatistics validatorStatistics : statistics) {
+            if (validatorStatistics.getValidator() == validator) {
+                return validatorStatistics;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Tests the functionality of the wrap-method.
+     */
+    public final void testWrap() {
+        ValidationMetrics metrics = new ValidationMetrics();
+        Validator<CharSequence> validator = Validators.number("foo");
+        Validator<CharSequence> instrumentedValidator = metrics.wrap(validator);
+        assertTrue(instrumentedValidator instanceof InstrumentedValidator);
+        assertEquals(instrumentedValidator, metrics.wrap(instrumentedValidator));
+        assertEquals(validator.getErrorMessage(), instrumentedValidator.getErrorMessage());
+        assertTrue(instrumentedValidator.validate("123"));
+        assertFalse(instrumentedValidator.validate("abc"));
+        List<ValidatorStatistics> statistics = metrics.snapshot();
+        assertEquals(1, statistics.size());
+        assertEquals(validator, statistics.get(0).getValidator());
+        assertEquals(2, statistics.get(0).getInvocationCount());
+        assertEquals(1, statistics.get(0).getFailureCount());
+        assertEquals(2, statistics.get(0).getLatencies().getTotalCount());
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown by the wrap-method, if the validator
+     * is null.
+     */
+    public final void testWrapThrowsException() {
+        try {
+            new ValidationMetrics().wrap(null);
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+    /**
+     * Ensures, that the single validators of a {@link ConjunctiveValidator} are recorded, when it
+     * is wrapped, without modifying it.
+     */
+    public final void testWrapConjunctiveValidator() {
+        ValidationMetrics metrics = new ValidationMetrics();
+        Validator<CharSequence> validator1 = Validators.notEmpty("foo");
+        Validator<CharSequence> validator2 = Validators.number("bar");
+        ConjunctiveValidator<CharSequence> conjunctiveValidator =
+                ConjunctiveValidator.create("foobar", validator1, validator2);
+        Validator<CharSequence> instrumentedValidator = metrics.wrap(conjunctiveValidator);
+        assertSame(validator1, conjunctiveValidator.getValidators()[0]);
+        assertSame(validator2, conjunctiveValidator.getValidators()[1]);
+        assertFalse(instrumentedValidator.validate("abc"));
+        assertTrue(instrumentedValidator.validate("123"));
+        assertFalse(conjunctiveValidator.validate("abc"));
+        List<ValidatorStatistics> statistics = metrics.snapshot();
+        assertEquals(3, statistics.size());
+        assertEquals(1, find(statistics, conjunctiveValidator).getFailureCount());
+        assertEquals(2, find(statistics, validator1).getInvocationCount());
+        assertEquals(0, find(statistics, validator1).getFailureCount());
+        assertEquals(1, find(statistics, validator2).getFailureCount());
+    }
+
+    /**
+     * Ensures, that the single validators of a {@link DisjunctiveValidator} are recorded, when
+     * validating a value by using the validate-method, and that the validation stops at the first
+     * single validator, which succeeds.
+     */
+    public final void testValidateDisjunctiveValidator() {
+        ValidationMetrics metrics = new ValidationMetrics();
+        Validator<CharSequence> validator1 = Validators.number("foo");
+        Validator<CharSequence> validator2 = Validators.letter("bar", Case.CASE_INSENSITIVE, false);
+        DisjunctiveValidator<CharSequence> disjunctiveValidator =
+                DisjunctiveValidator.create("foobar", validator1, validator2);
+        assertTrue(metrics.validate(disjunctiveValidator, "123"));
+        assertTrue(metrics.validate(disjunctiveValidator, "abc"));
+        assertFalse(metrics.validate(disjunctiveValidator, "a1!"));
+        List<ValidatorStatistics> statistics = metrics.snapshot();
+        assertEquals(1, find(statistics, disjunctiveValidator).getFailureCount());
+        assertEquals(3, find(statistics, validator1).getInvocationCount());
+        assertEquals(2, find(statistics, validator2).getInvocationCount());
+        assertEquals(1, find(statistics, validator2).getFailureCount());
+    }
+
+    /**
+     * Tests the functionality of the method, which allows to instrument the validators of a
+     * {@link ValidationModel}, and ensures, that the validators are not replaced.
+     */
+    public final void testInstrumentValidationModel() {
+        ValidationMetrics metrics = new ValidationMetrics();
+        Validator<CharSequence> validator = Validators.number("foo");
+        ValidationModel<CharSequence> model = new ValidationModel<>();
+        model.validateOnValueChange(false);
+        model.addValidator(validator);
+        metrics.instrument(model);
+        assertEquals(metrics, model.getValidationMetrics());
+        assertTrue(model.getValidators().contains(validator));
+        model.setValue("abc");
+        assertFalse(model.validate());
+        ValidatorStatistics statistics = find(metrics.snapshot(), validator);
+        assertNotNull(statistics);
+        assertEquals(1, statistics.getFailureCount());
+        model.removeValidator(validator);
+        assertTrue(model.getValidators().isEmpty());
+        assertTrue(model.validate());
+    }
+
+    /**
+     * Ensures, that an {@link IllegalArgumentException} is thrown by the method, which allows to
+     * instrument the validators of a {@link Validateable}, if the validateable is not supported.
+     */
+    @SuppressWarnings("unchecked")
+    public final void testInstrumentThrowsExceptionIfValidateableIsNotSupported() {
+        Validateable<CharSequence> proxy = (Validateable<CharSequence>) Proxy
+                .newProxyInstance(getClass().getClassLoader(), new Class[]{Validateable.class},
+                        new InvocationHandler() {
+
+                            @Override
+                            public Object invoke(final Object proxy, final Method method,
+                                                 final Object[] args) {
+                                return null;
+                            }
+
+                        });
+
+        try {
+            new ValidationMetrics().instrument(proxy);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+
+        }
+    }
+
+    /**
+     * Tests the functionality of the method, which allows to instrument the validators of a view.
+     */
+    public final void testInstrumentView() {
+        ValidationMetrics metrics = new ValidationMetrics();
+        Validator<CharSequence> validator = Validators.number("foo");
+        EditText editText = new EditText(getContext());
+        editText.validateOnValueChange(false);
+        editText.addValidator(validator);
+        metrics.instrument(editText);
+        assertEquals(metrics, editText.getValidationMetrics());
+        editText.setText("abc");
+        assertFalse(editText.validate());
+        editText.setText("123");
+        assertTrue(editText.validate());
+        ValidatorStatistics statistics = find(metrics.snapshot(), validator);
+        assertNotNull(statistics);
+        assertEquals(2, statistics.getInvocationCount());
+        assertEquals(1, statistics.getFailureCount());
+    }
+
+    /**
+     * Tests the functionality of the snapshotAndReset-method.
+     */
+    public final void testSnapshotAndReset() {
+        ValidationMetrics metrics = new ValidationMetrics();
+        Validator<CharSequence> validator = Validators.number("foo");
+        metrics.record(validator, 100, false);
+        List<ValidatorStatistics> statistics = metrics.snapshotAndReset();
+        assertEquals(1, statistics.size());
+        assertEquals(100, statistics.get(0).getLatencies().getMax());
+        assertTrue(metrics.snapshot().isEmpty());
+        metrics.record(validator, 100, true);
+        metrics.clear();
+        assertTrue(metrics.snapshot().isEmpty());
+    }
+
+}
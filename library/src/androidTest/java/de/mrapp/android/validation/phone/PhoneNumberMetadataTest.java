@@ -0,0 +1,278 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.phone;
+
+import android.test.AndroidTestCase;
+import android.util.Log;
+
+import junit.framework.Assert;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import de.mrapp.android.validation.validators.misc.RegionalPhoneNumberValidator;
+
+/**
+ * Tests the functionality of the classes {@link PhoneNumberMetadata} and {@link RegionMetadata}.
+ *
+ * @author Michael Rapp
+ */
+public class PhoneNumberMetadataTest extends AndroidTestCase {
+
+    /**
+     * Creates and returns metadata in the binary format, which may be used for test purposes.
+     *
+     * @return The metadata, which has been created, as a {@link Byte} array
+     * @throws IOException
+     *         The exception, which is thrown, if the metadata could not be created
+     */
+    private byte[] createData() throws IOException {
+        PhoneNumberMetadataWriter writer = new PhoneNumberMetadataWriter();
+        writer.addRegion("DE", 49, "00", "0", "1[5-7]:10-11", "[2-9]:6-11");
+        writer.addRegion("US", 1, "011", "1", "[2-9]:10");
+        writer.addRegion("IT", 39, "00", "", "3:9-10", "0:6-11");
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        writer.write(stream);
+        return stream.toByteArray();
+    }
+
+    /**
+     * Creates and returns metadata, which may be used for test purposes.
+     *
+     * @return The metadata, which has been created, as an instance of the class {@link
+     * PhoneNumberMetadata}
+     * @throws IOException
+     *         The exception, which is thrown, if the metadata could not be created
+     */
+    private PhoneNumberMetadata createMetadata() throws IOException {
+        return PhoneNumberMetadata.wrap(ByteBuffer.wrap(createData()));
+    }
+
+    /**
+     * Tests the functionality of the getRegion-method and ensures, that the numbering plans of
+     * regions are decoded lazily.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the metadata could not be created
+     */
+    public final void testGetRegion() throws IOException {
+        PhoneNumberMetadata metadata = createMetadata();
+        assertEquals(Arrays.asList("DE", "IT", "US"),
+                Arrays.asList(metadata.getRegionCodes().toArray()));
+        assertEquals(0, metadata.getDecodedRegionCount());
+        RegionMetadata region = metadata.getRegion("DE");
+        assertNotNull(region);
+        assertEquals("DE", region.getRegionCode());
+        assertEquals(49, region.getCallingCode());
+        assertEquals(1, metadata.getDecodedRegionCount());
+        assertSame(region, metadata.getRegion("DE"));
+        assertEquals(1, metadata.getDecodedRegionCount());
+        assertEquals(39, metadata.getRegion("IT").getCallingCode());
+        assertEquals(1, metadata.getRegion("US").getCallingCode());
+        assertNull(metadata.getRegion("FR"));
+        assertNull(metadata.getRegion("de"));
+        assertNull(metadata.getRegion("DEU"));
+        assertEquals(3, metadata.getDecodedRegionCount());
+    }
+
+    /**
+     * Tests the functionality of the isValidNumber-method of the class {@link RegionMetadata}, if
+     * numbers are valid.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the metadata could not be created
+     */
+    public final void testIsValidNumberSucceeds() throws IOException {
+        PhoneNumberMetadata metadata = createMetadata();
+        RegionMetadata germany = metadata.getRegion("DE");
+        assertTrue(germany.isValidNumber("+49 151 23456789"));
+        assertTrue(germany.isValidNumber("0049 151 23456789"));
+        assertTrue(germany.isValidNumber("0151 23456789"));
+        assertTrue(germany.isValidNumber("030 123456"));
+        assertTrue(germany.isValidNumber("030-1234-56"));
+        assertTrue(germany.isValidNumber("030/123456"));
+        assertTrue(germany.isValidNumber("(030) 123.456"));
+        assertTrue(germany.isValidNumber("30 123456"));
+        assertTrue(germany.isValidNumber("+49 (0)30 1234567"));
+        assertTrue(germany.isValidNumber("0049 (0) 151 23456789"));
+        RegionMetadata unitedStates = metadata.getRegion("US");
+        assertTrue(unitedStates.isValidNumber("+1 212 555 0100"));
+        assertTrue(unitedStates.isValidNumber("(212) 555-0100"));
+        assertTrue(unitedStates.isValidNumber("1 212 555 0100"));
+        assertTrue(unitedStates.isValidNumber("011 1 212 555 0100"));
+        RegionMetadata italy = metadata.getRegion("IT");
+        assertTrue(italy.isValidNumber("+39 06 1234 5678"));
+        assertTrue(italy.isValidNumber("06 12345678"));
+        assertTrue(italy.isValidNumber("+39 333 1234567"));
+    }
+
+    /**
+     * Tests the functionality of the isValidNumber-method of the class {@link RegionMetadata}, if
+     * numbers are invalid.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the metadata could not be created
+     */
+    public final void testIsValidNumberFails() throws IOException {
+        PhoneNumberMetadata metadata = createMetadata();
+        RegionMetadata germany = metadata.getRegion("DE");
+        assertFalse(germany.isValidNumber(""));
+        assertFalse(germany.isValidNumber("+"));
+        assertFalse(germany.isValidNumber("+49 30 12"));
+        assertFalse(germany.isValidNumber("+49 151 234"));
+        assertFalse(germany.isValidNumber("+48 30 123456"));
+        assertFalse(germany.isValidNumber("0151 2345 678a"));
+        assertFalse(germany.isValidNumber("+49 +30 123456"));
+        assertFalse(germany.isValidNumber("030 123456+"));
+        assertFalse(germany.isValidNumber("0140 1234567"));
+        assertFalse(germany.isValidNumber("+49 30 12345678901234567890"));
+        assertFalse(germany.isValidNumber("+49 (1)30 1234567"));
+        assertFalse(germany.isValidNumber("+49 (0)30 12"));
+        RegionMetadata unitedStates = metadata.getRegion("US");
+        assertFalse(unitedStates.isValidNumber("212 555 010"));
+        assertFalse(unitedStates.isValidNumber("112 555 0100"));
+        assertFalse(unitedStates.isValidNumber("+49 212 555 0100"));
+        RegionMetadata italy = metadata.getRegion("IT");
+        assertFalse(italy.isValidNumber("+39 6 1234 5678"));
+        assertFalse(italy.isValidNumber("333 123"));
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown by the isValidNumber-method of the
+     * class {@link RegionMetadata}, if the text is null.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the metadata could not be created
+     */
+    public final void testIsValidNumberThrowsException() throws IOException {
+        try {
+            createMetadata().getRegion("DE").isValidNumber(null);
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+    /**
+     * Tests the functionality of the map-method.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the metadata could not be written or read
+     */
+    public final void testMap() throws IOException {
+        File file = File.createTempFile("PhoneNumberMetadataTest", ".bin");
+
+        try {
+            FileOutputStream stream = new FileOutputStream(file);
+
+            try {
+                stream.write(createData());
+            } finally {
+                stream.close();
+            }
+
+            PhoneNumberMetadata metadata = PhoneNumberMetadata.map(file);
+            assertEquals(3, metadata.getRegionCodes().size());
+            assertTrue(metadata.getRegion("US").isValidNumber("+1 212 555 0100"));
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Ensures, that an {@link IOException} is thrown by the wrap-method, if the buffer does not
+     * contain valid metadata.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the metadata could not be created
+     */
+    public final void testWrapThrowsException() throws IOException {
+        byte[] data = createData();
+        byte[] invalidVersion = data.clone();
+        invalidVersion[7] = 2;
+        byte[] invalidOffset = data.clone();
+        invalidOffset[PhoneNumberMetadata.HEADER_SIZE + 2] = 0x7f;
+        byte[][] corruptData = {new byte[]{1, 2, 3, 4}, invalidVersion, invalidOffset,
+                Arrays.copyOf(data, PhoneNumberMetadata.HEADER_SIZE + 1)};
+
+        for (byte[] bytes : corruptData) {
+            try {
+                PhoneNumberMetadata.wrap(ByteBuffer.wrap(bytes));
+                Assert.fail();
+            } catch (IOException e) {
+
+            }
+        }
+    }
+
+    /**
+     * Ensures, that an {@link IllegalStateException} is thrown by the getRegion-method, if the
+     * numbering plan of a region is truncated, while other regions can still be decoded.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the metadata could not be created
+     */
+    public final void testGetRegionThrowsException() throws IOException {
+        byte[] data = createData();
+        PhoneNumberMetadata metadata =
+                PhoneNumberMetadata.wrap(ByteBuffer.wrap(Arrays.copyOf(data, data.length - 1)));
+        assertNotNull(metadata.getRegion("DE"));
+
+        try {
+            metadata.getRegion("US");
+            Assert.fail();
+        } catch (IllegalStateException e) {
+
+        }
+    }
+
+    /**
+     * Measures the latency of opening the default metadata and decoding the numbering plan of a
+     * single region, as well as the latency of validating a number after each keystroke.
+     */
+    public final void testLatencyBenchmark() {
+        long startTime = System.nanoTime();
+        PhoneNumberMetadata metadata =
+                RegionalPhoneNumberValidator.getDefaultMetadata(getContext());
+        RegionMetadata region = metadata.getRegion("DE");
+        long coldTime = System.nanoTime() - startTime;
+        assertNotNull(region);
+        Random random = new Random(50);
+        int iterations = 10000;
+        int valid = 0;
+        StringBuilder number = new StringBuilder("+49 ");
+        startTime = System.nanoTime();
+
+        for (int i = 0; i < iterations; i++) {
+            if (number.length() > 16) {
+                number.setLength(4);
+            }
+
+            number.append((char) ('0' + random.nextInt(10)));
+            valid += region.isValidNumber(number) ? 1 : 0;
+        }
+
+        long warmTime = System.nanoTime() - startTime;
+        assertTrue(valid > 0);
+        Log.i(getClass().getSimpleName(), metadata + ": " + coldTime / 1000 +
+                "us until the first region is decoded, " + warmTime / iterations +
+                "ns per keystroke");
+    }
+
+}
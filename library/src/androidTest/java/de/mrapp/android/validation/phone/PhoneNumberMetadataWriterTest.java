@@ -0,0 +1,136 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.phone;
+
+import android.test.AndroidTestCase;
+
+import junit.framework.Assert;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Tests the functionality of the class {@link PhoneNumberMetadataWriter}.
+ *
+ * @author Michael Rapp
+ */
+public class PhoneNumberMetadataWriterTest extends AndroidTestCase {
+
+    /**
+     * Reads the numbering plans of regions from a specific text.
+     *
+     * @param text
+     *         The text as a {@link String}. The text may not be null
+     * @return The writer, the numbering plans have been added to, as an instance of the class
+     * {@link PhoneNumberMetadataWriter}
+     * @throws IOException
+     *         The exception, which is thrown, if the text could not be read
+     */
+    private PhoneNumberMetadataWriter read(final String text) throws IOException {
+        PhoneNumberMetadataWriter writer = new PhoneNumberMetadataWriter();
+        writer.read(new ByteArrayInputStream(text.getBytes("UTF-8")));
+        return writer;
+    }
+
+    /**
+     * Tests the functionality of the read-method.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the text could not be read
+     */
+    public final void testRead() throws IOException {
+        PhoneNumberMetadataWriter writer = read(
+                "# comment\n\nDE 49 00 0 1[5-7]:10-11 [2-9]:6-11\n IT 39 00 - 3:9-10 0:6-11 \n" +
+                        "DE 49 00 0 [1-9]:5\n");
+        assertEquals(2, writer.getRegionCount());
+    }
+
+    /**
+     * Ensures, that an {@link IOException} is thrown by the read-method, if the text contains
+     * invalid lines.
+     */
+    public final void testReadThrowsException() {
+        String[] texts = {"DE 49 00\n", "DE foo 00 0\n", "de 49 00 0\n", "DE 49 00 0 1\n",
+                "DE 49 00 0 1:0\n", "DE 49 00 0 1:18\n", "DE 49 00 0 1:11-10\n",
+                "DE 49 00 0 [1-:5\n", "DE 49 00 0 x:5\n", "DE 49 + 0 1:5\n"};
+
+        for (String text : texts) {
+            try {
+                read(text);
+                Assert.fail(text);
+            } catch (IOException e) {
+
+            }
+        }
+    }
+
+    /**
+     * Ensures, that an {@link IllegalArgumentException} is thrown by the addRegion-method, if the
+     * calling code is invalid.
+     */
+    public final void testAddRegionThrowsExceptionIfCallingCodeIsInvalid() {
+        PhoneNumberMetadataWriter writer = new PhoneNumberMetadataWriter();
+
+        try {
+            writer.addRegion("DE", 0, "00", "0");
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+
+        }
+
+        try {
+            writer.addRegion("DE", 1000, "00", "0");
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+
+        }
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown by the addRegion-method, if the
+     * region code is null.
+     */
+    public final void testAddRegionThrowsExceptionIfRegionCodeIsNull() {
+        try {
+            new PhoneNumberMetadataWriter().addRegion(null, 49, "00", "0");
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+    /**
+     * Tests the functionality of the write-method.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the metadata could not be written
+     */
+    public final void testWrite() throws IOException {
+        PhoneNumberMetadataWriter writer = new PhoneNumberMetadataWriter();
+        writer.addRegion("US", 1, "011", "1", "[2-9]:10");
+        writer.addRegion("DE", 49, "00", "0", "1[5-7]:10-11", "[2-9]:6-11");
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        writer.write(stream);
+        ByteBuffer buffer = ByteBuffer.wrap(stream.toByteArray());
+        assertEquals(PhoneNumberMetadata.MAGIC, buffer.getInt(0));
+        assertEquals(PhoneNumberMetadata.FORMAT_VERSION, buffer.getInt(4));
+        assertEquals(2, buffer.getInt(8));
+        assertEquals('D', buffer.get(PhoneNumberMetadata.HEADER_SIZE));
+        int entry = PhoneNumberMetadata.HEADER_SIZE + PhoneNumberMetadata.DIRECTORY_ENTRY_SIZE;
+        assertEquals('U', buffer.get(entry));
+    }
+
+}
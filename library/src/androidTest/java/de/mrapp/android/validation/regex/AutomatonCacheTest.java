@@ -0,0 +1,242 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.regex;
+
+import android.test.AndroidTestCase;
+import android.util.Log;
+
+import junit.framework.Assert;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+/**
+ * Tests the functionality of the class {@link AutomatonCache}.
+ *
+ * @author Michael Rapp
+ */
+public class AutomatonCacheTest extends AndroidTestCase {
+
+    /**
+     * A regular expression, which results in a large automaton.
+     */
+    private static final String EMAIL_REGEX =
+            "[a-zA-Z0-9+._%\\-]{1,256}@[a-zA-Z0-9][a-zA-Z0-9\\-]{0,64}" +
+                    "(\\.[a-zA-Z0-9][a-zA-Z0-9\\-]{0,25})+";
+
+    /**
+     * The characters, random texts are created from.
+     */
+    private static final String ALPHABET = "abAB01.@-_ ";
+
+    /**
+     * The directory, which is used by the tests.
+     */
+    private final File directory =
+            new File(System.getProperty("java.io.tmpdir"), "AutomatonCacheTest");
+
+    /**
+     * Returns the files, which are contained by the directory, which is used by the tests.
+     *
+     * @return An array, which contains the files, as an array of the type {@link File}. The array
+     * may not be null
+     */
+    private File[] listFiles() {
+        File[] files = directory.listFiles();
+        return files != null ? files : new File[0];
+    }
+
+    @Override
+    protected final void tearDown() throws Exception {
+        new AutomatonCache(directory).clear();
+        super.tearDown();
+    }
+
+    /**
+     * Tests, if all properties are set correctly by the constructor, which expects a directory as
+     * a parameter.
+     */
+    public final void testConstructorWithDirectoryParameter() {
+        AutomatonCache cache = new AutomatonCache(directory);
+        assertEquals(directory, cache.getDirectory());
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown by the constructor, which expects a
+     * directory as a parameter, if the directory is null.
+     */
+    public final void testConstructorThrowsExceptionWhenDirectoryIsNull() {
+        try {
+            new AutomatonCache((File) null);
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+    /**
+     * Ensures, that an automaton is stored, when it is compiled for the first time, and loaded
+     * afterwards.
+     */
+    public final void testCompileStoresAndLoadsAutomaton() {
+        AutomatonCache cache = new AutomatonCache(directory);
+        assertNull(cache.load("[a-z]+", 0, Automaton.DEFAULT_MAX_STATE_COUNT));
+        Automaton automaton = cache.compile("[a-z]+");
+        assertEquals(1, listFiles().length);
+        assertTrue(automaton.matches("abc"));
+        Automaton loadedAutomaton =
+                new AutomatonCache(directory).load("[a-z]+", 0, Automaton.DEFAULT_MAX_STATE_COUNT);
+        assertNotNull(loadedAutomaton);
+        assertEquals("[a-z]+", loadedAutomaton.getPattern());
+        assertTrue(loadedAutomaton.matches("abc"));
+        assertFalse(loadedAutomaton.matches("ab1"));
+    }
+
+    /**
+     * Ensures, that a loaded automaton produces the same results as the class {@link Pattern} for
+     * random texts.
+     */
+    public final void testLoadedAutomatonIsEquivalentToPattern() {
+        new AutomatonCache(directory).compile(EMAIL_REGEX, Pattern.CASE_INSENSITIVE);
+        Automaton automaton = new AutomatonCache(directory)
+                .load(EMAIL_REGEX, Pattern.CASE_INSENSITIVE, Automaton.DEFAULT_MAX_STATE_COUNT);
+        assertNotNull(automaton);
+        Pattern pattern = Pattern.compile(EMAIL_REGEX, Pattern.CASE_INSENSITIVE);
+        Random random = new Random(1);
+
+        for (int i = 0; i < 1000; i++) {
+            int length = random.nextInt(16);
+            StringBuilder text = new StringBuilder();
+
+            for (int j = 0; j < length; j++) {
+                text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+
+            assertEquals(text.toString(), pattern.matcher(text).matches(),
+                    automaton.matches(text));
+        }
+    }
+
+    /**
+     * Ensures, that the automata of a regular expression, which is used with different flags, are
+     * stored separately.
+     */
+    public final void testDifferentFlagsAreStoredSeparately() {
+        AutomatonCache cache = new AutomatonCache(directory);
+        cache.compile("abc");
+        cache.compile("abc", Pattern.CASE_INSENSITIVE);
+        assertEquals(2, listFiles().length);
+        assertFalse(cache.compile("abc").matches("ABC"));
+        assertTrue(cache.compile("abc", Pattern.CASE_INSENSITIVE).matches("ABC"));
+    }
+
+    /**
+     * Ensures, that a corrupt file is deleted and replaced by compiling the regular expression
+     * again.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the file could not be modified
+     */
+    public final void testCorruptFileIsReplaced() throws IOException {
+        AutomatonCache cache = new AutomatonCache(directory);
+        cache.compile("[0-9]+");
+        File file = listFiles()[0];
+        long length = file.length();
+        FileOutputStream stream = new FileOutputStream(file);
+
+        try {
+            stream.write(new byte[]{0x41, 0x4d, 0x56, 0x41, 0, 0, 0,
+                    (byte) AutomatonCache.FORMAT_VERSION, 0, 0, 0, 0x7f});
+        } finally {
+            stream.close();
+        }
+
+        assertNull(cache.load("[0-9]+", 0, Automaton.DEFAULT_MAX_STATE_COUNT));
+        assertFalse(file.exists());
+        assertTrue(cache.compile("[0-9]+").matches("123"));
+        assertEquals(length, file.length());
+        assertNotNull(cache.load("[0-9]+", 0, Automaton.DEFAULT_MAX_STATE_COUNT));
+    }
+
+    /**
+     * Tests the functionality of the methods, which allow to set the default cache and to compile
+     * a regular expression by using it.
+     */
+    public final void testCompileWithDefault() {
+        assertNull(AutomatonCache.getDefault());
+        Automaton automaton = AutomatonCache.compileWithDefault("[a-z]+", 0);
+        assertTrue(automaton.matches("abc"));
+        assertEquals(0, listFiles().length);
+        AutomatonCache cache = new AutomatonCache(directory);
+        AutomatonCache.setDefault(cache);
+
+        try {
+            assertEquals(cache, AutomatonCache.getDefault());
+            automaton = AutomatonCache.compileWithDefault("[a-z]+", 0);
+            assertTrue(automaton.matches("abc"));
+            assertEquals(1, listFiles().length);
+            assertNotNull(cache.load("[a-z]+", 0, Automaton.DEFAULT_MAX_STATE_COUNT));
+        } finally {
+            AutomatonCache.setDefault(null);
+        }
+    }
+
+    /**
+     * Tests the functionality of the method, which allows to delete all stored automata.
+     */
+    public final void testClear() {
+        AutomatonCache cache = new AutomatonCache(directory);
+        cache.compile("a");
+        cache.compile("b");
+        assertEquals(2, listFiles().length);
+        cache.clear();
+        assertEquals(0, listFiles().length);
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown, if the regular expression is null.
+     */
+    public final void testCompileThrowsExceptionWhenRegexIsNull() {
+        try {
+            new AutomatonCache(directory).compile(null);
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+    /**
+     * Compares the duration of compiling a regular expression at a cold start to the duration of
+     * loading its automaton from the cache.
+     */
+    public final void testColdStartBenchmark() {
+        AutomatonCache cache = new AutomatonCache(directory);
+        long startTime = System.nanoTime();
+        Automaton compiledAutomaton = cache.compile(EMAIL_REGEX);
+        long compileDuration = System.nanoTime() - startTime;
+        startTime = System.nanoTime();
+        Automaton loadedAutomaton =
+                new AutomatonCache(directory).compile(EMAIL_REGEX);
+        long loadDuration = System.nanoTime() - startTime;
+        assertTrue(compiledAutomaton.matches("someone@example.com"));
+        assertTrue(loadedAutomaton.matches("someone@example.com"));
+        Log.i(getClass().getSimpleName(),
+                "Compiling and storing the automaton took " + compileDuration / 1000 +
+                        "us, loading it took " + loadDuration / 1000 + "us");
+    }
+
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.regex;
+
+import android.test.AndroidTestCase;
+
+/**
+ * Tests the functionality of the class {@link IncrementalMatcher}.
+ *
+ * @author Michael Rapp
+ */
+public class IncrementalMatcherTest extends AndroidTestCase {
+
+    /**
+     * A text, which counts the number of characters, which have been read.
+     */
+    private static class CountingText implements CharSequence {
+
+        /**
+         * The characters of the text.
+         */
+        private final StringBuilder builder = new StringBuilder();
+
+        /**
+         * The number of characters, which have been read.
+         */
+        private int reads;
+
+        @Override
+        public int length() {
+            return builder.length();
+        }
+
+        @Override
+        public char charAt(final int index) {
+            reads++;
+            return builder.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            reads += end - start;
+            return builder.subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            reads += builder.length();
+            return builder.toString();
+        }
+
+    }
+
+    /**
+     * Tests the functionality of the matcher, when characters are appended one after another.
+     */
+    public final void testMatchesWhenAppending() {
+        Automaton automaton = Automaton.compile("[a-z]+@[a-z]+\\.com");
+        IncrementalMatcher matcher = automaton.createIncrementalMatcher();
+        StringBuilder text = new StringBuilder();
+
+        for (char character : "someone@example.co".toCharArray()) {
+            text.append(character);
+            assertFalse(matcher.matches(text));
+            assertTrue(matcher.matchesPrefix(text));
+        }
+
+        text.append('m');
+        assertTrue(matcher.matches(text));
+        text.append('@');
+        assertFalse(matcher.matches(text));
+        assertFalse(matcher.matchesPrefix(text));
+    }
+
+    /**
+     * Tests the functionality of the matcher, when characters are removed or replaced.
+     */
+    public final void testMatchesWhenEditing() {
+        IncrementalMatcher matcher = Automaton.compile("\\d{3}-\\d{4}").createIncrementalMatcher();
+        assertTrue(matcher.matches("555-1234"));
+        assertFalse(matcher.matches("555-123"));
+        assertTrue(matcher.matches("555-1239"));
+        assertFalse(matcher.matches("5x5-1239"));
+        assertTrue(matcher.matches("565-1239"));
+        assertFalse(matcher.matches(""));
+        assertTrue(matcher.matches("123-4567"));
+        matcher.reset();
+        assertTrue(matcher.matches("123-4567"));
+    }
+
+    /**
+     * Ensures, that only the appended characters are read, if the changes of a text are reported.
+     */
+    public final void testOnTextChangedOnlyReadsAppendedCharacters() {
+        IncrementalMatcher matcher =
+                Automaton.compile("[a-z]+@[a-z]+\\.com").createIncrementalMatcher();
+        CountingText text = new CountingText();
+        String value = "someone@example.com";
+
+        for (int i = 0; i < value.length(); i++) {
+            text.builder.append(value.charAt(i));
+            text.reads = 0;
+            matcher.onTextChanged(text, i, 0, 1);
+            assertEquals(i == value.length() - 1, matcher.matches(text));
+            assertTrue(matcher.matchesPrefix(text));
+            assertEquals(1, text.reads);
+        }
+
+        text.builder.append(".com");
+        text.reads = 0;
+        matcher.onTextChanged(text, value.length(), 0, 4);
+        assertFalse(matcher.matches(text));
+        assertEquals(4, text.reads);
+    }
+
+    /**
+     * Tests the functionality of the matcher, if the changes of a text, which replace or remove
+     * characters, are reported.
+     */
+    public final void testOnTextChangedWhenEditing() {
+        IncrementalMatcher matcher = Automaton.compile("\\d{3}-\\d{4}").createIncrementalMatcher();
+        CountingText text = new CountingText();
+        text.builder.append("555-1234");
+        matcher.onTextChanged(text, 0, 0, 8);
+        assertTrue(matcher.matches(text));
+        text.builder.replace(1, 2, "x");
+        matcher.onTextChanged(text, 1, 1, 1);
+        assertFalse(matcher.matches(text));
+        text.builder.replace(1, 2, "66");
+        matcher.onTextChanged(text, 1, 1, 2);
+        assertFalse(matcher.matches(text));
+        text.builder.delete(1, 2);
+        matcher.onTextChanged(text, 1, 1, 0);
+        assertTrue(matcher.matches(text));
+        text.builder.delete(4, 8);
+        matcher.onTextChanged(text, 4, 4, 0);
+        assertFalse(matcher.matches(text));
+        assertTrue(matcher.matchesPrefix(text));
+        assertFalse(matcher.matches("565-123x"));
+        assertTrue(matcher.matches("565-1239"));
+        text.builder.append("9876");
+        matcher.onTextChanged(text, 4, 0, 4);
+        assertTrue(matcher.matches(text));
+        assertEquals("565-9876", text.builder.toString());
+    }
+
+    /**
+     * Ensures, that a high surrogate at the end of a text is processed again, when a low surrogate
+     * is appended to it.
+     */
+    public final void testMatchesWhenSurrogatePairIsCompleted() {
+        IncrementalMatcher matcher = Automaton.compile("a.").createIncrementalMatcher();
+        StringBuilder text = new StringBuilder("a\uD83D");
+        assertTrue(matcher.matches(text));
+        text.append('\uDE00');
+        assertTrue(matcher.matches(text));
+        text.append('b');
+        assertFalse(matcher.matches(text));
+        text.setLength(1);
+        text.append('\uDE00');
+        matcher.onTextChanged(text, 1, 1, 1);
+        assertTrue(matcher.matches(text));
+        text.insert(1, '\uD83D');
+        matcher.onTextChanged(text, 1, 0, 1);
+        assertTrue(matcher.matches(text));
+        text.setCharAt(2, 'b');
+        matcher.onTextChanged(text, 2, 1, 1);
+        assertFalse(matcher.matches(text));
+        assertTrue(matcher.matchesPrefix("a\uD83D"));
+        assertFalse(matcher.matchesPrefix("a\uD83Db"));
+    }
+
+    /**
+     * Ensures, that the matcher produces the same results as the automaton, which it uses.
+     */
+    public final void testMatchesIsEquivalentToAutomaton() {
+        Automaton automaton = Automaton.compile("(ab|a)*c?");
+        IncrementalMatcher matcher = automaton.createIncrementalMatcher();
+        String[] texts = {"a", "ab", "aba", "abab", "ababc", "abac", "abaca", "ab", "", "c", "cc"};
+
+        for (String text : texts) {
+            assertEquals(text, automaton.matches(text), matcher.matches(text));
+        }
+    }
+
+}
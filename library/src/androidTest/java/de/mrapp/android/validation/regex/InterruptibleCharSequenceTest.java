@@ -0,0 +1,110 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.regex;
+
+import android.test.AndroidTestCase;
+
+import junit.framework.Assert;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests the functionality of the class {@link InterruptibleCharSequence}.
+ *
+ * @author Michael Rapp
+ */
+public class InterruptibleCharSequenceTest extends AndroidTestCase {
+
+    /**
+     * Tests the functionality of the methods, which delegate to the wrapped char sequence.
+     */
+    public final void testDelegation() {
+        InterruptibleCharSequence text = new InterruptibleCharSequence("foobar",
+                new MatchBudget(MatchBudget.UNLIMITED, MatchBudget.UNLIMITED, TimeUnit.SECONDS));
+        assertEquals(6, text.length());
+        assertEquals('b', text.charAt(3));
+        assertEquals("oba", text.subSequence(2, 5).toString());
+        assertEquals("foobar", text.toString());
+        assertEquals(1, text.getCharacterAccesses());
+    }
+
+    /**
+     * Ensures, that a {@link MatchBudgetExceededException} is thrown, once the maximum number of
+     * character accesses has been exceeded.
+     */
+    public final void testCharAtThrowsExceptionIfMaxCharacterAccessesAreExceeded() {
+        InterruptibleCharSequence text = new InterruptibleCharSequence("foo",
+                new MatchBudget(5, MatchBudget.UNLIMITED, TimeUnit.SECONDS));
+
+        for (int i = 0; i < 5; i++) {
+            text.charAt(i % text.length());
+        }
+
+        try {
+            text.charAt(0);
+            Assert.fail();
+        } catch (MatchBudgetExceededException e) {
+            assertEquals(6, text.getCharacterAccesses());
+        }
+    }
+
+    /**
+     * Ensures, that a {@link MatchBudgetExceededException} is thrown, once the deadline has been
+     * exceeded.
+     */
+    public final void testCharAtThrowsExceptionIfTimeoutIsExceeded() throws InterruptedException {
+        InterruptibleCharSequence text = new InterruptibleCharSequence("foo",
+                new MatchBudget(MatchBudget.UNLIMITED, 1, TimeUnit.MILLISECONDS));
+        Thread.sleep(5);
+
+        try {
+            for (int i = 0; i < InterruptibleCharSequence.DEADLINE_CHECK_INTERVAL; i++) {
+                text.charAt(0);
+            }
+
+            Assert.fail();
+        } catch (MatchBudgetExceededException e) {
+            assertEquals(InterruptibleCharSequence.DEADLINE_CHECK_INTERVAL,
+                    text.getCharacterAccesses());
+        }
+    }
+
+    /**
+     * Ensures, that an {@link IllegalArgumentException} is thrown, if a budget with a negative
+     * limit is created.
+     */
+    public final void testMatchBudgetThrowsExceptionIfLimitIsNegative() {
+        try {
+            new MatchBudget(-1, MatchBudget.UNLIMITED, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+
+        }
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown, if the wrapped char sequence is
+     * null.
+     */
+    public final void testConstructorThrowsExceptionIfTextIsNull() {
+        try {
+            new InterruptibleCharSequence(null,
+                    new MatchBudget(1, MatchBudget.UNLIMITED, TimeUnit.SECONDS));
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+}
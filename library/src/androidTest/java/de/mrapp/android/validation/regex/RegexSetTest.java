@@ -0,0 +1,179 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.regex;
+
+import android.test.AndroidTestCase;
+
+import junit.framework.Assert;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+/**
+ * Tests the functionality of the class {@link RegexSet}.
+ *
+ * @author Michael Rapp
+ */
+public class RegexSetTest extends AndroidTestCase {
+
+    /**
+     * The characters, random texts are created from.
+     */
+    private static final String ALPHABET = "abcAB01.@ ";
+
+    /**
+     * Compiles specific regular expressions into a set and ensures, that the set produces the same
+     * results as matching each regular expression separately by using the class {@link Pattern}.
+     *
+     * @param regexes
+     *         The regular expressions, which should be compiled, as a {@link String} array
+     */
+    private void assertEquivalentToPatterns(final String... regexes) {
+        Pattern[] patterns = new Pattern[regexes.length];
+
+        for (int i = 0; i < regexes.length; i++) {
+            patterns[i] = Pattern.compile(regexes[i]);
+        }
+
+        RegexSet regexSet = RegexSet.compile(patterns);
+        Random random = new Random(1);
+
+        for (int i = 0; i < 1000; i++) {
+            int length = random.nextInt(10);
+            StringBuilder text = new StringBuilder();
+
+            for (int j = 0; j < length; j++) {
+                text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+
+            long expected = 0;
+
+            for (int j = 0; j < patterns.length; j++) {
+                if (patterns[j].matcher(text).matches()) {
+                    expected |= 1L << j;
+                }
+            }
+
+            assertEquals(Arrays.toString(regexes) + " on \"" + text + "\"", expected,
+                    regexSet.match(text));
+        }
+    }
+
+    /**
+     * Ensures, that a set, whose regular expressions are all supported by the automaton, produces
+     * the same results as the class {@link Pattern}.
+     */
+    public final void testMatchIsEquivalentToPatterns() {
+        assertEquivalentToPatterns(".*[a-z].*", ".*[A-Z].*", ".*[0-9].*", ".*[^a-zA-Z0-9].*",
+                ".{6,}", "[a-c]+", "", "(?i)ab.*");
+    }
+
+    /**
+     * Ensures, that a set, which contains regular expressions, which are not supported by the
+     * automaton, produces the same results as the class {@link Pattern}.
+     */
+    public final void testMatchWithUnsupportedPatternsIsEquivalentToPatterns() {
+        assertEquivalentToPatterns("(a)\\1.*", ".*[0-9].*", "\\bab.*", ".*@.*", "(?=a).*b");
+    }
+
+    /**
+     * Tests the functionality of the method, which allows to determine, whether a regular
+     * expression is matched by the combined automaton.
+     */
+    public final void testIsCombined() {
+        RegexSet regexSet = RegexSet.compile(Pattern.compile("[a-z]+"), Pattern.compile("(a)\\1"),
+                Pattern.compile("[0-9]+"));
+        assertEquals(3, regexSet.getPatternCount());
+        assertEquals("(a)\\1", regexSet.getPattern(1).pattern());
+        assertTrue(regexSet.isCombined(0));
+        assertFalse(regexSet.isCombined(1));
+        assertTrue(regexSet.isCombined(2));
+    }
+
+    /**
+     * Tests the functionality of the method, which allows to compile the regular expressions,
+     * which are contained by a collection.
+     */
+    public final void testCompileCollection() {
+        Collection<Pattern> patterns =
+                Arrays.asList(Pattern.compile("a+"), Pattern.compile("b+"), Pattern.compile(".*"));
+        RegexSet regexSet = RegexSet.compile(patterns);
+        assertEquals(3, regexSet.getPatternCount());
+        assertEquals(5L, regexSet.match("aaa"));
+        assertEquals(6L, regexSet.match("bb"));
+        assertEquals(4L, regexSet.match("ab"));
+    }
+
+    /**
+     * Ensures, that the most significant bit of the bit mask is set, if a set contains the
+     * maximum number of regular expressions.
+     */
+    public final void testCompileMaximumNumberOfPatterns() {
+        Pattern[] patterns = new Pattern[RegexSet.MAX_PATTERN_COUNT];
+
+        for (int i = 0; i < patterns.length; i++) {
+            patterns[i] = Pattern.compile("a{" + i + "}");
+        }
+
+        RegexSet regexSet = RegexSet.compile(patterns);
+        assertEquals(1L, regexSet.match(""));
+        assertEquals(1L << 63, regexSet.match(new String(new char[63]).replace('\0', 'a')));
+        assertEquals(0L, regexSet.match("b"));
+    }
+
+    /**
+     * Ensures, that an {@link IllegalArgumentException} is thrown, if a set should contain more
+     * than the maximum number of regular expressions.
+     */
+    public final void testCompileThrowsExceptionWhenTooManyPatterns() {
+        Pattern[] patterns = new Pattern[RegexSet.MAX_PATTERN_COUNT + 1];
+        Arrays.fill(patterns, Pattern.compile("a"));
+
+        try {
+            RegexSet.compile(patterns);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+
+        }
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown, if a set should contain a regular
+     * expression, which is null.
+     */
+    public final void testCompileThrowsExceptionWhenPatternIsNull() {
+        try {
+            RegexSet.compile(Pattern.compile("a"), null);
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown, if a text, which is null, should be
+     * matched.
+     */
+    public final void testMatchThrowsExceptionWhenTextIsNull() {
+        try {
+            RegexSet.compile(Pattern.compile("a")).match(null);
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.regex;
+
+import android.support.annotation.NonNull;
+import android.test.AndroidTestCase;
+import android.util.Log;
+
+import junit.framework.Assert;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Tests the functionality of the class {@link ThreadLocalMatcher}.
+ *
+ * @author Michael Rapp
+ */
+public class ThreadLocalMatcherTest extends AndroidTestCase {
+
+    /**
+     * A text, which matches an other text against the same matcher, when being accessed.
+     */
+    private static class ReentrantText implements CharSequence {
+
+        /**
+         * The matcher, which is used to match the other text.
+         */
+        private final ThreadLocalMatcher matcher;
+
+        /**
+         * The text, which is wrapped.
+         */
+        private final String text;
+
+        /**
+         * True, if the other text matched, false otherwise.
+         */
+        private boolean nestedMatch;
+
+        /**
+         * Creates a new text, which matches an other text against the same matcher, when being
+         * accessed.
+         *
+         * @param matcher
+         *         The matcher, which should be used to match the other text, as an instance of the
+         *         class {@link ThreadLocalMatcher}. The matcher may not be null
+         * @param text
+         *         The text, which should be wrapped, as a {@link String}. The text may not be null
+         */
+        ReentrantText(@NonNull final ThreadLocalMatcher matcher, @NonNull final String text) {
+            this.matcher = matcher;
+            this.text = text;
+        }
+
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public char charAt(final int index) {
+            nestedMatch = matcher.matches("123");
+            return text.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            return text.subSequence(start, end);
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return text;
+        }
+
+    }
+
+    /**
+     * Tests, if all properties are set correctly by the constructor.
+     */
+    public final void testConstructor() {
+        Pattern pattern = Pattern.compile("[0-9]+");
+        ThreadLocalMatcher matcher = new ThreadLocalMatcher(pattern);
+        assertEquals(pattern, matcher.getPattern());
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown by the constructor, if the regular
+     * expression is null.
+     */
+    public final void testConstructorThrowsExceptionWhenPatternIsNull() {
+        try {
+            new ThreadLocalMatcher(null);
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+    /**
+     * Tests the functionality of the method, which allows to match texts, if the matcher is
+     * reused.
+     */
+    public final void testMatches() {
+        ThreadLocalMatcher matcher = new ThreadLocalMatcher(Pattern.compile("[0-9]+"));
+        assertTrue(matcher.matches("123"));
+        assertFalse(matcher.matches("12a"));
+        assertFalse(matcher.matches(""));
+        assertTrue(matcher.matches(new StringBuilder("4")));
+    }
+
+    /**
+     * Ensures, that texts can be matched, while an other text is matched by the same thread.
+     */
+    public final void testReentrantMatches() {
+        ThreadLocalMatcher matcher = new ThreadLocalMatcher(Pattern.compile("[0-9]+"));
+        ReentrantText text = new ReentrantText(matcher, "abc");
+        assertFalse(matcher.matches(text));
+        assertTrue(text.nestedMatch);
+        assertTrue(matcher.matches("456"));
+    }
+
+    /**
+     * Ensures, that texts, which are matched by multiple threads at once, produce the correct
+     * results.
+     *
+     * @throws InterruptedException
+     *         The exception, which is thrown, if the current thread has been interrupted
+     */
+    public final void testConcurrentMatches() throws InterruptedException {
+        final ThreadLocalMatcher matcher = new ThreadLocalMatcher(Pattern.compile("[0-9]+"));
+        final AtomicInteger errors = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+
+        for (int i = 0; i < threads.length; i++) {
+            final String validText = Integer.toString(i * 1000);
+            final String invalidText = validText + "x";
+            threads[i] = new Thread(new Runnable() {
+
+                @Override
+                public void run() {
+                    for (int j = 0; j < 10000; j++) {
+                        if (!matcher.matches(validText) || matcher.matches(invalidText)) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                }
+
+            });
+            threads[i].start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, errors.get());
+    }
+
+    /**
+     * Compares the duration of matching texts by reusing the matcher to the duration of matching
+     * texts by creating a new matcher for each text.
+     */
+    public final void testReuseBenchmark() {
+        Pattern pattern = Pattern.compile("[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,6}");
+        ThreadLocalMatcher matcher = new ThreadLocalMatcher(pattern);
+        StringBuilder text = new StringBuilder("someone@example.com");
+        int iterations = 100000;
+
+        for (int i = 0; i < iterations; i++) {
+            assertTrue(matcher.matches(text));
+            assertTrue(pattern.matcher(text).matches());
+        }
+
+        long startTime = System.nanoTime();
+
+        for (int i = 0; i < iterations; i++) {
+            matcher.matches(text);
+        }
+
+        long reusedDuration = System.nanoTime() - startTime;
+        startTime = System.nanoTime();
+
+        for (int i = 0; i < iterations; i++) {
+            pattern.matcher(text).matches();
+        }
+
+        long allocatedDuration = System.nanoTime() - startTime;
+        Log.i(getClass().getSimpleName(),
+                "Matching " + iterations + " texts took " + reusedDuration / 1000 +
+                        "us when reusing the matcher and " + allocatedDuration / 1000 +
+                        "us when creating a new matcher for each text");
+    }
+
+}
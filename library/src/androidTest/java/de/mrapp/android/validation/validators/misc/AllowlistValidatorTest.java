@@ -0,0 +1,113 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.validators.misc;
+
+import android.test.AndroidTestCase;
+
+import junit.framework.Assert;
+
+import java.util.Arrays;
+
+import de.mrapp.android.validation.datastructure.FrontCodedStringSet;
+
+/**
+ * Tests the functionality of the class {@link AllowlistValidator}.
+ *
+ * @author Michael Rapp
+ */
+public class AllowlistValidatorTest extends AndroidTestCase {
+
+    /**
+     * Creates and returns a set, which may be used for test purposes.
+     *
+     * @return The set, which has been created, as an instance of the class {@link
+     * FrontCodedStringSet}
+     */
+    private FrontCodedStringSet createSet() {
+        return FrontCodedStringSet.build(Arrays.asList("Berlin", "Bern", "Zürich"));
+    }
+
+    /**
+     * Tests, if all properties are correctly initialized by the constructor, which expects a char
+     * sequence and a set as parameters.
+     */
+    public final void testConstructorWithCharSequenceParameter() {
+        CharSequence errorMessage = "errorMessage";
+        FrontCodedStringSet set = createSet();
+        AllowlistValidator allowlistValidator = new AllowlistValidator(errorMessage, set);
+        assertEquals(errorMessage, allowlistValidator.getErrorMessage());
+        assertEquals(set, allowlistValidator.getSet());
+        assertTrue(allowlistValidator.isLoaded());
+    }
+
+    /**
+     * Tests, if all properties are correctly initialized by the constructor, which expects a
+     * context, a resource ID and a set as parameters.
+     */
+    public final void testConstructorWithContextAndResourceIdParameters() {
+        CharSequence errorMessage = getContext().getText(android.R.string.cancel);
+        FrontCodedStringSet set = createSet();
+        AllowlistValidator allowlistValidator =
+                new AllowlistValidator(getContext(), android.R.string.cancel, set);
+        assertEquals(errorMessage, allowlistValidator.getErrorMessage());
+        assertEquals(set, allowlistValidator.getSet());
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown by the constructor, if the set is
+     * null.
+     */
+    public final void testConstructorThrowsException() {
+        try {
+            new AllowlistValidator("foo", (FrontCodedStringSet) null);
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+    /**
+     * Ensures, that an {@link IllegalArgumentException} is thrown by the constructor, which
+     * expects the name of an asset, if the asset does not exist.
+     */
+    public final void testConstructorThrowsExceptionIfAssetDoesNotExist() {
+        try {
+            new AllowlistValidator("foo", getContext(), "missing_allowlist.bin");
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+
+        }
+    }
+
+    /**
+     * Tests the functionality of the validate-method, if it succeeds.
+     */
+    public final void testValidateSucceeds() {
+        AllowlistValidator allowlistValidator = new AllowlistValidator("foo", createSet());
+        assertTrue(allowlistValidator.validate(""));
+        assertTrue(allowlistValidator.validate("Berlin"));
+        assertTrue(allowlistValidator.validate(new StringBuilder("Zürich")));
+    }
+
+    /**
+     * Tests the functionality of the validate-method, if it fails.
+     */
+    public final void testValidateFails() {
+        AllowlistValidator allowlistValidator = new AllowlistValidator("foo", createSet());
+        assertFalse(allowlistValidator.validate("Ber"));
+        assertFalse(allowlistValidator.validate("berlin"));
+        assertFalse(allowlistValidator.validate("Zurich"));
+    }
+
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.validators.misc;
+
+import android.test.AndroidTestCase;
+
+import junit.framework.Assert;
+
+import java.util.Arrays;
+
+import de.mrapp.android.validation.datastructure.AhoCorasickAutomaton;
+
+/**
+ * Tests the functionality of the class {@link BlocklistValidator}.
+ *
+ * @author Michael Rapp
+ */
+public class BlocklistValidatorTest extends AndroidTestCase {
+
+    /**
+     * Creates and returns an automaton, which may be used for test purposes.
+     *
+     * @return The automaton, which has been created, as an instance of the class {@link
+     * AhoCorasickAutomaton}
+     */
+    private AhoCorasickAutomaton createAutomaton() {
+        return new AhoCorasickAutomaton(Arrays.asList("admin", "root"),
+                AhoCorasickAutomaton.CASE_INSENSITIVE | AhoCorasickAutomaton.LEETSPEAK);
+    }
+
+    /**
+     * Tests, if all properties are correctly initialized by the constructor, which expects a char
+     * sequence and an automaton as parameters.
+     */
+    public final void testConstructorWithCharSequenceParameter() {
+        CharSequence errorMessage = "errorMessage";
+        AhoCorasickAutomaton automaton = createAutomaton();
+        BlocklistValidator blocklistValidator = new BlocklistValidator(errorMessage, automaton);
+        assertEquals(errorMessage, blocklistValidator.getErrorMessage());
+        assertEquals(automaton, blocklistValidator.getAutomaton());
+        assertTrue(blocklistValidator.isLoaded());
+    }
+
+    /**
+     * Tests, if all properties are correctly initialized by the constructor, which expects a
+     * context, a resource ID and an automaton as parameters.
+     */
+    public final void testConstructorWithContextAndResourceIdParameters() {
+        CharSequence errorMessage = getContext().getText(android.R.string.cancel);
+        AhoCorasickAutomaton automaton = createAutomaton();
+        BlocklistValidator blocklistValidator =
+                new BlocklistValidator(getContext(), android.R.string.cancel, automaton);
+        assertEquals(errorMessage, blocklistValidator.getErrorMessage());
+        assertEquals(automaton, blocklistValidator.getAutomaton());
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown by the constructor, if the automaton
+     * is null.
+     */
+    public final void testConstructorThrowsException() {
+        try {
+            new BlocklistValidator("foo", (AhoCorasickAutomaton) null);
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+    /**
+     * Ensures, that an {@link IllegalArgumentException} is thrown by the constructor, which
+     * expects the name of an asset, if the asset does not exist.
+     */
+    public final void testConstructorThrowsExceptionIfAssetDoesNotExist() {
+        try {
+            new BlocklistValidator("foo", getContext(), "missing_blocklist.txt", 0);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+
+        }
+    }
+
+    /**
+     * Tests the functionality of the validate-method, if it succeeds.
+     */
+    public final void testValidateSucceeds() {
+        BlocklistValidator blocklistValidator = new BlocklistValidator("foo", createAutomaton());
+        assertTrue(blocklistValidator.validate(""));
+        assertTrue(blocklistValidator.validate("michael"));
+        assertTrue(blocklistValidator.validate("r0ad"));
+    }
+
+    /**
+     * Tests the functionality of the validate-method, if it fails.
+     */
+    public final void testValidateFails() {
+        BlocklistValidator blocklistValidator = new BlocklistValidator("foo", createAutomaton());
+        assertFalse(blocklistValidator.validate("admin"));
+        assertFalse(blocklistValidator.validate("the_R00T"));
+        assertFalse(blocklistValidator.validate("4dm1n123"));
+    }
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.validators.misc;
+
+import android.test.AndroidTestCase;
+
+import junit.framework.Assert;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import de.mrapp.android.validation.phone.PhoneNumberMetadata;
+import de.mrapp.android.validation.phone.PhoneNumberMetadataWriter;
+
+/**
+ * Tests the functionality of the class {@link RegionalPhoneNumberValidator}.
+ *
+ * @author Michael Rapp
+ */
+public class RegionalPhoneNumberValidatorTest extends AndroidTestCase {
+
+    /**
+     * Creates and returns metadata, which may be used for test purposes.
+     *
+     * @return The metadata, which has been created, as an instance of the class {@link
+     * PhoneNumberMetadata}
+     * @throws IOException
+     *         The exception, which is thrown, if the metadata could not be created
+     */
+    private PhoneNumberMetadata createMetadata() throws IOException {
+        PhoneNumberMetadataWriter writer = new PhoneNumberMetadataWriter();
+        writer.addRegion("DE", 49, "00", "0", "1[5-7]:10-11", "[2-9]:6-11");
+        writer.addRegion("US", 1, "011", "1", "[2-9]:10");
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        writer.write(stream);
+        return PhoneNumberMetadata.wrap(ByteBuffer.wrap(stream.toByteArray()));
+    }
+
+    /**
+     * Tests, if all properties are correctly initialized by the constructor, which expects a char
+     * sequence, a context and a region code as parameters.
+     */
+    public final void testConstructorWithCharSequenceContextAndRegionCodeParameters() {
+        CharSequence errorMessage = "errorMessage";
+        RegionalPhoneNumberValidator validator =
+                new RegionalPhoneNumberValidator(errorMessage, getContext(), "de");
+        assertEquals(errorMessage, validator.getErrorMessage());
+        assertEquals("DE", validator.getRegionCode());
+        assertSame(RegionalPhoneNumberValidator.getDefaultMetadata(getContext()).getRegion("DE"),
+                validator.getRegion());
+    }
+
+    /**
+     * Tests, if all properties are correctly initialized by the constructor, which expects a
+     * context, a resource ID and a region code as parameters.
+     */
+    public final void testConstructorWithContextResourceIdAndRegionCodeParameters() {
+        CharSequence errorMessage = getContext().getText(android.R.string.cancel);
+        RegionalPhoneNumberValidator validator =
+                new RegionalPhoneNumberValidator(getContext(), android.R.string.cancel, "US");
+        assertEquals(errorMessage, validator.getErrorMessage());
+        assertEquals("US", validator.getRegionCode());
+    }
+
+    /**
+     * Tests, if all properties are correctly initialized by the constructor, which expects a char
+     * sequence, metadata and a region code as parameters.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the metadata could not be created
+     */
+    public final void testConstructorWithCharSequenceMetadataAndRegionCodeParameters()
+            throws IOException {
+        CharSequence errorMessage = "errorMessage";
+        PhoneNumberMetadata metadata = createMetadata();
+        RegionalPhoneNumberValidator validator =
+                new RegionalPhoneNumberValidator(errorMessage, metadata, "US");
+        assertEquals(errorMessage, validator.getErrorMessage());
+        assertEquals(0, metadata.getDecodedRegionCount());
+        assertSame(metadata.getRegion("US"), validator.getRegion());
+    }
+
+    /**
+     * Ensures, that an exception is thrown by the constructor, if the metadata or the region code
+     * is invalid.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the metadata could not be created
+     */
+    public final void testConstructorThrowsException() throws IOException {
+        try {
+            new RegionalPhoneNumberValidator("foo", (PhoneNumberMetadata) null, "DE");
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+
+        try {
+            new RegionalPhoneNumberValidator("foo", createMetadata(), null);
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+
+        try {
+            new RegionalPhoneNumberValidator("foo", createMetadata(), "");
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+
+        }
+    }
+
+    /**
+     * Ensures, that an {@link IllegalArgumentException} is thrown by the constructor, if the
+     * metadata does not contain the region.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the metadata could not be created
+     */
+    public final void testConstructorThrowsExceptionIfRegionIsUnsupported() throws IOException {
+        try {
+            new RegionalPhoneNumberValidator("foo", createMetadata(), "FR");
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+
+        }
+
+        try {
+            new RegionalPhoneNumberValidator("foo", getContext(), "XK");
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+
+        }
+    }
+
+    /**
+     * Tests the functionality of the getDefaultMetadata-method.
+     */
+    public final void testGetDefaultMetadata() {
+        PhoneNumberMetadata metadata =
+                RegionalPhoneNumberValidator.getDefaultMetadata(getContext());
+        assertSame(metadata, RegionalPhoneNumberValidator.getDefaultMetadata(getContext()));
+        assertTrue(metadata.getRegionCodes().contains("DE"));
+        assertTrue(metadata.getRegion("DE").isValidNumber("+49 151 23456789"));
+        assertTrue(metadata.getRegion("GB").isValidNumber("07700 900123"));
+        assertFalse(metadata.getRegion("FR").isValidNumber("01 23 45 67"));
+    }
+
+    /**
+     * Tests the functionality of the validate-method, if it succeeds.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the metadata could not be created
+     */
+    public final void testValidateSucceeds() throws IOException {
+        RegionalPhoneNumberValidator validator =
+                new RegionalPhoneNumberValidator("foo", createMetadata(), "DE");
+        assertTrue(validator.validate(""));
+        assertTrue(validator.validate("+49 151 23456789"));
+        assertTrue(validator.validate("0049 30 123456"));
+        assertTrue(validator.validate("030 123456"));
+        assertTrue(validator.validate("0151-2345678"));
+    }
+
+    /**
+     * Tests the functionality of the validate-method, if it fails.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the metadata could not be created
+     */
+    public final void testValidateFails() throws IOException {
+        RegionalPhoneNumberValidator validator =
+                new RegionalPhoneNumberValidator("foo", createMetadata(), "DE");
+        assertFalse(validator.validate("+1 212 555 0100"));
+        assertFalse(validator.validate("030 12"));
+        assertFalse(validator.validate("0151 234"));
+        assertFalse(validator.validate("030 123456 ext"));
+    }
+
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.validators.misc;
+
+import android.test.AndroidTestCase;
+
+import junit.framework.Assert;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import de.mrapp.android.validation.datastructure.PublicSuffixTrie;
+
+/**
+ * Tests the functionality of the class {@link RegistrableDomainNameValidator}.
+ *
+ * @author Michael Rapp
+ */
+public class RegistrableDomainNameValidatorTest extends AndroidTestCase {
+
+    /**
+     * Creates and returns a trie, which may be used for test purposes.
+     *
+     * @return The trie, which has been created, as an instance of the class {@link
+     * PublicSuffixTrie}
+     * @throws IOException
+     *         The exception, which is thrown, if the trie could not be created
+     */
+    private PublicSuffixTrie createTrie() throws IOException {
+        return PublicSuffixTrie
+                .read(new ByteArrayInputStream("com\nde\nuk\nco.uk\n*.ck\n".getBytes("UTF-8")));
+    }
+
+    /**
+     * Tests, if all properties are correctly initialized by the constructor, which expects a char
+     * sequence and a context as parameters.
+     */
+    public final void testConstructorWithCharSequenceAndContextParameters() {
+        CharSequence errorMessage = "errorMessage";
+        RegistrableDomainNameValidator validator =
+                new RegistrableDomainNameValidator(errorMessage, getContext());
+        assertEquals(errorMessage, validator.getErrorMessage());
+        assertSame(RegistrableDomainNameValidator.getDefaultTrie(getContext()),
+                validator.getTrie());
+        assertFalse(validator.isUnknownTopLevelDomainAccepted());
+    }
+
+    /**
+     * Tests, if all properties are correctly initialized by the constructor, which expects a
+     * context and a resource ID as parameters.
+     */
+    public final void testConstructorWithContextAndResourceIdParameters() {
+        CharSequence errorMessage = getContext().getText(android.R.string.cancel);
+        RegistrableDomainNameValidator validator =
+                new RegistrableDomainNameValidator(getContext(), android.R.string.cancel);
+        assertEquals(errorMessage, validator.getErrorMessage());
+    }
+
+    /**
+     * Tests, if all properties are correctly initialized by the constructor, which expects a char
+     * sequence and a trie as parameters.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the trie could not be created
+     */
+    public final void testConstructorWithCharSequenceAndTrieParameters() throws IOException {
+        CharSequence errorMessage = "errorMessage";
+        PublicSuffixTrie trie = createTrie();
+        RegistrableDomainNameValidator validator =
+                new RegistrableDomainNameValidator(errorMessage, trie);
+        assertEquals(errorMessage, validator.getErrorMessage());
+        assertSame(trie, validator.getTrie());
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown by the constructor, if the trie is
+     * null.
+     */
+    public final void testConstructorThrowsException() {
+        try {
+            new RegistrableDomainNameValidator("foo", (PublicSuffixTrie) null);
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+    /**
+     * Tests the functionality of the validate-method, if it succeeds.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the trie could not be created
+     */
+    public final void testValidateSucceeds() throws IOException {
+        RegistrableDomainNameValidator validator =
+                new RegistrableDomainNameValidator("foo", createTrie());
+        assertTrue(validator.validate(""));
+        assertTrue(validator.validate("foo.com"));
+        assertTrue(validator.validate("www.foo.com"));
+        assertTrue(validator.validate("FOO.DE"));
+        assertTrue(validator.validate("foo.co.uk"));
+        assertTrue(validator.validate("sub.foo.ck"));
+    }
+
+    /**
+     * Tests the functionality of the validate-method, if it fails.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the trie could not be created
+     */
+    public final void testValidateFails() throws IOException {
+        RegistrableDomainNameValidator validator =
+                new RegistrableDomainNameValidator("foo", createTrie());
+        assertFalse(validator.validate("foo.con"));
+        assertFalse(validator.validate("example.club"));
+        assertFalse(validator.validate("com"));
+        assertFalse(validator.validate("co.uk"));
+        assertFalse(validator.validate("foo.ck"));
+        assertFalse(validator.validate("foo"));
+        assertFalse(validator.validate("foo..com"));
+        assertFalse(validator.validate("192.168.0.1"));
+    }
+
+    /**
+     * Tests the functionality of the validate-method, if top-level domains, which are not
+     * contained by the trie, are accepted.
+     *
+     * @throws IOException
+     *         The exception, which is thrown, if the trie could not be created
+     */
+    public final void testValidateIfUnknownTopLevelDomainIsAccepted() throws IOException {
+        RegistrableDomainNameValidator validator =
+                new RegistrableDomainNameValidator("foo", createTrie());
+        validator.setUnknownTopLevelDomainAccepted(true);
+        assertTrue(validator.isUnknownTopLevelDomainAccepted());
+        assertTrue(validator.validate("example.club"));
+        assertTrue(validator.validate("foo.co.uk"));
+        assertFalse(validator.validate("club"));
+        assertFalse(validator.validate("co.uk"));
+        assertFalse(validator.validate("192.168.0.1"));
+    }
+
+    /**
+     * Tests the functionality of the getDefaultTrie-method.
+     */
+    public final void testGetDefaultTrie() {
+        PublicSuffixTrie trie = RegistrableDomainNameValidator.getDefaultTrie(getContext());
+        assertSame(trie, RegistrableDomainNameValidator.getDefaultTrie(getContext()));
+        assertTrue(trie.getRuleCount() > 1000);
+        assertEquals(4, trie.getRegistrableDomainStart("www.example.com"));
+        assertEquals(5, trie.getRegistrableDomainStart("news.bbc.co.uk"));
+        assertEquals(0, trie.getRegistrableDomainStart("example.club"));
+        assertEquals(0, trie.getRegistrableDomainStart("example.dev"));
+        assertEquals(-1, trie.getRegistrableDomainStart("gmail.con"));
+        assertEquals(-1, trie.getRegistrableDomainStart("example.gmial"));
+    }
+
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.validators.text;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.test.AndroidTestCase;
+
+import junit.framework.Assert;
+
+import java.lang.ref.WeakReference;
+
+import de.mrapp.android.validation.EditText;
+import de.mrapp.android.validation.ValueSupplier;
+import de.mrapp.android.validation.ViewValueSupplier;
+
+/**
+ * Tests the functionality of the class {@link EqualValueValidator}.
+ *
+ * @author Michael Rapp
+ */
+public class EqualValueValidatorTest extends AndroidTestCase {
+
+    /**
+     * A validator, which is shared across multiple screens and therefore outlives them.
+     */
+    private static EqualValidator sharedValidator;
+
+    /**
+     * A supplier, which provides a constant text.
+     */
+    private static class ConstantValueSupplier implements ValueSupplier<CharSequence> {
+
+        /**
+         * The text, which is provided.
+         */
+        private final CharSequence value;
+
+        /**
+         * Creates a new supplier, which provides a constant text.
+         *
+         * @param value
+         *         The text, which should be provided, as an instance of the type {@link
+         *         CharSequence}
+         */
+        ConstantValueSupplier(final CharSequence value) {
+            this.value = value;
+        }
+
+        @Override
+        public CharSequence getValue() {
+            return value;
+        }
+
+    }
+
+    /**
+     * Creates a screen, which consists of a context and two edit text widgets, whose texts must be
+     * equal, validates the second widget using the shared validator and returns weak references to
+     * the context and the first widget.
+     *
+     * @return An array, which contains weak references to the context and the first widget, as an
+     * array of the type {@link WeakReference}
+     */
+    private WeakReference<?>[] createScreen() {
+        Context screenContext = new ContextWrapper(getContext());
+        EditText password = new EditText(screenContext);
+        password.setText("abc");
+        EditText confirmation = new EditText(screenContext);
+        confirmation.setText("abc");
+        sharedValidator = new EqualValidator("foo", password);
+        confirmation.addValidator(sharedValidator);
+        assertTrue(confirmation.validate());
+        confirmation.removeValidator(sharedValidator);
+        return new WeakReference<?>[]{new WeakReference<>(screenContext),
+                new WeakReference<>(password)};
+    }
+
+    /**
+     * Tests, if all properties are correctly initialized by the constructor, which expects a char
+     * sequence as a parameter.
+     */
+    public final void testConstructorWithCharSequenceParameter() {
+        CharSequence errorMessage = "errorMessage";
+        ValueSupplier<CharSequence> valueSupplier = new ConstantValueSupplier("abc");
+        EqualValueValidator equalValueValidator =
+                new EqualValueValidator(errorMessage, valueSupplier);
+        assertEquals(errorMessage, equalValueValidator.getErrorMessage());
+        assertEquals(valueSupplier, equalValueValidator.getValueSupplier());
+        assertTrue(equalValueValidator.getDependencies().isEmpty());
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown by the constructor, which expects a
+     * char sequence as a parameter, if the value supplier is null.
+     */
+    public final void testConstructorWithCharSequenceParameterThrowsException() {
+        try {
+            new EqualValueValidator("foo", null);
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+    /**
+     * Tests, if all properties are correctly initialized by the constructor, which expects a
+     * context and a resource ID as parameters.
+     */
+    public final void testConstructorWithContextAndResourceIdParameters() {
+        CharSequence errorMessage = getContext().getText(android.R.string.cancel);
+        ValueSupplier<CharSequence> valueSupplier = new ConstantValueSupplier("abc");
+        EqualValueValidator equalValueValidator =
+                new EqualValueValidator(getContext(), android.R.string.cancel, valueSupplier);
+        assertEquals(errorMessage, equalValueValidator.getErrorMessage());
+        assertEquals(valueSupplier, equalValueValidator.getValueSupplier());
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown by the constructor, which expects a
+     * context and a resource ID as parameters, if the value supplier is null.
+     */
+    public final void testConstructorWithContextAndResourceIdParametersThrowsException() {
+        try {
+            new EqualValueValidator(getContext(), android.R.string.cancel, null);
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown by the method, which allows to set
+     * the value supplier, if the value supplier is null.
+     */
+    public final void testSetValueSupplierThrowsException() {
+        try {
+            EqualValueValidator equalValueValidator =
+                    new EqualValueValidator("foo", new ConstantValueSupplier("abc"));
+            equalValueValidator.setValueSupplier(null);
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+    /**
+     * Tests, if the view of a {@link ViewValueSupplier} is returned as a dependency.
+     */
+    public final void testGetDependencies() {
+        EditText editText = new EditText(getContext());
+        EqualValueValidator equalValueValidator =
+                new EqualValueValidator("foo", new ViewValueSupplier<CharSequence>(editText));
+        assertEquals(1, equalValueValidator.getDependencies().size());
+        assertTrue(equalValueValidator.getDependencies().contains(editText));
+    }
+
+    /**
+     * Tests, if the text is retrieved from the value supplier at validation time.
+     */
+    public final void testValidateRetrievesValueAtValidationTime() {
+        EditText editText = new EditText(getContext());
+        EqualValueValidator equalValueValidator =
+                new EqualValueValidator("foo", new ViewValueSupplier<CharSequence>(editText));
+        editText.setText("abc");
+        assertTrue(equalValueValidator.validate("abc"));
+        editText.setText("123");
+        assertFalse(equalValueValidator.validate("abc"));
+        assertTrue(equalValueValidator.validate("123"));
+    }
+
+    /**
+     * Tests the functionality of the validate-method, if it succeeds.
+     */
+    public final void testValidateSucceeds() {
+        EqualValueValidator equalValueValidator =
+                new EqualValueValidator("foo", new ConstantValueSupplier("abc"));
+        assertTrue(equalValueValidator.validate("abc"));
+    }
+
+    /**
+     * Tests the functionality of the validate-method, if it fails.
+     */
+    public final void testValidateFails() {
+        EqualValueValidator equalValueValidator =
+                new EqualValueValidator("foo", new ConstantValueSupplier("abc"));
+        assertFalse(equalValueValidator.validate("123"));
+    }
+
+    /**
+     * Ensures, that a validator, which is shared across multiple screens, does not prevent the
+     * views and the context of a screen from being garbage collected, once the screen has been
+     * destroyed.
+     */
+    public final void testSharedValidatorDoesNotLeakScreen() {
+        WeakReference<?>[] references = createScreen();
+
+        for (int i = 0; i < 20 && (references[0].get() != null || references[1].get() != null);
+             i++) {
+            Runtime.getRuntime().gc();
+            Runtime.getRuntime().runFinalization();
+        }
+
+        assertNull(references[0].get());
+        assertNull(references[1].get());
+        assertNotNull(sharedValidator);
+        assertNull(sharedValidator.getEditText());
+        assertTrue(sharedValidator.getDependencies().isEmpty());
+        assertFalse(sharedValidator.validate("abc"));
+        assertTrue(sharedValidator.validate(null));
+        sharedValidator = null;
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.validators.text;
+
+import android.test.AndroidTestCase;
+
+import junit.framework.Assert;
+
+import de.mrapp.android.validation.regex.Automaton;
+
+/**
+ * Tests the functionality of the class {@link IncrementalRegexValidator}.
+ *
+ * @author Michael Rapp
+ */
+public class IncrementalRegexValidatorTest extends AndroidTestCase {
+
+    /**
+     * Tests, if all properties are correctly initialized by the constructor, which expects a char
+     * sequence as a parameter.
+     */
+    public final void testConstructorWithCharSequenceParameter() {
+        CharSequence errorMessage = "errorMessage";
+        Automaton automaton = Automaton.compile("[0-9]+");
+        IncrementalRegexValidator validator =
+                new IncrementalRegexValidator(errorMessage, automaton);
+        assertEquals(errorMessage, validator.getErrorMessage());
+        assertEquals(automaton, validator.getAutomaton());
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown by the constructor, which expects a
+     * char sequence as a parameter, if the automaton is null.
+     */
+    public final void testConstructorWithCharSequenceParameterThrowsException() {
+        try {
+            new IncrementalRegexValidator("foo", null);
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+    /**
+     * Tests, if all properties are correctly initialized by the constructor, which expects a
+     * context and a resource ID as parameters.
+     */
+    public final void testConstructorWithContextAndResourceIdParameters() {
+        CharSequence errorMessage = getContext().getText(android.R.string.cancel);
+        Automaton automaton = Automaton.compile("[0-9]+");
+        IncrementalRegexValidator validator =
+                new IncrementalRegexValidator(getContext(), android.R.string.cancel, automaton);
+        assertEquals(errorMessage, validator.getErrorMessage());
+        assertEquals(automaton, validator.getAutomaton());
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown by the constructor, which expects a
+     * context and a resource ID as parameters, if the automaton is null.
+     */
+    public final void testConstructorWithContextAndResourceIdParametersThrowsException() {
+        try {
+            new IncrementalRegexValidator(getContext(), android.R.string.cancel, null);
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+    /**
+     * Tests the functionality of the method, which allows to set the automaton.
+     */
+    public final void testSetAutomaton() {
+        IncrementalRegexValidator validator =
+                new IncrementalRegexValidator("foo", Automaton.compile("[0-9]+"));
+        assertTrue(validator.validate("123"));
+        Automaton automaton = Automaton.compile("[a-z]+");
+        validator.setAutomaton(automaton);
+        assertEquals(automaton, validator.getAutomaton());
+        assertFalse(validator.validate("123"));
+        assertTrue(validator.validate("abc"));
+    }
+
+    /**
+     * Tests the functionality of the method, which allows to determine, whether a text can still
+     * become valid.
+     */
+    public final void testIsValidPrefix() {
+        IncrementalRegexValidator validator =
+                new IncrementalRegexValidator("foo", Automaton.compile("\\d{3}-\\d{4}"));
+        assertTrue(validator.isValidPrefix("555-"));
+        assertFalse(validator.validate("555-"));
+        assertFalse(validator.isValidPrefix("555-x"));
+    }
+
+    /**
+     * Tests the functionality of the validate-method, if the changes of the text are reported.
+     */
+    public final void testValidateWhenTextChangesAreReported() {
+        IncrementalRegexValidator validator =
+                new IncrementalRegexValidator("foo", Automaton.compile("[0-9]+"));
+        StringBuilder text = new StringBuilder("12");
+        validator.onTextChanged(text, 0, 0, 2);
+        assertTrue(validator.validate(text));
+        text.append('a');
+        validator.onTextChanged(text, 2, 0, 1);
+        assertFalse(validator.validate(text));
+        text.setCharAt(2, '3');
+        validator.onTextChanged(text, 2, 1, 1);
+        assertTrue(validator.validate(text));
+        assertFalse(validator.validate(""));
+        assertTrue(validator.validate(text));
+    }
+
+    /**
+     * Tests the functionality of the validate-method, if it succeeds.
+     */
+    public final void testValidateSucceeds() {
+        IncrementalRegexValidator validator =
+                new IncrementalRegexValidator("foo", Automaton.compile("[0-9]+"));
+        assertTrue(validator.validate("1"));
+        assertTrue(validator.validate("12"));
+        assertTrue(validator.validate("123"));
+    }
+
+    /**
+     * Tests the functionality of the validate-method, if it fails.
+     */
+    public final void testValidateFails() {
+        IncrementalRegexValidator validator =
+                new IncrementalRegexValidator("foo", Automaton.compile("[0-9]+"));
+        assertTrue(validator.validate("12"));
+        assertFalse(validator.validate("12a"));
+        assertFalse(validator.validate(""));
+    }
+
+}
@@ -14,6 +14,8 @@
 package de.mrapp.android.validation.validators.text;
 
 import android.test.AndroidTestCase;
+import android.text.InputFilter;
+import android.text.SpannedString;
 
 import junit.framework.Assert;
 
@@ -325,4 +327,20 @@ public class LetterValidatorTest extends AndroidTestCase {
         assertTrue(characterValidator.validate(""));
     }
 
+    /**
+     * Tests the functionality of the input filter, which is provided by the validator, and
+     * ensures, that it reflects changes of the validator's configuration.
+     */
+    public final void testGetInputFilter() {
+        LetterValidator letterValidator = new LetterValidator("foo", Case.UPPERCASE, true, '-');
+        InputFilter inputFilter = letterValidator.getInputFilter();
+        assertNull(inputFilter.filter("A B-", 0, 4, new SpannedString(""), 0, 0));
+        assertEquals("A B-",
+                inputFilter.filter("A bB-1", 0, 6, new SpannedString(""), 0, 0).toString());
+        letterValidator.setCaseSensitivity(Case.CASE_INSENSITIVE);
+        letterValidator.allowSpaces(false);
+        assertEquals("AbB-",
+                inputFilter.filter("A bB-1", 0, 6, new SpannedString(""), 0, 0).toString());
+    }
+
 }
\ No newline at end of file
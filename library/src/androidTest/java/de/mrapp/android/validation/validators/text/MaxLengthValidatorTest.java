@@ -14,6 +14,8 @@
 package de.mrapp.android.validation.validators.text;
 
 import android.test.AndroidTestCase;
+import android.text.InputFilter;
+import android.text.SpannedString;
 
 import junit.framework.Assert;
 
@@ -115,4 +117,19 @@ public class MaxLengthValidatorTest extends AndroidTestCase {
         assertFalse(maxLengthValidator.validate("abc"));
     }
 
+    /**
+     * Tests the functionality of the input filter, which is provided by the validator, and
+     * ensures, that it reflects changes of the maximum length.
+     */
+    public final void testGetInputFilter() {
+        MaxLengthValidator maxLengthValidator = new MaxLengthValidator("foo", 3);
+        InputFilter inputFilter = maxLengthValidator.getInputFilter();
+        assertNull(inputFilter.filter("ab", 0, 2, new SpannedString("a"), 1, 1));
+        assertEquals("ab", inputFilter.filter("abc", 0, 3, new SpannedString("a"), 1, 1)
+                .toString());
+        assertEquals("", inputFilter.filter("a", 0, 1, new SpannedString("abc"), 3, 3).toString());
+        maxLengthValidator.setMaxLength(5);
+        assertNull(inputFilter.filter("abcd", 0, 4, new SpannedString("a"), 1, 1));
+    }
+
 }
\ No newline at end of file
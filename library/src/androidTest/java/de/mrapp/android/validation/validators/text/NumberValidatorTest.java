@@ -14,6 +14,8 @@
 package de.mrapp.android.validation.validators.text;
 
 import android.test.AndroidTestCase;
+import android.text.InputFilter;
+import android.text.SpannedString;
 
 /**
  * Tests the functionality of the class {@link NumberValidator}.
@@ -61,4 +63,16 @@ public class NumberValidatorTest extends AndroidTestCase {
         assertFalse(numberValidator.validate("123abc"));
     }
 
+    /**
+     * Tests the functionality of the input filter, which is provided by the validator.
+     */
+    public final void testGetInputFilter() {
+        NumberValidator numberValidator = new NumberValidator("foo");
+        InputFilter inputFilter = numberValidator.getInputFilter();
+        assertNotNull(inputFilter);
+        assertNull(inputFilter.filter("123", 0, 3, new SpannedString(""), 0, 0));
+        assertEquals("12", inputFilter.filter("1a2", 0, 3, new SpannedString(""), 0, 0).toString());
+        assertEquals("", inputFilter.filter("a", 0, 1, new SpannedString(""), 0, 0).toString());
+    }
+
 }
\ No newline at end of file
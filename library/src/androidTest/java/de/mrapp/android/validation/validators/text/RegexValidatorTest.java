@@ -14,11 +14,23 @@
 package de.mrapp.android.validation.validators.text;
 
 import android.test.AndroidTestCase;
+import android.util.Log;
 
 import junit.framework.Assert;
 
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
+import de.mrapp.android.validation.ValidationTimeoutException;
+import de.mrapp.android.validation.ValueSupplier;
+import de.mrapp.android.validation.regex.AutomatonCache;
+import de.mrapp.android.validation.regex.MatchBudget;
+import de.mrapp.android.validation.regex.RegexEngine;
+import de.mrapp.android.validation.regex.TimeoutBehavior;
+import de.mrapp.android.validation.regex.UnsupportedPatternException;
+
 /**
  * Tests the functionality of the class {@link RegexValidator}.
  *
@@ -80,6 +92,122 @@ public class RegexValidatorTest extends AndroidTestCase {
         }
     }
 
+    /**
+     * Tests, if all properties are correctly initialized by the constructor, which expects a char
+     * sequence and an engine as parameters.
+     */
+    public final void testConstructorWithCharSequenceAndEngineParameters() {
+        CharSequence errorMessage = "errorMessage";
+        RegexValidator regexValidator =
+                new RegexValidator(errorMessage, REGEX, RegexEngine.LINEAR);
+        assertEquals(errorMessage, regexValidator.getErrorMessage());
+        assertEquals(REGEX, regexValidator.getRegex());
+        assertEquals(RegexEngine.LINEAR, regexValidator.getEngine());
+    }
+
+    /**
+     * Tests, if all properties are correctly initialized by the constructor, which expects a
+     * context, a resource ID and an engine as parameters.
+     */
+    public final void testConstructorWithContextResourceIdAndEngineParameters() {
+        CharSequence errorMessage = getContext().getText(android.R.string.cancel);
+        RegexValidator regexValidator =
+                new RegexValidator(getContext(), android.R.string.cancel, REGEX,
+                        RegexEngine.LINEAR);
+        assertEquals(errorMessage, regexValidator.getErrorMessage());
+        assertEquals(REGEX, regexValidator.getRegex());
+        assertEquals(RegexEngine.LINEAR, regexValidator.getEngine());
+    }
+
+    /**
+     * Ensures, that a regular expression, which is provided by a supplier, is not obtained before
+     * the validator is used for the first time.
+     */
+    public final void testRegexIsObtainedFromSupplierWhenUsedForTheFirstTime() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Pattern regex = Pattern.compile("[a-z]+");
+        RegexValidator regexValidator = new RegexValidator("foo");
+        regexValidator.setRegexSupplier(new ValueSupplier<Pattern>() {
+
+            @Override
+            public Pattern getValue() {
+                calls.incrementAndGet();
+                return regex;
+            }
+
+        });
+        assertEquals(0, calls.get());
+        assertTrue(regexValidator.validate("abc"));
+        assertFalse(regexValidator.validate("abc1"));
+        assertEquals(1, calls.get());
+        assertEquals(regex, regexValidator.getRegex());
+        assertNotNull(regexValidator.getRegexSupplier());
+        regexValidator.setRegex(Pattern.compile("[0-9]+"));
+        assertNull(regexValidator.getRegexSupplier());
+        assertTrue(regexValidator.validate("123"));
+        assertEquals(1, calls.get());
+    }
+
+    /**
+     * Tests the functionality of the method, which allows to set the engine.
+     */
+    public final void testSetEngine() {
+        RegexValidator regexValidator = new RegexValidator("foo", REGEX);
+        assertEquals(RegexEngine.JAVA, regexValidator.getEngine());
+        regexValidator.setEngine(RegexEngine.LINEAR);
+        assertEquals(RegexEngine.LINEAR, regexValidator.getEngine());
+        assertTrue(regexValidator.validate("0123456789"));
+        assertFalse(regexValidator.validate("abcdefghijkl"));
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown, if the engine is set to null.
+     */
+    public final void testSetEngineThrowsNullPointerException() {
+        try {
+            RegexValidator regexValidator = new RegexValidator("foo", REGEX);
+            regexValidator.setEngine(null);
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+    /**
+     * Ensures, that an {@link UnsupportedPatternException} is thrown, if the linear engine should
+     * be used with a regular expression, which is not supported by it, and that the validator
+     * remains unchanged.
+     */
+    public final void testSetEngineThrowsUnsupportedPatternException() {
+        Pattern regex = Pattern.compile("(a+)\\1");
+        RegexValidator regexValidator = new RegexValidator("foo", regex);
+
+        try {
+            regexValidator.setEngine(RegexEngine.LINEAR);
+            Assert.fail();
+        } catch (UnsupportedPatternException e) {
+            assertEquals(RegexEngine.JAVA, regexValidator.getEngine());
+            assertTrue(regexValidator.validate("aaaa"));
+        }
+    }
+
+    /**
+     * Ensures, that an {@link UnsupportedPatternException} is thrown, if a regular expression,
+     * which is not supported by the linear engine, is set, while the linear engine is used, and
+     * that the validator remains unchanged.
+     */
+    public final void testSetRegexThrowsUnsupportedPatternException() {
+        RegexValidator regexValidator = new RegexValidator("foo", REGEX, RegexEngine.LINEAR);
+
+        try {
+            regexValidator.setRegex(Pattern.compile("\\bfoo"));
+            Assert.fail();
+        } catch (UnsupportedPatternException e) {
+            assertEquals(REGEX, regexValidator.getRegex());
+            assertTrue(regexValidator.validate("0123456789"));
+        }
+    }
+
     /**
      * Tests the functionality of the method, which allows to set a regular expression.
      */
@@ -119,4 +247,202 @@ public class RegexValidatorTest extends AndroidTestCase {
         assertFalse(regexValidator.validate("abcdefghijkl"));
     }
 
+    /**
+     * Ensures, that the validate-method takes the flags of the regular expression into account,
+     * if the linear engine is used.
+     */
+    public final void testValidateUsingLinearEngineTakesFlagsIntoAccount() {
+        RegexValidator regexValidator =
+                new RegexValidator("foo", Pattern.compile("[a-z]+", Pattern.CASE_INSENSITIVE),
+                        RegexEngine.LINEAR);
+        assertTrue(regexValidator.validate("aBcD"));
+        assertFalse(regexValidator.validate("aBcD1"));
+    }
+
+    /**
+     * Ensures, that the automaton, which is used by the linear engine, is retrieved from the
+     * default cache, if one has been set.
+     */
+    public final void testValidateUsingLinearEngineUsesDefaultCache() {
+        File directory = new File(System.getProperty("java.io.tmpdir"), "RegexValidatorTest");
+        AutomatonCache cache = new AutomatonCache(directory);
+        cache.clear();
+        AutomatonCache.setDefault(cache);
+
+        try {
+            RegexValidator regexValidator =
+                    new RegexValidator("foo", Pattern.compile("[a-z]+"), RegexEngine.LINEAR);
+            assertTrue(regexValidator.validate("abc"));
+            assertFalse(regexValidator.validate("abc1"));
+            File[] files = directory.listFiles();
+            assertNotNull(files);
+            assertEquals(1, files.length);
+            long lastModified = files[0].lastModified();
+            regexValidator =
+                    new RegexValidator("foo", Pattern.compile("[a-z]+"), RegexEngine.LINEAR);
+            assertTrue(regexValidator.validate("abc"));
+            assertEquals(lastModified, files[0].lastModified());
+        } finally {
+            AutomatonCache.setDefault(null);
+            cache.clear();
+        }
+    }
+
+    /**
+     * Tests the functionality of the methods, which allow to set the budget of matching a single
+     * text and the behavior, which is used, if the budget is exceeded.
+     */
+    public final void testSetMatchBudgetAndTimeoutBehavior() {
+        MatchBudget matchBudget = new MatchBudget(4, MatchBudget.UNLIMITED, TimeUnit.SECONDS);
+        RegexValidator regexValidator = new RegexValidator("foo", REGEX, RegexEngine.LINEAR);
+        assertNull(regexValidator.getMatchBudget());
+        assertEquals(TimeoutBehavior.INVALID, regexValidator.getTimeoutBehavior());
+        regexValidator.setMatchBudget(matchBudget);
+        assertEquals(matchBudget, regexValidator.getMatchBudget());
+        assertTrue(regexValidator.validate("0123"));
+        assertFalse(regexValidator.validate("01234"));
+        regexValidator.setTimeoutBehavior(TimeoutBehavior.VALID);
+        assertEquals(TimeoutBehavior.VALID, regexValidator.getTimeoutBehavior());
+        assertTrue(regexValidator.validate("01234"));
+        assertFalse(regexValidator.validate("abc"));
+        regexValidator.setTimeoutBehavior(TimeoutBehavior.REPORT);
+
+        try {
+            regexValidator.validate("01234");
+            Assert.fail();
+        } catch (ValidationTimeoutException e) {
+
+        }
+
+        regexValidator.setMatchBudget(null);
+        assertTrue(regexValidator.validate("01234"));
+    }
+
+    /**
+     * Ensures, that a budget cannot be combined with the engine {@link RegexEngine#JAVA}, if it
+     * cannot be enforced by it, i.e. on Android.
+     */
+    public final void testSetMatchBudgetUsingJavaEngine() {
+        MatchBudget matchBudget = new MatchBudget(4, MatchBudget.UNLIMITED, TimeUnit.SECONDS);
+        RegexValidator regexValidator = new RegexValidator("foo", REGEX);
+        assertTrue(RegexEngine.LINEAR.isMatchBudgetEnforceable());
+        assertEquals(!"Dalvik".equals(System.getProperty("java.vm.name")),
+                RegexEngine.JAVA.isMatchBudgetEnforceable());
+
+        if (RegexEngine.JAVA.isMatchBudgetEnforceable()) {
+            regexValidator.setMatchBudget(matchBudget);
+            assertEquals(matchBudget, regexValidator.getMatchBudget());
+        } else {
+            try {
+                regexValidator.setMatchBudget(matchBudget);
+                Assert.fail();
+            } catch (IllegalArgumentException e) {
+
+            }
+
+            assertNull(regexValidator.getMatchBudget());
+            regexValidator.setEngine(RegexEngine.LINEAR);
+            regexValidator.setMatchBudget(matchBudget);
+
+            try {
+                regexValidator.setEngine(RegexEngine.JAVA);
+                Assert.fail();
+            } catch (IllegalArgumentException e) {
+
+            }
+
+            assertEquals(RegexEngine.LINEAR, regexValidator.getEngine());
+        }
+    }
+
+    /**
+     * Ensures, that a {@link NullPointerException} is thrown, if the behavior, which is used, if
+     * the budget of matching a single text is exceeded, is set to null.
+     */
+    public final void testSetTimeoutBehaviorThrowsException() {
+        try {
+            RegexValidator regexValidator = new RegexValidator("foo", REGEX);
+            regexValidator.setTimeoutBehavior(null);
+            Assert.fail();
+        } catch (NullPointerException e) {
+
+        }
+    }
+
+    /**
+     * Ensures, that a validator, which is shared among multiple threads, produces the correct
+     * results.
+     *
+     * @throws InterruptedException
+     *         The exception, which is thrown, if the current thread has been interrupted
+     */
+    public final void testValidateConcurrently() throws InterruptedException {
+        final RegexValidator regexValidator = new RegexValidator("foo", Pattern.compile("[0-9]+"));
+        final AtomicInteger errors = new AtomicInteger();
+        Thread[] threads = new Thread[4];
+
+        for (int i = 0; i < threads.length; i++) {
+            final StringBuilder validText = new StringBuilder(Integer.toString(i));
+            final StringBuilder invalidText = new StringBuilder(i + "a");
+            threads[i] = new Thread(new Runnable() {
+
+                @Override
+                public void run() {
+                    for (int j = 0; j < 10000; j++) {
+                        if (!regexValidator.validate(validText) ||
+                                regexValidator.validate(invalidText)) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                }
+
+            });
+            threads[i].start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, errors.get());
+    }
+
+    /**
+     * Measures the time, which is needed to validate adversarial texts, which cause catastrophic
+     * backtracking when using the class {@link Pattern}, using both engines. The linear engine
+     * must validate a much longer text within a second.
+     */
+    public final void testAdversarialTextBenchmark() {
+        Pattern regex = Pattern.compile("(x+x+)+y");
+        StringBuilder shortText = new StringBuilder();
+        StringBuilder longText = new StringBuilder();
+
+        for (int i = 0; i < 16; i++) {
+            shortText.append('x');
+        }
+
+        for (int i = 0; i < 100000; i++) {
+            longText.append('x');
+        }
+
+        RegexValidator javaValidator = new RegexValidator("foo", regex, RegexEngine.JAVA);
+        RegexValidator linearValidator = new RegexValidator("foo", regex, RegexEngine.LINEAR);
+        long startTime = System.nanoTime();
+        assertFalse(javaValidator.validate(shortText));
+        long javaDuration = System.nanoTime() - startTime;
+        startTime = System.nanoTime();
+        assertFalse(linearValidator.validate(shortText));
+        long linearShortDuration = System.nanoTime() - startTime;
+        startTime = System.nanoTime();
+        assertFalse(linearValidator.validate(longText));
+        long linearLongDuration = System.nanoTime() - startTime;
+        Log.i(getClass().getSimpleName(),
+                "Validating " + shortText.length() + " characters took " + javaDuration / 1000 +
+                        "us using the Java engine and " + linearShortDuration / 1000 +
+                        "us using the linear engine. Validating " + longText.length() +
+                        " characters took " + linearLongDuration / 1000 +
+                        "us using the linear engine");
+        assertTrue(linearLongDuration < 1000000000L);
+    }
+
 }
\ No newline at end of file
@@ -38,6 +38,8 @@ import java.util.LinkedHashSet;
 import java.util.Set;
 
 import de.mrapp.android.util.datastructure.ListenerList;
+import de.mrapp.android.validation.metrics.InstrumentedValidator;
+import de.mrapp.android.validation.metrics.ValidationMetrics;
 
 import static de.mrapp.android.util.Condition.ensureNotNull;
 
@@ -147,6 +149,12 @@ public abstract class AbstractValidateableView<ViewType extends View, ValueType>
      */
     private static final boolean DEFAULT_VALIDATE_ON_FOCUS_LOST = true;
 
+    /**
+     * The mode, which is used to render messages by default.
+     */
+    private static final MessageRenderingMode DEFAULT_MESSAGE_RENDERING_MODE =
+            MessageRenderingMode.TEXT_VIEWS;
+
     /**
      * The parent view of the view, whose value should be able to be validated.
      */
@@ -157,6 +165,18 @@ public abstract class AbstractValidateableView<ViewType extends View, ValueType>
      */
     private ViewType view;
 
+    /**
+     * The mode, which is used to render messages.
+     */
+    private MessageRenderingMode messageRenderingMode;
+
+    /**
+     * The layout, which contains the text views, which are used to show messages, or null, if the
+     * mode {@link MessageRenderingMode#TEXT_VIEWS} is not used or if no message has been shown
+     * yet.
+     */
+    private View messageLayout;
+
     /**
      * The text view, which may be used to show messages at the left edge of the view.
      */
@@ -167,6 +187,42 @@ public abstract class AbstractValidateableView<ViewType extends View, ValueType>
      */
     private TextView rightMessage;
 
+    /**
+     * The view, which is used to draw messages, or null, if the mode {@link
+     * MessageRenderingMode#SINGLE_VIEW} is not used or if no message has been shown yet.
+     */
+    private MessageView messageView;
+
+    /**
+     * The message, which is currently shown at the left edge of the view, or null, if no message
+     * is shown.
+     */
+    private CharSequence leftMessageText;
+
+    /**
+     * The icon, which is currently shown at the left edge of the view, or null, if no icon is
+     * shown.
+     */
+    private Drawable leftMessageIcon;
+
+    /**
+     * True, if the message, which is currently shown at the left edge of the view, is highlighted
+     * as an error, false otherwise.
+     */
+    private boolean leftMessageError;
+
+    /**
+     * The message, which is currently shown at the right edge of the view, or null, if no message
+     * is shown.
+     */
+    private CharSequence rightMessageText;
+
+    /**
+     * True, if the message, which is currently shown at the right edge of the view, is highlighted
+     * as an error, false otherwise.
+     */
+    private boolean rightMessageError;
+
     /**
      * The helper text, which is shown, when no validation errors are currently shown at the left
      * edge of the view.
@@ -206,6 +262,22 @@ public abstract class AbstractValidateableView<ViewType extends View, ValueType>
      */
     private ListenerList<ValidationListener<ValueType>> listeners;
 
+    /**
+     * The metrics, the invocations of the view's validators are recorded in, or null, if no
+     * metrics are recorded.
+     */
+    private ValidationMetrics metrics;
+
+    /**
+     * The model, the view is currently bound to, or null, if the view is not bound to a model.
+     */
+    private ValidationModel<ValueType> model;
+
+    /**
+     * True, if the value of a model is currently applied to the view, false otherwise.
+     */
+    private boolean bindingModel;
+
     /**
      * Initializes the view.
      *
@@ -218,7 +290,6 @@ public abstract class AbstractValidateableView<ViewType extends View, ValueType>
         listeners = new ListenerList<>();
         setOrientation(VERTICAL);
         inflateView();
-        inflateErrorMessageTextViews();
         obtainStyledAttributes(attributeSet);
         setLeftMessage(null, null);
         setRightMessage(null);
@@ -235,6 +306,7 @@ public abstract class AbstractValidateableView<ViewType extends View, ValueType>
         TypedArray typedArray = getContext()
                 .obtainStyledAttributes(attributeSet, R.styleable.AbstractValidateableView);
         try {
+            obtainMessageRenderingMode(typedArray);
             obtainHelperText(typedArray);
             obtainHelperTextColor(typedArray);
             obtainErrorColor(typedArray);
@@ -245,6 +317,19 @@ public abstract class AbstractValidateableView<ViewType extends View, ValueType>
         }
     }
 
+    /**
+     * Obtains the mode, which should be used to render messages, from a specific typed array.
+     *
+     * @param typedArray
+     *         The typed array, the mode should be obtained from, as an instance of the class {@link
+     *         TypedArray}. The typed array may not be null
+     */
+    private void obtainMessageRenderingMode(@NonNull final TypedArray typedArray) {
+        setMessageRenderingMode(MessageRenderingMode.fromValue(typedArray
+                .getInt(R.styleable.AbstractValidateableView_messageRenderingMode,
+                        DEFAULT_MESSAGE_RENDERING_MODE.getValue())));
+    }
+
     /**
      * Obtains the helper text from a specific typed array.
      *
@@ -328,16 +413,132 @@ public abstract class AbstractValidateableView<ViewType extends View, ValueType>
         }
     }
 
+    /**
+     * Inflates the views, which are used to show messages, depending on the mode, which is used to
+     * render messages, if they have not been inflated yet. As many views never show any messages,
+     * the views are not inflated until the first message is shown.
+     */
+    private void inflateMessageViews() {
+        if (messageLayout != null || messageView != null) {
+            return;
+        }
+
+        if (messageRenderingMode == MessageRenderingMode.SINGLE_VIEW) {
+            messageView = new MessageView(getContext());
+            addView(messageView, LayoutParams.MATCH_PARENT, LayoutParams.WRAP_CONTENT);
+        } else {
+            inflateErrorMessageTextViews();
+        }
+    }
+
     /**
      * Inflates the text views, which are used to show validation errors.
      */
     private void inflateErrorMessageTextViews() {
-        View parent = View.inflate(getContext(), R.layout.error_messages, null);
-        addView(parent, LayoutParams.MATCH_PARENT, LayoutParams.WRAP_CONTENT);
-        leftMessage = parent.findViewById(R.id.left_error_message);
-        leftMessage.setTag(false);
-        rightMessage = parent.findViewById(R.id.right_error_message);
-        rightMessage.setTag(false);
+        messageLayout = View.inflate(getContext(), R.layout.error_messages, null);
+        addView(messageLayout, LayoutParams.MATCH_PARENT, LayoutParams.WRAP_CONTENT);
+        leftMessage = messageLayout.findViewById(R.id.left_error_message);
+        rightMessage = messageLayout.findViewById(R.id.right_error_message);
+    }
+
+    /**
+     * Removes the views, which are used to show messages.
+     */
+    private void removeMessageViews() {
+        if (messageLayout != null) {
+            removeView(messageLayout);
+            messageLayout = null;
+            leftMessage = null;
+            rightMessage = null;
+        }
+
+        if (messageView != null) {
+            removeView(messageView);
+            messageView = null;
+        }
+    }
+
+    /**
+     * Shows the message, which should currently be shown at the left edge of the view, by using
+     * the views, which are used to show messages.
+     */
+    private void renderLeftMessage() {
+        if (leftMessageText != null) {
+            inflateMessageViews();
+        }
+
+        int color = leftMessageError ? getErrorColor() : getHelperTextColor();
+
+        if (messageView != null) {
+            messageView.setLeftMessage(leftMessageText, leftMessageIcon, color);
+            adaptMessageViewVisibility();
+        } else if (leftMessage != null) {
+            if (leftMessageText != null) {
+                leftMessage.setText(leftMessageText);
+                leftMessage.setCompoundDrawablesWithIntrinsicBounds(leftMessageIcon, null, null,
+                        null);
+                leftMessage.setTextColor(color);
+                leftMessage.setVisibility(View.VISIBLE);
+            } else {
+                leftMessage.setVisibility(View.GONE);
+            }
+        }
+    }
+
+    /**
+     * Shows the message, which should currently be shown at the right edge of the view, by using
+     * the views, which are used to show messages.
+     */
+    private void renderRightMessage() {
+        if (rightMessageText != null) {
+            inflateMessageViews();
+        }
+
+        int color = rightMessageError ? getErrorColor() : getHelperTextColor();
+
+        if (messageView != null) {
+            messageView.setRightMessage(rightMessageText, color);
+            adaptMessageViewVisibility();
+        } else if (rightMessage != null) {
+            if (rightMessageText != null) {
+                rightMessage.setVisibility(View.VISIBLE);
+                rightMessage.setText(rightMessageText);
+                rightMessage.setTextColor(color);
+            } else {
+                rightMessage.setVisibility(View.GONE);
+            }
+        }
+    }
+
+    /**
+     * Adapts the colors of the messages, which are currently shown, to the error color and the
+     * color of the helper text.
+     */
+    private void renderMessageColors() {
+        int leftColor = leftMessageError ? getErrorColor() : getHelperTextColor();
+        int rightColor = rightMessageError ? getErrorColor() : getHelperTextColor();
+
+        if (messageView != null) {
+            messageView.setLeftMessage(leftMessageText, leftMessageIcon, leftColor);
+            messageView.setRightMessage(rightMessageText, rightColor);
+        }
+
+        if (leftMessage != null) {
+            leftMessage.setTextColor(leftColor);
+        }
+
+        if (rightMessage != null) {
+            rightMessage.setTextColor(rightColor);
+        }
+    }
+
+    /**
+     * Adapts the visibility of the view, which is used to draw messages, depending on whether any
+     * messages are currently shown.
+     */
+    private void adaptMessageViewVisibility() {
+        messageView.setVisibility(leftMessageText != null || rightMessageText != null ?
+                View.VISIBLE : View.GONE);
     }
 
     /**
@@ -367,6 +568,10 @@ public abstract class AbstractValidateableView<ViewType extends View, ValueType>
         for (ValidationListener<ValueType> listener : listeners) {
             listener.onValidationSuccess(this);
         }
+
+        if (model != null) {
+            model.notifyOnValidationSuccess();
+        }
     }
 
     /**
@@ -380,6 +585,112 @@ public abstract class AbstractValidateableView<ViewType extends View, ValueType>
         for (ValidationListener<ValueType> listener : listeners) {
             listener.onValidationFailure(this, validator);
         }
+
+        if (model != null) {
+            model.notifyOnValidationFailure(validator);
+        }
+    }
+
+    /**
+     * Notifies all registered listeners, that a validator exceeded its budget. Listeners, which do
+     * not implement the interface {@link ValidationTimeoutListener}, are notified about a failure.
+     *
+     * @param validator
+     *         The validator, which exceeded its budget, as an instance of the type {@link
+     *         Validator}. The validator may not be null
+     */
+    private void notifyOnValidationTimeout(@NonNull final Validator<ValueType> validator) {
+        for (ValidationListener<ValueType> listener : listeners) {
+            if (listener instanceof ValidationTimeoutListener) {
+                ((ValidationTimeoutListener<ValueType>) listener)
+                        .onValidationTimeout(this, validator);
+            } else {
+                listener.onValidationFailure(this, validator);
+            }
+        }
+
+        if (model != null) {
+            model.notifyOnValidationTimeout(validator);
+        }
+    }
+
+    /**
+     * Returns the set, which contains the validators, which should be used for validation. If the
+     * view is bound to a model, the validators of the model are used.
+     *
+     * @return The set, which contains the validators, which should be used for validation, as an
+     * instance of the type {@link Set}. The set may not be null
+     */
+    @NonNull
+    private Set<Validator<ValueType>> getValidatorSet() {
+        return model != null ? model.getValidatorSet() : validators;
+    }
+
+    /**
+     * Adapts the appearance of the view depending on whether a validation succeeded or not.
+     *
+     * @param valid
+     *         True, if the validation succeeded, false otherwise
+     */
+    private void renderValidity(final boolean valid) {
+        onValidate(valid);
+        setActivated(!valid);
+        setLineColor(valid ? getAccentColor() : getErrorColor());
+    }
+
+    /**
+     * Shows the result of the last validation of the model, the view is bound to, without
+     * validating its value again.
+     */
+    private void renderModel() {
+        if (model.isValidated()) {
+            Validator<ValueType> failedValidator = model.getFailedValidator();
+            setLeftMessage(failedValidator != null ? failedValidator.getErrorMessage() : null,
+                    failedValidator != null ? failedValidator.getIcon() : null);
+            renderValidity(model.isValid());
+        } else {
+            setLeftMessage(null, null);
+            setActivated(false);
+            setLineColor(getAccentColor());
+        }
+    }
+
+    /**
+     * Validates a specific value by using a specific validator. If metrics should be recorded, the
+     * invocation is measured.
+     *
+     * @param validator
+     *         The validator, which should be used, as an instance of the type {@link Validator}.
+     *         The validator may not be null
+     * @param value
+     *         The value, which should be validated, as an instance of the generic type ValueType
+     * @return True, if the validation succeeded, false otherwise
+     */
+    private boolean invokeValidator(@NonNull final Validator<ValueType> validator,
+                                    final ValueType value) {
+        boolean traced = ValidationTrace.beginSection(validator);
+
+        try {
+            boolean recorded = metrics != null && !(validator instanceof InstrumentedValidator);
+            boolean measured = ValidationStrictMode.isMeasuring();
+
+            if (!recorded && !measured) {
+                return validator.validate(value);
+            }
+
+            long startTime = System.nanoTime();
+            boolean valid =
+                    recorded ? metrics.validate(validator, value) : validator.validate(value);
+            long duration = System.nanoTime() - startTime;
+
+            if (measured) {
+                ValidationStrictMode.onValidatorInvoked(validator, this, value, duration);
+            }
+
+            return valid;
+        } finally {
+            ValidationTrace.endSection(traced);
+        }
     }
 
     /**
@@ -389,30 +700,42 @@ public abstract class AbstractValidateableView<ViewType extends View, ValueType>
      * @return The validator, which failed or null, if the validation succeeded
      */
     private Validator<ValueType> validateLeft() {
-        Validator<ValueType> result = null;
-        Collection<Validator<ValueType>> subValidators = onGetLeftErrorMessage();
+        boolean traced = ValidationTrace.beginSection(ValidationTrace.SECTION_VALIDATE_LEFT);
 
-        if (subValidators != null) {
-            for (Validator<ValueType> validator : subValidators) {
-                notifyOnValidationFailure(validator);
+        try {
+            Validator<ValueType> result = null;
+            Collection<Validator<ValueType>> subValidators = onGetLeftErrorMessage();
 
-                if (result == null) {
-                    result = validator;
+            if (subValidators != null) {
+                for (Validator<ValueType> validator : subValidators) {
+                    notifyOnValidationFailure(validator);
+
+                    if (result == null) {
+                        result = validator;
+                    }
                 }
             }
-        }
 
-        for (Validator<ValueType> validator : validators) {
-            if (!validator.validate(getValue())) {
-                notifyOnValidationFailure(validator);
+            for (Validator<ValueType> validator : getValidatorSet()) {
+                try {
+                    if (invokeValidator(validator, getValue())) {
+                        continue;
+                    }
+
+                    notifyOnValidationFailure(validator);
+                } catch (ValidationTimeoutException e) {
+                    notifyOnValidationTimeout(validator);
+                }
 
                 if (result == null) {
                     result = validator;
                 }
             }
-        }
 
-        return result;
+            return result;
+        } finally {
+            ValidationTrace.endSection(traced);
+        }
     }
 
     /**
@@ -422,20 +745,26 @@ public abstract class AbstractValidateableView<ViewType extends View, ValueType>
      * @return The validator, which failed or null, if the validation succeeded
      */
     private Validator<ValueType> validateRight() {
-        Validator<ValueType> result = null;
-        Collection<Validator<ValueType>> subValidators = onGetRightErrorMessage();
+        boolean traced = ValidationTrace.beginSection(ValidationTrace.SECTION_VALIDATE_RIGHT);
 
-        if (subValidators != null) {
-            for (Validator<ValueType> validator : subValidators) {
-                notifyOnValidationFailure(validator);
+        try {
+            Validator<ValueType> result = null;
+            Collection<Validator<ValueType>> subValidators = onGetRightErrorMessage();
 
-                if (result == null) {
-                    result = validator;
+            if (subValidators != null) {
+                for (Validator<ValueType> validator : subValidators) {
+                    notifyOnValidationFailure(validator);
+
+                    if (result == null) {
+                        result = validator;
+                    }
                 }
             }
-        }
 
-        return result;
+            return result;
+        } finally {
+            ValidationTrace.endSection(traced);
+        }
     }
 
     /**
@@ -545,17 +874,24 @@ public abstract class AbstractValidateableView<ViewType extends View, ValueType>
      */
     protected final void setLeftMessage(@Nullable final CharSequence message,
                                         @Nullable final Drawable icon, final boolean error) {
-        if (message != null) {
-            leftMessage.setText(message);
-            leftMessage.setCompoundDrawablesWithIntrinsicBounds(icon, null, null, null);
-            leftMessage.setTextColor(error ? getErrorColor() : getHelperTextColor());
-            leftMessage.setTag(error);
-            leftMessage.setVisibility(View.VISIBLE);
-        } else if (getHelperText() != null) {
-            setLeftMessage(getHelperText(), null, false);
-        } else {
-            leftMessage.setTag(false);
-            leftMessage.setVisibility(View.GONE);
+        boolean traced = ValidationTrace.beginSection(ValidationTrace.SECTION_SET_LEFT_MESSAGE);
+
+        try {
+            if (message != null) {
+                leftMessageText = message;
+                leftMessageIcon = icon;
+                leftMessageError = error;
+                renderLeftMessage();
+            } else if (getHelperText() != null) {
+                setLeftMessage(getHelperText(), null, false);
+            } else {
+                leftMessageText = null;
+                leftMessageIcon = null;
+                leftMessageError = false;
+                renderLeftMessage();
+            }
+        } finally {
+            ValidationTrace.endSection(traced);
         }
     }
 
@@ -581,14 +917,14 @@ public abstract class AbstractValidateableView<ViewType extends View, ValueType>
      */
     protected final void setRightMessage(@Nullable final CharSequence message,
                                          final boolean error) {
-        if (message != null) {
-            rightMessage.setVisibility(View.VISIBLE);
-            rightMessage.setText(message);
-            rightMessage.setTextColor(error ? getErrorColor() : getHelperTextColor());
-            rightMessage.setTag(error);
-        } else {
-            rightMessage.setTag(false);
-            rightMessage.setVisibility(View.GONE);
+        boolean traced = ValidationTrace.beginSection(ValidationTrace.SECTION_SET_RIGHT_MESSAGE);
+
+        try {
+            rightMessageText = message;
+            rightMessageError = message != null && error;
+            renderRightMessage();
+        } finally {
+            ValidationTrace.endSection(traced);
         }
     }
 
@@ -629,6 +965,64 @@ public abstract class AbstractValidateableView<ViewType extends View, ValueType>
 
     }
 
+    /**
+     * The method, which is invoked, when the view is bound to a model, or when the value of the
+     * model, the view is bound to, is changed, in order to show the model's value. This method
+     * should be overridden by subclasses, which support to be bound to models.
+     *
+     * @param value
+     *         The value, which should be shown, as an instance of the generic type ValueType or
+     *         null
+     */
+    protected void onBindValue(@Nullable final ValueType value) {
+
+    }
+
+    /**
+     * The method, which is invoked, when validators have been added to or removed from the view,
+     * or when the view has been bound to or unbound from a model. This method may be overridden by
+     * subclasses, which need to adapt to the view's validators.
+     */
+    protected void onValidatorsChanged() {
+
+    }
+
+    /**
+     * The method, which is invoked in order to create an immutable copy of the view's value, which
+     * can be stored by a model. This method should be overridden by subclasses, whose values are
+     * mutable.
+     *
+     * @param value
+     *         The value, which should be copied, as an instance of the generic type ValueType or
+     *         null
+     * @return The copy of the given value as an instance of the generic type ValueType or null
+     */
+    protected ValueType snapshotValue(@Nullable final ValueType value) {
+        return value;
+    }
+
+    /**
+     * Returns, whether the value of a model is currently applied to the view, or not. Changes of
+     * the view's value, which are caused by applying the value of a model, should not trigger a
+     * validation.
+     *
+     * @return True, if the value of a model is currently applied to the view, false otherwise
+     */
+    protected final boolean isBindingModel() {
+        return bindingModel;
+    }
+
+    /**
+     * Updates the value of the model, the view is bound to, in order to reflect the view's current
+     * value. If the value has changed, the result of the model's last validation is discarded. This
+     * method should be invoked by subclasses, when the view's value has been changed.
+     */
+    protected final void updateModelValue() {
+        if (model != null && !bindingModel) {
+            model.updateValue(snapshotValue(getValue()));
+        }
+    }
+
     /**
      * The method, which is invoked in order to create the view, whose value should be able to be
      * validated.
@@ -734,13 +1128,14 @@ public abstract class AbstractValidateableView<ViewType extends View, ValueType>
 
     @Override
     public final Collection<Validator<ValueType>> getValidators() {
-        return validators;
+        return getValidatorSet();
     }
 
     @Override
     public final void addValidator(@NonNull final Validator<ValueType> validator) {
         ensureNotNull(validator, "The validator may not be null");
-        validators.add(validator);
+        getValidatorSet().add(validator);
+        onValidatorsChanged();
     }
 
     @Override
@@ -762,7 +1157,8 @@ public abstract class AbstractValidateableView<ViewType extends View, ValueType>
     @Override
     public final void removeValidator(@NonNull final Validator<ValueType> validator) {
         ensureNotNull(validator, "The validator may not be null");
-        validators.remove(validator);
+        getValidatorSet().remove(validator);
+        onValidatorsChanged();
     }
 
     @Override
@@ -784,7 +1180,106 @@ public abstract class AbstractValidateableView<ViewType extends View, ValueType>
 
     @Override
     public final void removeAllValidators() {
-        validators.clear();
+        getValidatorSet().clear();
+        onValidatorsChanged();
+    }
+
+    /**
+     * Returns the model, the view is currently bound to.
+     *
+     * @return The model, the view is currently bound to, as an instance of the class {@link
+     * ValidationModel} or null, if the view is not bound to a model
+     */
+    public final ValidationModel<ValueType> getModel() {
+        return model;
+    }
+
+    /**
+     * Binds the view to a specific model. The view shows the model's value and the result of its
+     * last validation without validating the value again. While the view is bound, the validators
+     * of the model, as well as its settings, whether the value should be validated, when it has
+     * been changed or when the view loses its focus, are used instead of the view's own ones and
+     * the value of the model is updated, when the view's value is changed. If the view is already
+     * bound to an other model, it is unbound from that model first. If the model is already bound
+     * to an other view, it is unbound from that view first.
+     *
+     * @param model
+     *         The model, the view should be bound to, as an instance of the class {@link
+     *         ValidationModel}. The model may not be null
+     */
+    public final void bindModel(@NonNull final ValidationModel<ValueType> model) {
+        ensureNotNull(model, "The model may not be null");
+
+        if (this.model != model) {
+            unbindModel();
+            AbstractValidateableView<?, ValueType> boundView = model.getView();
+
+            if (boundView != null) {
+                boundView.unbindModel();
+            }
+
+            this.model = model;
+            model.setView(this);
+            onValidatorsChanged();
+            applyModelValue(model.getValue());
+        }
+
+        renderModel();
+    }
+
+    /**
+     * Unbinds the view from the model, it is currently bound to. The model's value is updated in
+     * order to reflect the view's current value. If the view is not bound to a model, calling this
+     * method does not have any effect.
+     */
+    public final void unbindModel() {
+        if (model != null) {
+            updateModelValue();
+            model.setView(null);
+            model = null;
+            onValidatorsChanged();
+            setLeftMessage(null, null);
+            setActivated(false);
+            setLineColor(getAccentColor());
+        }
+    }
+
+    /**
+     * Shows a specific value of the model, the view is bound to, without validating it.
+     *
+     * @param value
+     *         The value, which should be shown, as an instance of the generic type ValueType or
+     *         null
+     */
+    final void applyModelValue(@Nullable final ValueType value) {
+        bindingModel = true;
+
+        try {
+            onBindValue(value);
+        } finally {
+            bindingModel = false;
+        }
+    }
+
+    /**
+     * Returns the metrics, the invocations of the view's validators are recorded in.
+     *
+     * @return The metrics, the invocations of the view's validators are recorded in, as an
+     * instance of the class {@link ValidationMetrics} or null, if no metrics are recorded
+     */
+    public final ValidationMetrics getValidationMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets the metrics, the invocations of the view's validators should be recorded in.
+     *
+     * @param metrics
+     *         The metrics, which should be set, as an instance of the class {@link
+     *         ValidationMetrics} or null, if no metrics should be recorded
+     */
+    public final void setValidationMetrics(@Nullable final ValidationMetrics metrics) {
+        this.metrics = metrics;
     }
 
     /**
@@ -824,6 +1319,34 @@ public abstract class AbstractValidateableView<ViewType extends View, ValueType>
         setHelperText(getContext().getText(resourceId));
     }
 
+    /**
+     * Returns the mode, which is used to render the helper text and error messages.
+     *
+     * @return The mode, which is used to render the helper text and error messages, as a value of
+     * the enum {@link MessageRenderingMode}
+     */
+    public final MessageRenderingMode getMessageRenderingMode() {
+        return messageRenderingMode;
+    }
+
+    /**
+     * Sets the mode, which should be used to render the helper text and error messages.
+     *
+     * @param mode
+     *         The mode, which should be set, as a value of the enum {@link MessageRenderingMode}.
+     *         The mode may not be null
+     */
+    public final void setMessageRenderingMode(@NonNull final MessageRenderingMode mode) {
+        ensureNotNull(mode, "The message rendering mode may not be null");
+
+        if (mode != messageRenderingMode) {
+            removeMessageViews();
+            this.messageRenderingMode = mode;
+            renderLeftMessage();
+            renderRightMessage();
+        }
+    }
+
     /**
      * Returns the color, which is used to indicate validation errors.
      *
@@ -841,14 +1364,7 @@ public abstract class AbstractValidateableView<ViewType extends View, ValueType>
      */
     public final void setErrorColor(@ColorInt final int color) {
         this.errorColor = color;
-
-        if ((Boolean) leftMessage.getTag()) {
-            leftMessage.setTextColor(color);
-        }
-
-        if ((Boolean) rightMessage.getTag()) {
-            rightMessage.setTextColor(color);
-        }
+        renderMessageColors();
     }
 
     /**
@@ -868,14 +1384,7 @@ public abstract class AbstractValidateableView<ViewType extends View, ValueType>
      */
     public final void setHelperTextColor(@ColorInt final int color) {
         this.helperTextColor = color;
-
-        if (!(Boolean) leftMessage.getTag()) {
-            leftMessage.setTextColor(color);
-        }
-
-        if (!(Boolean) rightMessage.getTag()) {
-            rightMessage.setTextColor(color);
-        }
+        renderMessageColors();
     }
 
     /**
@@ -886,11 +1395,7 @@ public abstract class AbstractValidateableView<ViewType extends View, ValueType>
      * cleared by the widget
      */
     public final CharSequence getError() {
-        if (leftMessage.getVisibility() == View.VISIBLE && (Boolean) leftMessage.getTag()) {
-            return leftMessage.getText();
-        }
-
-        return null;
+        return leftMessageError ? leftMessageText : null;
     }
 
     /**
@@ -948,44 +1453,66 @@ public abstract class AbstractValidateableView<ViewType extends View, ValueType>
 
     @Override
     public final boolean validate() {
-        Validator<ValueType> leftValidator = validateLeft();
-        Validator<ValueType> rightValidator = validateRight();
-        setLeftMessage(leftValidator != null ? leftValidator.getErrorMessage() : null,
-                leftValidator != null ? leftValidator.getIcon() : null);
-        setRightMessage(rightValidator != null ? rightValidator.getErrorMessage() : null);
-
-        if (leftValidator == null && rightValidator == null) {
-            notifyOnValidationSuccess();
-            onValidate(true);
-            setActivated(false);
-            setLineColor(getAccentColor());
-            return true;
-        }
+        boolean traced = ValidationTrace.beginSection(ValidationTrace.SECTION_VALIDATE);
+        boolean measured = ValidationStrictMode.isMeasuring();
+        long startTime = measured ? System.nanoTime() : 0;
+
+        try {
+            updateModelValue();
+            Validator<ValueType> leftValidator = validateLeft();
+            Validator<ValueType> rightValidator = validateRight();
+
+            if (measured) {
+                ValidationStrictMode
+                        .onViewValidated(this, getValue(), System.nanoTime() - startTime);
+            }
+
+            setLeftMessage(leftValidator != null ? leftValidator.getErrorMessage() : null,
+                    leftValidator != null ? leftValidator.getIcon() : null);
+            setRightMessage(rightValidator != null ? rightValidator.getErrorMessage() : null);
+            boolean valid = leftValidator == null && rightValidator == null;
+
+            if (model != null) {
+                model.setResult(valid, leftValidator);
+            }
 
-        onValidate(false);
-        setActivated(true);
-        setLineColor(getErrorColor());
-        return false;
+            if (valid) {
+                notifyOnValidationSuccess();
+            }
+
+            renderValidity(valid);
+            return valid;
+        } finally {
+            ValidationTrace.endSection(traced);
+        }
     }
 
     @Override
     public final boolean isValidatedOnValueChange() {
-        return validateOnValueChange;
+        return model != null ? model.isValidatedOnValueChange() : validateOnValueChange;
     }
 
     @Override
     public final void validateOnValueChange(final boolean validateOnValueChange) {
-        this.validateOnValueChange = validateOnValueChange;
+        if (model != null) {
+            model.validateOnValueChange(validateOnValueChange);
+        } else {
+            this.validateOnValueChange = validateOnValueChange;
+        }
     }
 
     @Override
     public final boolean isValidatedOnFocusLost() {
-        return validateOnFocusLost;
+        return model != null ? model.isValidatedOnFocusLost() : validateOnFocusLost;
     }
 
     @Override
     public final void validateOnFocusLost(final boolean validateOnFocusLost) {
-        this.validateOnFocusLost = validateOnFocusLost;
+        if (model != null) {
+            model.validateOnFocusLost(validateOnFocusLost);
+        } else {
+            this.validateOnFocusLost = validateOnFocusLost;
+        }
     }
 
     @Override
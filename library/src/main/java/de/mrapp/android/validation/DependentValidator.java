@@ -0,0 +1,43 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation;
+
+import android.support.annotation.NonNull;
+
+import java.util.Collection;
+
+/**
+ * Defines the interface, a validator, whose result depends on the values of other {@link
+ * Validateable}s, must implement. By declaring the validateables, the validator reads, a {@link
+ * ValidationDependencyGraph} is able to validate the value, the validator is applied to, again,
+ * when one of these validateables has been changed.
+ *
+ * @param <Type>
+ *         The type of the values, which should be validated
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public interface DependentValidator<Type> extends Validator<Type> {
+
+    /**
+     * Returns the validateables, whose values are read by the validator.
+     *
+     * @return A collection, which contains the validateables, whose values are read by the
+     * validator, as an instance of the type {@link Collection} or an empty collection, if the
+     * validator does not read the values of any validateables
+     */
+    @NonNull
+    Collection<Validateable<?>> getDependencies();
+
+}
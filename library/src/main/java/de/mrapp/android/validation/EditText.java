@@ -63,11 +63,13 @@ import android.widget.TextView.OnEditorActionListener;
 import org.xmlpull.v1.XmlPullParserException;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.Locale;
 
 import static de.mrapp.android.util.Condition.ensureAtLeast;
+import static de.mrapp.android.util.Condition.ensureNotNull;
 
 /**
  * A view, which allows to enter text. The text may be validated according to the pattern, which is
@@ -112,6 +114,11 @@ public class EditText extends AbstractValidateableView<android.widget.EditText,
          */
         int maxNumberOfCharacters;
 
+        /**
+         * True, if the input is filtered by the validators of the edit text, false otherwise.
+         */
+        boolean filterInput;
+
         /**
          * Creates a new data structure, which allows to store the internal state of an {@link
          * EditText}. This constructor is used when reading from a parcel. It reads the state of the
@@ -126,6 +133,7 @@ public class EditText extends AbstractValidateableView<android.widget.EditText,
             ClassLoader classLoader = Parcelable.class.getClassLoader();
             viewState = source.readParcelable(classLoader);
             maxNumberOfCharacters = source.readInt();
+            filterInput = source.readInt() == 1;
         }
 
         /**
@@ -145,6 +153,7 @@ public class EditText extends AbstractValidateableView<android.widget.EditText,
             super.writeToParcel(destination, flags);
             destination.writeParcelable(viewState, flags);
             destination.writeInt(maxNumberOfCharacters);
+            destination.writeInt(filterInput ? 1 : 0);
         }
 
     }
@@ -154,6 +163,12 @@ public class EditText extends AbstractValidateableView<android.widget.EditText,
      */
     private static final int DEFAULT_MAX_NUMBER_OF_CHARACTERS = -1;
 
+    /**
+     * True, if the input should be filtered by the validators of the edit text by default, false
+     * otherwise.
+     */
+    private static final boolean DEFAULT_FILTER_INPUT = false;
+
     /**
      * The value, which corresponds to the enum value <code>TruncateAt.START</code>.
      */
@@ -194,6 +209,17 @@ public class EditText extends AbstractValidateableView<android.widget.EditText,
      */
     private int maxNumberOfCharacters;
 
+    /**
+     * True, if the input is filtered by the validators of the edit text, false otherwise.
+     */
+    private boolean filterInput;
+
+    /**
+     * The input filters, which have been set by using the method {@link
+     * #setFilters(InputFilter[])}.
+     */
+    private InputFilter[] filters = new InputFilter[0];
+
     /**
      * Initializes the view.
      *
@@ -218,6 +244,7 @@ public class EditText extends AbstractValidateableView<android.widget.EditText,
                 getContext().obtainStyledAttributes(attributeSet, R.styleable.EditText);
         try {
             obtainMaxNumberOfCharacters(typedArray);
+            obtainFilterInput(typedArray);
             obtainEditTextStyledAttributes(typedArray);
         } finally {
             typedArray.recycle();
@@ -238,6 +265,18 @@ public class EditText extends AbstractValidateableView<android.widget.EditText,
                 DEFAULT_MAX_NUMBER_OF_CHARACTERS));
     }
 
+    /**
+     * Obtains, whether the input should be filtered by the validators of the edit text, from a
+     * specific typed array.
+     *
+     * @param typedArray
+     *         The typed array, it should be obtained from, whether the input should be filtered,
+     *         as an instance of the class {@link TypedArray}. The typed array may not be null
+     */
+    private void obtainFilterInput(@NonNull final TypedArray typedArray) {
+        filterInput(typedArray.getBoolean(R.styleable.EditText_filterInput, DEFAULT_FILTER_INPUT));
+    }
+
     /**
      * Obtains all attributes, which are defined by an {@link android.widget.EditText} widget, from
      * a specific typed array.
@@ -476,12 +515,18 @@ public class EditText extends AbstractValidateableView<android.widget.EditText,
             @Override
             public final void onTextChanged(final CharSequence s, final int start, final int before,
                                             final int count) {
-
+                for (Validator<CharSequence> validator : getValidators()) {
+                    if (validator instanceof IncrementalValidator) {
+                        ((IncrementalValidator) validator).onTextChanged(s, start, before, count);
+                    }
+                }
             }
 
             @Override
             public final void afterTextChanged(final Editable s) {
-                if (isValidatedOnValueChange()) {
+                updateModelValue();
+
+                if (isValidatedOnValueChange() && !isBindingModel()) {
                     validate();
                 }
 
@@ -491,6 +536,40 @@ public class EditText extends AbstractValidateableView<android.widget.EditText,
         };
     }
 
+    /**
+     * Installs the input filters, which have been set by using the method {@link
+     * #setFilters(InputFilter[])}, as well as the input filters of the edit text's validators, if
+     * the input should be filtered.
+     */
+    private void adaptFilters() {
+        InputFilter[] installedFilters = filters;
+
+        if (isInputFiltered()) {
+            Collection<InputFilter> validatorFilters = new LinkedList<>();
+
+            for (Validator<CharSequence> validator : getValidators()) {
+                if (validator instanceof FilteringValidator) {
+                    InputFilter inputFilter = ((FilteringValidator) validator).getInputFilter();
+
+                    if (inputFilter != null) {
+                        validatorFilters.add(inputFilter);
+                    }
+                }
+            }
+
+            if (!validatorFilters.isEmpty()) {
+                installedFilters = Arrays.copyOf(filters, filters.length + validatorFilters.size());
+                int i = filters.length;
+
+                for (InputFilter inputFilter : validatorFilters) {
+                    installedFilters[i++] = inputFilter;
+                }
+            }
+        }
+
+        getView().setFilters(installedFilters);
+    }
+
     /**
      * Returns the message, which shows how many characters, in relation to the maximum number of
      * characters, the edit text is allowed to contain, have already been entered.
@@ -559,6 +638,21 @@ public class EditText extends AbstractValidateableView<android.widget.EditText,
         return getView().getText();
     }
 
+    @Override
+    protected final void onBindValue(@Nullable final CharSequence value) {
+        getView().setText(value);
+    }
+
+    @Override
+    protected final void onValidatorsChanged() {
+        adaptFilters();
+    }
+
+    @Override
+    protected final CharSequence snapshotValue(@Nullable final CharSequence value) {
+        return value != null ? value.toString() : null;
+    }
+
     /**
      * Creates a new view, which allows to enter text.
      *
@@ -660,6 +754,31 @@ public class EditText extends AbstractValidateableView<android.widget.EditText,
         adaptMaxNumberOfCharactersMessage();
     }
 
+    /**
+     * Returns, whether the input is filtered by the validators of the edit text, or not.
+     *
+     * @return True, if the input is filtered by the validators of the edit text, false otherwise
+     */
+    public final boolean isInputFiltered() {
+        return filterInput;
+    }
+
+    /**
+     * Sets, whether the input should be filtered by the validators of the edit text, or not. If
+     * enabled, the input filters of all validators, which implement the interface {@link
+     * FilteringValidator}, are installed in addition to the filters, which have been set by using
+     * the method {@link #setFilters(InputFilter[])}. This prevents invalid characters from being
+     * entered at all, rather than showing an error once they have been entered.
+     *
+     * @param filterInput
+     *         True, if the input should be filtered by the validators of the edit text, false
+     *         otherwise
+     */
+    public final void filterInput(final boolean filterInput) {
+        this.filterInput = filterInput;
+        adaptFilters();
+    }
+
     // ------------- Methods of the class android.widget.EditText -------------
 
     /**
@@ -1272,17 +1391,21 @@ public class EditText extends AbstractValidateableView<android.widget.EditText,
 
     /**
      * Sets the list of input filters that will be used if the buffer is Editable. Has no effect
-     * otherwise.
+     * otherwise. If the input is filtered by the validators of the edit text, their filters are
+     * applied after the given ones.
      */
-    public final void setFilters(final InputFilter[] filters) {
-        getView().setFilters(filters);
+    public final void setFilters(@NonNull final InputFilter[] filters) {
+        ensureNotNull(filters, "The array may not be null");
+        this.filters = filters;
+        adaptFilters();
     }
 
     /**
-     * Returns the current list of input filters.
+     * Returns the current list of input filters, which have been set by using the method {@link
+     * #setFilters(InputFilter[])}. The filters of the edit text's validators are not included.
      */
     public final InputFilter[] getFilters() {
-        return getView().getFilters();
+        return filters;
     }
 
     /**
@@ -2307,6 +2430,7 @@ public class EditText extends AbstractValidateableView<android.widget.EditText,
             SavedState savedState = new SavedState(superState);
             savedState.viewState = getView().onSaveInstanceState();
             savedState.maxNumberOfCharacters = getMaxNumberOfCharacters();
+            savedState.filterInput = isInputFiltered();
             return savedState;
         }
 
@@ -2320,6 +2444,7 @@ public class EditText extends AbstractValidateableView<android.widget.EditText,
             validateOnValueChange(false);
             getView().onRestoreInstanceState(savedState.viewState);
             setMaxNumberOfCharacters(savedState.maxNumberOfCharacters);
+            filterInput(savedState.filterInput);
             super.onRestoreInstanceState(savedState.getSuperState());
         } else {
             super.onRestoreInstanceState(state);
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation;
+
+import android.support.annotation.Nullable;
+import android.text.InputFilter;
+
+/**
+ * Defines the interface, a validator, which rejects texts because of single characters or because
+ * of their length, can implement in order to provide an equivalent {@link InputFilter}. If input
+ * filtering is enabled, an {@link EditText} installs the filters of its validators in order to
+ * prevent invalid characters from being entered at all, rather than showing an error once they
+ * have been entered.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public interface FilteringValidator extends Validator<CharSequence> {
+
+    /**
+     * Returns the input filter, which rejects the characters, which are not accepted by the
+     * validator. The filter must reflect the current configuration of the validator and should
+     * return null without allocating any objects, if the input is accepted.
+     *
+     * @return The input filter as an instance of the type {@link InputFilter} or null, if the
+     * validator's current configuration cannot be expressed as an input filter
+     */
+    @Nullable
+    InputFilter getInputFilter();
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Defines the interface, a validator, which is able to validate texts incrementally, can implement
+ * in order to be notified about the individual changes of a text. An {@link EditText} reports all
+ * changes of its text to such validators, before the text is validated, so that only the changed
+ * part of the text must be processed by the validator.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public interface IncrementalValidator extends Validator<CharSequence> {
+
+    /**
+     * The method, which is invoked, when a text has been changed. The parameters correspond to
+     * those of the method {@link android.text.TextWatcher#onTextChanged(CharSequence, int, int,
+     * int)}.
+     *
+     * @param text
+     *         The text, which has been changed, as an instance of the type {@link CharSequence}.
+     *         The text may not be null
+     * @param start
+     *         The index of the first character, which has been changed, as an {@link Integer}
+     *         value
+     * @param before
+     *         The number of characters, which have been replaced, as an {@link Integer} value
+     * @param count
+     *         The number of characters, which have replaced the previous ones, as an {@link
+     *         Integer} value
+     */
+    void onTextChanged(@NonNull CharSequence text, int start, int before, int count);
+
+}
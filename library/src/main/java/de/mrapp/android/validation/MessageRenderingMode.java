@@ -0,0 +1,80 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation;
+
+/**
+ * Contains all modes, which may be used to render the helper texts and error messages of a {@link
+ * AbstractValidateableView}.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public enum MessageRenderingMode {
+
+    /**
+     * If the messages should be shown by two separate text views, which are contained by a layout.
+     */
+    TEXT_VIEWS(0),
+
+    /**
+     * If the messages should be drawn by a single lightweight view. This reduces the number of
+     * views per validateable view and the number of measure passes.
+     */
+    SINGLE_VIEW(1);
+
+    /**
+     * The value of the mode, which is used in XML attributes.
+     */
+    private final int value;
+
+    /**
+     * Creates a new mode, which may be used to render messages.
+     *
+     * @param value
+     *         The value of the mode, which is used in XML attributes, as an {@link Integer} value
+     */
+    MessageRenderingMode(final int value) {
+        this.value = value;
+    }
+
+    /**
+     * Returns the value of the mode, which is used in XML attributes.
+     *
+     * @return The value of the mode, which is used in XML attributes, as an {@link Integer} value
+     */
+    public final int getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the mode, which corresponds to a specific value.
+     *
+     * @param value
+     *         The value of the mode, which should be returned, as an {@link Integer} value
+     * @return The mode, which corresponds to the given value, as a value of the enum {@link
+     * MessageRenderingMode}
+     * @throws IllegalArgumentException
+     *         The exception, which is thrown, if the given value is invalid
+     */
+    public static MessageRenderingMode fromValue(final int value) {
+        for (MessageRenderingMode mode : values()) {
+            if (mode.getValue() == value) {
+                return mode;
+            }
+        }
+
+        throw new IllegalArgumentException("Invalid enum value: " + value);
+    }
+
+}
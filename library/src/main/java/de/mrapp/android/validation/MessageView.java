@@ -0,0 +1,397 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation;
+
+import android.annotation.TargetApi;
+import android.content.Context;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.support.annotation.ColorInt;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.util.TypedValue;
+import android.view.View;
+
+/**
+ * A lightweight view, which draws the messages, which are shown at the left and right edge of a
+ * {@link AbstractValidateableView}, by using cached instances of the class {@link StaticLayout}.
+ * The layouts are only recreated, if the text or the available width has been changed.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+final class MessageView extends View {
+
+    /**
+     * The maximum number of lines of a message.
+     */
+    private static final int MAX_LINES = 2;
+
+    /**
+     * The text size in sp, which is used, if the text size of the theme can not be obtained.
+     */
+    private static final float DEFAULT_TEXT_SIZE = 14;
+
+    /**
+     * The paint, which is used to draw the message at the left edge.
+     */
+    private final TextPaint leftPaint;
+
+    /**
+     * The paint, which is used to draw the message at the right edge.
+     */
+    private final TextPaint rightPaint;
+
+    /**
+     * The horizontal spacing between the two messages and between a message and the edges of the
+     * view in pixels.
+     */
+    private final int horizontalInset;
+
+    /**
+     * The message, which is shown at the left edge, or null, if no message is shown.
+     */
+    private CharSequence leftText;
+
+    /**
+     * The icon, which is shown next to the message at the left edge, or null, if no icon is shown.
+     */
+    private Drawable leftIcon;
+
+    /**
+     * The message, which is shown at the right edge, or null, if no message is shown.
+     */
+    private CharSequence rightText;
+
+    /**
+     * The layout, which is used to draw the message at the left edge, or null, if the layout has
+     * not been created yet.
+     */
+    private StaticLayout leftLayout;
+
+    /**
+     * The layout, which is used to draw the message at the right edge, or null, if the layout has
+     * not been created yet.
+     */
+    private StaticLayout rightLayout;
+
+    /**
+     * The width, the layouts have been created for, or -1, if the layouts have to be recreated.
+     */
+    private int layoutWidth = -1;
+
+    /**
+     * Obtains the text size, which is defined by the theme's small text appearance.
+     *
+     * @return The text size in pixels as a {@link Float} value
+     */
+    private float obtainTextSize() {
+        Resources resources = getResources();
+        float defaultTextSize = TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP,
+                DEFAULT_TEXT_SIZE, resources.getDisplayMetrics());
+        TypedValue typedValue = new TypedValue();
+
+        if (getContext().getTheme()
+                .resolveAttribute(android.R.attr.textAppearanceSmall, typedValue, true)) {
+            TypedArray typedArray = getContext()
+                    .obtainStyledAttributes(typedValue.resourceId,
+                            new int[]{android.R.attr.textSize});
+
+            try {
+                return typedArray.getDimension(0, defaultTextSize);
+            } finally {
+                typedArray.recycle();
+            }
+        }
+
+        return defaultTextSize;
+    }
+
+    /**
+     * Creates and returns a paint, which allows to draw a message.
+     *
+     * @param textSize
+     *         The text size in pixels as a {@link Float} value
+     * @return The paint, which has been created, as an instance of the class {@link TextPaint}
+     */
+    private TextPaint createPaint(final float textSize) {
+        TextPaint paint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+        paint.setTextSize(textSize);
+        paint.density = getResources().getDisplayMetrics().density;
+        return paint;
+    }
+
+    /**
+     * Creates and returns a layout, which allows to draw a specific text.
+     *
+     * @param text
+     *         The text as an instance of the type {@link CharSequence}. The text may not be null
+     * @param paint
+     *         The paint, which should be used, as an instance of the class {@link TextPaint}. The
+     *         paint may not be null
+     * @param width
+     *         The available width in pixels as an {@link Integer} value
+     * @param alignment
+     *         The alignment of the text as a value of the enum {@link Layout.Alignment}. The
+     *         alignment may not be null
+     * @return The layout, which has been created, as an instance of the class {@link
+     * StaticLayout}
+     */
+    @SuppressWarnings("deprecation")
+    private static StaticLayout createLayout(@NonNull final CharSequence text,
+                                             @NonNull final TextPaint paint, final int width,
+                                             @NonNull final Layout.Alignment alignment) {
+        int layoutWidth = Math.max(0, width);
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            return createLayoutCompat(text, paint, layoutWidth, alignment);
+        }
+
+        CharSequence ellipsizedText =
+                TextUtils.ellipsize(text, paint, layoutWidth * MAX_LINES, TextUtils.TruncateAt.END);
+        return new StaticLayout(ellipsizedText, paint, layoutWidth, alignment, 1, 0, true);
+    }
+
+    /**
+     * Creates and returns a layout, which allows to draw a specific text, by using the builder,
+     * which is available on API level 23 and above.
+     *
+     * @param text
+     *         The text as an instance of the type {@link CharSequence}. The text may not be null
+     * @param paint
+     *         The paint, which should be used, as an instance of the class {@link TextPaint}. The
+     *         paint may not be null
+     * @param width
+     *         The available width in pixels as an {@link Integer} value
+     * @param alignment
+     *         The alignment of the text as a value of the enum {@link Layout.Alignment}. The
+     *         alignment may not be null
+     * @return The layout, which has been created, as an instance of the class {@link
+     * StaticLayout}
+     */
+    @TargetApi(Build.VERSION_CODES.M)
+    private static StaticLayout createLayoutCompat(@NonNull final CharSequence text,
+                                                   @NonNull final TextPaint paint,
+                                                   final int width,
+                                                   @NonNull final Layout.Alignment alignment) {
+        return StaticLayout.Builder.obtain(text, 0, text.length(), paint, width)
+                .setAlignment(alignment).setMaxLines(MAX_LINES)
+                .setEllipsize(TextUtils.TruncateAt.END).setIncludePad(true).build();
+    }
+
+    /**
+     * Returns the width of the icon, including its spacing to the text.
+     *
+     * @return The width of the icon in pixels as an {@link Integer} value
+     */
+    private int getIconWidth() {
+        return leftIcon != null ? leftIcon.getIntrinsicWidth() + horizontalInset / 2 : 0;
+    }
+
+    /**
+     * Creates the layouts, which are used to draw the messages, for a specific width, if necessary.
+     *
+     * @param width
+     *         The width of the view in pixels as an {@link Integer} value
+     */
+    private void updateLayouts(final int width) {
+        if (width == layoutWidth) {
+            return;
+        }
+
+        int availableWidth = Math.max(0, width - 2 * horizontalInset);
+        int rightWidth = 0;
+        rightLayout = null;
+        leftLayout = null;
+
+        if (rightText != null) {
+            int desiredWidth = (int) Math.ceil(Layout.getDesiredWidth(rightText, rightPaint));
+            rightWidth = leftText != null ? Math.min(desiredWidth, availableWidth / 2) :
+                    Math.min(desiredWidth, availableWidth);
+            rightLayout =
+                    createLayout(rightText, rightPaint, rightWidth, Layout.Alignment.ALIGN_OPPOSITE);
+        }
+
+        if (leftText != null) {
+            int leftWidth = availableWidth - getIconWidth() -
+                    (rightLayout != null ? rightWidth + horizontalInset : 0);
+            leftLayout = createLayout(leftText, leftPaint, leftWidth, Layout.Alignment.ALIGN_NORMAL);
+        }
+
+        layoutWidth = width;
+    }
+
+    /**
+     * Invalidates the layouts, which are used to draw the messages, and requests a new layout pass.
+     */
+    private void invalidateLayouts() {
+        layoutWidth = -1;
+        requestLayout();
+        invalidate();
+    }
+
+    /**
+     * Creates a new lightweight view, which draws the messages, which are shown at the left and
+     * right edge of a {@link AbstractValidateableView}.
+     *
+     * @param context
+     *         The context, which should be used by the view, as an instance of the class {@link
+     *         Context}. The context may not be null
+     */
+    MessageView(@NonNull final Context context) {
+        super(context);
+        float textSize = obtainTextSize();
+        this.leftPaint = createPaint(textSize);
+        this.rightPaint = createPaint(textSize);
+        Resources resources = context.getResources();
+        this.horizontalInset =
+                resources.getDimensionPixelSize(R.dimen.error_message_inset_left);
+        setPadding(0, resources.getDimensionPixelSize(R.dimen.error_message_inset_top), 0,
+                resources.getDimensionPixelSize(R.dimen.error_message_inset_bottom));
+        setWillNotDraw(false);
+    }
+
+    /**
+     * Sets the message, which should be shown at the left edge.
+     *
+     * @param text
+     *         The message, which should be shown, as an instance of the type {@link CharSequence}
+     *         or null, if no message should be shown
+     * @param icon
+     *         The icon, which should be shown, as an instance of the class {@link Drawable} or
+     *         null, if no icon should be shown
+     * @param color
+     *         The color of the message as an {@link Integer} value
+     */
+    void setLeftMessage(@Nullable final CharSequence text, @Nullable final Drawable icon,
+                               @ColorInt final int color) {
+        leftPaint.setColor(color);
+
+        if (!TextUtils.equals(text, leftText) || icon != leftIcon) {
+            leftText = text;
+            leftIcon = icon;
+
+            if (icon != null) {
+                icon.setBounds(0, 0, icon.getIntrinsicWidth(), icon.getIntrinsicHeight());
+            }
+
+            invalidateLayouts();
+        } else {
+            invalidate();
+        }
+    }
+
+    /**
+     * Sets the message, which should be shown at the right edge.
+     *
+     * @param text
+     *         The message, which should be shown, as an instance of the type {@link CharSequence}
+     *         or null, if no message should be shown
+     * @param color
+     *         The color of the message as an {@link Integer} value
+     */
+    void setRightMessage(@Nullable final CharSequence text, @ColorInt final int color) {
+        rightPaint.setColor(color);
+
+        if (!TextUtils.equals(text, rightText)) {
+            rightText = text;
+            invalidateLayouts();
+        } else {
+            invalidate();
+        }
+    }
+
+    /**
+     * Returns the message, which is shown at the left edge.
+     *
+     * @return The message, which is shown at the left edge, as an instance of the type {@link
+     * CharSequence} or null, if no message is shown
+     */
+    CharSequence getLeftText() {
+        return leftText;
+    }
+
+    /**
+     * Returns the message, which is shown at the right edge.
+     *
+     * @return The message, which is shown at the right edge, as an instance of the type {@link
+     * CharSequence} or null, if no message is shown
+     */
+    CharSequence getRightText() {
+        return rightText;
+    }
+
+    @Override
+    protected void onMeasure(final int widthMeasureSpec, final int heightMeasureSpec) {
+        int width = MeasureSpec.getSize(widthMeasureSpec);
+        updateLayouts(width);
+        int contentHeight = 0;
+
+        if (leftLayout != null) {
+            contentHeight = leftLayout.getHeight();
+
+            if (leftIcon != null) {
+                contentHeight = Math.max(contentHeight, leftIcon.getIntrinsicHeight());
+            }
+        }
+
+        if (rightLayout != null) {
+            contentHeight = Math.max(contentHeight, rightLayout.getHeight());
+        }
+
+        int height = contentHeight > 0 ? contentHeight + getPaddingTop() + getPaddingBottom() : 0;
+        setMeasuredDimension(width, resolveSize(height, heightMeasureSpec));
+    }
+
+    @Override
+    protected void onDraw(final Canvas canvas) {
+        super.onDraw(canvas);
+        updateLayouts(getWidth());
+        int top = getPaddingTop();
+
+        if (leftLayout != null) {
+            int left = horizontalInset;
+
+            if (leftIcon != null) {
+                int iconTop = top + (leftLayout.getHeight() - leftIcon.getIntrinsicHeight()) / 2;
+                canvas.save();
+                canvas.translate(left, Math.max(top, iconTop));
+                leftIcon.draw(canvas);
+                canvas.restore();
+                left += getIconWidth();
+            }
+
+            canvas.save();
+            canvas.translate(left, top);
+            leftLayout.draw(canvas);
+            canvas.restore();
+        }
+
+        if (rightLayout != null) {
+            canvas.save();
+            canvas.translate(getWidth() - horizontalInset - rightLayout.getWidth(), top);
+            rightLayout.draw(canvas);
+            canvas.restore();
+        }
+    }
+
+}
@@ -29,11 +29,17 @@ import android.text.InputType;
 import android.text.TextUtils;
 import android.text.TextWatcher;
 import android.util.AttributeSet;
+import android.util.Log;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.regex.Pattern;
+
+import de.mrapp.android.validation.constraints.text.RegexConstraint;
+import de.mrapp.android.validation.regex.RegexEngine;
+import de.mrapp.android.validation.regex.RegexSet;
 
 import static de.mrapp.android.util.Condition.ensureNotEmpty;
 import static de.mrapp.android.util.Condition.ensureNotNull;
@@ -44,7 +50,9 @@ import static de.mrapp.android.util.Condition.ensureNotNull;
  *
  * Additionally, the password strength can be automatically verified, according to customizable
  * constraints, while typing and a text, which indicates the password strength can be shown as the
- * edit text's helper text.
+ * edit text's helper text. All instances of the class {@link RegexConstraint}, which use the engine
+ * {@link RegexEngine#LINEAR} and do not use a budget, are verified at once by using a {@link
+ * RegexSet}, which scans the password only once.
  *
  * @author Michael Rapp
  * @since 1.0.0
@@ -56,6 +64,12 @@ public class PasswordEditText extends EditText {
      */
     private List<Constraint<CharSequence>> constraints;
 
+    /**
+     * The set, which is used to verify the regular expressions of the constraints, which are
+     * verified at once, or null, if the set has not been compiled yet.
+     */
+    private RegexSet regexSet;
+
     /**
      * A list, which contains the helper texts, which are shown depending on the password strength.
      */
@@ -170,14 +184,75 @@ public class PasswordEditText extends EditText {
      * added and adapts the appearance of the view accordingly.
      */
     private void verifyPasswordStrength() {
-        if (isEnabled() && !constraints.isEmpty() && !TextUtils.isEmpty(getText())) {
-            float score = getPasswordStrength();
-            adaptHelperText(score);
-        } else {
-            setHelperText(regularHelperText);
+        boolean traced =
+                ValidationTrace.beginSection(ValidationTrace.SECTION_VERIFY_PASSWORD_STRENGTH);
+
+        try {
+            if (isEnabled() && !constraints.isEmpty() && !TextUtils.isEmpty(getText())) {
+                float score = getPasswordStrength();
+                adaptHelperText(score);
+            } else {
+                setHelperText(regularHelperText);
+            }
+        } finally {
+            ValidationTrace.endSection(traced);
         }
     }
 
+    /**
+     * Returns, whether a specific constraint can be verified at once with other constraints by
+     * using a {@link RegexSet}, or not. Only constraints, which use the engine {@link
+     * RegexEngine#LINEAR}, are combined, because the results of the engine {@link
+     * RegexEngine#JAVA} may differ from those of the set.
+     *
+     * @param constraint
+     *         The constraint as an instance of the type {@link Constraint}. The constraint may not
+     *         be null
+     * @return True, if the given constraint can be verified by using a {@link RegexSet}, false
+     * otherwise
+     */
+    private static boolean isCombinable(@NonNull final Constraint<CharSequence> constraint) {
+        return constraint instanceof RegexConstraint &&
+                ((RegexConstraint) constraint).getEngine() == RegexEngine.LINEAR &&
+                ((RegexConstraint) constraint).getMatchBudget() == null;
+    }
+
+    /**
+     * Returns the set, which allows to verify the regular expressions of the constraints, which
+     * are verified at once. If the constraints or their regular expressions have been changed
+     * since the set has been compiled, the set is compiled anew.
+     *
+     * @return The set as an instance of the class {@link RegexSet}. The set may not be null
+     */
+    @NonNull
+    private RegexSet getRegexSet() {
+        boolean changed = regexSet == null;
+        int count = 0;
+
+        for (Constraint<CharSequence> constraint : constraints) {
+            if (count < RegexSet.MAX_PATTERN_COUNT && isCombinable(constraint)) {
+                Pattern regex = ((RegexConstraint) constraint).getRegex();
+                changed = changed || count >= regexSet.getPatternCount() ||
+                        regexSet.getPattern(count) != regex;
+                count++;
+            }
+        }
+
+        if (changed || count != regexSet.getPatternCount()) {
+            List<Pattern> patterns = new ArrayList<>(count);
+
+            for (Constraint<CharSequence> constraint : constraints) {
+                if (patterns.size() < RegexSet.MAX_PATTERN_COUNT && isCombinable(constraint)) {
+                    patterns.add(((RegexConstraint) constraint).getRegex());
+                }
+            }
+
+            regexSet = RegexSet.compile(patterns);
+        }
+
+        return regexSet;
+    }
+
     /**
      * Returns the strength of the current password, depending on the constraints, which have been
      * added.
@@ -188,10 +263,25 @@ public class PasswordEditText extends EditText {
     private float getPasswordStrength() {
         int absoluteScore = 0;
         CharSequence password = getView().getText();
+        RegexSet set = getRegexSet();
+        long matches = set.match(password);
+        int index = 0;
 
         for (Constraint<CharSequence> constraint : constraints) {
-            if (constraint.isSatisfied(password)) {
-                absoluteScore++;
+            if (index < set.getPatternCount() && isCombinable(constraint)) {
+                if ((matches & (1L << index++)) != 0) {
+                    absoluteScore++;
+                }
+
+                continue;
+            }
+
+            try {
+                if (constraint.isSatisfied(password)) {
+                    absoluteScore++;
+                }
+            } catch (ValidationTimeoutException e) {
+                Log.w(getClass().getSimpleName(), "Constraint " + constraint + " timed out", e);
             }
         }
 
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Contains all validators and constraints, which may be prewarmed by using the method {@link
+ * Validators#prewarm(PrewarmTarget...)}, in order to compile their regular expressions in advance.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public enum PrewarmTarget {
+
+    /**
+     * The validator, which ensures, that texts only contain numbers.
+     */
+    NUMBER("0123456789", "01234x"),
+
+    /**
+     * The validators, which ensure, that texts only contain letters, regardless of their case
+     * sensitivity.
+     */
+    LETTER("abcdef", "ABCDEF", "abc123"),
+
+    /**
+     * The validators, which ensure, that texts only contain letters or numbers, regardless of
+     * their case sensitivity.
+     */
+    LETTER_OR_NUMBER("abc123", "ABC123", "abc-123"),
+
+    /**
+     * The validator, which ensures, that texts represent valid email addresses.
+     */
+    EMAIL_ADDRESS("someone@example.com", "someone@example", "someone"),
+
+    /**
+     * The validator, which ensures, that texts represent valid domain names.
+     */
+    DOMAIN_NAME("www.example.com", "example.com", "www.example..com"),
+
+    /**
+     * The validator, which ensures, that texts represent valid IRIs.
+     */
+    IRI("https://www.example.com/path?query=1", "www.example.com", "https://"),
+
+    /**
+     * The validator, which ensures, that texts represent valid IPv4 addresses.
+     */
+    IPV4_ADDRESS("192.168.0.1", "192.168.0.256", "192.168"),
+
+    /**
+     * The validator, which ensures, that texts represent valid IPv6 addresses.
+     */
+    IPV6_ADDRESS("2001:0db8:85a3:0000:0000:8a2e:0370:7334", "2001:db8::1", "2001:db8:::1"),
+
+    /**
+     * The validator, which ensures, that texts represent valid phone numbers.
+     */
+    PHONE_NUMBER("+49 1624812382", "01624812382", "0162-4812382"),
+
+    /**
+     * The constraints, which are used by a {@link PasswordEditText} to verify, whether passwords
+     * contain letters, numbers or symbols.
+     */
+    PASSWORD_CONSTRAINTS("password", "passw0rd", "p@ssw0rd");
+
+    /**
+     * The texts, which are validated in order to prewarm the validators or constraints.
+     */
+    private final String[] samples;
+
+    /**
+     * Creates a new validator or constraint, which may be prewarmed.
+     *
+     * @param samples
+     *         The texts, which should be validated in order to prewarm the validators or
+     *         constraints, as a {@link String} array. The array may not be null
+     */
+    PrewarmTarget(@NonNull final String... samples) {
+        this.samples = samples;
+    }
+
+    /**
+     * Returns the texts, which are validated in order to prewarm the validators or constraints.
+     *
+     * @return An array, which contains the texts, which are validated in order to prewarm the
+     * validators or constraints, as a {@link String} array. The array may not be null
+     */
+    @NonNull
+    public final String[] getSamples() {
+        return samples.clone();
+    }
+
+}
@@ -0,0 +1,523 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation;
+
+import android.annotation.TargetApi;
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.database.DataSetObserver;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.StringRes;
+import android.text.Editable;
+import android.text.InputType;
+import android.text.TextUtils;
+import android.text.TextWatcher;
+import android.util.AttributeSet;
+import android.widget.SpinnerAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import de.mrapp.android.validation.adapter.FilteredSpinnerAdapter;
+import de.mrapp.android.validation.datastructure.PrefixIndex;
+
+/**
+ * A spinner, which additionally provides a text field, which allows to filter the spinner's items.
+ * Items are shown, if their label, i.e. the text, which is returned by the {@link
+ * Object#toString()} method, contains a word, which starts with the entered text. Diacritics and
+ * the case of letters are ignored.
+ *
+ * In order to allow to filter a large number of items without blocking the UI thread, a {@link
+ * PrefixIndex} is built in a background thread, whenever an adapter is set or its items have been
+ * changed. Until the index has been built, all items are shown. While the spinner is detached from
+ * its window, the adapter is not observed, so that it does not keep a reference to the spinner.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class SearchableSpinner extends Spinner {
+
+    /**
+     * The executor, which is used to build indices in a background thread.
+     */
+    private static final Executor INDEX_EXECUTOR = Executors.newSingleThreadExecutor();
+
+    /**
+     * The text field, which allows to filter the spinner's items.
+     */
+    private android.widget.EditText filterView;
+
+    /**
+     * The adapter, which is used to filter the spinner's items.
+     */
+    private FilteredSpinnerAdapter filteredAdapter;
+
+    /**
+     * The observer, which is registered at the adapter, which contains the actual items, in order
+     * to rebuild the index, when they are changed, or null, if no adapter has been set.
+     */
+    private DataSetObserver dataSetObserver;
+
+    /**
+     * True, if the observers are currently registered at the adapter, which contains the actual
+     * items, false otherwise.
+     */
+    private boolean observing;
+
+    /**
+     * The position of the selected item in the adapter, which contains the actual items, while the
+     * filter is reset, or -1, if no item is selected.
+     */
+    private int selectedOriginalPosition;
+
+    /**
+     * The index, which is used to filter the spinner's items, or null, if the index has not been
+     * built yet.
+     */
+    private PrefixIndex index;
+
+    /**
+     * The number of indices, which have been requested to be built. It is used to discard indices,
+     * which have become outdated while being built.
+     */
+    private int indexGeneration;
+
+    /**
+     * The handler, which is used to pass built indices to the UI thread.
+     */
+    private Handler handler;
+
+    /**
+     * Initializes the view.
+     *
+     * @param attributeSet
+     *         The attribute set, the attributes should be obtained from, as an instance of the type
+     *         {@link AttributeSet} or null, if no attributes should be obtained
+     */
+    private void initialize(@Nullable final AttributeSet attributeSet) {
+        selectedOriginalPosition = -1;
+        filterView = new android.widget.EditText(getContext());
+        filterView.setSingleLine();
+        filterView.setInputType(InputType.TYPE_CLASS_TEXT | InputType.TYPE_TEXT_VARIATION_FILTER);
+        filterView.addTextChangedListener(createFilterTextWatcher());
+        addView(filterView, 0, new LayoutParams(LayoutParams.MATCH_PARENT,
+                LayoutParams.WRAP_CONTENT));
+        obtainStyledAttributes(attributeSet);
+        applyFilter();
+    }
+
+    /**
+     * Obtains all attributes from a specific attribute set.
+     *
+     * @param attributeSet
+     *         The attribute set, the attributes should be obtained from, as an instance of the type
+     *         {@link AttributeSet} or null, if no attributes should be obtained
+     */
+    private void obtainStyledAttributes(@Nullable final AttributeSet attributeSet) {
+        TypedArray typedArray =
+                getContext().obtainStyledAttributes(attributeSet, R.styleable.SearchableSpinner);
+        try {
+            obtainFilterHint(typedArray);
+        } finally {
+            typedArray.recycle();
+        }
+    }
+
+    /**
+     * Obtains the hint of the text field, which allows to filter the spinner's items, from a
+     * specific typed array.
+     *
+     * @param typedArray
+     *         The typed array, the hint should be obtained from, as an instance of the class {@link
+     *         TypedArray}. The typed array may not be null
+     */
+    private void obtainFilterHint(@NonNull final TypedArray typedArray) {
+        CharSequence filterHint = typedArray.getText(R.styleable.SearchableSpinner_filterHint);
+
+        if (filterHint == null) {
+            filterHint = getContext().getText(R.string.searchable_spinner_filter_hint);
+        }
+
+        setFilterHint(filterHint);
+    }
+
+    /**
+     * Creates and returns a watcher, which allows to filter the spinner's items, when the text of
+     * the filter field has been changed.
+     *
+     * @return The watcher, which has been created, as an instance of the type {@link TextWatcher}
+     */
+    private TextWatcher createFilterTextWatcher() {
+        return new TextWatcher() {
+
+            @Override
+            public void beforeTextChanged(final CharSequence s, final int start, final int count,
+                                          final int after) {
+
+            }
+
+            @Override
+            public void onTextChanged(final CharSequence s, final int start, final int before,
+                                      final int count) {
+
+            }
+
+            @Override
+            public void afterTextChanged(final Editable s) {
+                applyFilter();
+            }
+
+        };
+    }
+
+    /**
+     * Creates and returns an observer, which allows to rebuild the index, when the items of a
+     * specific adapter have been changed.
+     *
+     * @param adapter
+     *         The adapter as an instance of the type {@link SpinnerAdapter}. The adapter may not be
+     *         null
+     * @return The observer, which has been created, as an instance of the class {@link
+     * DataSetObserver}
+     */
+    private DataSetObserver createDataSetObserver(@NonNull final SpinnerAdapter adapter) {
+        return new DataSetObserver() {
+
+            @Override
+            public void onChanged() {
+                if (filteredAdapter != null && filteredAdapter.getAdapter() == adapter) {
+                    buildIndex(adapter);
+                }
+            }
+
+        };
+    }
+
+    /**
+     * Creates and returns a listener, which allows to keep the selected item selected, when the
+     * filter is reset, because the items of the adapter have been changed.
+     *
+     * @return The listener, which has been created, as an instance of the type {@link
+     * FilteredSpinnerAdapter.FilterResetListener}
+     */
+    private FilteredSpinnerAdapter.FilterResetListener createFilterResetListener() {
+        return new FilteredSpinnerAdapter.FilterResetListener() {
+
+            @Override
+            public void onBeforeFilterReset(@NonNull final FilteredSpinnerAdapter adapter) {
+                int selectedPosition = getSelectedItemPosition();
+                selectedOriginalPosition = selectedPosition > 0 &&
+                        selectedPosition <= adapter.getCount() ?
+                        adapter.getOriginalPosition(selectedPosition - 1) : -1;
+            }
+
+            @Override
+            public void onFilterReset(@NonNull final FilteredSpinnerAdapter adapter) {
+                int originalPosition = selectedOriginalPosition;
+                selectedOriginalPosition = -1;
+                setSelection(originalPosition != -1 && originalPosition < adapter.getCount() ?
+                        originalPosition + 1 : 0);
+            }
+
+        };
+    }
+
+    /**
+     * Registers the observers at the adapter, which contains the actual items, if they are not
+     * registered yet. If the items have been changed in the meantime, the filter is reset.
+     */
+    private void registerObservers() {
+        if (filteredAdapter != null && !observing) {
+            filteredAdapter.getAdapter().registerDataSetObserver(dataSetObserver);
+            filteredAdapter.attach();
+            observing = true;
+        }
+    }
+
+    /**
+     * Unregisters the observers from the adapter, which contains the actual items, in order to
+     * release the references, the adapter holds to the spinner.
+     */
+    private void unregisterObservers() {
+        if (filteredAdapter != null && observing) {
+            filteredAdapter.getAdapter().unregisterDataSetObserver(dataSetObserver);
+            filteredAdapter.detach();
+            observing = false;
+        }
+    }
+
+    /**
+     * Builds the index of the items of a specific adapter in a background thread. The labels of
+     * the items are retrieved on the UI thread.
+     *
+     * @param adapter
+     *         The adapter, whose items should be indexed, as an instance of the type {@link
+     *         SpinnerAdapter}. The adapter may not be null
+     */
+    private void buildIndex(@NonNull final SpinnerAdapter adapter) {
+        final List<String> labels = new ArrayList<>(adapter.getCount());
+
+        for (int i = 0; i < adapter.getCount(); i++) {
+            Object item = adapter.getItem(i);
+            labels.add(item != null ? item.toString() : null);
+        }
+
+        if (handler == null) {
+            handler = new Handler(Looper.getMainLooper());
+        }
+
+        final int generation = ++indexGeneration;
+        index = null;
+        INDEX_EXECUTOR.execute(new Runnable() {
+
+            @Override
+            public void run() {
+                final PrefixIndex builtIndex = new PrefixIndex(labels);
+                handler.post(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        if (generation == indexGeneration) {
+                            index = builtIndex;
+                            applyFilter();
+                        }
+                    }
+
+                });
+            }
+
+        });
+    }
+
+    /**
+     * Filters the spinner's items, depending on the text of the filter field. If the currently
+     * selected item is still shown afterwards, it remains selected. Otherwise, the hint is
+     * selected.
+     */
+    private void applyFilter() {
+        if (filteredAdapter == null || filterView == null) {
+            return;
+        }
+
+        CharSequence query = filterView.getText();
+        int[] positions = null;
+
+        if (!TextUtils.isEmpty(query)) {
+            if (index == null) {
+                return;
+            }
+
+            positions = index.search(query);
+        }
+
+        int selectedPosition = getSelectedItemPosition();
+        int originalPosition = selectedPosition > 0 ?
+                filteredAdapter.getOriginalPosition(selectedPosition - 1) : -1;
+        filteredAdapter.setFilter(positions);
+        int filteredPosition =
+                originalPosition != -1 ? filteredAdapter.getFilteredPosition(originalPosition) :
+                        -1;
+        setSelection(filteredPosition != -1 ? filteredPosition + 1 : 0);
+    }
+
+    @Override
+    protected final SpinnerAdapter onSetAdapter(final SpinnerAdapter adapter) {
+        if (adapter == filteredAdapter) {
+            return adapter;
+        }
+
+        unregisterObservers();
+        filteredAdapter = null;
+        dataSetObserver = null;
+        index = null;
+        indexGeneration++;
+
+        if (adapter == null) {
+            return null;
+        }
+
+        filteredAdapter = new FilteredSpinnerAdapter(adapter);
+        filteredAdapter.setFilterResetListener(createFilterResetListener());
+        dataSetObserver = createDataSetObserver(adapter);
+        adapter.registerDataSetObserver(dataSetObserver);
+        observing = true;
+        buildIndex(adapter);
+        return filteredAdapter;
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+
+        if (filteredAdapter != null && !observing) {
+            registerObservers();
+            buildIndex(filteredAdapter.getAdapter());
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        unregisterObservers();
+        super.onDetachedFromWindow();
+    }
+
+    /**
+     * Creates a new spinner, which additionally provides a text field, which allows to filter the
+     * spinner's items.
+     *
+     * @param context
+     *         The context, which should be used by the view, as an instance of the class {@link
+     *         Context}. The context may not be null
+     */
+    public SearchableSpinner(@NonNull final Context context) {
+        super(context);
+        initialize(null);
+    }
+
+    /**
+     * Creates a new spinner, which additionally provides a text field, which allows to filter the
+     * spinner's items.
+     *
+     * @param context
+     *         The context, which should be used by the view, as an instance of the class {@link
+     *         Context}. The context may not be null
+     * @param attributeSet
+     *         The attributes of the XML tag that is inflating the view, as an instance of the type
+     *         {@link AttributeSet} or null, if no attributes are available
+     */
+    public SearchableSpinner(@NonNull final Context context,
+                             @Nullable final AttributeSet attributeSet) {
+        super(context, attributeSet);
+        initialize(attributeSet);
+    }
+
+    /**
+     * Creates a new spinner, which additionally provides a text field, which allows to filter the
+     * spinner's items.
+     *
+     * @param context
+     *         The context, which should be used by the view, as an instance of the class {@link
+     *         Context}. The context may not be null
+     * @param attributeSet
+     *         The attributes of the XML tag that is inflating the view, as an instance of the type
+     *         {@link AttributeSet} or null, if no attributes are available
+     * @param defaultStyle
+     *         The default style to apply to this preference. If 0, no style will be applied (beyond
+     *         what is included in the theme). This may either be an attribute resource, whose value
+     *         will be retrieved from the current theme, or an explicit style resource
+     */
+    @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+    public SearchableSpinner(@NonNull final Context context,
+                             @Nullable final AttributeSet attributeSet, final int defaultStyle) {
+        super(context, attributeSet, defaultStyle);
+        initialize(attributeSet);
+    }
+
+    /**
+     * Creates a new spinner, which additionally provides a text field, which allows to filter the
+     * spinner's items.
+     *
+     * @param context
+     *         The context, which should be used by the view, as an instance of the class {@link
+     *         Context}. The context may not be null
+     * @param attributeSet
+     *         The attributes of the XML tag that is inflating the view, as an instance of the type
+     *         {@link AttributeSet} or null, if no attributes are available
+     * @param defaultStyle
+     *         The default style to apply to this preference. If 0, no style will be applied (beyond
+     *         what is included in the theme). This may either be an attribute resource, whose value
+     *         will be retrieved from the current theme, or an explicit style resource
+     * @param defaultStyleResource
+     *         A resource identifier of a style resource that supplies default values for the
+     *         preference, used only if the default style is 0 or can not be found in the theme. Can
+     *         be 0 to not look for defaults
+     */
+    @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+    public SearchableSpinner(@NonNull final Context context,
+                             @Nullable final AttributeSet attributeSet, final int defaultStyle,
+                             final int defaultStyleResource) {
+        super(context, attributeSet, defaultStyle, defaultStyleResource);
+        initialize(attributeSet);
+    }
+
+    /**
+     * Returns the text, which is used to filter the spinner's items.
+     *
+     * @return The text, which is used to filter the spinner's items, as an instance of the type
+     * {@link CharSequence}
+     */
+    public final CharSequence getFilterText() {
+        return filterView.getText();
+    }
+
+    /**
+     * Sets the text, which should be used to filter the spinner's items.
+     *
+     * @param text
+     *         The text, which should be set, as an instance of the type {@link CharSequence} or
+     *         null, if all items should be shown
+     */
+    public final void setFilterText(@Nullable final CharSequence text) {
+        filterView.setText(text);
+    }
+
+    /**
+     * Returns the hint of the text field, which allows to filter the spinner's items.
+     *
+     * @return The hint of the text field, which allows to filter the spinner's items, as an
+     * instance of the type {@link CharSequence} or null, if no hint is shown
+     */
+    public final CharSequence getFilterHint() {
+        return filterView.getHint();
+    }
+
+    /**
+     * Sets the hint of the text field, which allows to filter the spinner's items.
+     *
+     * @param hint
+     *         The hint, which should be set, as an instance of the type {@link CharSequence} or
+     *         null, if no hint should be shown
+     */
+    public final void setFilterHint(@Nullable final CharSequence hint) {
+        filterView.setHint(hint);
+    }
+
+    /**
+     * Sets the hint of the text field, which allows to filter the spinner's items.
+     *
+     * @param resourceId
+     *         The resource id of the hint, which should be set, as an {@link Integer} value. The
+     *         resource id must correspond to a valid string resource
+     */
+    public final void setFilterHint(@StringRes final int resourceId) {
+        setFilterHint(getContext().getText(resourceId));
+    }
+
+    /**
+     * Returns, whether the index, which is used to filter the spinner's items, has already been
+     * built, or not.
+     *
+     * @return True, if the index has been built, false otherwise
+     */
+    public final boolean isIndexBuilt() {
+        return index != null;
+    }
+
+}
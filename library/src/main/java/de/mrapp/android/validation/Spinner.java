@@ -149,6 +149,12 @@ public class Spinner extends AbstractValidateableView<android.widget.Spinner, Ob
      */
     OnItemSelectedListener itemSelectedListener;
 
+    /**
+     * The position of the item, which has been selected in order to show the value of a model, or
+     * {@link AdapterView#INVALID_POSITION}, if no such item is pending to be selected.
+     */
+    int boundPosition = AdapterView.INVALID_POSITION;
+
     /**
      * Initializes the view.
      *
@@ -283,8 +289,15 @@ public class Spinner extends AbstractValidateableView<android.widget.Spinner, Ob
                     getOnItemSelectedListener().onItemSelected(parent, view, position, id);
                 }
 
-                if (isValidatedOnValueChange() && position != 0) {
-                    validate();
+                boolean bound = position == boundPosition;
+                boundPosition = AdapterView.INVALID_POSITION;
+
+                if (!bound) {
+                    updateModelValue();
+
+                    if (isValidatedOnValueChange() && position != 0) {
+                        validate();
+                    }
                 }
             }
 
@@ -316,6 +329,33 @@ public class Spinner extends AbstractValidateableView<android.widget.Spinner, Ob
         return getView().getSelectedItem();
     }
 
+    @Override
+    protected final void onBindValue(@Nullable final Object value) {
+        for (int i = 0; i < getView().getCount(); i++) {
+            Object item = getView().getItemAtPosition(i);
+
+            if (value == null ? item == null : value.equals(item)) {
+                boundPosition = i != getView().getSelectedItemPosition() ? i :
+                        AdapterView.INVALID_POSITION;
+                getView().setSelection(i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * The method, which is invoked, when an adapter is set. This method may be overridden by
+     * subclasses in order to wrap the adapter. It may be invoked while the view is constructed.
+     *
+     * @param adapter
+     *         The adapter, which has been set, as an instance of the type {@link SpinnerAdapter}
+     * @return The adapter, which should be used to provide the view's items, as an instance of the
+     * type {@link SpinnerAdapter}
+     */
+    protected SpinnerAdapter onSetAdapter(final SpinnerAdapter adapter) {
+        return adapter;
+    }
+
     /**
      * Creates a new view, which allows to choose a value from a drop down menu.
      *
@@ -611,8 +651,8 @@ public class Spinner extends AbstractValidateableView<android.widget.Spinner, Ob
      */
     public final void setAdapter(final SpinnerAdapter adapter) {
         getView().setAdapter(
-                new ProxySpinnerAdapter(getContext(), adapter, R.layout.spinner_hint_item,
-                        getHint(), getHintTextColors()));
+                new ProxySpinnerAdapter(getContext(), onSetAdapter(adapter),
+                        R.layout.spinner_hint_item, getHint(), getHintTextColors()));
     }
 
     /**
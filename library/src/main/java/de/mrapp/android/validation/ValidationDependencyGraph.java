@@ -0,0 +1,580 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * A graph, which models the dependencies between {@link Validateable}s, e.g. between a password
+ * field and a field, which is used to confirm the password. Whenever a validateable has been
+ * validated, because its value has been changed, all validateables, which transitively depend on
+ * it, are validated again. The dependents are validated in topological order and each of them is
+ * validated at most once per change. All changes, which are observed while the main thread is
+ * busy, are coalesced. Only dependents, which have already been validated before, are validated
+ * again, in order to not show errors for fields, which have not been edited yet.
+ *
+ * Dependencies are either declared by validators, which implement the interface {@link
+ * DependentValidator}, or manually by using the method {@link #addDependency(Validateable,
+ * Validateable)}. Dependencies, which would introduce a cycle, are rejected.
+ *
+ * The graph must only be used on the main thread.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class ValidationDependencyGraph {
+
+    /**
+     * A node of the graph, which represents a single validateable.
+     */
+    private static final class Node {
+
+        /**
+         * The validateable, which is represented by the node.
+         */
+        private final Validateable<?> validateable;
+
+        /**
+         * A set, which contains the nodes, which depend on this node.
+         */
+        private final Set<Node> dependents;
+
+        /**
+         * A set, which contains the nodes, this node depends on.
+         */
+        private final Set<Node> dependencies;
+
+        /**
+         * The listener, which has been registered at the validateable.
+         */
+        private ValidationListener<?> listener;
+
+        /**
+         * True, if the validateable has been validated at least once, false otherwise.
+         */
+        private boolean validated;
+
+        /**
+         * The position of the node in the topological order of all nodes.
+         */
+        private int order;
+
+        /**
+         * Creates a new node, which represents a specific validateable.
+         *
+         * @param validateable
+         *         The validateable, which is represented by the node, as an instance of the type
+         *         {@link Validateable}. The validateable may not be null
+         */
+        Node(@NonNull final Validateable<?> validateable) {
+            this.validateable = validateable;
+            this.dependents = new LinkedHashSet<>();
+            this.dependencies = new LinkedHashSet<>();
+            this.validated = false;
+        }
+
+    }
+
+    /**
+     * A comparator, which allows to sort nodes according to their topological order.
+     */
+    private static final Comparator<Node> TOPOLOGICAL_ORDER = new Comparator<Node>() {
+
+        @Override
+        public int compare(final Node node1, final Node node2) {
+            return node1.order < node2.order ? -1 : (node1.order == node2.order ? 0 : 1);
+        }
+
+    };
+
+    /**
+     * A map, which contains the nodes of the graph.
+     */
+    private final Map<Validateable<?>, Node> nodes;
+
+    /**
+     * The handler, which is used to coalesce changes.
+     */
+    private final Handler handler;
+
+    /**
+     * A set, which contains the nodes, whose validateables have been changed, but whose
+     * dependents have not been validated yet.
+     */
+    private final Set<Node> pendingNodes;
+
+    /**
+     * The runnable, which validates the dependents of the pending nodes.
+     */
+    private final Runnable flushRunnable;
+
+    /**
+     * True, if the topological order of the nodes must be computed again, false otherwise.
+     */
+    private boolean orderInvalid;
+
+    /**
+     * True, if dependents are currently validated, false otherwise.
+     */
+    private boolean propagating;
+
+    /**
+     * Creates and returns a runnable, which validates the dependents of the pending nodes.
+     *
+     * @return The runnable, which has been created, as an instance of the type {@link Runnable}.
+     * The runnable may not be null
+     */
+    @NonNull
+    private Runnable createFlushRunnable() {
+        return new Runnable() {
+
+            @Override
+            public void run() {
+                flush();
+            }
+
+        };
+    }
+
+    /**
+     * Creates and returns a listener, which observes the validations of a specific node's
+     * validateable.
+     *
+     * @param <Type>
+     *         The type of the values, which are validated
+     * @param node
+     *         The node as an instance of the class {@link Node}. The node may not be null
+     * @return The listener, which has been created, as an instance of the type {@link
+     * ValidationListener}. The listener may not be null
+     */
+    @NonNull
+    private <Type> ValidationListener<Type> createValidationListener(@NonNull final Node node) {
+        return new ValidationListener<Type>() {
+
+            @Override
+            public void onValidationSuccess(@NonNull final Validateable<Type> view) {
+                onValidated(node);
+            }
+
+            @Override
+            public void onValidationFailure(@NonNull final Validateable<Type> view,
+                                            @NonNull final Validator<Type> validator) {
+                onValidated(node);
+            }
+
+        };
+    }
+
+    /**
+     * Registers a listener at a specific validateable in order to observe its validations.
+     *
+     * @param <Type>
+     *         The type of the values, which are validated
+     * @param validateable
+     *         The validateable as an instance of the type {@link Validateable}. The validateable
+     *         may not be null
+     * @param node
+     *         The node, which represents the validateable, as an instance of the class {@link
+     *         Node}. The node may not be null
+     */
+    private <Type> void registerListener(@NonNull final Validateable<Type> validateable,
+                                         @NonNull final Node node) {
+        ValidationListener<Type> listener = createValidationListener(node);
+        node.listener = listener;
+        validateable.addValidationListener(listener);
+    }
+
+    /**
+     * Unregisters the listener, which has been registered at a specific validateable.
+     *
+     * @param <Type>
+     *         The type of the values, which are validated
+     * @param validateable
+     *         The validateable as an instance of the type {@link Validateable}. The validateable
+     *         may not be null
+     * @param node
+     *         The node, which represents the validateable, as an instance of the class {@link
+     *         Node}. The node may not be null
+     */
+    @SuppressWarnings("unchecked")
+    private <Type> void unregisterListener(@NonNull final Validateable<Type> validateable,
+                                           @NonNull final Node node) {
+        validateable.removeValidationListener((ValidationListener<Type>) node.listener);
+        node.listener = null;
+    }
+
+    /**
+     * Returns the node, which represents a specific validateable. If the graph does not contain
+     * such a node yet, it is created.
+     *
+     * @param validateable
+     *         The validateable as an instance of the type {@link Validateable}. The validateable
+     *         may not be null
+     * @return The node, which represents the given validateable, as an instance of the class
+     * {@link Node}. The node may not be null
+     */
+    @NonNull
+    private Node obtainNode(@NonNull final Validateable<?> validateable) {
+        Node node = nodes.get(validateable);
+
+        if (node == null) {
+            node = new Node(validateable);
+            nodes.put(validateable, node);
+            registerListener(validateable, node);
+            orderInvalid = true;
+        }
+
+        return node;
+    }
+
+    /**
+     * Returns, whether a specific node is reachable from an other node by following the edges to
+     * dependents.
+     *
+     * @param from
+     *         The node, the search should start at, as an instance of the class {@link Node}. The
+     *         node may not be null
+     * @param to
+     *         The node, which should be reached, as an instance of the class {@link Node}. The
+     *         node may not be null
+     * @return True, if the node is reachable, false otherwise
+     */
+    private boolean isReachable(@NonNull final Node from, @NonNull final Node to) {
+        Set<Node> visited = new LinkedHashSet<>();
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(from);
+
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+
+            if (node == to) {
+                return true;
+            }
+
+            if (visited.add(node)) {
+                for (Node dependent : node.dependents) {
+                    stack.push(dependent);
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Computes the topological order of all nodes, if necessary.
+     */
+    private void computeOrder() {
+        if (orderInvalid) {
+            Map<Node, Integer> inDegrees = new IdentityHashMap<>();
+            Deque<Node> queue = new ArrayDeque<>();
+
+            for (Node node : nodes.values()) {
+                inDegrees.put(node, node.dependencies.size());
+
+                if (node.dependencies.isEmpty()) {
+                    queue.add(node);
+                }
+            }
+
+            int order = 0;
+
+            while (!queue.isEmpty()) {
+                Node node = queue.poll();
+                node.order = order++;
+
+                for (Node dependent : node.dependents) {
+                    int inDegree = inDegrees.get(dependent) - 1;
+                    inDegrees.put(dependent, inDegree);
+
+                    if (inDegree == 0) {
+                        queue.add(dependent);
+                    }
+                }
+            }
+
+            orderInvalid = false;
+        }
+    }
+
+    /**
+     * The method, which is invoked, when the validateable of a specific node has been validated.
+     *
+     * @param node
+     *         The node as an instance of the class {@link Node}. The node may not be null
+     */
+    private void onValidated(@NonNull final Node node) {
+        node.validated = true;
+
+        if (!propagating && !node.dependents.isEmpty() && pendingNodes.add(node) &&
+                pendingNodes.size() == 1) {
+            handler.post(flushRunnable);
+        }
+    }
+
+    /**
+     * Returns the nodes, which transitively depend on specific nodes, in topological order. The
+     * given nodes are not included.
+     *
+     * @param changedNodes
+     *         A collection, which contains the nodes, whose dependents should be returned, as an
+     *         instance of the type {@link Collection}. The collection may not be null
+     * @return An array, which contains the dependents in topological order, as an array of the
+     * type {@link Node}. The array may not be null
+     */
+    @NonNull
+    private Node[] getSortedDependents(@NonNull final Collection<Node> changedNodes) {
+        Set<Node> dependents = new LinkedHashSet<>();
+        Deque<Node> stack = new ArrayDeque<>(changedNodes);
+
+        while (!stack.isEmpty()) {
+            for (Node dependent : stack.pop().dependents) {
+                if (dependents.add(dependent)) {
+                    stack.push(dependent);
+                }
+            }
+        }
+
+        dependents.removeAll(changedNodes);
+        computeOrder();
+        Node[] sortedDependents = dependents.toArray(new Node[dependents.size()]);
+        Arrays.sort(sortedDependents, TOPOLOGICAL_ORDER);
+        return sortedDependents;
+    }
+
+    /**
+     * Validates all validateables, which transitively depend on specific nodes, in topological
+     * order.
+     *
+     * @param changedNodes
+     *         A collection, which contains the nodes, whose validateables have been changed, as an
+     *         instance of the type {@link Collection}. The collection may not be null
+     */
+    private void revalidateDependents(@NonNull final Collection<Node> changedNodes) {
+        Node[] sortedDependents = getSortedDependents(changedNodes);
+        propagating = true;
+
+        try {
+            for (Node dependent : sortedDependents) {
+                if (dependent.validated) {
+                    dependent.validateable.validate();
+                }
+            }
+        } finally {
+            propagating = false;
+        }
+    }
+
+    /**
+     * Creates a new graph, which models the dependencies between {@link Validateable}s.
+     */
+    public ValidationDependencyGraph() {
+        this.nodes = new IdentityHashMap<>();
+        this.handler = new Handler(Looper.getMainLooper());
+        this.pendingNodes = new LinkedHashSet<>();
+        this.flushRunnable = createFlushRunnable();
+        this.orderInvalid = false;
+        this.propagating = false;
+    }
+
+    /**
+     * Adds a specific validateable to the graph. The dependencies, which are declared by the
+     * validateable's validators, which implement the interface {@link DependentValidator}, are
+     * added as well. Validators, which are added to the validateable later, are not taken into
+     * account.
+     *
+     * @param <Type>
+     *         The type of the values, which are validated
+     * @param validateable
+     *         The validateable, which should be added, as an instance of the type {@link
+     *         Validateable}. The validateable may not be null
+     * @throws IllegalArgumentException
+     *         The exception, which is thrown, if the dependencies of the validateable would
+     *         introduce a cycle
+     */
+    public final <Type> void add(@NonNull final Validateable<Type> validateable) {
+        ensureNotNull(validateable, "The validateable may not be null");
+        obtainNode(validateable);
+
+        for (Validator<Type> validator : validateable.getValidators()) {
+            if (validator instanceof DependentValidator) {
+                for (Validateable<?> dependency : ((DependentValidator<Type>) validator)
+                        .getDependencies()) {
+                    addDependency(validateable, dependency);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a dependency between two validateables, which are added to the graph, if necessary.
+     *
+     * @param dependent
+     *         The validateable, which should be validated again, when the other validateable has
+     *         been changed, as an instance of the type {@link Validateable}. The validateable may
+     *         not be null
+     * @param dependency
+     *         The validateable, whose value is read by the validators of the dependent, as an
+     *         instance of the type {@link Validateable}. The validateable may not be null
+     * @throws IllegalArgumentException
+     *         The exception, which is thrown, if the dependency would introduce a cycle
+     */
+    public final void addDependency(@NonNull final Validateable<?> dependent,
+                                    @NonNull final Validateable<?> dependency) {
+        ensureNotNull(dependent, "The dependent may not be null");
+        ensureNotNull(dependency, "The dependency may not be null");
+        Node dependentNode = obtainNode(dependent);
+        Node dependencyNode = obtainNode(dependency);
+
+        if (isReachable(dependentNode, dependencyNode)) {
+            throw new IllegalArgumentException(
+                    "The dependency of " + dependent + " on " + dependency +
+                            " would introduce a cycle");
+        }
+
+        if (dependencyNode.dependents.add(dependentNode)) {
+            dependentNode.dependencies.add(dependencyNode);
+            orderInvalid = true;
+        }
+    }
+
+    /**
+     * Removes a dependency between two validateables.
+     *
+     * @param dependent
+     *         The validateable, which depends on the other validateable, as an instance of the
+     *         type {@link Validateable}. The validateable may not be null
+     * @param dependency
+     *         The validateable, the other validateable depends on, as an instance of the type
+     *         {@link Validateable}. The validateable may not be null
+     */
+    public final void removeDependency(@NonNull final Validateable<?> dependent,
+                                       @NonNull final Validateable<?> dependency) {
+        ensureNotNull(dependent, "The dependent may not be null");
+        ensureNotNull(dependency, "The dependency may not be null");
+        Node dependentNode = nodes.get(dependent);
+        Node dependencyNode = nodes.get(dependency);
+
+        if (dependentNode != null && dependencyNode != null &&
+                dependencyNode.dependents.remove(dependentNode)) {
+            dependentNode.dependencies.remove(dependencyNode);
+            orderInvalid = true;
+        }
+    }
+
+    /**
+     * Removes a specific validateable, as well as all of its dependencies, from the graph.
+     *
+     * @param validateable
+     *         The validateable, which should be removed, as an instance of the type {@link
+     *         Validateable}. The validateable may not be null
+     */
+    public final void remove(@NonNull final Validateable<?> validateable) {
+        ensureNotNull(validateable, "The validateable may not be null");
+        Node node = nodes.remove(validateable);
+
+        if (node != null) {
+            unregisterListener(validateable, node);
+            pendingNodes.remove(node);
+
+            for (Node dependent : node.dependents) {
+                dependent.dependencies.remove(node);
+            }
+
+            for (Node dependency : node.dependencies) {
+                dependency.dependents.remove(node);
+            }
+
+            orderInvalid = true;
+        }
+    }
+
+    /**
+     * Returns the validateables, which transitively depend on a specific validateable, in the
+     * order, they are validated, when the validateable has been changed.
+     *
+     * @param validateable
+     *         The validateable as an instance of the type {@link Validateable}. The validateable
+     *         may not be null
+     * @return A list, which contains the validateables, which transitively depend on the given
+     * validateable, as an instance of the type {@link List}. The list may not be null
+     */
+    @NonNull
+    public final List<Validateable<?>> getDependents(
+            @NonNull final Validateable<?> validateable) {
+        ensureNotNull(validateable, "The validateable may not be null");
+        List<Validateable<?>> result = new ArrayList<>();
+        Node node = nodes.get(validateable);
+
+        if (node != null) {
+            for (Node dependent : getSortedDependents(Collections.singleton(node))) {
+                result.add(dependent.validateable);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Notifies the graph, that the value of a specific validateable has been changed without
+     * being validated. All validateables, which transitively depend on it and have already been
+     * validated before, are validated again immediately.
+     *
+     * @param validateable
+     *         The validateable, whose value has been changed, as an instance of the type {@link
+     *         Validateable}. The validateable may not be null
+     */
+    public final void notifyChanged(@NonNull final Validateable<?> validateable) {
+        ensureNotNull(validateable, "The validateable may not be null");
+        Node node = nodes.get(validateable);
+
+        if (node != null) {
+            pendingNodes.add(node);
+            flush();
+        }
+    }
+
+    /**
+     * Validates all validateables, which transitively depend on validateables, which have been
+     * changed, immediately instead of waiting for the main thread to process the pending
+     * changes.
+     */
+    public final void flush() {
+        handler.removeCallbacks(flushRunnable);
+
+        if (!pendingNodes.isEmpty()) {
+            List<Node> changedNodes = new ArrayList<>(pendingNodes);
+            pendingNodes.clear();
+            revalidateDependents(changedNodes);
+        }
+    }
+
+}
@@ -0,0 +1,473 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import de.mrapp.android.util.datastructure.ListenerList;
+import de.mrapp.android.validation.metrics.ValidationMetrics;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * A model, which holds a value, the validators, which should be used to validate it, and the result
+ * of the last validation independently of any view. A model can be validated without being shown
+ * by a view. It can be bound to an {@link AbstractValidateableView} by using the method {@link
+ * AbstractValidateableView#bindModel(ValidationModel)}. While a model is bound, the view shows its
+ * value, uses its validators and settings and renders its last result. This allows to use
+ * validateable views as rows of a list, which are recycled, without losing the validation state
+ * and without validating the values again, when a row is bound.
+ *
+ * @param <Type>
+ *         The type of the values, which should be validated
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class ValidationModel<Type> implements Validateable<Type> {
+
+    /**
+     * True, if the value is automatically validated, when it has been changed, by default, false
+     * otherwise.
+     */
+    private static final boolean DEFAULT_VALIDATE_ON_VALUE_CHANGE = true;
+
+    /**
+     * True, if the value is automatically validated, when a bound view loses its focus, by
+     * default, false otherwise.
+     */
+    private static final boolean DEFAULT_VALIDATE_ON_FOCUS_LOST = true;
+
+    /**
+     * A set, which contains the validators, which should be used for validation.
+     */
+    private final Set<Validator<Type>> validators;
+
+    /**
+     * A set, which contains the listeners, which should be notified, when the value has been
+     * validated.
+     */
+    private final ListenerList<ValidationListener<Type>> listeners;
+
+    /**
+     * The value, which should be validated.
+     */
+    private Type value;
+
+    /**
+     * True, if the current value has been validated, false otherwise.
+     */
+    private boolean validated;
+
+    /**
+     * True, if the last validation succeeded, false otherwise.
+     */
+    private boolean valid;
+
+    /**
+     * The validator, which failed during the last validation, or null, if the validation
+     * succeeded or if the current value has not been validated yet.
+     */
+    private Validator<Type> failedValidator;
+
+    /**
+     * True, if the value is automatically validated, when it has been changed, false otherwise.
+     */
+    private boolean validateOnValueChange;
+
+    /**
+     * True, if the value is automatically validated, when a bound view loses its focus, false
+     * otherwise.
+     */
+    private boolean validateOnFocusLost;
+
+    /**
+     * The view, the model is currently bound to, or null, if the model is not bound to any view.
+     */
+    private AbstractValidateableView<?, Type> view;
+
+    /**
+     * The metrics, the invocations of the model's validators are recorded in, or null, if no
+     * metrics are recorded.
+     */
+    private ValidationMetrics metrics;
+
+    /**
+     * Creates a new model, which holds a value, the validators, which should be used to validate
+     * it, and the result of the last validation. The value is initially null.
+     */
+    public ValidationModel() {
+        this(null);
+    }
+
+    /**
+     * Creates a new model, which holds a value, the validators, which should be used to validate
+     * it, and the result of the last validation.
+     *
+     * @param value
+     *         The initial value as an instance of the generic type Type or null
+     */
+    public ValidationModel(@Nullable final Type value) {
+        this.validators = new LinkedHashSet<>();
+        this.listeners = new ListenerList<>();
+        this.value = value;
+        this.validated = false;
+        this.valid = false;
+        this.failedValidator = null;
+        this.validateOnValueChange = DEFAULT_VALIDATE_ON_VALUE_CHANGE;
+        this.validateOnFocusLost = DEFAULT_VALIDATE_ON_FOCUS_LOST;
+        this.view = null;
+        this.metrics = null;
+    }
+
+    /**
+     * Returns the value, which should be validated.
+     *
+     * @return The value, which should be validated, as an instance of the generic type Type or
+     * null
+     */
+    public final Type getValue() {
+        return value;
+    }
+
+    /**
+     * Sets the value, which should be validated. If the value differs from the current one, the
+     * result of the last validation is discarded. If the model is bound to a view, the view shows
+     * the new value.
+     *
+     * @param value
+     *         The value, which should be set, as an instance of the generic type Type or null
+     */
+    public final void setValue(@Nullable final Type value) {
+        if (view != null) {
+            view.applyModelValue(value);
+        }
+
+        if (updateValue(value) && isValidatedOnValueChange()) {
+            validate();
+        }
+    }
+
+    /**
+     * Returns, whether the current value has been validated, or not.
+     *
+     * @return True, if the current value has been validated, false otherwise
+     */
+    public final boolean isValidated() {
+        return validated;
+    }
+
+    /**
+     * Returns, whether the last validation of the current value succeeded, or not.
+     *
+     * @return True, if the current value has been validated and the validation succeeded, false
+     * otherwise
+     */
+    public final boolean isValid() {
+        return validated && valid;
+    }
+
+    /**
+     * Returns the validator, which failed during the last validation of the current value.
+     *
+     * @return The validator, which failed, as an instance of the type {@link Validator} or null,
+     * if the validation succeeded or if the current value has not been validated yet
+     */
+    public final Validator<Type> getFailedValidator() {
+        return failedValidator;
+    }
+
+    /**
+     * Discards the result of the last validation.
+     */
+    public final void invalidate() {
+        validated = false;
+        valid = false;
+        failedValidator = null;
+    }
+
+    /**
+     * Returns the view, the model is currently bound to.
+     *
+     * @return The view, the model is currently bound to, as an instance of the class {@link
+     * AbstractValidateableView} or null, if the model is not bound to any view
+     */
+    public final AbstractValidateableView<?, Type> getView() {
+        return view;
+    }
+
+    /**
+     * Sets the view, the model is bound to.
+     *
+     * @param view
+     *         The view, which should be set, as an instance of the class {@link
+     *         AbstractValidateableView} or null, if the model is not bound to any view
+     */
+    final void setView(@Nullable final AbstractValidateableView<?, Type> view) {
+        this.view = view;
+    }
+
+    /**
+     * Returns the set, which contains the validators, which should be used for validation.
+     *
+     * @return The set, which contains the validators, which should be used for validation, as an
+     * instance of the type {@link Set}. The set may not be null
+     */
+    @NonNull
+    final Set<Validator<Type>> getValidatorSet() {
+        return validators;
+    }
+
+    /**
+     * Sets the value without validating it. If the value differs from the current one, the result
+     * of the last validation is discarded.
+     *
+     * @param value
+     *         The value, which should be set, as an instance of the generic type Type or null
+     * @return True, if the value differs from the current one, false otherwise
+     */
+    final boolean updateValue(@Nullable final Type value) {
+        if (this.value == null ? value != null : !this.value.equals(value)) {
+            this.value = value;
+            invalidate();
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Stores the result of a validation of the current value.
+     *
+     * @param valid
+     *         True, if the validation succeeded, false otherwise
+     * @param failedValidator
+     *         The validator, which failed, as an instance of the type {@link Validator} or null,
+     *         if no validator, whose error message should be shown, failed
+     */
+    final void setResult(final boolean valid, @Nullable final Validator<Type> failedValidator) {
+        this.validated = true;
+        this.valid = valid;
+        this.failedValidator = failedValidator;
+    }
+
+    /**
+     * Notifies all registered listeners, that a validation succeeded.
+     */
+    final void notifyOnValidationSuccess() {
+        for (ValidationListener<Type> listener : listeners) {
+            listener.onValidationSuccess(this);
+        }
+    }
+
+    /**
+     * Notifies all registered listeners, that a validation failed.
+     *
+     * @param validator
+     *         The validator, which failed, as an instance of the type {@link Validator}. The
+     *         validator may not be null
+     */
+    final void notifyOnValidationFailure(@NonNull final Validator<Type> validator) {
+        for (ValidationListener<Type> listener : listeners) {
+            listener.onValidationFailure(this, validator);
+        }
+    }
+
+    /**
+     * Notifies all registered listeners, that a validator exceeded its budget. Listeners, which do
+     * not implement the interface {@link ValidationTimeoutListener}, are notified about a failure.
+     *
+     * @param validator
+     *         The validator, which exceeded its budget, as an instance of the type {@link
+     *         Validator}. The validator may not be null
+     */
+    final void notifyOnValidationTimeout(@NonNull final Validator<Type> validator) {
+        for (ValidationListener<Type> listener : listeners) {
+            if (listener instanceof ValidationTimeoutListener) {
+                ((ValidationTimeoutListener<Type>) listener).onValidationTimeout(this, validator);
+            } else {
+                listener.onValidationFailure(this, validator);
+            }
+        }
+    }
+
+    @Override
+    public final Collection<Validator<Type>> getValidators() {
+        return validators;
+    }
+
+    @Override
+    public final void addValidator(@NonNull final Validator<Type> validator) {
+        ensureNotNull(validator, "The validator may not be null");
+        validators.add(validator);
+
+        if (view != null) {
+            view.onValidatorsChanged();
+        }
+    }
+
+    @Override
+    public final void addAllValidators(@NonNull final Collection<Validator<Type>> validators) {
+        ensureNotNull(validators, "The collection may not be null");
+
+        for (Validator<Type> validator : validators) {
+            addValidator(validator);
+        }
+    }
+
+    @SafeVarargs
+    @Override
+    public final void addAllValidators(@NonNull final Validator<Type>... validators) {
+        ensureNotNull(validators, "The array may not be null");
+        addAllValidators(Arrays.asList(validators));
+    }
+
+    @Override
+    public final void removeValidator(@NonNull final Validator<Type> validator) {
+        ensureNotNull(validator, "The validator may not be null");
+        validators.remove(validator);
+
+        if (view != null) {
+            view.onValidatorsChanged();
+        }
+    }
+
+    @Override
+    public final void removeAllValidators(@NonNull final Collection<Validator<Type>> validators) {
+        ensureNotNull(validators, "The collection may not be null");
+
+        for (Validator<Type> validator : validators) {
+            removeValidator(validator);
+        }
+    }
+
+    @SafeVarargs
+    @Override
+    public final void removeAllValidators(@NonNull final Validator<Type>... validators) {
+        ensureNotNull(validators, "The array may not be null");
+        removeAllValidators(Arrays.asList(validators));
+    }
+
+    @Override
+    public final void removeAllValidators() {
+        validators.clear();
+
+        if (view != null) {
+            view.onValidatorsChanged();
+        }
+    }
+
+    /**
+     * Validates the current value. If the model is bound to a view, the view is validated instead,
+     * which includes the internal validations of the view and shows the result. Otherwise, the
+     * result is stored in order to be shown, when the model is bound to a view.
+     *
+     * @return True, if the current value is valid, false otherwise
+     */
+    @Override
+    public final boolean validate() {
+        if (view != null) {
+            return view.validate();
+        }
+
+        Validator<Type> result = null;
+
+        for (Validator<Type> validator : validators) {
+            try {
+                if (metrics != null ? metrics.validate(validator, value) :
+                        validator.validate(value)) {
+                    continue;
+                }
+
+                notifyOnValidationFailure(validator);
+            } catch (ValidationTimeoutException e) {
+                notifyOnValidationTimeout(validator);
+            }
+
+            if (result == null) {
+                result = validator;
+            }
+        }
+
+        setResult(result == null, result);
+
+        if (result == null) {
+            notifyOnValidationSuccess();
+        }
+
+        return result == null;
+    }
+
+    /**
+     * Returns the metrics, the invocations of the model's validators are recorded in. If the model
+     * is bound to a view, the metrics of the view are used instead.
+     *
+     * @return The metrics, the invocations of the model's validators are recorded in, as an
+     * instance of the class {@link ValidationMetrics} or null, if no metrics are recorded
+     */
+    public final ValidationMetrics getValidationMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets the metrics, the invocations of the model's validators should be recorded in. If the
+     * model is bound to a view, the metrics of the view are used instead.
+     *
+     * @param metrics
+     *         The metrics, which should be set, as an instance of the class {@link
+     *         ValidationMetrics} or null, if no metrics should be recorded
+     */
+    public final void setValidationMetrics(@Nullable final ValidationMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public final boolean isValidatedOnValueChange() {
+        return validateOnValueChange;
+    }
+
+    @Override
+    public final void validateOnValueChange(final boolean validateOnValueChange) {
+        this.validateOnValueChange = validateOnValueChange;
+    }
+
+    @Override
+    public final boolean isValidatedOnFocusLost() {
+        return validateOnFocusLost;
+    }
+
+    @Override
+    public final void validateOnFocusLost(final boolean validateOnFocusLost) {
+        this.validateOnFocusLost = validateOnFocusLost;
+    }
+
+    @Override
+    public final void addValidationListener(@NonNull final ValidationListener<Type> listener) {
+        ensureNotNull(listener, "The listener may not be null");
+        listeners.add(listener);
+    }
+
+    @Override
+    public final void removeValidationListener(
+            @NonNull final ValidationListener<Type> listener) {
+        ensureNotNull(listener, "The listener may not be null");
+        listeners.remove(listener);
+    }
+
+}
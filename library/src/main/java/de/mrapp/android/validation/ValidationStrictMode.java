@@ -0,0 +1,644 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation;
+
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Log;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import de.mrapp.android.validation.metrics.InstrumentedValidator;
+
+import static de.mrapp.android.util.Condition.ensureAtLeast;
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * Allows to detect validations, which are too expensive to be performed on the UI thread. Similar
+ * to the class {@link android.os.StrictMode}, a {@link Policy} specifies the time budget of single
+ * validators and of the validation of a whole view, as well as how violations of these budgets
+ * are reported. Only validations, which are performed by views on the main thread, are measured.
+ * By default, no policy is set and the only overhead is checking a flag.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public final class ValidationStrictMode {
+
+    /**
+     * The tag, which is used to log violations.
+     */
+    private static final String TAG = "ValidationStrictMode";
+
+    /**
+     * Defines the interface, a class, which should be notified about violations, must implement.
+     */
+    public interface ViolationListener {
+
+        /**
+         * The method, which is invoked, when a violation has been detected.
+         *
+         * @param violation
+         *         The violation, which has been detected, as an instance of the class {@link
+         *         Violation}. The violation may not be null
+         */
+        void onViolation(@NonNull Violation violation);
+
+    }
+
+    /**
+     * A violation of the time budget, which is specified by a {@link Policy}.
+     */
+    public static final class Violation {
+
+        /**
+         * The class of the validator, which exceeded its budget, or null, if the budget of a view
+         * has been exceeded.
+         */
+        private final Class<?> validatorClass;
+
+        /**
+         * The class of the view, whose validation has been performed, or null, if the violation
+         * has been caused by a validator, which has not been invoked by a view.
+         */
+        private final Class<?> viewClass;
+
+        /**
+         * The length of the validated input or -1, if the length is unknown.
+         */
+        private final int inputLength;
+
+        /**
+         * The duration of the validation in nanoseconds.
+         */
+        private final long duration;
+
+        /**
+         * The budget, which has been exceeded, in nanoseconds.
+         */
+        private final long budget;
+
+        /**
+         * Creates a new violation of the time budget, which is specified by a {@link Policy}.
+         *
+         * @param validatorClass
+         *         The class of the validator, which exceeded its budget, as an instance of the
+         *         class {@link Class} or null, if the budget of a view has been exceeded
+         * @param viewClass
+         *         The class of the view, whose validation has been performed, as an instance of the
+         *         class {@link Class} or null, if the view is unknown
+         * @param inputLength
+         *         The length of the validated input as an {@link Integer} value or -1, if the
+         *         length is unknown
+         * @param duration
+         *         The duration of the validation in nanoseconds as a {@link Long} value
+         * @param budget
+         *         The budget, which has been exceeded, in nanoseconds as a {@link Long} value
+         */
+        private Violation(@Nullable final Class<?> validatorClass,
+                          @Nullable final Class<?> viewClass, final int inputLength,
+                          final long duration, final long budget) {
+            this.validatorClass = validatorClass;
+            this.viewClass = viewClass;
+            this.inputLength = inputLength;
+            this.duration = duration;
+            this.budget = budget;
+        }
+
+        /**
+         * Returns the class of the validator, which exceeded its budget.
+         *
+         * @return The class of the validator, which exceeded its budget, as an instance of the
+         * class {@link Class} or null, if the budget of a view has been exceeded
+         */
+        @Nullable
+        public Class<?> getValidatorClass() {
+            return validatorClass;
+        }
+
+        /**
+         * Returns the class of the view, whose validation has been performed.
+         *
+         * @return The class of the view, whose validation has been performed, as an instance of
+         * the class {@link Class} or null, if the view is unknown
+         */
+        @Nullable
+        public Class<?> getViewClass() {
+            return viewClass;
+        }
+
+        /**
+         * Returns the length of the validated input.
+         *
+         * @return The length of the validated input as an {@link Integer} value or -1, if the
+         * length is unknown
+         */
+        public int getInputLength() {
+            return inputLength;
+        }
+
+        /**
+         * Returns the duration of the validation.
+         *
+         * @return The duration of the validation in nanoseconds as a {@link Long} value
+         */
+        public long getDuration() {
+            return duration;
+        }
+
+        /**
+         * Returns the budget, which has been exceeded.
+         *
+         * @return The budget, which has been exceeded, in nanoseconds as a {@link Long} value
+         */
+        public long getBudget() {
+            return budget;
+        }
+
+        /**
+         * Returns a message, which describes the violation.
+         *
+         * @return A message, which describes the violation, as a {@link String}. The message may
+         * not be null
+         */
+        @NonNull
+        public String getMessage() {
+            StringBuilder message = new StringBuilder();
+
+            if (validatorClass != null) {
+                message.append("Validator ").append(validatorClass.getName());
+            } else {
+                message.append("Validation");
+            }
+
+            if (viewClass != null) {
+                message.append(" of view ").append(viewClass.getName());
+            }
+
+            message.append(" took ").append(TimeUnit.NANOSECONDS.toMicros(duration))
+                    .append("us on the main thread, exceeding the budget of ")
+                    .append(TimeUnit.NANOSECONDS.toMicros(budget)).append("us (input length: ")
+                    .append(inputLength).append(")");
+            return message.toString();
+        }
+
+        @Override
+        public String toString() {
+            return getMessage();
+        }
+
+    }
+
+    /**
+     * The exception, which is thrown, if a violation has been detected and the {@link Policy}
+     * specifies, that violations should cause an exception.
+     */
+    public static final class ViolationException extends RuntimeException {
+
+        /**
+         * The constant serial version UID.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The violation, which has been detected.
+         */
+        private final transient Violation violation;
+
+        /**
+         * Creates a new exception, which is thrown, if a violation has been detected.
+         *
+         * @param violation
+         *         The violation, which has been detected, as an instance of the class {@link
+         *         Violation}. The violation may not be null
+         */
+        private ViolationException(@NonNull final Violation violation) {
+            super(violation.getMessage());
+            this.violation = violation;
+        }
+
+        /**
+         * Returns the violation, which has been detected.
+         *
+         * @return The violation, which has been detected, as an instance of the class {@link
+         * Violation}
+         */
+        public Violation getViolation() {
+            return violation;
+        }
+
+    }
+
+    /**
+     * A policy, which specifies the time budget of validations, which are performed on the main
+     * thread, and how violations are reported. Instances are created by using a {@link Builder}.
+     */
+    public static final class Policy {
+
+        /**
+         * A policy, which does not detect any violations.
+         */
+        public static final Policy LAX = new Policy(0, 0, false, null, false);
+
+        /**
+         * The budget of single validators in nanoseconds or 0, if single validators are not
+         * measured.
+         */
+        private final long validatorBudget;
+
+        /**
+         * The budget of the validation of a whole view in nanoseconds or 0, if the validation of
+         * views is not measured.
+         */
+        private final long viewBudget;
+
+        /**
+         * True, if violations should be logged, false otherwise.
+         */
+        private final boolean penaltyLog;
+
+        /**
+         * The listener, which should be notified about violations, or null, if no listener should
+         * be notified.
+         */
+        private final ViolationListener penaltyListener;
+
+        /**
+         * True, if violations should cause an exception to be thrown, false otherwise.
+         */
+        private final boolean penaltyThrow;
+
+        /**
+         * Creates a new policy.
+         *
+         * @param validatorBudget
+         *         The budget of single validators in nanoseconds as a {@link Long} value or 0, if
+         *         single validators should not be measured
+         * @param viewBudget
+         *         The budget of the validation of a whole view in nanoseconds as a {@link Long}
+         *         value or 0, if the validation of views should not be measured
+         * @param penaltyLog
+         *         True, if violations should be logged, false otherwise
+         * @param penaltyListener
+         *         The listener, which should be notified about violations, as an instance of the
+         *         type {@link ViolationListener} or null, if no listener should be notified
+         * @param penaltyThrow
+         *         True, if violations should cause an exception to be thrown, false otherwise
+         */
+        private Policy(final long validatorBudget, final long viewBudget,
+                       final boolean penaltyLog,
+                       @Nullable final ViolationListener penaltyListener,
+                       final boolean penaltyThrow) {
+            this.validatorBudget = validatorBudget;
+            this.viewBudget = viewBudget;
+            this.penaltyLog = penaltyLog;
+            this.penaltyListener = penaltyListener;
+            this.penaltyThrow = penaltyThrow;
+        }
+
+        /**
+         * Returns, whether the policy detects any violations or not.
+         *
+         * @return True, if the policy detects violations, false otherwise
+         */
+        private boolean isEnabled() {
+            return validatorBudget > 0 || viewBudget > 0;
+        }
+
+        /**
+         * Returns the budget of single validators.
+         *
+         * @return The budget of single validators in nanoseconds as a {@link Long} value or 0, if
+         * single validators are not measured
+         */
+        public long getValidatorBudget() {
+            return validatorBudget;
+        }
+
+        /**
+         * Returns the budget of the validation of a whole view.
+         *
+         * @return The budget of the validation of a whole view in nanoseconds as a {@link Long}
+         * value or 0, if the validation of views is not measured
+         */
+        public long getViewBudget() {
+            return viewBudget;
+        }
+
+        /**
+         * A builder, which allows to create a {@link Policy}.
+         */
+        public static final class Builder {
+
+            /**
+             * The duration of a frame at 60 frames per second in nanoseconds.
+             */
+            private static final long DEFAULT_FRAME_DURATION = TimeUnit.SECONDS.toNanos(1) / 60;
+
+            /**
+             * The budget of single validators in nanoseconds.
+             */
+            private long validatorBudget;
+
+            /**
+             * The budget of the validation of a whole view in nanoseconds.
+             */
+            private long viewBudget;
+
+            /**
+             * True, if violations should be logged, false otherwise.
+             */
+            private boolean penaltyLog;
+
+            /**
+             * The listener, which should be notified about violations.
+             */
+            private ViolationListener penaltyListener;
+
+            /**
+             * True, if violations should cause an exception to be thrown, false otherwise.
+             */
+            private boolean penaltyThrow;
+
+            /**
+             * Sets the budget of single validators. Validators, whose invocation on the main
+             * thread takes longer, cause a violation.
+             *
+             * @param budget
+             *         The budget, which should be set, as a {@link Long} value. The budget must be
+             *         at least 1
+             * @param unit
+             *         The unit of the budget as a value of the enum {@link TimeUnit}. The unit may
+             *         not be null
+             * @return The builder, this method has been called upon, as an instance of the class
+             * {@link Builder}
+             */
+            @NonNull
+            public Builder detectSlowValidators(final long budget, @NonNull final TimeUnit unit) {
+                ensureAtLeast(budget, 1, "The budget must be at least 1");
+                ensureNotNull(unit, "The unit may not be null");
+                this.validatorBudget = unit.toNanos(budget);
+                return this;
+            }
+
+            /**
+             * Sets the budget of the validation of a whole view as a fraction of a frame at 60
+             * frames per second. Validations of views, which take longer on the main thread, cause
+             * a violation.
+             *
+             * @param frameFraction
+             *         The fraction of a frame, which should be used as the budget, as a {@link
+             *         Float} value. The fraction must be greater than 0
+             * @return The builder, this method has been called upon, as an instance of the class
+             * {@link Builder}
+             */
+            @NonNull
+            public Builder detectSlowViews(final float frameFraction) {
+                return detectSlowViews(frameFraction, DEFAULT_FRAME_DURATION,
+                        TimeUnit.NANOSECONDS);
+            }
+
+            /**
+             * Sets the budget of the validation of a whole view as a fraction of a frame with a
+             * specific duration. Validations of views, which take longer on the main thread, cause
+             * a violation.
+             *
+             * @param frameFraction
+             *         The fraction of a frame, which should be used as the budget, as a {@link
+             *         Float} value. The fraction must be greater than 0
+             * @param frameDuration
+             *         The duration of a frame as a {@link Long} value. The duration must be at
+             *         least 1
+             * @param unit
+             *         The unit of the frame duration as a value of the enum {@link TimeUnit}. The
+             *         unit may not be null
+             * @return The builder, this method has been called upon, as an instance of the class
+             * {@link Builder}
+             */
+            @NonNull
+            public Builder detectSlowViews(final float frameFraction, final long frameDuration,
+                                           @NonNull final TimeUnit unit) {
+                ensureAtLeast(frameDuration, 1, "The frame duration must be at least 1");
+                ensureNotNull(unit, "The unit may not be null");
+
+                if (frameFraction <= 0) {
+                    throw new IllegalArgumentException(
+                            "The frame fraction must be greater than 0");
+                }
+
+                this.viewBudget = Math.max(1, (long) (unit.toNanos(frameDuration) *
+                        (double) frameFraction));
+                return this;
+            }
+
+            /**
+             * Specifies, that violations should be logged.
+             *
+             * @return The builder, this method has been called upon, as an instance of the class
+             * {@link Builder}
+             */
+            @NonNull
+            public Builder penaltyLog() {
+                this.penaltyLog = true;
+                return this;
+            }
+
+            /**
+             * Specifies, that a specific listener should be notified about violations.
+             *
+             * @param listener
+             *         The listener, which should be notified, as an instance of the type {@link
+             *         ViolationListener}. The listener may not be null
+             * @return The builder, this method has been called upon, as an instance of the class
+             * {@link Builder}
+             */
+            @NonNull
+            public Builder penaltyListener(@NonNull final ViolationListener listener) {
+                ensureNotNull(listener, "The listener may not be null");
+                this.penaltyListener = listener;
+                return this;
+            }
+
+            /**
+             * Specifies, that violations should cause a {@link ViolationException} to be thrown.
+             * This should only be used in debug builds.
+             *
+             * @return The builder, this method has been called upon, as an instance of the class
+             * {@link Builder}
+             */
+            @NonNull
+            public Builder penaltyThrow() {
+                this.penaltyThrow = true;
+                return this;
+            }
+
+            /**
+             * Creates and returns the policy, which has been configured by using the builder.
+             *
+             * @return The policy, which has been created, as an instance of the class {@link
+             * Policy}. The policy may not be null
+             */
+            @NonNull
+            public Policy build() {
+                return new Policy(validatorBudget, viewBudget, penaltyLog, penaltyListener,
+                        penaltyThrow);
+            }
+
+        }
+
+    }
+
+    /**
+     * The policy, which is currently used.
+     */
+    private static volatile Policy policy = Policy.LAX;
+
+    /**
+     * Creates a new class, which allows to detect validations, which are too expensive to be
+     * performed on the UI thread.
+     */
+    private ValidationStrictMode() {
+
+    }
+
+    /**
+     * Returns the length of a specific validated value.
+     *
+     * @param value
+     *         The value as an instance of the class {@link Object} or null
+     * @return The length of the given value as an {@link Integer} value or -1, if the length is
+     * unknown
+     */
+    private static int getInputLength(@Nullable final Object value) {
+        if (value instanceof CharSequence) {
+            return ((CharSequence) value).length();
+        } else if (value instanceof Collection) {
+            return ((Collection<?>) value).size();
+        }
+
+        return -1;
+    }
+
+    /**
+     * Reports a specific violation according to a specific policy.
+     *
+     * @param currentPolicy
+     *         The policy as an instance of the class {@link Policy}. The policy may not be null
+     * @param violation
+     *         The violation, which should be reported, as an instance of the class {@link
+     *         Violation}. The violation may not be null
+     */
+    private static void report(@NonNull final Policy currentPolicy,
+                               @NonNull final Violation violation) {
+        if (currentPolicy.penaltyLog) {
+            Log.w(TAG, violation.getMessage());
+        }
+
+        if (currentPolicy.penaltyListener != null) {
+            currentPolicy.penaltyListener.onViolation(violation);
+        }
+
+        if (currentPolicy.penaltyThrow) {
+            throw new ViolationException(violation);
+        }
+    }
+
+    /**
+     * Returns, whether validations, which are performed on the current thread, should be measured,
+     * or not.
+     *
+     * @return True, if validations should be measured, false otherwise
+     */
+    static boolean isMeasuring() {
+        return policy.isEnabled() && Looper.myLooper() == Looper.getMainLooper();
+    }
+
+    /**
+     * The method, which is invoked, when a single validator has been invoked by a view on the main
+     * thread.
+     *
+     * @param validator
+     *         The validator, which has been invoked, as an instance of the type {@link Validator}.
+     *         The validator may not be null
+     * @param view
+     *         The view, which invoked the validator, as an instance of the class {@link Object}.
+     *         The view may not be null
+     * @param value
+     *         The value, which has been validated, as an instance of the class {@link Object} or
+     *         null
+     * @param duration
+     *         The duration of the invocation in nanoseconds as a {@link Long} value
+     */
+    static void onValidatorInvoked(@NonNull final Validator<?> validator,
+                                   @NonNull final Object view, @Nullable final Object value,
+                                   final long duration) {
+        Policy currentPolicy = policy;
+
+        if (currentPolicy.validatorBudget > 0 && duration > currentPolicy.validatorBudget) {
+            Validator<?> actualValidator = validator instanceof InstrumentedValidator ?
+                    ((InstrumentedValidator<?>) validator).getValidator() : validator;
+            report(currentPolicy,
+                    new Violation(actualValidator.getClass(), view.getClass(),
+                            getInputLength(value), duration, currentPolicy.validatorBudget));
+        }
+    }
+
+    /**
+     * The method, which is invoked, when a view has been validated on the main thread.
+     *
+     * @param view
+     *         The view, which has been validated, as an instance of the class {@link Object}. The
+     *         view may not be null
+     * @param value
+     *         The value, which has been validated, as an instance of the class {@link Object} or
+     *         null
+     * @param duration
+     *         The duration of the validation in nanoseconds as a {@link Long} value
+     */
+    static void onViewValidated(@NonNull final Object view, @Nullable final Object value,
+                                final long duration) {
+        Policy currentPolicy = policy;
+
+        if (currentPolicy.viewBudget > 0 && duration > currentPolicy.viewBudget) {
+            report(currentPolicy, new Violation(null, view.getClass(), getInputLength(value),
+                    duration, currentPolicy.viewBudget));
+        }
+    }
+
+    /**
+     * Returns the policy, which is currently used.
+     *
+     * @return The policy, which is currently used, as an instance of the class {@link Policy}.
+     * The policy may not be null
+     */
+    @NonNull
+    public static Policy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Sets the policy, which should be used.
+     *
+     * @param policy
+     *         The policy, which should be set, as an instance of the class {@link Policy}. The
+     *         policy may not be null. {@link Policy#LAX} disables the detection of violations
+     */
+    public static void setPolicy(@NonNull final Policy policy) {
+        ensureNotNull(policy, "The policy may not be null");
+        ValidationStrictMode.policy = policy;
+    }
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation;
+
+import android.support.annotation.NonNull;
+
+/**
+ * The exception, which is thrown by a validator, if validating a value exceeded its budget and
+ * the timeout should be reported. When thrown by a validator, which is invoked by a view or a
+ * model, the validation is treated as failed and listeners, which implement the interface {@link
+ * ValidationTimeoutListener}, are notified about the timeout.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class ValidationTimeoutException extends RuntimeException {
+
+    /**
+     * The constant serial version UID.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates a new exception, which is thrown, if validating a value exceeded its budget.
+     *
+     * @param cause
+     *         The cause of the exception as an instance of the class {@link Throwable}. The cause
+     *         may not be null
+     */
+    public ValidationTimeoutException(@NonNull final Throwable cause) {
+        super(cause.getMessage(), cause);
+    }
+
+}
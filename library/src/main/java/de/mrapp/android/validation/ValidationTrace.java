@@ -0,0 +1,201 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation;
+
+import android.support.annotation.NonNull;
+import android.support.v4.os.TraceCompat;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An utility class, which allows to add sections to system traces, while validations are performed
+ * and their results are shown. This allows to inspect the costs of validations next to layout and
+ * draw passes by using tools such as Systrace or Perfetto. Tracing is disabled by default. When
+ * disabled, no sections are added and the only overhead is checking a flag.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public final class ValidationTrace {
+
+    /**
+     * The name of the section, which is added, while a view is validated.
+     */
+    static final String SECTION_VALIDATE = "Validation:validate";
+
+    /**
+     * The name of the section, which is added, while the validators, whose error messages are shown
+     * at the left edge of a view, are invoked.
+     */
+    static final String SECTION_VALIDATE_LEFT = "Validation:validateLeft";
+
+    /**
+     * The name of the section, which is added, while the validators, whose error messages are shown
+     * at the right edge of a view, are invoked.
+     */
+    static final String SECTION_VALIDATE_RIGHT = "Validation:validateRight";
+
+    /**
+     * The name of the section, which is added, while the message at the left edge of a view is
+     * shown.
+     */
+    static final String SECTION_SET_LEFT_MESSAGE = "Validation:setLeftMessage";
+
+    /**
+     * The name of the section, which is added, while the message at the right edge of a view is
+     * shown.
+     */
+    static final String SECTION_SET_RIGHT_MESSAGE = "Validation:setRightMessage";
+
+    /**
+     * The name of the section, which is added, while the strength of a password is verified.
+     */
+    static final String SECTION_VERIFY_PASSWORD_STRENGTH = "Validation:verifyPasswordStrength";
+
+    /**
+     * The prefix of the names of the sections, which are added, while single validators are
+     * invoked.
+     */
+    private static final String VALIDATOR_SECTION_PREFIX = "Validator:";
+
+    /**
+     * The maximum length of a section name, which is supported by the system.
+     */
+    private static final int MAX_SECTION_NAME_LENGTH = 127;
+
+    /**
+     * A map, which contains the names of the sections, which have already been created for the
+     * classes of validators.
+     */
+    private static final Map<Class<?>, String> VALIDATOR_SECTION_NAMES =
+            new ConcurrentHashMap<>();
+
+    /**
+     * True, if sections are added to system traces, false otherwise.
+     */
+    private static volatile boolean enabled;
+
+    /**
+     * Creates a new utility class, which allows to add sections to system traces, while
+     * validations are performed and their results are shown.
+     */
+    private ValidationTrace() {
+
+    }
+
+    /**
+     * Returns the name of the section, which is added, while a specific validator is invoked.
+     *
+     * @param validator
+     *         The validator as an instance of the type {@link Validator}. The validator may not be
+     *         null
+     * @return The name of the section as a {@link String}. The name may not be null
+     */
+    @NonNull
+    private static String getSectionName(@NonNull final Validator<?> validator) {
+        Class<?> validatorClass = validator.getClass();
+        String sectionName = VALIDATOR_SECTION_NAMES.get(validatorClass);
+
+        if (sectionName == null) {
+            String className = validatorClass.getSimpleName();
+
+            if (className.isEmpty()) {
+                className = validatorClass.getName();
+            }
+
+            sectionName = VALIDATOR_SECTION_PREFIX + className;
+
+            if (sectionName.length() > MAX_SECTION_NAME_LENGTH) {
+                sectionName = sectionName.substring(0, MAX_SECTION_NAME_LENGTH);
+            }
+
+            VALIDATOR_SECTION_NAMES.put(validatorClass, sectionName);
+        }
+
+        return sectionName;
+    }
+
+    /**
+     * Begins a section with a specific name, if tracing is enabled. Each invocation of this method
+     * must be followed by an invocation of the method {@link #endSection(boolean)} on the same
+     * thread, which is passed the returned value.
+     *
+     * @param sectionName
+     *         The name of the section as a {@link String}. The name may not be null
+     * @return True, if a section has been begun, false otherwise
+     */
+    static boolean beginSection(@NonNull final String sectionName) {
+        if (enabled) {
+            TraceCompat.beginSection(sectionName);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Begins a section, which is labeled by the class of a specific validator, if tracing is
+     * enabled. Each invocation of this method must be followed by an invocation of the method
+     * {@link #endSection(boolean)} on the same thread, which is passed the returned value.
+     *
+     * @param validator
+     *         The validator, which is invoked, as an instance of the type {@link Validator}. The
+     *         validator may not be null
+     * @return True, if a section has been begun, false otherwise
+     */
+    static boolean beginSection(@NonNull final Validator<?> validator) {
+        if (enabled) {
+            TraceCompat.beginSection(getSectionName(validator));
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Ends the section, which has been begun most recently on the current thread.
+     *
+     * @param begun
+     *         True, if the section has actually been begun, false otherwise
+     */
+    static void endSection(final boolean begun) {
+        if (begun) {
+            TraceCompat.endSection();
+        }
+    }
+
+    /**
+     * Returns, whether sections are added to system traces, while validations are performed and
+     * their results are shown, or not.
+     *
+     * @return True, if sections are added to system traces, false otherwise
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets, whether sections should be added to system traces, while validations are performed and
+     * their results are shown, or not. Enabling tracing should be restricted to debug or profiling
+     * builds.
+     *
+     * @param enabled
+     *         True, if sections should be added to system traces, false otherwise
+     */
+    public static void setEnabled(final boolean enabled) {
+        ValidationTrace.enabled = enabled;
+    }
+
+}
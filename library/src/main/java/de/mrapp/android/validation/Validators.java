@@ -15,23 +15,40 @@ package de.mrapp.android.validation;
 
 import android.content.Context;
 import android.support.annotation.NonNull;
+import android.os.Process;
 import android.support.annotation.StringRes;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.regex.Pattern;
 
+import de.mrapp.android.validation.constraints.text.ContainsLetterConstraint;
+import de.mrapp.android.validation.constraints.text.ContainsNumberConstraint;
+import de.mrapp.android.validation.constraints.text.ContainsSymbolConstraint;
+
+import de.mrapp.android.validation.datastructure.AhoCorasickAutomaton;
+import de.mrapp.android.validation.datastructure.FrontCodedStringSet;
+import de.mrapp.android.validation.regex.Automaton;
 import de.mrapp.android.validation.validators.ConjunctiveValidator;
 import de.mrapp.android.validation.validators.DisjunctiveValidator;
 import de.mrapp.android.validation.validators.NegateValidator;
 import de.mrapp.android.validation.validators.NotNullValidator;
+import de.mrapp.android.validation.validators.misc.AllowlistValidator;
+import de.mrapp.android.validation.validators.misc.BlocklistValidator;
 import de.mrapp.android.validation.validators.misc.DomainNameValidator;
 import de.mrapp.android.validation.validators.misc.EmailAddressValidator;
 import de.mrapp.android.validation.validators.misc.IPv4AddressValidator;
 import de.mrapp.android.validation.validators.misc.IPv6AddressValidator;
 import de.mrapp.android.validation.validators.misc.IRIValidator;
 import de.mrapp.android.validation.validators.misc.PhoneNumberValidator;
+import de.mrapp.android.validation.validators.misc.RegionalPhoneNumberValidator;
+import de.mrapp.android.validation.validators.misc.RegistrableDomainNameValidator;
+import de.mrapp.android.validation.validators.misc.RegistrableEmailAddressValidator;
 import de.mrapp.android.validation.validators.text.BeginsWithUppercaseLetterValidator;
 import de.mrapp.android.validation.validators.text.Case;
 import de.mrapp.android.validation.validators.text.EqualValidator;
+import de.mrapp.android.validation.validators.text.EqualValueValidator;
+import de.mrapp.android.validation.validators.text.IncrementalRegexValidator;
 import de.mrapp.android.validation.validators.text.LetterOrNumberValidator;
 import de.mrapp.android.validation.validators.text.LetterValidator;
 import de.mrapp.android.validation.validators.text.MaxLengthValidator;
@@ -41,6 +58,8 @@ import de.mrapp.android.validation.validators.text.NotEmptyValidator;
 import de.mrapp.android.validation.validators.text.NumberValidator;
 import de.mrapp.android.validation.validators.text.RegexValidator;
 
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
 /**
  * An utility class, which provides factory methods, which allow to create various validators.
  *
@@ -49,6 +68,12 @@ import de.mrapp.android.validation.validators.text.RegexValidator;
  */
 public final class Validators {
 
+    /**
+     * The number of times, the sample texts of a {@link PrewarmTarget} are validated, when
+     * prewarming.
+     */
+    private static final int PREWARM_ITERATIONS = 100;
+
     /**
      * Creates a new utility class, which provides factory methods, which allow to create various
      * validators.
@@ -57,6 +82,91 @@ public final class Validators {
 
     }
 
+    /**
+     * Creates and returns a constraint, which delegates to a specific validator.
+     *
+     * @param validator
+     *         The validator, the constraint should delegate to, as an instance of the type {@link
+     *         Validator}. The validator may not be null
+     * @return The constraint, which has been created, as an instance of the type {@link
+     * Constraint}. The constraint may not be null
+     */
+    @NonNull
+    private static Constraint<CharSequence> asConstraint(
+            @NonNull final Validator<CharSequence> validator) {
+        return new Constraint<CharSequence>() {
+
+            @Override
+            public boolean isSatisfied(final CharSequence value) {
+                return validator.validate(value);
+            }
+
+        };
+    }
+
+    /**
+     * Creates and returns the validators or constraints, which correspond to a specific {@link
+     * PrewarmTarget}. Creating them compiles their regular expressions.
+     *
+     * @param target
+     *         The target as a value of the enum {@link PrewarmTarget}. The target may not be null
+     * @return A collection, which contains the validators or constraints, which have been
+     * created, as an instance of the type {@link Collection}. The collection may not be null
+     */
+    @NonNull
+    private static Collection<Constraint<CharSequence>> createPrewarmConstraints(
+            @NonNull final PrewarmTarget target) {
+        String errorMessage = target.name();
+        Collection<Constraint<CharSequence>> constraints = new ArrayList<>();
+
+        switch (target) {
+            case NUMBER:
+                constraints.add(asConstraint(new NumberValidator(errorMessage)));
+                break;
+            case LETTER:
+                for (Case caseSensitivity : Case.values()) {
+                    constraints.add(asConstraint(
+                            new LetterValidator(errorMessage, caseSensitivity, false)));
+                }
+
+                break;
+            case LETTER_OR_NUMBER:
+                for (Case caseSensitivity : Case.values()) {
+                    constraints.add(asConstraint(
+                            new LetterOrNumberValidator(errorMessage, caseSensitivity, false)));
+                }
+
+                break;
+            case EMAIL_ADDRESS:
+                constraints.add(asConstraint(new EmailAddressValidator(errorMessage)));
+                break;
+            case DOMAIN_NAME:
+                constraints.add(asConstraint(new DomainNameValidator(errorMessage)));
+                break;
+            case IRI:
+                constraints.add(asConstraint(new IRIValidator(errorMessage)));
+                break;
+            case IPV4_ADDRESS:
+                constraints.add(asConstraint(new IPv4AddressValidator(errorMessage)));
+                break;
+            case IPV6_ADDRESS:
+                constraints.add(asConstraint(new IPv6AddressValidator(errorMessage)));
+                break;
+            case PHONE_NUMBER:
+                constraints.add(asConstraint(new PhoneNumberValidator(errorMessage)));
+                break;
+            case PASSWORD_CONSTRAINTS:
+                constraints.add(new ContainsLetterConstraint());
+                constraints.add(new ContainsNumberConstraint());
+                constraints.add(new ContainsSymbolConstraint());
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid prewarm target: " + target);
+        }
+
+        return constraints;
+    }
+
     /**
      * Creates and returns a validator, which allows to negate the result of an other validator.
      *
@@ -343,6 +453,65 @@ public final class Validators {
         return new RegexValidator(context, R.string.default_error_message, regex);
     }
 
+    /**
+     * Creates and returns a validator, which allows to validate texts to ensure, that they match a
+     * regular expression, which has been compiled into an {@link Automaton}. Texts, which are
+     * extended by appending characters, are validated incrementally.
+     *
+     * @param errorMessage
+     *         The error message, which should be shown, if the validation fails, as an instance of
+     *         the type {@link CharSequence}. The error message may not be null
+     * @param automaton
+     *         The automaton, which should be used to validate the texts, as an instance of the
+     *         class {@link Automaton}. The automaton may not be null
+     * @return The validator, which has been created, as an instance of the type {@link Validator}
+     */
+    public static Validator<CharSequence> regex(@NonNull final CharSequence errorMessage,
+                                                @NonNull final Automaton automaton) {
+        return new IncrementalRegexValidator(errorMessage, automaton);
+    }
+
+    /**
+     * Creates and returns a validator, which allows to validate texts to ensure, that they match a
+     * regular expression, which has been compiled into an {@link Automaton}. Texts, which are
+     * extended by appending characters, are validated incrementally.
+     *
+     * @param context
+     *         The context, which should be used to retrieve the error message, as an instance of
+     *         the class {@link Context}. The context may not be null
+     * @param resourceId
+     *         The resource ID of the string resource, which contains the error message, which
+     *         should be set, as an {@link Integer} value. The resource ID must correspond to a
+     *         valid string resource
+     * @param automaton
+     *         The automaton, which should be used to validate the texts, as an instance of the
+     *         class {@link Automaton}. The automaton may not be null
+     * @return The validator, which has been created, as an instance of the type {@link Validator}
+     */
+    public static Validator<CharSequence> regex(@NonNull final Context context,
+                                                @StringRes final int resourceId,
+                                                @NonNull final Automaton automaton) {
+        return new IncrementalRegexValidator(context, resourceId, automaton);
+    }
+
+    /**
+     * Creates and returns a validator, which allows to validate texts to ensure, that they match a
+     * regular expression, which has been compiled into an {@link Automaton}. Texts, which are
+     * extended by appending characters, are validated incrementally.
+     *
+     * @param context
+     *         The context, which should be used to retrieve the error message, as an instance of
+     *         the class {@link Context}. The context may not be null
+     * @param automaton
+     *         The automaton, which should be used to validate the texts, as an instance of the
+     *         class {@link Automaton}. The automaton may not be null
+     * @return The validator, which has been created, as an instance of the type {@link Validator}
+     */
+    public static Validator<CharSequence> regex(@NonNull final Context context,
+                                                @NonNull final Automaton automaton) {
+        return new IncrementalRegexValidator(context, R.string.default_error_message, automaton);
+    }
+
     /**
      * Creates and returns a validator, which allows to validate texts to ensure, that they are not
      * empty.
@@ -881,6 +1050,47 @@ public final class Validators {
         return new EqualValidator(context, R.string.default_error_message, editText);
     }
 
+    /**
+     * Creates and returns a validator, which allows to validate texts to ensure, that they are
+     * equal to the text, which is provided by a {@link ValueSupplier} at validation time.
+     *
+     * @param errorMessage
+     *         The error message, which should be shown, if the validation fails, as an instance of
+     *         the type {@link CharSequence}. The error message may not be null
+     * @param valueSupplier
+     *         The supplier, which provides the text, the texts should be equal to, as an instance
+     *         of the type {@link ValueSupplier}. The supplier may not be null
+     * @return The validator, which has been created, as an instance of the type {@link Validator}
+     */
+    public static Validator<CharSequence> equal(@NonNull final CharSequence errorMessage,
+                                                @NonNull final ValueSupplier<CharSequence>
+                                                        valueSupplier) {
+        return new EqualValueValidator(errorMessage, valueSupplier);
+    }
+
+    /**
+     * Creates and returns a validator, which allows to validate texts to ensure, that they are
+     * equal to the text, which is provided by a {@link ValueSupplier} at validation time.
+     *
+     * @param context
+     *         The context, which should be used to retrieve the error message, as an instance of
+     *         the class {@link Context}. The context may not be null
+     * @param resourceId
+     *         The resource ID of the string resource, which contains the error message, which
+     *         should be set, as an {@link Integer} value. The resource ID must correspond to a
+     *         valid string resource
+     * @param valueSupplier
+     *         The supplier, which provides the text, the texts should be equal to, as an instance
+     *         of the type {@link ValueSupplier}. The supplier may not be null
+     * @return The validator, which has been created, as an instance of the type {@link Validator}
+     */
+    public static Validator<CharSequence> equal(@NonNull final Context context,
+                                                @StringRes final int resourceId,
+                                                @NonNull final ValueSupplier<CharSequence>
+                                                        valueSupplier) {
+        return new EqualValueValidator(context, resourceId, valueSupplier);
+    }
+
     /**
      * Creates and returns a validator, which allows to validate texts to ensure, that they
      * represent valid IPv4 addresses. Empty texts are also accepted.
@@ -1154,4 +1364,359 @@ public final class Validators {
         return new PhoneNumberValidator(context, R.string.default_error_message);
     }
 
+    /**
+     * Creates and returns a validator, which allows to validate texts to ensure, that they
+     * represent valid phone numbers of a specific region, given in international or national
+     * format. Unlike the validators, which are returned by the <code>phoneNumber</code>-methods,
+     * this takes the valid lengths of numbers, depending on their leading digits, into account.
+     * The numbering plan of the region is loaded from the metadata, which is contained by the
+     * library, when the first text is validated. Empty texts are also accepted.
+     *
+     * @param errorMessage
+     *         The error message, which should be shown, if the validation fails, as an instance of
+     *         the type {@link CharSequence}. The error message may not be null
+     * @param context
+     *         The context, which should be used to load the metadata, as an instance of the class
+     *         {@link Context}. The context may not be null
+     * @param regionCode
+     *         The ISO 3166-1 alpha-2 code of the region, whose phone numbers should be accepted,
+     *         e.g. <code>DE</code>, as a {@link String}. The code may neither be null, nor empty
+     * @return The validator, which has been created, as an instance of the type {@link Validator}
+     */
+    public static Validator<CharSequence> regionalPhoneNumber(
+            @NonNull final CharSequence errorMessage, @NonNull final Context context,
+            @NonNull final String regionCode) {
+        return new RegionalPhoneNumberValidator(errorMessage, context, regionCode);
+    }
+
+    /**
+     * Creates and returns a validator, which allows to validate texts to ensure, that they
+     * represent valid phone numbers of a specific region, given in international or national
+     * format. Unlike the validators, which are returned by the <code>phoneNumber</code>-methods,
+     * this takes the valid lengths of numbers, depending on their leading digits, into account.
+     * The numbering plan of the region is loaded from the metadata, which is contained by the
+     * library, when the first text is validated. Empty texts are also accepted.
+     *
+     * @param context
+     *         The context, which should be used to retrieve the error message and to load the
+     *         metadata, as an instance of the class {@link Context}. The context may not be null
+     * @param resourceId
+     *         The resource ID of the string resource, which contains the error message, which
+     *         should be set, as an {@link Integer} value. The resource ID must correspond to a
+     *         valid string resource
+     * @param regionCode
+     *         The ISO 3166-1 alpha-2 code of the region, whose phone numbers should be accepted,
+     *         e.g. <code>DE</code>, as a {@link String}. The code may neither be null, nor empty
+     * @return The validator, which has been created, as an instance of the type {@link Validator}
+     */
+    public static Validator<CharSequence> regionalPhoneNumber(@NonNull final Context context,
+                                                              @StringRes final int resourceId,
+                                                              @NonNull final String regionCode) {
+        return new RegionalPhoneNumberValidator(context, resourceId, regionCode);
+    }
+
+    /**
+     * Creates and returns a validator, which allows to validate texts to ensure, that they
+     * represent valid phone numbers of a specific region, given in international or national
+     * format. Unlike the validators, which are returned by the <code>phoneNumber</code>-methods,
+     * this takes the valid lengths of numbers, depending on their leading digits, into account.
+     * The numbering plan of the region is loaded from the metadata, which is contained by the
+     * library, when the first text is validated. Empty texts are also accepted.
+     *
+     * @param context
+     *         The context, which should be used to retrieve the error message and to load the
+     *         metadata, as an instance of the class {@link Context}. The context may not be null
+     * @param regionCode
+     *         The ISO 3166-1 alpha-2 code of the region, whose phone numbers should be accepted,
+     *         e.g. <code>DE</code>, as a {@link String}. The code may neither be null, nor empty
+     * @return The validator, which has been created, as an instance of the type {@link Validator}
+     */
+    public static Validator<CharSequence> regionalPhoneNumber(@NonNull final Context context,
+                                                              @NonNull final String regionCode) {
+        return new RegionalPhoneNumberValidator(context, R.string.default_error_message,
+                regionCode);
+    }
+
+    /**
+     * Creates and returns a validator, which allows to validate texts to ensure, that they
+     * represent valid domain names, whose top-level domain is known and which contain a registrable
+     * domain. The subset of the Public Suffix List, which is contained by the library, is used.
+     * Empty texts are also accepted.
+     *
+     * @param errorMessage
+     *         The error message, which should be shown, if the validation fails, as an instance of
+     *         the type {@link CharSequence}. The error message may not be null
+     * @param context
+     *         The context, which should be used to load the public suffix list, as an instance of
+     *         the class {@link Context}. The context may not be null
+     * @return The validator, which has been created, as an instance of the type {@link Validator}
+     */
+    public static Validator<CharSequence> registrableDomainName(
+            @NonNull final CharSequence errorMessage, @NonNull final Context context) {
+        return new RegistrableDomainNameValidator(errorMessage, context);
+    }
+
+    /**
+     * Creates and returns a validator, which allows to validate texts to ensure, that they
+     * represent valid domain names, whose top-level domain is known and which contain a registrable
+     * domain. The subset of the Public Suffix List, which is contained by the library, is used.
+     * Empty texts are also accepted.
+     *
+     * @param context
+     *         The context, which should be used to retrieve the error message and to load the
+     *         public suffix list, as an instance of the class {@link Context}. The context may not
+     *         be null
+     * @param resourceId
+     *         The resource ID of the string resource, which contains the error message, which
+     *         should be set, as an {@link Integer} value. The resource ID must correspond to a
+     *         valid string resource
+     * @return The validator, which has been created, as an instance of the type {@link Validator}
+     */
+    public static Validator<CharSequence> registrableDomainName(@NonNull final Context context,
+                                                                @StringRes final int resourceId) {
+        return new RegistrableDomainNameValidator(context, resourceId);
+    }
+
+    /**
+     * Creates and returns a validator, which allows to validate texts to ensure, that they
+     * represent valid domain names, whose top-level domain is known and which contain a registrable
+     * domain. The subset of the Public Suffix List, which is contained by the library, is used.
+     * Empty texts are also accepted.
+     *
+     * @param context
+     *         The context, which should be used to retrieve the error message and to load the
+     *         public suffix list, as an instance of the class {@link Context}. The context may not
+     *         be null
+     * @return The validator, which has been created, as an instance of the type {@link Validator}
+     */
+    public static Validator<CharSequence> registrableDomainName(@NonNull final Context context) {
+        return new RegistrableDomainNameValidator(context, R.string.default_error_message);
+    }
+
+    /**
+     * Creates and returns a validator, which allows to validate texts to ensure, that they
+     * represent valid email addresses, whose domain has a known top-level domain and contains a
+     * registrable domain. The subset of the Public Suffix List, which is contained by the library,
+     * is used. Empty texts are also accepted.
+     *
+     * @param errorMessage
+     *         The error message, which should be shown, if the validation fails, as an instance of
+     *         the type {@link CharSequence}. The error message may not be null
+     * @param context
+     *         The context, which should be used to load the public suffix list, as an instance of
+     *         the class {@link Context}. The context may not be null
+     * @return The validator, which has been created, as an instance of the type {@link Validator}
+     */
+    public static Validator<CharSequence> registrableEmailAddress(
+            @NonNull final CharSequence errorMessage, @NonNull final Context context) {
+        return new RegistrableEmailAddressValidator(errorMessage, context);
+    }
+
+    /**
+     * Creates and returns a validator, which allows to validate texts to ensure, that they
+     * represent valid email addresses, whose domain has a known top-level domain and contains a
+     * registrable domain. The subset of the Public Suffix List, which is contained by the library,
+     * is used. Empty texts are also accepted.
+     *
+     * @param context
+     *         The context, which should be used to retrieve the error message and to load the
+     *         public suffix list, as an instance of the class {@link Context}. The context may not
+     *         be null
+     * @param resourceId
+     *         The resource ID of the string resource, which contains the error message, which
+     *         should be set, as an {@link Integer} value. The resource ID must correspond to a
+     *         valid string resource
+     * @return The validator, which has been created, as an instance of the type {@link Validator}
+     */
+    public static Validator<CharSequence> registrableEmailAddress(@NonNull final Context context,
+                                                                  @StringRes final int resourceId) {
+        return new RegistrableEmailAddressValidator(context, resourceId);
+    }
+
+    /**
+     * Creates and returns a validator, which allows to validate texts to ensure, that they
+     * represent valid email addresses, whose domain has a known top-level domain and contains a
+     * registrable domain. The subset of the Public Suffix List, which is contained by the library,
+     * is used. Empty texts are also accepted.
+     *
+     * @param context
+     *         The context, which should be used to retrieve the error message and to load the
+     *         public suffix list, as an instance of the class {@link Context}. The context may not
+     *         be null
+     * @return The validator, which has been created, as an instance of the type {@link Validator}
+     */
+    public static Validator<CharSequence> registrableEmailAddress(@NonNull final Context context) {
+        return new RegistrableEmailAddressValidator(context, R.string.default_error_message);
+    }
+
+    /**
+     * Creates and returns a validator, which allows to validate texts to ensure, that they do not
+     * contain any of the keywords of a specific {@link AhoCorasickAutomaton}, e.g. profanity or
+     * reserved names. Empty texts are also accepted.
+     *
+     * @param errorMessage
+     *         The error message, which should be shown, if the validation fails, as an instance of
+     *         the type {@link CharSequence}. The error message may not be null
+     * @param automaton
+     *         The automaton, which should be used to find blocked words, as an instance of the
+     *         class {@link AhoCorasickAutomaton}. The automaton may not be null
+     * @return The validator, which has been created, as an instance of the type {@link Validator}
+     */
+    public static Validator<CharSequence> blocklist(@NonNull final CharSequence errorMessage,
+                                                    @NonNull final AhoCorasickAutomaton automaton) {
+        return new BlocklistValidator(errorMessage, automaton);
+    }
+
+    /**
+     * Creates and returns a validator, which allows to validate texts to ensure, that they do not
+     * contain any of the keywords of a specific {@link AhoCorasickAutomaton}, e.g. profanity or
+     * reserved names. Empty texts are also accepted.
+     *
+     * @param context
+     *         The context, which should be used to retrieve the error message, as an instance of
+     *         the class {@link Context}. The context may not be null
+     * @param resourceId
+     *         The resource ID of the string resource, which contains the error message, which
+     *         should be set, as an {@link Integer} value. The resource ID must correspond to a
+     *         valid string resource
+     * @param automaton
+     *         The automaton, which should be used to find blocked words, as an instance of the
+     *         class {@link AhoCorasickAutomaton}. The automaton may not be null
+     * @return The validator, which has been created, as an instance of the type {@link Validator}
+     */
+    public static Validator<CharSequence> blocklist(@NonNull final Context context,
+                                                    @StringRes final int resourceId,
+                                                    @NonNull final AhoCorasickAutomaton automaton) {
+        return new BlocklistValidator(context, resourceId, automaton);
+    }
+
+    /**
+     * Creates and returns a validator, which allows to validate texts to ensure, that they do not
+     * contain any of the keywords of a specific {@link AhoCorasickAutomaton}, e.g. profanity or
+     * reserved names. Empty texts are also accepted.
+     *
+     * @param context
+     *         The context, which should be used to retrieve the error message, as an instance of
+     *         the class {@link Context}. The context may not be null
+     * @param automaton
+     *         The automaton, which should be used to find blocked words, as an instance of the
+     *         class {@link AhoCorasickAutomaton}. The automaton may not be null
+     * @return The validator, which has been created, as an instance of the type {@link Validator}
+     */
+    public static Validator<CharSequence> blocklist(@NonNull final Context context,
+                                                    @NonNull final AhoCorasickAutomaton automaton) {
+        return new BlocklistValidator(context, R.string.default_error_message, automaton);
+    }
+
+    /**
+     * Creates and returns a validator, which allows to validate texts to ensure, that they are
+     * contained by a specific {@link FrontCodedStringSet}, e.g. a large list of cities or product
+     * SKUs. Empty texts are also accepted.
+     *
+     * @param errorMessage
+     *         The error message, which should be shown, if the validation fails, as an instance of
+     *         the type {@link CharSequence}. The error message may not be null
+     * @param set
+     *         The set, which contains the allowed texts, as an instance of the class {@link
+     *         FrontCodedStringSet}. The set may not be null
+     * @return The validator, which has been created, as an instance of the type {@link Validator}
+     */
+    public static Validator<CharSequence> allowlist(@NonNull final CharSequence errorMessage,
+                                                    @NonNull final FrontCodedStringSet set) {
+        return new AllowlistValidator(errorMessage, set);
+    }
+
+    /**
+     * Creates and returns a validator, which allows to validate texts to ensure, that they are
+     * contained by a specific {@link FrontCodedStringSet}, e.g. a large list of cities or product
+     * SKUs. Empty texts are also accepted.
+     *
+     * @param context
+     *         The context, which should be used to retrieve the error message, as an instance of
+     *         the class {@link Context}. The context may not be null
+     * @param resourceId
+     *         The resource ID of the string resource, which contains the error message, which
+     *         should be set, as an {@link Integer} value. The resource ID must correspond to a
+     *         valid string resource
+     * @param set
+     *         The set, which contains the allowed texts, as an instance of the class {@link
+     *         FrontCodedStringSet}. The set may not be null
+     * @return The validator, which has been created, as an instance of the type {@link Validator}
+     */
+    public static Validator<CharSequence> allowlist(@NonNull final Context context,
+                                                    @StringRes final int resourceId,
+                                                    @NonNull final FrontCodedStringSet set) {
+        return new AllowlistValidator(context, resourceId, set);
+    }
+
+    /**
+     * Creates and returns a validator, which allows to validate texts to ensure, that they are
+     * contained by a specific {@link FrontCodedStringSet}, e.g. a large list of cities or product
+     * SKUs. Empty texts are also accepted.
+     *
+     * @param context
+     *         The context, which should be used to retrieve the error message, as an instance of
+     *         the class {@link Context}. The context may not be null
+     * @param set
+     *         The set, which contains the allowed texts, as an instance of the class {@link
+     *         FrontCodedStringSet}. The set may not be null
+     * @return The validator, which has been created, as an instance of the type {@link Validator}
+     */
+    public static Validator<CharSequence> allowlist(@NonNull final Context context,
+                                                    @NonNull final FrontCodedStringSet set) {
+        return new AllowlistValidator(context, R.string.default_error_message, set);
+    }
+
+    /**
+     * Prewarms specific validators and constraints on a background thread. Their regular
+     * expressions are compiled and their sample texts are validated multiple times in order to
+     * allow the runtime to optimize the code, which is used for validation. This should be done at
+     * the start of the app in order to reduce the latency of the first validation, e.g. when
+     * inflating a form on the main thread. If a validator is used, while it is being prewarmed, its
+     * regular expression is compiled only once.
+     *
+     * @param targets
+     *         The validators and constraints, which should be prewarmed, as an array of the type
+     *         {@link PrewarmTarget}. The array may not be null. {@link PrewarmTarget#values()} may
+     *         be used to prewarm all validators and constraints
+     * @return The thread, which prewarms the validators and constraints, as an instance of the
+     * class {@link Thread}. The thread has already been started and may be joined in order to wait
+     * until prewarming has been finished. The thread may not be null
+     */
+    @NonNull
+    public static Thread prewarm(@NonNull final PrewarmTarget... targets) {
+        ensureNotNull(targets, "The array may not be null");
+        final PrewarmTarget[] prewarmTargets = targets.clone();
+
+        for (PrewarmTarget target : prewarmTargets) {
+            ensureNotNull(target, "The target may not be null");
+        }
+
+        Thread thread = new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+
+                for (PrewarmTarget target : prewarmTargets) {
+                    Collection<Constraint<CharSequence>> constraints =
+                            createPrewarmConstraints(target);
+                    String[] samples = target.getSamples();
+
+                    for (int i = 0; i < PREWARM_ITERATIONS; i++) {
+                        for (Constraint<CharSequence> constraint : constraints) {
+                            for (String sample : samples) {
+                                constraint.isSatisfied(sample);
+                            }
+                        }
+                    }
+                }
+            }
+
+        }, "ValidatorPrewarming");
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
 }
\ No newline at end of file
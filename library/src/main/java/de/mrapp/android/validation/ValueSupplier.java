@@ -0,0 +1,39 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation;
+
+import android.support.annotation.Nullable;
+
+/**
+ * Defines the interface, a class, which provides a value, which is read by a validator at
+ * validation time, must implement. Value suppliers allow validators to access the values of other
+ * fields without keeping references to them.
+ *
+ * @param <Type>
+ *         The type of the supplied values
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public interface ValueSupplier<Type> {
+
+    /**
+     * Returns the current value.
+     *
+     * @return The current value as an instance of the generic type Type or null, if no value is
+     * available
+     */
+    @Nullable
+    Type getValue();
+
+}
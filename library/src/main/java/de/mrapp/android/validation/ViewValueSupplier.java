@@ -0,0 +1,72 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.lang.ref.WeakReference;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * A value supplier, which provides the current value of an {@link AbstractValidateableView}. The
+ * view is only weakly referenced, which allows validators, which use the supplier, to outlive the
+ * view, e.g. when they are shared across multiple screens, without preventing the view and its
+ * context from being garbage collected. Once the view has been garbage collected, null is
+ * supplied.
+ *
+ * @param <Type>
+ *         The type of the supplied values
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class ViewValueSupplier<Type> implements ValueSupplier<Type> {
+
+    /**
+     * A weak reference to the view, whose value is supplied.
+     */
+    private final WeakReference<AbstractValidateableView<?, Type>> viewReference;
+
+    /**
+     * Creates a new value supplier, which provides the current value of a specific view.
+     *
+     * @param view
+     *         The view, whose value should be supplied, as an instance of the class {@link
+     *         AbstractValidateableView}. The view may not be null
+     */
+    public ViewValueSupplier(@NonNull final AbstractValidateableView<?, Type> view) {
+        ensureNotNull(view, "The view may not be null");
+        this.viewReference = new WeakReference<AbstractValidateableView<?, Type>>(view);
+    }
+
+    /**
+     * Returns the view, whose value is supplied.
+     *
+     * @return The view, whose value is supplied, as an instance of the class {@link
+     * AbstractValidateableView} or null, if the view has already been garbage collected
+     */
+    @Nullable
+    public final AbstractValidateableView<?, Type> getView() {
+        return viewReference.get();
+    }
+
+    @Nullable
+    @Override
+    public final Type getValue() {
+        AbstractValidateableView<?, Type> view = viewReference.get();
+        return view != null ? view.getValue() : null;
+    }
+
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.adapter;
+
+import android.database.DataSetObserver;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.BaseAdapter;
+import android.widget.SpinnerAdapter;
+
+import java.util.Arrays;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * A spinner adapter, which acts as a proxy for an other adapter in order to only show a subset of
+ * its items. The subset is specified by the positions of the items in the wrapped adapter, e.g. as
+ * returned by a {@link de.mrapp.android.validation.datastructure.PrefixIndex}.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class FilteredSpinnerAdapter extends BaseAdapter {
+
+    /**
+     * Defines the interface, a class, which should be notified, when the filter of a {@link
+     * FilteredSpinnerAdapter} is reset, because the items of the wrapped adapter have been changed,
+     * must implement.
+     */
+    public interface FilterResetListener {
+
+        /**
+         * The method, which is invoked, when the filter is about to be reset. The positions of the
+         * adapter are still filtered, i.e. the original positions of the items, which are
+         * currently shown, can be retrieved.
+         *
+         * @param adapter
+         *         The adapter, whose filter is about to be reset, as an instance of the class
+         *         {@link FilteredSpinnerAdapter}. The adapter may not be null
+         */
+        void onBeforeFilterReset(@NonNull FilteredSpinnerAdapter adapter);
+
+        /**
+         * The method, which is invoked, when the filter has been reset and the adapter's observers
+         * have been notified.
+         *
+         * @param adapter
+         *         The adapter, whose filter has been reset, as an instance of the class {@link
+         *         FilteredSpinnerAdapter}. The adapter may not be null
+         */
+        void onFilterReset(@NonNull FilteredSpinnerAdapter adapter);
+
+    }
+
+    /**
+     * The adapter, which contains the actual items.
+     */
+    private final SpinnerAdapter adapter;
+
+    /**
+     * The observer, which is registered at the wrapped adapter.
+     */
+    private final DataSetObserver dataSetObserver;
+
+    /**
+     * True, if the observer is currently registered at the wrapped adapter, false otherwise.
+     */
+    private boolean observing;
+
+    /**
+     * The positions of the items of the wrapped adapter, which are shown, in ascending order or
+     * null, if all items are shown.
+     */
+    private int[] positions;
+
+    /**
+     * The listener, which is notified, when the filter is reset, or null, if no listener is
+     * notified.
+     */
+    private FilterResetListener filterResetListener;
+
+    /**
+     * Resets the filter, because the items of the wrapped adapter have been changed, and notifies
+     * the adapter's observers.
+     *
+     * @param invalidated
+     *         True, if the items of the wrapped adapter have been invalidated, false, if they have
+     *         been changed
+     */
+    private void resetFilter(final boolean invalidated) {
+        boolean filtered = positions != null;
+
+        if (filtered && filterResetListener != null) {
+            filterResetListener.onBeforeFilterReset(this);
+        }
+
+        positions = null;
+
+        if (invalidated) {
+            notifyDataSetInvalidated();
+        } else {
+            notifyDataSetChanged();
+        }
+
+        if (filtered && filterResetListener != null) {
+            filterResetListener.onFilterReset(this);
+        }
+    }
+
+    /**
+     * Creates and returns an observer, which allows to notify the adapter's observers, when the
+     * items of the wrapped adapter have been changed.
+     *
+     * @return The observer, which has been created, as an instance of the class {@link
+     * DataSetObserver}
+     */
+    private DataSetObserver createDataSetObserver() {
+        return new DataSetObserver() {
+
+            @Override
+            public void onChanged() {
+                resetFilter(false);
+            }
+
+            @Override
+            public void onInvalidated() {
+                resetFilter(true);
+            }
+
+        };
+    }
+
+    /**
+     * Creates a new spinner adapter, which acts as a proxy for an other adapter in order to only
+     * show a subset of its items. Initially, all items are shown.
+     *
+     * @param adapter
+     *         The adapter, which contains the actual items, as an instance of the type {@link
+     *         SpinnerAdapter}. The adapter may not be null
+     */
+    public FilteredSpinnerAdapter(@NonNull final SpinnerAdapter adapter) {
+        ensureNotNull(adapter, "The adapter may not be null");
+        this.adapter = adapter;
+        this.dataSetObserver = createDataSetObserver();
+        this.positions = null;
+        this.filterResetListener = null;
+        this.observing = false;
+        attach();
+    }
+
+    /**
+     * Registers the adapter at the wrapped adapter in order to be notified, when its items are
+     * changed. This is done by the constructor. If the adapter has been detached by using the
+     * method {@link #detach()}, its filter is reset, because the items of the wrapped adapter may
+     * have been changed in the meantime.
+     */
+    public final void attach() {
+        if (!observing) {
+            adapter.registerDataSetObserver(dataSetObserver);
+            observing = true;
+
+            if (positions != null) {
+                resetFilter(false);
+            }
+        }
+    }
+
+    /**
+     * Unregisters the adapter from the wrapped adapter, in order to release the reference, the
+     * wrapped adapter holds to it. Until the method {@link #attach()} is called, changes of the
+     * wrapped adapter's items are not observed.
+     */
+    public final void detach() {
+        if (observing) {
+            adapter.unregisterDataSetObserver(dataSetObserver);
+            observing = false;
+        }
+    }
+
+    /**
+     * Sets the listener, which should be notified, when the filter is reset, because the items of
+     * the wrapped adapter have been changed.
+     *
+     * @param listener
+     *         The listener, which should be set, as an instance of the type {@link
+     *         FilterResetListener} or null, if no listener should be notified
+     */
+    public final void setFilterResetListener(@Nullable final FilterResetListener listener) {
+        this.filterResetListener = listener;
+    }
+
+    /**
+     * Returns the adapter, which contains the actual items.
+     *
+     * @return The adapter, which contains the actual items, as an instance of the type {@link
+     * SpinnerAdapter}
+     */
+    public final SpinnerAdapter getAdapter() {
+        return adapter;
+    }
+
+    /**
+     * Sets the positions of the items of the wrapped adapter, which should be shown.
+     *
+     * @param positions
+     *         An array, which contains the positions of the items, which should be shown, in
+     *         ascending order, as an {@link Integer} array or null, if all items should be shown
+     */
+    public final void setFilter(@Nullable final int[] positions) {
+        this.positions = positions;
+        notifyDataSetChanged();
+    }
+
+    /**
+     * Returns, whether the items of the wrapped adapter are currently filtered or not.
+     *
+     * @return True, if the items are filtered, false otherwise
+     */
+    public final boolean isFiltered() {
+        return positions != null;
+    }
+
+    /**
+     * Returns the position of the item at a specific position in the wrapped adapter.
+     *
+     * @param position
+     *         The position of the item in this adapter as an {@link Integer} value
+     * @return The position of the item in the wrapped adapter as an {@link Integer} value
+     */
+    public final int getOriginalPosition(final int position) {
+        return positions != null ? positions[position] : position;
+    }
+
+    /**
+     * Returns the position of the item at a specific position of the wrapped adapter in this
+     * adapter.
+     *
+     * @param originalPosition
+     *         The position of the item in the wrapped adapter as an {@link Integer} value
+     * @return The position of the item in this adapter as an {@link Integer} value or -1, if the
+     * item is currently not shown
+     */
+    public final int getFilteredPosition(final int originalPosition) {
+        if (positions == null) {
+            return originalPosition < adapter.getCount() ? originalPosition : -1;
+        }
+
+        int index = Arrays.binarySearch(positions, originalPosition);
+        return index >= 0 ? index : -1;
+    }
+
+    @Override
+    public final int getCount() {
+        return positions != null ? positions.length : adapter.getCount();
+    }
+
+    @Override
+    public final Object getItem(final int position) {
+        return adapter.getItem(getOriginalPosition(position));
+    }
+
+    @Override
+    public final long getItemId(final int position) {
+        return adapter.getItemId(getOriginalPosition(position));
+    }
+
+    @Override
+    public final boolean hasStableIds() {
+        return adapter.hasStableIds();
+    }
+
+    @Override
+    public final int getItemViewType(final int position) {
+        return adapter.getItemViewType(getOriginalPosition(position));
+    }
+
+    @Override
+    public final int getViewTypeCount() {
+        return adapter.getViewTypeCount();
+    }
+
+    @Override
+    public final View getView(final int position, final View convertView,
+                              final ViewGroup parent) {
+        return adapter.getView(getOriginalPosition(position), convertView, parent);
+    }
+
+    @Override
+    public final View getDropDownView(final int position, final View convertView,
+                                      final ViewGroup parent) {
+        return adapter.getDropDownView(getOriginalPosition(position), convertView, parent);
+    }
+
+}
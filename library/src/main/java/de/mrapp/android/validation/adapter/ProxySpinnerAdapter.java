@@ -26,17 +26,36 @@ import android.widget.ListAdapter;
 import android.widget.SpinnerAdapter;
 import android.widget.TextView;
 
+import de.mrapp.android.validation.R;
+
 import static de.mrapp.android.util.Condition.ensureNotNull;
 
 /**
  * A spinner adapter, which acts as a proxy for an other adapter in order to initially show a hint
  * instead of the adapter's first item.
  *
+ * As the Spinner widget only supports adapters with a single view type, the adapter reports a
+ * single view type, regardless of the view types of the wrapped adapter. In order to still allow
+ * to recycle views, each view is tagged with the view type it has been created for. Views are only
+ * passed to the wrapped adapter for recycling, if their view type matches the view type of the
+ * item, which should be displayed.
+ *
  * @author Michael Rapp
  * @since 1.0.0
  */
 public class ProxySpinnerAdapter implements SpinnerAdapter, ListAdapter {
 
+    /**
+     * The view type, the view, which is used to display the hint, is tagged with.
+     */
+    private static final int HINT_VIEW_TYPE = Integer.MIN_VALUE;
+
+    /**
+     * The view type, the view, which is used as a placeholder for the hint in the drop down list,
+     * is tagged with.
+     */
+    private static final int PLACEHOLDER_VIEW_TYPE = Integer.MIN_VALUE + 1;
+
     /**
      * The context, which is used by the adapter.
      */
@@ -62,6 +81,85 @@ public class ProxySpinnerAdapter implements SpinnerAdapter, ListAdapter {
      */
     private final ColorStateList hintColor;
 
+    /**
+     * The view, which is used to display the hint, or null, if the view has not been inflated
+     * yet.
+     */
+    private View hintView;
+
+    /**
+     * The view, which is used as a placeholder for the hint in the drop down list, or null, if the
+     * view has not been created yet.
+     */
+    private View placeholderView;
+
+    /**
+     * Returns the view type, a specific view has been tagged with.
+     *
+     * @param view
+     *         The view as an instance of the class {@link View} or null
+     * @return The view type, the given view has been tagged with, as an {@link Integer} value or
+     * {@link android.widget.Adapter#IGNORE_ITEM_VIEW_TYPE}, if the view has not been tagged
+     */
+    private static int getTaggedViewType(@Nullable final View view) {
+        Object tag = view != null ? view.getTag(R.id.proxy_spinner_adapter_view_type) : null;
+        return tag instanceof Integer ? (Integer) tag : IGNORE_ITEM_VIEW_TYPE;
+    }
+
+    /**
+     * Returns the view, which should be passed to the wrapped adapter in order to be recycled, when
+     * displaying the item at a specific position.
+     *
+     * @param position
+     *         The position of the item in the wrapped adapter as an {@link Integer} value
+     * @param convertView
+     *         The view, which should be recycled, as an instance of the class {@link View} or null
+     * @return The view, which should be passed to the wrapped adapter, as an instance of the class
+     * {@link View} or null, if the view is not compatible to the item's view type
+     */
+    @Nullable
+    private View getConvertView(final int position, @Nullable final View convertView) {
+        int viewType = adapter.getItemViewType(position);
+
+        if (viewType != IGNORE_ITEM_VIEW_TYPE && viewType == getTaggedViewType(convertView)) {
+            return convertView;
+        }
+
+        return null;
+    }
+
+    /**
+     * Tags a specific view, which has been returned by the wrapped adapter, with the view type of
+     * the item at a specific position.
+     *
+     * @param position
+     *         The position of the item in the wrapped adapter as an {@link Integer} value
+     * @param view
+     *         The view, which should be tagged, as an instance of the class {@link View}. The view
+     *         may not be null
+     * @return The given view as an instance of the class {@link View}
+     */
+    private View tagView(final int position, @NonNull final View view) {
+        view.setTag(R.id.proxy_spinner_adapter_view_type, adapter.getItemViewType(position));
+        return view;
+    }
+
+    /**
+     * Returns, whether a specific view can be reused or not. A view can be reused, if it has not
+     * been added to a parent or if it has been added to the given parent.
+     *
+     * @param view
+     *         The view as an instance of the class {@link View} or null
+     * @param parent
+     *         The parent, the view should be added to, as an instance of the class {@link
+     *         ViewGroup} or null
+     * @return True, if the view can be reused, false otherwise
+     */
+    private static boolean isReusable(@Nullable final View view,
+                                      @Nullable final ViewGroup parent) {
+        return view != null && (view.getParent() == null || view.getParent() == parent);
+    }
+
     /**
      * Inflates and returns the view, which is used to display the hint.
      *
@@ -78,6 +176,7 @@ public class ProxySpinnerAdapter implements SpinnerAdapter, ListAdapter {
             view.setTextColor(hintColor);
         }
 
+        view.setTag(R.id.proxy_spinner_adapter_view_type, HINT_VIEW_TYPE);
         return view;
     }
 
@@ -124,23 +223,84 @@ public class ProxySpinnerAdapter implements SpinnerAdapter, ListAdapter {
         return adapter;
     }
 
+    /**
+     * Returns the view, which is used to display the hint. The view is only inflated, if it has not
+     * been inflated yet or if it is currently displayed by an other parent.
+     *
+     * @param convertView
+     *         The view, which should be recycled, as an instance of the class {@link View} or null
+     * @param parent
+     *         The parent view of the view as an instance of the class {@link ViewGroup} or null,
+     *         if no parent view is available
+     * @return The view, which is used to display the hint, as an instance of the class {@link
+     * View}
+     */
+    private View getHintView(@Nullable final View convertView, @Nullable final ViewGroup parent) {
+        if (getTaggedViewType(convertView) == HINT_VIEW_TYPE) {
+            return convertView;
+        } else if (isReusable(hintView, parent)) {
+            return hintView;
+        }
+
+        View view = inflateHintView(parent);
+
+        if (hintView == null) {
+            hintView = view;
+        }
+
+        return view;
+    }
+
+    /**
+     * Returns the view, which is used as a placeholder for the hint in the drop down list. The view
+     * is only created, if it has not been created yet or if it is currently displayed by an other
+     * parent.
+     *
+     * @param convertView
+     *         The view, which should be recycled, as an instance of the class {@link View} or null
+     * @param parent
+     *         The parent view of the view as an instance of the class {@link ViewGroup} or null,
+     *         if no parent view is available
+     * @return The view, which is used as a placeholder for the hint, as an instance of the class
+     * {@link View}
+     */
+    private View getPlaceholderView(@Nullable final View convertView,
+                                    @Nullable final ViewGroup parent) {
+        if (getTaggedViewType(convertView) == PLACEHOLDER_VIEW_TYPE) {
+            return convertView;
+        } else if (isReusable(placeholderView, parent)) {
+            return placeholderView;
+        }
+
+        View view = new View(context);
+        view.setTag(R.id.proxy_spinner_adapter_view_type, PLACEHOLDER_VIEW_TYPE);
+
+        if (placeholderView == null) {
+            placeholderView = view;
+        }
+
+        return view;
+    }
+
     @Override
     public final View getView(final int position, final View convertView, final ViewGroup parent) {
         if (position == 0) {
-            return inflateHintView(parent);
+            return getHintView(convertView, parent);
         }
 
-        return adapter.getView(position - 1, null, parent);
+        return tagView(position - 1, adapter.getView(position - 1,
+                getConvertView(position - 1, convertView), parent));
     }
 
     @Override
     public final View getDropDownView(final int position, final View convertView,
                                       final ViewGroup parent) {
         if (position == 0) {
-            return new View(context);
+            return getPlaceholderView(convertView, parent);
         }
 
-        return adapter.getDropDownView(position - 1, null, parent);
+        return tagView(position - 1, adapter.getDropDownView(position - 1,
+                getConvertView(position - 1, convertView), parent));
     }
 
     @Override
@@ -15,6 +15,8 @@ package de.mrapp.android.validation.constraints.text;
 
 import java.util.regex.Pattern;
 
+import de.mrapp.android.validation.ValueSupplier;
+
 /**
  * A constraint, which allows to verify texts in order to check, if they contain at least one
  * letter.
@@ -25,16 +27,37 @@ import java.util.regex.Pattern;
 public class ContainsLetterConstraint extends RegexConstraint {
 
     /**
-     * The regular expression, which is used by the constraint.
+     * Holds the regular expression, which is used by the constraint, in order to compile it,
+     * when it is used for the first time.
      */
-    private static final Pattern REGEX = Pattern.compile("(.)*([a-zA-Z])(.)*");
+    private static final class RegexHolder {
+
+        /**
+         * The regular expression, which is used by the constraint.
+         */
+        private static final Pattern REGEX = Pattern.compile("(.)*([a-zA-Z])(.)*");
+
+    }
+
+    /**
+     * The supplier, which provides the regular expression, which is used by the constraint. The
+     * regular expression is compiled, when it is obtained for the first time.
+     */
+    private static final ValueSupplier<Pattern> REGEX_SUPPLIER = new ValueSupplier<Pattern>() {
+
+        @Override
+        public Pattern getValue() {
+            return RegexHolder.REGEX;
+        }
+
+    };
 
     /**
      * Creates a new constraint, which allows to verify texts in order to check, if they contain at
      * least one letter.
      */
     public ContainsLetterConstraint() {
-        super(REGEX);
+        setRegexSupplier(REGEX_SUPPLIER);
     }
 
 }
\ No newline at end of file
@@ -14,17 +14,37 @@
 package de.mrapp.android.validation.constraints.text;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import de.mrapp.android.validation.Constraint;
+import de.mrapp.android.validation.ValidationTimeoutException;
+import de.mrapp.android.validation.ValueSupplier;
+import de.mrapp.android.validation.regex.Automaton;
+import de.mrapp.android.validation.regex.AutomatonCache;
+import de.mrapp.android.validation.regex.InterruptibleCharSequence;
+import de.mrapp.android.validation.regex.MatchBudget;
+import de.mrapp.android.validation.regex.MatchBudgetExceededException;
+import de.mrapp.android.validation.regex.RegexEngine;
+import de.mrapp.android.validation.regex.ThreadLocalMatcher;
+import de.mrapp.android.validation.regex.TimeoutBehavior;
+import de.mrapp.android.validation.regex.UnsupportedPatternException;
 
 import static de.mrapp.android.util.Condition.ensureNotNull;
 
 /**
  * A constraint, which allows to verify a text in order to check, if it matches a certain regular
- * expression.
+ * expression. By default, the class {@link Pattern} is used to match the texts. Alternatively, the
+ * engine {@link RegexEngine#LINEAR} can be used in order to guarantee linear time, regardless of
+ * the regular expression and the texts. In such case, the regular expression is compiled by using
+ * the default {@link AutomatonCache}, if one has been set. Furthermore, a {@link MatchBudget} can
+ * be set in order to abort matching a text, if it takes too long. In such case, the {@link
+ * TimeoutBehavior} specifies the result. On Android, a budget can only be used together with the
+ * engine {@link RegexEngine#LINEAR}.
+ *
+ * Each thread reuses a single {@link java.util.regex.Matcher} by using a {@link
+ * ThreadLocalMatcher}. Therefore, an instance can be shared among multiple threads and views.
  *
  * @author Michael Rapp
  * @since 1.0.0
@@ -36,6 +56,100 @@ public class RegexConstraint implements Constraint<CharSequence> {
      */
     private Pattern regex;
 
+    /**
+     * The supplier, which provides the regular expression, when the constraint is used for the
+     * first time, or null, if the regular expression has been set directly.
+     */
+    private ValueSupplier<Pattern> regexSupplier;
+
+    /**
+     * True, if the regular expression has already been obtained from the supplier or has been set
+     * directly, false otherwise.
+     */
+    private volatile boolean initialized;
+
+    /**
+     * The engine, which is used to match the texts against the regular expression.
+     */
+    private RegexEngine engine = RegexEngine.JAVA;
+
+    /**
+     * The automaton, which is used to match the texts, if the engine {@link RegexEngine#LINEAR}
+     * is used.
+     */
+    private Automaton automaton;
+
+    /**
+     * The matcher, which is used to match the texts, if the engine {@link RegexEngine#JAVA} is
+     * used.
+     */
+    private ThreadLocalMatcher matcher;
+
+    /**
+     * The budget of matching a single text or null, if no budget is used.
+     */
+    private MatchBudget matchBudget;
+
+    /**
+     * The behavior, which is used, if matching a text exceeded its budget.
+     */
+    private TimeoutBehavior timeoutBehavior = TimeoutBehavior.INVALID;
+
+    /**
+     * Compiles a specific regular expression into an automaton, if a specific engine requires
+     * it. The automaton is retrieved from the default {@link AutomatonCache}, if one has been set.
+     *
+     * @param regex
+     *         The regular expression as an instance of the class {@link Pattern}. The regular
+     *         expression may not be null
+     * @param engine
+     *         The engine as a value of the enum {@link RegexEngine}. The engine may not be null
+     * @return The automaton, which has been compiled, as an instance of the class {@link
+     * Automaton} or null, if the given engine does not require an automaton
+     */
+    private static Automaton compile(@NonNull final Pattern regex,
+                                     @NonNull final RegexEngine engine) {
+        return engine == RegexEngine.LINEAR ?
+                AutomatonCache.compileWithDefault(regex.pattern(), regex.flags()) : null;
+    }
+
+    /**
+     * Throws an {@link IllegalArgumentException}, if a specific budget cannot be enforced by a
+     * specific engine.
+     *
+     * @param matchBudget
+     *         The budget as an instance of the class {@link MatchBudget} or null, if no budget is
+     *         used
+     * @param engine
+     *         The engine as a value of the enum {@link RegexEngine}. The engine may not be null
+     */
+    private static void ensureEnforceable(@Nullable final MatchBudget matchBudget,
+                                          @NonNull final RegexEngine engine) {
+        if (matchBudget != null && !engine.isMatchBudgetEnforceable()) {
+            throw new IllegalArgumentException("A match budget cannot be enforced by the engine " +
+                    engine + " on this runtime. Use the engine " + RegexEngine.LINEAR + " instead");
+        }
+    }
+
+    /**
+     * Obtains the regular expression from the supplier, which has been passed to the
+     * constructor, and compiles it, if this has not been done yet.
+     */
+    private void initialize() {
+        if (!initialized) {
+            synchronized (this) {
+                if (!initialized) {
+                    Pattern suppliedRegex = regexSupplier.getValue();
+                    ensureNotNull(suppliedRegex, "The supplied regular expression may not be null");
+                    this.automaton = compile(suppliedRegex, engine);
+                    this.matcher = new ThreadLocalMatcher(suppliedRegex);
+                    this.regex = suppliedRegex;
+                    initialized = true;
+                }
+            }
+        }
+    }
+
     /**
      * Creates a new constraint, which allows to verify a text in order to check, if it matches a
      * certain regular expression.
@@ -48,6 +162,34 @@ public class RegexConstraint implements Constraint<CharSequence> {
         setRegex(regex);
     }
 
+    /**
+     * Creates a new constraint, which allows to verify a text in order to check, if it matches a
+     * certain regular expression. The regular expression must be set by using the method {@link
+     * #setRegex(Pattern)} or {@link #setRegexSupplier(ValueSupplier)}.
+     */
+    protected RegexConstraint() {
+
+    }
+
+    /**
+     * Creates a new constraint, which allows to verify a text in order to check, if it matches a
+     * certain regular expression, using a specific engine.
+     *
+     * @param regex
+     *         The regular expression, which should be used to verify the texts, as an instance of
+     *         the class {@link Pattern}. The regular expression may not be null
+     * @param engine
+     *         The engine, which should be used to match the texts against the regular expression,
+     *         as a value of the enum {@link RegexEngine}. The engine may not be null
+     * @throws UnsupportedPatternException
+     *         If the engine {@link RegexEngine#LINEAR} is used and the regular expression is not
+     *         supported by it
+     */
+    public RegexConstraint(@NonNull final Pattern regex, @NonNull final RegexEngine engine) {
+        setRegex(regex);
+        setEngine(engine);
+    }
+
     /**
      * Returns the regular expression, which is used to verify the texts.
      *
@@ -55,25 +197,172 @@ public class RegexConstraint implements Constraint<CharSequence> {
      * class {@link Pattern}
      */
     public final Pattern getRegex() {
+        initialize();
         return regex;
     }
 
+    /**
+     * Returns the supplier, which has provided the regular expression.
+     *
+     * @return The supplier, which has provided the regular expression, as an instance of the type
+     * {@link ValueSupplier} or null, if the regular expression has been set directly
+     */
+    @Nullable
+    protected final ValueSupplier<Pattern> getRegexSupplier() {
+        return regexSupplier;
+    }
+
     /**
      * Sets the regular expression, which should be used to verify the texts.
      *
      * @param regex
      *         The regular expression, which should be set, as an instance of the class {@link
      *         Pattern}. The regular expression may not be null
+     * @throws UnsupportedPatternException
+     *         If the engine {@link RegexEngine#LINEAR} is used and the regular expression is not
+     *         supported by it
      */
     public final void setRegex(@NonNull final Pattern regex) {
         ensureNotNull(regex, "The regular expression may not be null");
+        this.automaton = compile(regex, engine);
+        this.matcher = new ThreadLocalMatcher(regex);
         this.regex = regex;
+        this.regexSupplier = null;
+        this.initialized = true;
+    }
+
+    /**
+     * Sets the supplier, which should provide the regular expression, which should be used to
+     * verify the texts. The regular expression is obtained from the supplier and compiled, when the
+     * constraint is used for the first time. This allows to defer compiling the regular expression.
+     *
+     * @param regexSupplier
+     *         The supplier, which should be set, as an instance of the type {@link ValueSupplier}.
+     *         The supplier may not be null and must not supply null
+     */
+    protected final void setRegexSupplier(@NonNull final ValueSupplier<Pattern> regexSupplier) {
+        ensureNotNull(regexSupplier, "The supplier may not be null");
+
+        synchronized (this) {
+            this.regexSupplier = regexSupplier;
+            this.initialized = false;
+        }
+    }
+
+    /**
+     * Returns the engine, which is used to match the texts against the regular expression.
+     *
+     * @return The engine, which is used to match the texts against the regular expression, as a
+     * value of the enum {@link RegexEngine}
+     */
+    public final RegexEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Sets the engine, which should be used to match the texts against the regular expression.
+     *
+     * @param engine
+     *         The engine, which should be set, as a value of the enum {@link RegexEngine}. The
+     *         engine may not be null
+     * @throws UnsupportedPatternException
+     *         If the engine {@link RegexEngine#LINEAR} should be used and the regular expression
+     *         is not supported by it
+     * @throws IllegalArgumentException
+     *         If a budget is used and cannot be enforced by the given engine (see {@link
+     *         #setMatchBudget(MatchBudget)})
+     */
+    public final void setEngine(@NonNull final RegexEngine engine) {
+        ensureNotNull(engine, "The engine may not be null");
+        ensureEnforceable(matchBudget, engine);
+        this.automaton = compile(getRegex(), engine);
+        this.engine = engine;
+    }
+
+    /**
+     * Returns the budget of matching a single text.
+     *
+     * @return The budget of matching a single text as an instance of the class {@link
+     * MatchBudget} or null, if no budget is used
+     */
+    @Nullable
+    public final MatchBudget getMatchBudget() {
+        return matchBudget;
+    }
+
+    /**
+     * Sets the budget of matching a single text. See {@link InterruptibleCharSequence} for the
+     * runtimes, which allow to enforce a budget. On Android, a budget can only be enforced by the
+     * engine {@link RegexEngine#LINEAR}, because the engine {@link RegexEngine#JAVA} matches a
+     * copy of the text natively. Setting a budget, while the engine {@link RegexEngine#JAVA} is
+     * used on Android, is therefore rejected (see {@link RegexEngine#isMatchBudgetEnforceable()}).
+     *
+     * @param matchBudget
+     *         The budget, which should be set, as an instance of the class {@link MatchBudget} or
+     *         null, if no budget should be used
+     * @throws IllegalArgumentException
+     *         If a budget should be set and cannot be enforced by the current engine
+     */
+    public final void setMatchBudget(@Nullable final MatchBudget matchBudget) {
+        ensureEnforceable(matchBudget, engine);
+        this.matchBudget = matchBudget;
+    }
+
+    /**
+     * Returns the behavior, which is used, if matching a text exceeded its budget.
+     *
+     * @return The behavior, which is used, if matching a text exceeded its budget, as a value of
+     * the enum {@link TimeoutBehavior}
+     */
+    public final TimeoutBehavior getTimeoutBehavior() {
+        return timeoutBehavior;
+    }
+
+    /**
+     * Sets the behavior, which should be used, if matching a text exceeded its budget.
+     *
+     * @param timeoutBehavior
+     *         The behavior, which should be set, as a value of the enum {@link TimeoutBehavior}.
+     *         The behavior may not be null
+     */
+    public final void setTimeoutBehavior(@NonNull final TimeoutBehavior timeoutBehavior) {
+        ensureNotNull(timeoutBehavior, "The timeout behavior may not be null");
+        this.timeoutBehavior = timeoutBehavior;
+    }
+
+    /**
+     * Returns, whether a specific text matches the regular expression, or not.
+     *
+     * @param value
+     *         The text as an instance of the type {@link CharSequence}
+     * @return True, if the given text matches the regular expression, false otherwise
+     */
+    private boolean matches(final CharSequence value) {
+        if (automaton != null) {
+            return automaton.matches(value);
+        }
+
+        return matcher.matches(value);
     }
 
     @Override
     public final boolean isSatisfied(final CharSequence value) {
-        Matcher matcher = getRegex().matcher(value);
-        return matcher.matches();
+        initialize();
+        MatchBudget budget = matchBudget;
+
+        if (budget == null) {
+            return matches(value);
+        }
+
+        try {
+            return matches(new InterruptibleCharSequence(value, budget));
+        } catch (MatchBudgetExceededException e) {
+            if (timeoutBehavior == TimeoutBehavior.REPORT) {
+                throw new ValidationTimeoutException(e);
+            }
+
+            return timeoutBehavior == TimeoutBehavior.VALID;
+        }
     }
 
 }
\ No newline at end of file
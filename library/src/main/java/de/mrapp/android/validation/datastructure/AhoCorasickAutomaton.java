@@ -0,0 +1,515 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.datastructure;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * An immutable Aho-Corasick automaton, which allows to determine, whether a text contains any of
+ * a large number of keywords, e.g. blocked words or reserved names, by scanning the text only once.
+ * The keywords are stored in a trie, whose nodes are numbered in breadth-first order, so that the
+ * children of each node are consecutive and sorted by their characters. This allows to store the
+ * whole automaton in a few flat arrays instead of one object per node. Transitions are looked up
+ * by using binary search among the children of a node, or a table for the children of the root.
+ *
+ * Optionally, the keywords and texts can be normalized character by character, by folding their
+ * case and by replacing common leetspeak characters, e.g. <code>4</code> by <code>a</code>. An
+ * automaton can be used by multiple threads at once.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public final class AhoCorasickAutomaton {
+
+    /**
+     * The flag, which specifies, that keywords should be matched case-insensitively.
+     */
+    public static final int CASE_INSENSITIVE = 1;
+
+    /**
+     * The flag, which specifies, that common leetspeak characters should be treated like the
+     * letters, they resemble, e.g. <code>0</code> like <code>o</code> or <code>$</code> like
+     * <code>s</code>.
+     */
+    public static final int LEETSPEAK = 2;
+
+    /**
+     * The number of characters, whose transitions from the root are looked up in a table.
+     */
+    private static final int ASCII_CHARACTERS = 128;
+
+    /**
+     * The size of the header of an array in bytes, which is used to estimate the memory footprint.
+     */
+    private static final int ARRAY_HEADER_SIZE = 16;
+
+    /**
+     * The letters, which correspond to leetspeak characters, indexed by the leetspeak characters.
+     */
+    private static final char[] LEETSPEAK_LETTERS = createLeetspeakLetters();
+
+    /**
+     * The flags, the automaton has been built with.
+     */
+    private final int flags;
+
+    /**
+     * The number of keywords, the automaton has been built from.
+     */
+    private final int keywordCount;
+
+    /**
+     * The characters of the edges, which lead to the nodes.
+     */
+    private final char[] labels;
+
+    /**
+     * The first child of each node. The children of a node range from its first child to the
+     * first child of the next node.
+     */
+    private final int[] firstChildren;
+
+    /**
+     * The failure links of the nodes, i.e. the nodes, which correspond to the longest proper
+     * suffixes of the nodes, which are contained by the trie.
+     */
+    private final int[] failures;
+
+    /**
+     * The indices of the keywords, which end at the nodes, including those, which are reachable
+     * via failure links, or -1, if no keyword ends at a node.
+     */
+    private final int[] outputs;
+
+    /**
+     * The children of the root per ASCII character or 0, if the root does not have such a child.
+     */
+    private final int[] rootChildren;
+
+    /**
+     * Creates and returns the table, which maps leetspeak characters to letters.
+     *
+     * @return The table as a {@link Character} array. The array may not be null
+     */
+    @NonNull
+    private static char[] createLeetspeakLetters() {
+        char[] letters = new char[ASCII_CHARACTERS];
+        letters['0'] = 'o';
+        letters['1'] = 'i';
+        letters['3'] = 'e';
+        letters['4'] = 'a';
+        letters['5'] = 's';
+        letters['7'] = 't';
+        letters['8'] = 'b';
+        letters['@'] = 'a';
+        letters['$'] = 's';
+        letters['!'] = 'i';
+        letters['|'] = 'l';
+        letters['+'] = 't';
+        return letters;
+    }
+
+    /**
+     * Normalizes a specific character according to specific flags.
+     *
+     * @param character
+     *         The character, which should be normalized, as a {@link Character} value
+     * @param flags
+     *         The flags as an {@link Integer} value
+     * @return The normalized character as a {@link Character} value
+     */
+    private static char normalize(final char character, final int flags) {
+        char result = character;
+
+        if ((flags & CASE_INSENSITIVE) != 0) {
+            result = Character.toLowerCase(result);
+        }
+
+        if ((flags & LEETSPEAK) != 0 && result < ASCII_CHARACTERS &&
+                LEETSPEAK_LETTERS[result] != 0) {
+            result = LEETSPEAK_LETTERS[result];
+        }
+
+        return result;
+    }
+
+    /**
+     * Normalizes a specific text character by character according to specific flags.
+     *
+     * @param text
+     *         The text, which should be normalized, as an instance of the type {@link
+     *         CharSequence}. The text may not be null
+     * @param flags
+     *         The flags as an {@link Integer} value
+     * @return The normalized text as a {@link String}. The text may not be null
+     */
+    @NonNull
+    private static String normalize(@NonNull final CharSequence text, final int flags) {
+        char[] characters = new char[text.length()];
+
+        for (int i = 0; i < characters.length; i++) {
+            characters[i] = normalize(text.charAt(i), flags);
+        }
+
+        return new String(characters);
+    }
+
+    /**
+     * Returns the child of a specific node, which is reached via a specific character.
+     *
+     * @param node
+     *         The node as an {@link Integer} value
+     * @param character
+     *         The character as a {@link Character} value
+     * @return The child as an {@link Integer} value or -1, if the node does not have such a child
+     */
+    private int getChild(final int node, final char character) {
+        if (node == 0 && character < ASCII_CHARACTERS) {
+            int child = rootChildren[character];
+            return child != 0 ? child : -1;
+        }
+
+        int low = firstChildren[node];
+        int high = firstChildren[node + 1] - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char label = labels[mid];
+
+            if (label < character) {
+                low = mid + 1;
+            } else if (label > character) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Creates a new immutable Aho-Corasick automaton from specific keywords.
+     *
+     * @param keywords
+     *         A collection, which contains the keywords, as an instance of the type {@link
+     *         Collection}. The collection may not be null. Null elements and empty keywords are
+     *         ignored
+     * @param flags
+     *         The flags, which should be used, as an {@link Integer} value. The value must be a
+     *         combination of the flags {@link #CASE_INSENSITIVE} and {@link #LEETSPEAK} or 0
+     */
+    public AhoCorasickAutomaton(@NonNull final Collection<? extends CharSequence> keywords,
+                                final int flags) {
+        ensureNotNull(keywords, "The keywords may not be null");
+
+        if ((flags & ~(CASE_INSENSITIVE | LEETSPEAK)) != 0) {
+            throw new IllegalArgumentException("Invalid flags: 0x" + Integer.toHexString(flags));
+        }
+
+        this.flags = flags;
+        List<String> normalizedKeywordList = new ArrayList<>(keywords.size());
+        int count = 0;
+
+        for (CharSequence keyword : keywords) {
+            normalizedKeywordList.add(keyword != null ? normalize(keyword, flags) : "");
+            count += keyword != null && keyword.length() > 0 ? 1 : 0;
+        }
+
+        this.keywordCount = count;
+
+        final String[] normalizedKeywords =
+                normalizedKeywordList.toArray(new String[normalizedKeywordList.size()]);
+        Integer[] order = new Integer[normalizedKeywords.length];
+
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+
+        Arrays.sort(order, new Comparator<Integer>() {
+
+            @Override
+            public int compare(final Integer o1, final Integer o2) {
+                int result = normalizedKeywords[o1].compareTo(normalizedKeywords[o2]);
+                return result != 0 ? result : o1.compareTo(o2);
+            }
+
+        });
+
+        int capacity = 16;
+        char[] nodeLabels = new char[capacity];
+        int[] nodeFirstChildren = new int[capacity + 1];
+        int[] parents = new int[capacity];
+        int[] depths = new int[capacity];
+        int[] rangeStarts = new int[capacity];
+        int[] rangeEnds = new int[capacity];
+        int[] terminals = new int[capacity];
+        rangeEnds[0] = order.length;
+        terminals[0] = -1;
+        int nodeCount = 1;
+
+        for (int node = 0; node < nodeCount; node++) {
+            int depth = depths[node];
+            int i = rangeStarts[node];
+            nodeFirstChildren[node] = nodeCount;
+
+            while (i < rangeEnds[node] && normalizedKeywords[order[i]].length() == depth) {
+                if (depth > 0 && terminals[node] == -1) {
+                    terminals[node] = order[i];
+                }
+
+                i++;
+            }
+
+            while (i < rangeEnds[node]) {
+                char character = normalizedKeywords[order[i]].charAt(depth);
+                int start = i;
+
+                while (i < rangeEnds[node] &&
+                        normalizedKeywords[order[i]].charAt(depth) == character) {
+                    i++;
+                }
+
+                if (nodeCount == capacity) {
+                    capacity *= 2;
+                    nodeLabels = Arrays.copyOf(nodeLabels, capacity);
+                    nodeFirstChildren = Arrays.copyOf(nodeFirstChildren, capacity + 1);
+                    parents = Arrays.copyOf(parents, capacity);
+                    depths = Arrays.copyOf(depths, capacity);
+                    rangeStarts = Arrays.copyOf(rangeStarts, capacity);
+                    rangeEnds = Arrays.copyOf(rangeEnds, capacity);
+                    terminals = Arrays.copyOf(terminals, capacity);
+                }
+
+                nodeLabels[nodeCount] = character;
+                parents[nodeCount] = node;
+                depths[nodeCount] = depth + 1;
+                rangeStarts[nodeCount] = start;
+                rangeEnds[nodeCount] = i;
+                terminals[nodeCount] = -1;
+                nodeCount++;
+            }
+        }
+
+        nodeFirstChildren[nodeCount] = nodeCount;
+        this.labels = Arrays.copyOf(nodeLabels, nodeCount);
+        this.firstChildren = Arrays.copyOf(nodeFirstChildren, nodeCount + 1);
+        this.rootChildren = new int[ASCII_CHARACTERS];
+
+        for (int child = firstChildren[0]; child < firstChildren[1]; child++) {
+            if (labels[child] < ASCII_CHARACTERS) {
+                rootChildren[labels[child]] = child;
+            }
+        }
+
+        this.failures = new int[nodeCount];
+        this.outputs = new int[nodeCount];
+        outputs[0] = -1;
+
+        for (int node = 1; node < nodeCount; node++) {
+            int parent = parents[node];
+            int failure = 0;
+
+            if (parent != 0) {
+                int candidate = failures[parent];
+
+                while (true) {
+                    int child = getChild(candidate, labels[node]);
+
+                    if (child != -1) {
+                        failure = child;
+                        break;
+                    } else if (candidate == 0) {
+                        break;
+                    }
+
+                    candidate = failures[candidate];
+                }
+            }
+
+            failures[node] = failure;
+            outputs[node] = terminals[node] != -1 ? terminals[node] : outputs[failure];
+        }
+    }
+
+    /**
+     * Reads keywords from a specific stream and builds an Aho-Corasick automaton from them. The
+     * stream must contain one keyword per line in UTF-8 encoding. Empty lines and lines, which
+     * start with <code>#</code>, are ignored. The stream is closed afterwards.
+     *
+     * @param stream
+     *         The stream, the keywords should be read from, as an instance of the class {@link
+     *         InputStream}. The stream may not be null
+     * @param flags
+     *         The flags, which should be used, as an {@link Integer} value. The value must be a
+     *         combination of the flags {@link #CASE_INSENSITIVE} and {@link #LEETSPEAK} or 0
+     * @return The automaton, which has been built, as an instance of the class {@link
+     * AhoCorasickAutomaton}. The automaton may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if the stream could not be read
+     */
+    @NonNull
+    public static AhoCorasickAutomaton read(@NonNull final InputStream stream, final int flags)
+            throws IOException {
+        ensureNotNull(stream, "The stream may not be null");
+        BufferedReader reader = new BufferedReader(new InputStreamReader(stream, "UTF-8"));
+
+        try {
+            List<String> keywords = new ArrayList<>();
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                String keyword = line.trim();
+
+                if (!keyword.isEmpty() && keyword.charAt(0) != '#') {
+                    keywords.add(keyword);
+                }
+            }
+
+            return new AhoCorasickAutomaton(keywords, flags);
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Reads keywords from a specific asset and builds an Aho-Corasick automaton from them. See
+     * {@link #read(InputStream, int)} for the format of the asset.
+     *
+     * @param context
+     *         The context, which should be used to open the asset, as an instance of the class
+     *         {@link Context}. The context may not be null
+     * @param assetName
+     *         The name of the asset as a {@link String}. The name may not be null
+     * @param flags
+     *         The flags, which should be used, as an {@link Integer} value. The value must be a
+     *         combination of the flags {@link #CASE_INSENSITIVE} and {@link #LEETSPEAK} or 0
+     * @return The automaton, which has been built, as an instance of the class {@link
+     * AhoCorasickAutomaton}. The automaton may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if the asset could not be read
+     */
+    @NonNull
+    public static AhoCorasickAutomaton fromAsset(@NonNull final Context context,
+                                                 @NonNull final String assetName,
+                                                 final int flags) throws IOException {
+        ensureNotNull(context, "The context may not be null");
+        ensureNotNull(assetName, "The asset name may not be null");
+        return read(context.getAssets().open(assetName), flags);
+    }
+
+    /**
+     * Returns the flags, the automaton has been built with.
+     *
+     * @return The flags, the automaton has been built with, as an {@link Integer} value
+     */
+    public int getFlags() {
+        return flags;
+    }
+
+    /**
+     * Returns the number of keywords, the automaton has been built from, excluding null elements
+     * and empty keywords.
+     *
+     * @return The number of keywords as an {@link Integer} value
+     */
+    public int getKeywordCount() {
+        return keywordCount;
+    }
+
+    /**
+     * Returns the number of nodes of the automaton.
+     *
+     * @return The number of nodes as an {@link Integer} value
+     */
+    public int getNodeCount() {
+        return labels.length;
+    }
+
+    /**
+     * Returns an estimate of the number of bytes, the automaton occupies on the heap.
+     *
+     * @return The estimated number of bytes as a {@link Long} value
+     */
+    public long getMemoryFootprint() {
+        return 5 * ARRAY_HEADER_SIZE + 2L * labels.length +
+                4L * (firstChildren.length + failures.length + outputs.length +
+                        rootChildren.length);
+    }
+
+    /**
+     * Returns the index of the keyword, which is found first, when scanning a specific text from
+     * left to right. If multiple keywords end at the same position, any of them may be returned.
+     *
+     * @param text
+     *         The text as an instance of the type {@link CharSequence}. The text may not be null
+     * @return The index of the keyword, which is found first, in the collection, the automaton
+     * has been built from, as an {@link Integer} value or -1, if the text does not contain any
+     * keyword
+     */
+    public int findFirst(@NonNull final CharSequence text) {
+        ensureNotNull(text, "The text may not be null");
+        int node = 0;
+        int length = text.length();
+
+        for (int i = 0; i < length; i++) {
+            char character = normalize(text.charAt(i), flags);
+            int child = getChild(node, character);
+
+            while (child == -1 && node != 0) {
+                node = failures[node];
+                child = getChild(node, character);
+            }
+
+            node = child != -1 ? child : 0;
+
+            if (outputs[node] != -1) {
+                return outputs[node];
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns, whether a specific text contains any of the keywords, or not.
+     *
+     * @param text
+     *         The text as an instance of the type {@link CharSequence}. The text may not be null
+     * @return True, if the given text contains any of the keywords, false otherwise
+     */
+    public boolean containsAny(@NonNull final CharSequence text) {
+        return findFirst(text) != -1;
+    }
+
+    @Override
+    public String toString() {
+        return "AhoCorasickAutomaton{keywords=" + keywordCount + ", nodes=" + labels.length +
+                ", flags=" + flags + "}";
+    }
+
+}
@@ -0,0 +1,656 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.datastructure;
+
+import android.support.annotation.NonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static de.mrapp.android.util.Condition.ensureAtLeast;
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * An immutable set of strings, which is stored in a compact binary format and allows to check
+ * whether it contains a specific text without converting the text to a {@link String}. The
+ * strings are encoded in UTF-8, sorted and divided into buckets of a fixed size. The first string
+ * of each bucket is stored as a whole, while the remaining strings only store the suffix, which
+ * differs from their predecessor (front coding). A lookup uses binary search among the first
+ * strings of the buckets and scans a single bucket afterwards.
+ *
+ * As the set is backed by a {@link ByteBuffer}, it can be memory-mapped from a file or an
+ * uncompressed asset, in which case it hardly occupies any heap memory. A set can be created by
+ * using the method {@link #build(Collection)} and stored by using the method {@link
+ * #writeTo(OutputStream)}. The binary format starts with a header, which consists of the magic
+ * number {@link #MAGIC}, the version {@link #FORMAT_VERSION}, the number of strings, the size of
+ * the buckets, the number of buckets and the offsets of the buckets. A set can be used by
+ * multiple threads at once.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public final class FrontCodedStringSet {
+
+    /**
+     * The magic number, the binary format starts with.
+     */
+    public static final int MAGIC = 0x46435353;
+
+    /**
+     * The version of the binary format.
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    /**
+     * The number of strings per bucket, which is used by default.
+     */
+    public static final int DEFAULT_BUCKET_SIZE = 16;
+
+    /**
+     * The size of the header in bytes, excluding the offsets of the buckets.
+     */
+    private static final int HEADER_SIZE = 20;
+
+    /**
+     * A buffer, which is used by each thread to encode the texts, which are looked up, in UTF-8.
+     */
+    private static final ThreadLocal<byte[]> KEY_BUFFER = new ThreadLocal<byte[]>() {
+
+        @Override
+        protected byte[] initialValue() {
+            return new byte[64];
+        }
+
+    };
+
+    /**
+     * The buffer, which contains the set in its binary format.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * The number of strings, which are contained by the set.
+     */
+    private final int size;
+
+    /**
+     * The number of strings per bucket.
+     */
+    private final int bucketSize;
+
+    /**
+     * The number of buckets.
+     */
+    private final int bucketCount;
+
+    /**
+     * Encodes a specific text in UTF-8. Unpaired surrogates are encoded as <code>?</code>, like
+     * {@link String#getBytes(String)} does.
+     *
+     * @param text
+     *         The text, which should be encoded, as an instance of the type {@link CharSequence}.
+     *         The text may not be null
+     * @param target
+     *         The array, the encoded text should be written to, as a {@link Byte} array. The array
+     *         must be able to hold at least three bytes per character
+     * @return The number of bytes, which have been written, as an {@link Integer} value
+     */
+    private static int encode(@NonNull final CharSequence text, @NonNull final byte[] target) {
+        int length = text.length();
+        int position = 0;
+
+        for (int i = 0; i < length; i++) {
+            char character = text.charAt(i);
+
+            if (character < 0x80) {
+                target[position++] = (byte) character;
+            } else if (character < 0x800) {
+                target[position++] = (byte) (0xC0 | (character >> 6));
+                target[position++] = (byte) (0x80 | (character & 0x3F));
+            } else if (Character.isSurrogate(character)) {
+                char low = i + 1 < length ? text.charAt(i + 1) : 0;
+
+                if (Character.isHighSurrogate(character) && Character.isLowSurrogate(low)) {
+                    int codePoint = Character.toCodePoint(character, low);
+                    target[position++] = (byte) (0xF0 | (codePoint >> 18));
+                    target[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    target[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    target[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                    i++;
+                } else {
+                    target[position++] = '?';
+                }
+            } else {
+                target[position++] = (byte) (0xE0 | (character >> 12));
+                target[position++] = (byte) (0x80 | ((character >> 6) & 0x3F));
+                target[position++] = (byte) (0x80 | (character & 0x3F));
+            }
+        }
+
+        return position;
+    }
+
+    /**
+     * Writes a specific value as a variable-length integer, which uses 7 bits per byte.
+     *
+     * @param stream
+     *         The stream, the value should be written to, as an instance of the class {@link
+     *         ByteArrayOutputStream}. The stream may not be null
+     * @param value
+     *         The value, which should be written, as an {@link Integer} value. The value must be
+     *         at least 0
+     */
+    private static void writeVarint(@NonNull final ByteArrayOutputStream stream, final int value) {
+        int remainder = value;
+
+        while ((remainder & ~0x7F) != 0) {
+            stream.write((remainder & 0x7F) | 0x80);
+            remainder >>>= 7;
+        }
+
+        stream.write(remainder);
+    }
+
+    /**
+     * Reads a variable-length integer, which uses 7 bits per byte, at a specific position.
+     *
+     * @param position
+     *         The position, the integer should be read at, as an {@link Integer} value
+     * @return A {@link Long} value, whose upper 32 bits contain the integer, which has been read,
+     * and whose lower 32 bits contain the position after the integer
+     * @throws IllegalStateException
+     *         If the integer exceeds the buffer or is not a valid length
+     */
+    private long readVarint(final int position) {
+        int current = position;
+        int value = 0;
+        int shift = 0;
+        byte b;
+
+        do {
+            if (current >= buffer.capacity() || shift > 28) {
+                throw new IllegalStateException(
+                        "Corrupt front-coded string set: Invalid length at offset " + position);
+            }
+
+            b = buffer.get(current++);
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+
+        if (value < 0) {
+            throw new IllegalStateException(
+                    "Corrupt front-coded string set: Invalid length at offset " + position);
+        }
+
+        return ((long) value << 32) | current;
+    }
+
+    /**
+     * Ensures, that a string of a specific length, which is stored at a specific position, does
+     * not exceed the buffer.
+     *
+     * @param position
+     *         The position of the string as an {@link Integer} value
+     * @param length
+     *         The length of the string in bytes as an {@link Integer} value
+     * @throws IllegalStateException
+     *         If the string exceeds the buffer
+     */
+    private void ensureInBuffer(final int position, final int length) {
+        if ((long) position + length > buffer.capacity()) {
+            throw new IllegalStateException(
+                    "Corrupt front-coded string set: String at offset " + position +
+                            " exceeds the buffer");
+        }
+    }
+
+    /**
+     * Returns the number of leading bytes, a specific key and the bytes at a specific position
+     * have in common.
+     *
+     * @param key
+     *         The key as a {@link Byte} array. The array may not be null
+     * @param keyOffset
+     *         The offset of the first byte of the key, which should be compared, as an {@link
+     *         Integer} value
+     * @param keyLength
+     *         The length of the key as an {@link Integer} value
+     * @param position
+     *         The position of the bytes, the key should be compared to, as an {@link Integer}
+     *         value
+     * @param length
+     *         The number of bytes, the key should be compared to, as an {@link Integer} value
+     * @return The number of leading bytes, which are equal, as an {@link Integer} value
+     */
+    private int commonPrefixLength(@NonNull final byte[] key, final int keyOffset,
+                                   final int keyLength, final int position, final int length) {
+        int maxLength = Math.min(keyLength - keyOffset, length);
+        int i = 0;
+
+        while (i < maxLength && key[keyOffset + i] == buffer.get(position + i)) {
+            i++;
+        }
+
+        return i;
+    }
+
+    /**
+     * Compares a specific key to the first string of a specific bucket.
+     *
+     * @param key
+     *         The key as a {@link Byte} array. The array may not be null
+     * @param keyLength
+     *         The length of the key as an {@link Integer} value
+     * @param bucket
+     *         The index of the bucket as an {@link Integer} value
+     * @return A negative value, if the key is less than the string, 0, if both are equal, or a
+     * positive value, if the key is greater than the string
+     */
+    private int compareToBucket(@NonNull final byte[] key, final int keyLength,
+                                final int bucket) {
+        long varint = readVarint(getBucketOffset(bucket));
+        int length = (int) (varint >>> 32);
+        int position = (int) varint;
+        ensureInBuffer(position, length);
+        int common = commonPrefixLength(key, 0, keyLength, position, length);
+
+        if (common < keyLength && common < length) {
+            return (key[common] & 0xFF) - (buffer.get(position + common) & 0xFF);
+        }
+
+        return keyLength - length;
+    }
+
+    /**
+     * Returns the offset of a specific bucket.
+     *
+     * @param bucket
+     *         The index of the bucket as an {@link Integer} value
+     * @return The offset of the bucket as an {@link Integer} value
+     */
+    private int getBucketOffset(final int bucket) {
+        return buffer.getInt(HEADER_SIZE + 4 * bucket);
+    }
+
+    /**
+     * Returns, whether a specific bucket contains a specific key, or not.
+     *
+     * @param key
+     *         The key as a {@link Byte} array. The array may not be null
+     * @param keyLength
+     *         The length of the key as an {@link Integer} value
+     * @param bucket
+     *         The index of the bucket as an {@link Integer} value. The first string of the bucket
+     *         must not be greater than the key
+     * @return True, if the bucket contains the key, false otherwise
+     */
+    private boolean bucketContains(@NonNull final byte[] key, final int keyLength,
+                                   final int bucket) {
+        long varint = readVarint(getBucketOffset(bucket));
+        int length = (int) (varint >>> 32);
+        int position = (int) varint;
+        ensureInBuffer(position, length);
+        int matched = commonPrefixLength(key, 0, keyLength, position, length);
+
+        if (matched == length && matched == keyLength) {
+            return true;
+        }
+
+        position += length;
+        int strings = Math.min(bucketSize, size - bucket * bucketSize);
+
+        for (int i = 1; i < strings; i++) {
+            varint = readVarint(position);
+            int prefixLength = (int) (varint >>> 32);
+            varint = readVarint((int) varint);
+            int suffixLength = (int) (varint >>> 32);
+            position = (int) varint;
+            ensureInBuffer(position, suffixLength);
+
+            if (prefixLength < matched) {
+                return false;
+            } else if (prefixLength == matched) {
+                int common = commonPrefixLength(key, matched, keyLength, position, suffixLength);
+                matched += common;
+
+                if (common == suffixLength && matched == keyLength) {
+                    return true;
+                } else if (common < suffixLength && (matched == keyLength ||
+                        (buffer.get(position + common) & 0xFF) > (key[matched] & 0xFF))) {
+                    return false;
+                }
+            }
+
+            position += suffixLength;
+        }
+
+        return false;
+    }
+
+    /**
+     * Creates a new set of strings, which is backed by a specific buffer.
+     *
+     * @param buffer
+     *         The buffer, which contains the set in its binary format, as an instance of the class
+     *         {@link ByteBuffer}. The buffer may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if the buffer does not contain a valid set
+     */
+    private FrontCodedStringSet(@NonNull final ByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a front-coded string set");
+        } else if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Unsupported format version: " + buffer.getInt(4));
+        }
+
+        this.buffer = buffer;
+        this.size = buffer.getInt(8);
+        this.bucketSize = buffer.getInt(12);
+        this.bucketCount = buffer.getInt(16);
+
+        if (size < 0 || bucketSize < 1 || bucketCount != (size + bucketSize - 1) / bucketSize ||
+                HEADER_SIZE + 4L * bucketCount > buffer.capacity()) {
+            throw new IOException("Corrupt front-coded string set");
+        }
+
+        for (int i = 0; i < bucketCount; i++) {
+            int offset = getBucketOffset(i);
+
+            if (offset < HEADER_SIZE + 4 * bucketCount || offset >= buffer.capacity()) {
+                throw new IOException("Corrupt front-coded string set");
+            }
+        }
+    }
+
+    /**
+     * Creates a new set, which contains specific strings, by using the default bucket size {@link
+     * #DEFAULT_BUCKET_SIZE}.
+     *
+     * @param strings
+     *         A collection, which contains the strings, as an instance of the type {@link
+     *         Collection}. The collection may not be null. Null elements and duplicates are
+     *         ignored
+     * @return The set, which has been created, as an instance of the class {@link
+     * FrontCodedStringSet}. The set may not be null
+     */
+    @NonNull
+    public static FrontCodedStringSet build(
+            @NonNull final Collection<? extends CharSequence> strings) {
+        return build(strings, DEFAULT_BUCKET_SIZE);
+    }
+
+    /**
+     * Creates a new set, which contains specific strings, by using a specific bucket size. Larger
+     * buckets result in a smaller set, but increase the number of strings, which must be scanned
+     * per lookup.
+     *
+     * @param strings
+     *         A collection, which contains the strings, as an instance of the type {@link
+     *         Collection}. The collection may not be null. Null elements and duplicates are
+     *         ignored
+     * @param bucketSize
+     *         The number of strings per bucket as an {@link Integer} value. The number must be at
+     *         least 1
+     * @return The set, which has been created, as an instance of the class {@link
+     * FrontCodedStringSet}. The set may not be null
+     */
+    @NonNull
+    public static FrontCodedStringSet build(
+            @NonNull final Collection<? extends CharSequence> strings, final int bucketSize) {
+        ensureNotNull(strings, "The strings may not be null");
+        ensureAtLeast(bucketSize, 1, "The bucket size must be at least 1");
+        List<byte[]> encodedStrings = new ArrayList<>(strings.size());
+
+        for (CharSequence string : strings) {
+            if (string != null) {
+                byte[] encodedString = new byte[3 * string.length()];
+                int length = encode(string, encodedString);
+                byte[] trimmedString = new byte[length];
+                System.arraycopy(encodedString, 0, trimmedString, 0, length);
+                encodedStrings.add(trimmedString);
+            }
+        }
+
+        Collections.sort(encodedStrings, new Comparator<byte[]>() {
+
+            @Override
+            public int compare(final byte[] o1, final byte[] o2) {
+                int length = Math.min(o1.length, o2.length);
+
+                for (int i = 0; i < length; i++) {
+                    int result = (o1[i] & 0xFF) - (o2[i] & 0xFF);
+
+                    if (result != 0) {
+                        return result;
+                    }
+                }
+
+                return o1.length - o2.length;
+            }
+
+        });
+
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        List<Integer> offsets = new ArrayList<>();
+        byte[] previous = null;
+        int size = 0;
+
+        for (byte[] string : encodedStrings) {
+            if (Arrays.equals(previous, string)) {
+                continue;
+            }
+
+            if (size % bucketSize == 0) {
+                offsets.add(data.size());
+                writeVarint(data, string.length);
+                data.write(string, 0, string.length);
+            } else {
+                int prefixLength = 0;
+                int maxLength = Math.min(previous.length, string.length);
+
+                while (prefixLength < maxLength && previous[prefixLength] == string[prefixLength]) {
+                    prefixLength++;
+                }
+
+                writeVarint(data, prefixLength);
+                writeVarint(data, string.length - prefixLength);
+                data.write(string, prefixLength, string.length - prefixLength);
+            }
+
+            previous = string;
+            size++;
+        }
+
+        int dataOffset = HEADER_SIZE + 4 * offsets.size();
+        ByteBuffer buffer = ByteBuffer.allocate(dataOffset + data.size());
+        buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(size).putInt(bucketSize)
+                .putInt(offsets.size());
+
+        for (int offset : offsets) {
+            buffer.putInt(dataOffset + offset);
+        }
+
+        buffer.put(data.toByteArray());
+
+        try {
+            return new FrontCodedStringSet(buffer);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Creates a new set, which is backed by a specific buffer. The buffer is not copied and must
+     * not be modified afterwards.
+     *
+     * @param buffer
+     *         The buffer, which contains the set in its binary format, as an instance of the class
+     *         {@link ByteBuffer}. The buffer may not be null
+     * @return The set, which has been created, as an instance of the class {@link
+     * FrontCodedStringSet}. The set may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if the buffer does not contain a valid set
+     */
+    @NonNull
+    public static FrontCodedStringSet wrap(@NonNull final ByteBuffer buffer) throws IOException {
+        ensureNotNull(buffer, "The buffer may not be null");
+        return new FrontCodedStringSet(buffer.slice());
+    }
+
+    /**
+     * Creates a new set by memory-mapping a specific file, which contains the set in its binary
+     * format.
+     *
+     * @param file
+     *         The file as an instance of the class {@link File}. The file may not be null
+     * @return The set, which has been created, as an instance of the class {@link
+     * FrontCodedStringSet}. The set may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if the file could not be read or does not contain a
+     *         valid set
+     */
+    @NonNull
+    public static FrontCodedStringSet map(@NonNull final File file) throws IOException {
+        ensureNotNull(file, "The file may not be null");
+        FileInputStream stream = new FileInputStream(file);
+
+        try {
+            FileChannel channel = stream.getChannel();
+            return new FrontCodedStringSet(
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } finally {
+            stream.close();
+        }
+    }
+
+    /**
+     * Writes the set in its binary format to a specific stream. The stream is not closed.
+     *
+     * @param stream
+     *         The stream, the set should be written to, as an instance of the class {@link
+     *         OutputStream}. The stream may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if the set could not be written
+     */
+    public void writeTo(@NonNull final OutputStream stream) throws IOException {
+        ensureNotNull(stream, "The stream may not be null");
+        ByteBuffer source = buffer.duplicate();
+        source.clear();
+        byte[] chunk = new byte[Math.min(8192, source.remaining())];
+
+        while (source.hasRemaining()) {
+            int length = Math.min(chunk.length, source.remaining());
+            source.get(chunk, 0, length);
+            stream.write(chunk, 0, length);
+        }
+    }
+
+    /**
+     * Returns, whether the set contains a specific text, or not. The text is not converted to a
+     * {@link String} and no objects are allocated, except for a buffer per thread, which is
+     * reused.
+     *
+     * @param text
+     *         The text as an instance of the type {@link CharSequence}. The text may not be null
+     * @return True, if the set contains the given text, false otherwise
+     * @throws IllegalStateException
+     *         If the set's binary format turns out to be corrupt
+     */
+    public boolean contains(@NonNull final CharSequence text) {
+        ensureNotNull(text, "The text may not be null");
+
+        if (size == 0) {
+            return false;
+        }
+
+        byte[] key = KEY_BUFFER.get();
+
+        if (key.length < 3 * text.length()) {
+            key = new byte[Math.max(3 * text.length(), 2 * key.length)];
+            KEY_BUFFER.set(key);
+        }
+
+        int keyLength = encode(text, key);
+        int low = 0;
+        int high = bucketCount - 1;
+
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+
+            if (compareToBucket(key, keyLength, mid) < 0) {
+                high = mid - 1;
+            } else {
+                low = mid;
+            }
+        }
+
+        return compareToBucket(key, keyLength, low) >= 0 && bucketContains(key, keyLength, low);
+    }
+
+    /**
+     * Returns the number of strings, which are contained by the set.
+     *
+     * @return The number of strings, which are contained by the set, as an {@link Integer} value
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the size of the set's binary format in bytes.
+     *
+     * @return The size of the set's binary format in bytes as an {@link Integer} value
+     */
+    public int getByteSize() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Returns, whether the set is backed by memory, which is not part of the heap, e.g. because it
+     * is memory-mapped from a file, or not.
+     *
+     * @return True, if the set is not stored on the heap, false otherwise
+     */
+    public boolean isDirect() {
+        return buffer.isDirect();
+    }
+
+    /**
+     * Returns an estimate of the number of bytes, the set occupies on the heap.
+     *
+     * @return The estimated number of bytes as a {@link Long} value
+     */
+    public long getMemoryFootprint() {
+        return buffer.isDirect() ? 0 : buffer.capacity();
+    }
+
+    @Override
+    public String toString() {
+        return "FrontCodedStringSet{size=" + size + ", bucketSize=" + bucketSize + ", bytes=" +
+                buffer.capacity() + ", direct=" + buffer.isDirect() + "}";
+    }
+
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.datastructure;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * An immutable index, which allows to look up the positions of labels, which contain a word
+ * starting with a specific prefix. The labels are normalized by removing diacritics and by
+ * converting them to lower case. For each word of a label, a key, which consists of the position
+ * of the label and the offset of the word, is stored in an array, which is sorted by the remainder
+ * of the label, starting at the word. As the normalized labels are stored only once, the memory,
+ * which is required by the keys, is linear in the length of the labels. A lookup requires a binary
+ * search and a linear scan over the matching keys only, regardless of the number of labels.
+ *
+ * As building the index requires to sort all keys, it should not be built on the UI thread for a
+ * large number of labels. Once built, the index can be used by multiple threads at once.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public final class PrefixIndex {
+
+    /**
+     * The normalized labels, the index has been built from. Labels, which are null, are not
+     * indexed and are represented by null values.
+     */
+    private final String[] labels;
+
+    /**
+     * The positions of the labels, the keys at the same index belong to, sorted by the keys.
+     */
+    private final int[] positions;
+
+    /**
+     * The offsets of the words within the labels, the keys at the same index belong to, sorted by
+     * the keys.
+     */
+    private final int[] offsets;
+
+    /**
+     * The number of labels, the index has been built from.
+     */
+    private final int size;
+
+    /**
+     * Returns, whether a specific character is part of a word or not.
+     *
+     * @param character
+     *         The character as a {@link Character} value
+     * @return True, if the character is part of a word, false otherwise
+     */
+    private static boolean isWordCharacter(final char character) {
+        return Character.isLetterOrDigit(character);
+    }
+
+    /**
+     * Compares the remainders of two texts, starting at specific offsets, lexicographically.
+     *
+     * @param text1
+     *         The first text as a {@link String}. The text may not be null
+     * @param offset1
+     *         The offset of the remainder of the first text as an {@link Integer} value
+     * @param text2
+     *         The second text as a {@link String}. The text may not be null
+     * @param offset2
+     *         The offset of the remainder of the second text as an {@link Integer} value
+     * @return A negative value, zero or a positive value, if the first remainder is less than,
+     * equal to or greater than the second one, as an {@link Integer} value
+     */
+    private static int compare(@NonNull final String text1, final int offset1,
+                               @NonNull final String text2, final int offset2) {
+        int length1 = text1.length() - offset1;
+        int length2 = text2.length() - offset2;
+        int length = Math.min(length1, length2);
+
+        for (int i = 0; i < length; i++) {
+            char character1 = text1.charAt(offset1 + i);
+            char character2 = text2.charAt(offset2 + i);
+
+            if (character1 != character2) {
+                return character1 - character2;
+            }
+        }
+
+        return length1 - length2;
+    }
+
+    /**
+     * Returns the index of the first key, which is greater than or equal to a specific prefix.
+     *
+     * @param prefix
+     *         The prefix as a {@link String}. The prefix may not be null
+     * @return The index of the first key, which is greater than or equal to the given prefix, as an
+     * {@link Integer} value
+     */
+    private int lowerBound(@NonNull final String prefix) {
+        int low = 0;
+        int high = offsets.length;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+
+            if (compare(labels[positions[mid]], offsets[mid], prefix, 0) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Creates a new immutable index from specific labels. The position of each label corresponds
+     * to its index in the given list.
+     *
+     * @param labels
+     *         A list, which contains the labels, the index should be built from, as an instance
+     *         of the type {@link List}. The list may not be null. Null elements are not indexed
+     */
+    public PrefixIndex(@NonNull final List<? extends CharSequence> labels) {
+        ensureNotNull(labels, "The labels may not be null");
+        final String[] normalizedLabels = new String[labels.size()];
+        List<Integer> positionList = new ArrayList<>();
+        List<Integer> offsetList = new ArrayList<>();
+
+        for (int i = 0; i < labels.size(); i++) {
+            CharSequence label = labels.get(i);
+
+            if (label != null) {
+                String normalizedLabel = normalize(label);
+                normalizedLabels[i] = normalizedLabel;
+
+                for (int j = 0; j < normalizedLabel.length(); j++) {
+                    if (isWordCharacter(normalizedLabel.charAt(j)) &&
+                            (j == 0 || !isWordCharacter(normalizedLabel.charAt(j - 1)))) {
+                        positionList.add(i);
+                        offsetList.add(j);
+                    }
+                }
+            }
+        }
+
+        final Integer[] unsortedPositions = positionList.toArray(new Integer[positionList.size()]);
+        final Integer[] unsortedOffsets = offsetList.toArray(new Integer[offsetList.size()]);
+        Integer[] order = new Integer[unsortedPositions.length];
+
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+
+        Arrays.sort(order, new Comparator<Integer>() {
+
+            @Override
+            public int compare(final Integer o1, final Integer o2) {
+                return PrefixIndex.compare(normalizedLabels[unsortedPositions[o1]],
+                        unsortedOffsets[o1], normalizedLabels[unsortedPositions[o2]],
+                        unsortedOffsets[o2]);
+            }
+
+        });
+
+        this.labels = normalizedLabels;
+        this.positions = new int[order.length];
+        this.offsets = new int[order.length];
+        this.size = labels.size();
+
+        for (int i = 0; i < order.length; i++) {
+            this.positions[i] = unsortedPositions[order[i]];
+            this.offsets[i] = unsortedOffsets[order[i]];
+        }
+    }
+
+    /**
+     * Normalizes a specific text by converting it to lower case and by removing diacritics.
+     *
+     * @param text
+     *         The text, which should be normalized, as an instance of the type {@link
+     *         CharSequence}. The text may not be null
+     * @return The normalized text as a {@link String}. The text may not be null
+     */
+    @NonNull
+    public static String normalize(@NonNull final CharSequence text) {
+        ensureNotNull(text, "The text may not be null");
+        String decomposedText =
+                Normalizer.normalize(text.toString().toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        StringBuilder result = new StringBuilder(decomposedText.length());
+
+        for (int i = 0; i < decomposedText.length(); i++) {
+            char character = decomposedText.charAt(i);
+
+            if (Character.getType(character) != Character.NON_SPACING_MARK) {
+                result.append(character);
+            }
+        }
+
+        return result.toString();
+    }
+
+    /**
+     * Returns the number of labels, the index has been built from.
+     *
+     * @return The number of labels, the index has been built from, as an {@link Integer} value
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the positions of all labels, which contain a word starting with a specific prefix.
+     * If the prefix consists of multiple words, the words must occur in the same order.
+     *
+     * @param prefix
+     *         The prefix as an instance of the type {@link CharSequence}. The prefix may not be
+     *         null
+     * @return An array, which contains the positions of all matching labels in ascending order, as
+     * an {@link Integer} array or null, if the prefix does not contain any word and therefore
+     * matches all labels
+     */
+    @Nullable
+    public int[] search(@NonNull final CharSequence prefix) {
+        String normalizedPrefix = normalize(prefix);
+        int start = 0;
+
+        while (start < normalizedPrefix.length() &&
+                !isWordCharacter(normalizedPrefix.charAt(start))) {
+            start++;
+        }
+
+        if (start == normalizedPrefix.length()) {
+            return null;
+        }
+
+        normalizedPrefix = normalizedPrefix.substring(start);
+        int first = lowerBound(normalizedPrefix);
+        int last = first;
+
+        while (last < offsets.length &&
+                labels[positions[last]].startsWith(normalizedPrefix, offsets[last])) {
+            last++;
+        }
+
+        int[] result = Arrays.copyOfRange(positions, first, last);
+        Arrays.sort(result);
+        int count = 0;
+
+        for (int i = 0; i < result.length; i++) {
+            if (i == 0 || result[i] != result[i - 1]) {
+                result[count++] = result[i];
+            }
+        }
+
+        return count < result.length ? Arrays.copyOf(result, count) : result;
+    }
+
+}
@@ -0,0 +1,702 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.datastructure;
+
+import android.support.annotation.NonNull;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * An immutable trie, which contains the rules of the Public Suffix List (see
+ * <a href="https://publicsuffix.org">publicsuffix.org</a>) and allows to determine the public
+ * suffix and the registrable domain of domain names. The labels of the rules are stored in
+ * reverse order, so that a domain name can be looked up by walking its labels from right to left
+ * in a single pass without splitting it.
+ *
+ * The trie is stored in a compact binary format, which is backed by a {@link ByteBuffer} and can
+ * therefore be written to a file and memory-mapped afterwards. Each node consists of its flags,
+ * the number of its children and a table, which contains the offsets of the children and their
+ * labels, sorted by the labels. The binary format starts with a header, which consists of the
+ * magic number {@link #MAGIC}, the version {@link #FORMAT_VERSION}, the number of rules and the
+ * offset of the root.
+ *
+ * The library contains the complete ICANN section of the Public Suffix List, i.e. all generic and
+ * country code top-level domains and the rules of their registries, precompiled into the binary
+ * format in the asset {@link #ASSET_NAME}, which is used by default by the class {@link
+ * de.mrapp.android.validation.validators.misc.RegistrableDomainNameValidator}. Top-level domains,
+ * which are not contained by a trie, are not accepted by default. Optionally, the implicit rule
+ * <code>*</code> of the Public Suffix List's algorithm can be applied to them, e.g. in order to
+ * accept top-level domains, which have been delegated after the list was compiled. A trie can be
+ * used by multiple threads at once.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public final class PublicSuffixTrie {
+
+    /**
+     * A node of a trie, which is being built.
+     */
+    private static final class Node {
+
+        /**
+         * The flags of the node.
+         */
+        private int flags;
+
+        /**
+         * The children of the node, mapped to their labels.
+         */
+        private final Map<String, Node> children = new TreeMap<>();
+
+    }
+
+    /**
+     * The magic number, the binary format starts with.
+     */
+    public static final int MAGIC = 0x50534c54;
+
+    /**
+     * The version of the binary format.
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    /**
+     * The name of the asset, which contains the trie, which is provided by the library, in its
+     * binary format.
+     */
+    public static final String ASSET_NAME = "public_suffix_list.bin";
+
+    /**
+     * The size of the header in bytes.
+     */
+    private static final int HEADER_SIZE = 16;
+
+    /**
+     * The flag of a node, which corresponds to a rule.
+     */
+    private static final int RULE = 1;
+
+    /**
+     * The flag of a node, whose children all correspond to a rule, because of a wildcard rule.
+     */
+    private static final int WILDCARD = 2;
+
+    /**
+     * The flag of a node, which corresponds to an exception rule.
+     */
+    private static final int EXCEPTION = 4;
+
+    /**
+     * The buffer, which contains the trie in its binary format.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * The number of rules, which are contained by the trie.
+     */
+    private final int ruleCount;
+
+    /**
+     * The offset of the root.
+     */
+    private final int root;
+
+    /**
+     * Converts a specific text to lower case character by character.
+     *
+     * @param text
+     *         The text, which should be converted, as a {@link String}. The text may not be null
+     * @return The converted text as a {@link String}. The text may not be null
+     */
+    @NonNull
+    private static String toLowerCase(@NonNull final String text) {
+        char[] characters = text.toCharArray();
+
+        for (int i = 0; i < characters.length; i++) {
+            characters[i] = Character.toLowerCase(characters[i]);
+        }
+
+        return new String(characters);
+    }
+
+    /**
+     * Adds a specific rule to a trie, which is being built.
+     *
+     * @param root
+     *         The root of the trie as an instance of the class {@link Node}. The root may not be
+     *         null
+     * @param rule
+     *         The rule, which should be added, as a {@link String}. The rule may not be null
+     */
+    private static void addRule(@NonNull final Node root, @NonNull final String rule) {
+        boolean exception = rule.startsWith("!");
+        String[] labels = toLowerCase(exception ? rule.substring(1) : rule).split("\\.", -1);
+        Node node = root;
+
+        for (int i = labels.length - 1; i >= 0; i--) {
+            if (i == 0 && !exception && labels[i].equals("*")) {
+                node.flags |= WILDCARD;
+                return;
+            }
+
+            Node child = node.children.get(labels[i]);
+
+            if (child == null) {
+                child = new Node();
+                node.children.put(labels[i], child);
+            }
+
+            node = child;
+        }
+
+        node.flags |= exception ? EXCEPTION : RULE;
+    }
+
+    /**
+     * Writes a specific node and its descendants in the binary format.
+     *
+     * @param stream
+     *         The stream, the node should be written to, as an instance of the class {@link
+     *         DataOutputStream}. The stream may not be null
+     * @param node
+     *         The node, which should be written, as an instance of the class {@link Node}. The
+     *         node may not be null
+     * @return The offset of the node as an {@link Integer} value
+     * @throws IOException
+     *         The exception, which is thrown, if the node could not be written
+     */
+    private static int writeNode(@NonNull final DataOutputStream stream, @NonNull final Node node)
+            throws IOException {
+        int[] childOffsets = new int[node.children.size()];
+        int[] labelOffsets = new int[childOffsets.length];
+        int i = 0;
+
+        for (Node child : node.children.values()) {
+            childOffsets[i++] = writeNode(stream, child);
+        }
+
+        i = 0;
+
+        for (String label : node.children.keySet()) {
+            labelOffsets[i++] = stream.size();
+            stream.writeChar(label.length());
+            stream.writeChars(label);
+        }
+
+        int offset = stream.size();
+        stream.writeByte(node.flags);
+        stream.writeInt(childOffsets.length);
+
+        for (i = 0; i < childOffsets.length; i++) {
+            stream.writeInt(labelOffsets[i]);
+            stream.writeInt(childOffsets[i]);
+        }
+
+        return offset;
+    }
+
+    /**
+     * Compares a specific label of a text to the label at a specific offset. The label of the
+     * text is converted to lower case character by character.
+     *
+     * @param text
+     *         The text as an instance of the type {@link CharSequence}. The text may not be null
+     * @param start
+     *         The index of the first character of the label as an {@link Integer} value
+     * @param end
+     *         The index after the last character of the label as an {@link Integer} value
+     * @param labelOffset
+     *         The offset of the label, the label of the text should be compared to, as an {@link
+     *         Integer} value
+     * @return A negative value, if the label of the text is less than the other label, 0, if both
+     * are equal, or a positive value, if the label of the text is greater than the other label
+     */
+    private int compareLabel(@NonNull final CharSequence text, final int start, final int end,
+                             final int labelOffset) {
+        int length = buffer.getChar(labelOffset);
+        int minLength = Math.min(end - start, length);
+
+        for (int i = 0; i < minLength; i++) {
+            int result = Character.toLowerCase(text.charAt(start + i)) -
+                    buffer.getChar(labelOffset + 2 + 2 * i);
+
+            if (result != 0) {
+                return result;
+            }
+        }
+
+        return end - start - length;
+    }
+
+    /**
+     * Returns the child of a specific node, whose label corresponds to a specific label of a text.
+     *
+     * @param node
+     *         The offset of the node as an {@link Integer} value
+     * @param text
+     *         The text as an instance of the type {@link CharSequence}. The text may not be null
+     * @param start
+     *         The index of the first character of the label as an {@link Integer} value
+     * @param end
+     *         The index after the last character of the label as an {@link Integer} value
+     * @return The offset of the child as an {@link Integer} value or -1, if the node does not have
+     * such a child
+     */
+    private int getChild(final int node, @NonNull final CharSequence text, final int start,
+                         final int end) {
+        int low = 0;
+        int high = buffer.getInt(node + 1) - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int entry = node + 5 + 8 * mid;
+            int result = compareLabel(text, start, end, buffer.getInt(entry));
+
+            if (result > 0) {
+                low = mid + 1;
+            } else if (result < 0) {
+                high = mid - 1;
+            } else {
+                return buffer.getInt(entry + 4);
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the flags of a specific node.
+     *
+     * @param node
+     *         The offset of the node as an {@link Integer} value
+     * @return The flags of the node as an {@link Integer} value
+     */
+    private int getFlags(final int node) {
+        return buffer.get(node);
+    }
+
+    /**
+     * Returns the index of the first character of the label, which ends at a specific index.
+     *
+     * @param text
+     *         The text as an instance of the type {@link CharSequence}. The text may not be null
+     * @param start
+     *         The index of the first character of the domain name as an {@link Integer} value
+     * @param end
+     *         The index after the last character of the label as an {@link Integer} value
+     * @return The index of the first character of the label as an {@link Integer} value
+     */
+    private static int getLabelStart(@NonNull final CharSequence text, final int start,
+                                     final int end) {
+        int i = end;
+
+        while (i > start && text.charAt(i - 1) != '.') {
+            i--;
+        }
+
+        return i;
+    }
+
+    /**
+     * Returns, whether a specific label only consists of digits, or not. Such a label cannot be a
+     * top-level domain, e.g. because it is part of an IP address, even if the implicit rule
+     * <code>*</code> is applied.
+     *
+     * @param text
+     *         The text, which contains the label, as an instance of the type {@link
+     *         CharSequence}. The text may not be null
+     * @param start
+     *         The index of the first character of the label as an {@link Integer} value
+     * @param end
+     *         The index after the last character of the label as an {@link Integer} value
+     * @return True, if the label only consists of digits, false otherwise
+     */
+    private static boolean isNumeric(@NonNull final CharSequence text, final int start,
+                                     final int end) {
+        for (int i = start; i < end; i++) {
+            char character = text.charAt(i);
+
+            if (character < '0' || character > '9') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Ensures, that a specific range is valid for a specific text.
+     *
+     * @param text
+     *         The text as an instance of the type {@link CharSequence}. The text may not be null
+     * @param start
+     *         The start of the range as an {@link Integer} value
+     * @param end
+     *         The end of the range as an {@link Integer} value
+     */
+    private static void ensureValidRange(@NonNull final CharSequence text, final int start,
+                                         final int end) {
+        ensureNotNull(text, "The text may not be null");
+
+        if (start < 0 || end > text.length() || start > end) {
+            throw new IndexOutOfBoundsException(
+                    "Invalid range [" + start + ", " + end + ") of text with length " +
+                            text.length());
+        }
+    }
+
+    /**
+     * Creates a new trie, which is backed by a specific buffer.
+     *
+     * @param buffer
+     *         The buffer, which contains the trie in its binary format, as an instance of the
+     *         class {@link ByteBuffer}. The buffer may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if the buffer does not contain a valid trie
+     */
+    private PublicSuffixTrie(@NonNull final ByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a public suffix trie");
+        } else if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Unsupported format version: " + buffer.getInt(4));
+        }
+
+        this.buffer = buffer;
+        this.ruleCount = buffer.getInt(8);
+        this.root = buffer.getInt(12);
+
+        if (root < HEADER_SIZE || root + 5L > buffer.capacity() ||
+                root + 5L + 8L * buffer.getInt(root + 1) > buffer.capacity()) {
+            throw new IOException("Corrupt public suffix trie");
+        }
+    }
+
+    /**
+     * Reads the rules of the Public Suffix List from a specific stream and builds a trie from
+     * them. The stream must be in the format of the file <code>public_suffix_list.dat</code>,
+     * i.e. it must contain one rule per line in UTF-8 encoding. Empty lines and lines, which start
+     * with <code>//</code>, are ignored. The stream is closed afterwards.
+     *
+     * @param stream
+     *         The stream, the rules should be read from, as an instance of the class {@link
+     *         InputStream}. The stream may not be null
+     * @return The trie, which has been built, as an instance of the class {@link
+     * PublicSuffixTrie}. The trie may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if the stream could not be read
+     */
+    @NonNull
+    public static PublicSuffixTrie read(@NonNull final InputStream stream) throws IOException {
+        ensureNotNull(stream, "The stream may not be null");
+        BufferedReader reader = new BufferedReader(new InputStreamReader(stream, "UTF-8"));
+
+        try {
+            Node rootNode = new Node();
+            int count = 0;
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                String rule = line.trim();
+
+                if (!rule.isEmpty() && !rule.startsWith("//")) {
+                    addRule(rootNode, rule.split("\\s", 2)[0]);
+                    count++;
+                }
+            }
+
+            ByteArrayOutputStream data = new ByteArrayOutputStream();
+            DataOutputStream dataStream = new DataOutputStream(data);
+            dataStream.writeInt(MAGIC);
+            dataStream.writeInt(FORMAT_VERSION);
+            dataStream.writeInt(count);
+            dataStream.writeInt(0);
+            int rootOffset = writeNode(dataStream, rootNode);
+            dataStream.close();
+            ByteBuffer buffer = ByteBuffer.wrap(data.toByteArray());
+            buffer.putInt(12, rootOffset);
+            return new PublicSuffixTrie(buffer);
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Creates a new trie, which is backed by a specific buffer. The buffer is not copied and must
+     * not be modified afterwards.
+     *
+     * @param buffer
+     *         The buffer, which contains the trie in its binary format, as an instance of the
+     *         class {@link ByteBuffer}. The buffer may not be null
+     * @return The trie, which has been created, as an instance of the class {@link
+     * PublicSuffixTrie}. The trie may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if the buffer does not contain a valid trie
+     */
+    @NonNull
+    public static PublicSuffixTrie wrap(@NonNull final ByteBuffer buffer) throws IOException {
+        ensureNotNull(buffer, "The buffer may not be null");
+        return new PublicSuffixTrie(buffer.slice());
+    }
+
+    /**
+     * Creates a new trie by memory-mapping a specific file, which contains the trie in its binary
+     * format.
+     *
+     * @param file
+     *         The file as an instance of the class {@link File}. The file may not be null
+     * @return The trie, which has been created, as an instance of the class {@link
+     * PublicSuffixTrie}. The trie may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if the file could not be read or does not contain a
+     *         valid trie
+     */
+    @NonNull
+    public static PublicSuffixTrie map(@NonNull final File file) throws IOException {
+        ensureNotNull(file, "The file may not be null");
+        FileInputStream stream = new FileInputStream(file);
+
+        try {
+            FileChannel channel = stream.getChannel();
+            return new PublicSuffixTrie(
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } finally {
+            stream.close();
+        }
+    }
+
+    /**
+     * Writes the trie in its binary format to a specific stream. The stream is not closed.
+     *
+     * @param stream
+     *         The stream, the trie should be written to, as an instance of the class {@link
+     *         OutputStream}. The stream may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if the trie could not be written
+     */
+    public void writeTo(@NonNull final OutputStream stream) throws IOException {
+        ensureNotNull(stream, "The stream may not be null");
+        ByteBuffer source = buffer.duplicate();
+        source.clear();
+        byte[] chunk = new byte[Math.min(8192, source.remaining())];
+
+        while (source.hasRemaining()) {
+            int length = Math.min(chunk.length, source.remaining());
+            source.get(chunk, 0, length);
+            stream.write(chunk, 0, length);
+        }
+    }
+
+    /**
+     * Returns the index of the first character of the public suffix of a specific domain name.
+     * Top-level domains, which are not contained by the trie, are not accepted.
+     *
+     * @param domainName
+     *         The domain name as an instance of the type {@link CharSequence}. The domain name may
+     *         not be null
+     * @return The index of the first character of the public suffix as an {@link Integer} value
+     * or -1, if the top-level domain is unknown
+     */
+    public int getPublicSuffixStart(@NonNull final CharSequence domainName) {
+        ensureNotNull(domainName, "The domain name may not be null");
+        return getPublicSuffixStart(domainName, 0, domainName.length(), false);
+    }
+
+    /**
+     * Returns the index of the first character of the public suffix of the domain name, which is
+     * contained by a specific range of a text. Top-level domains, which are not contained by the
+     * trie, are not accepted.
+     *
+     * @param text
+     *         The text as an instance of the type {@link CharSequence}. The text may not be null
+     * @param start
+     *         The index of the first character of the domain name as an {@link Integer} value
+     * @param end
+     *         The index after the last character of the domain name as an {@link Integer} value
+     * @return The index of the first character of the public suffix as an {@link Integer} value
+     * or -1, if the top-level domain is unknown
+     */
+    public int getPublicSuffixStart(@NonNull final CharSequence text, final int start,
+                                    final int end) {
+        return getPublicSuffixStart(text, start, end, false);
+    }
+
+    /**
+     * Returns the index of the first character of the public suffix of the domain name, which is
+     * contained by a specific range of a text.
+     *
+     * @param text
+     *         The text as an instance of the type {@link CharSequence}. The text may not be null
+     * @param start
+     *         The index of the first character of the domain name as an {@link Integer} value
+     * @param end
+     *         The index after the last character of the domain name as an {@link Integer} value
+     * @param applyImplicitRule
+     *         True, if a top-level domain, which is not contained by the trie, should be treated
+     *         as a public suffix (implicit rule <code>*</code>), unless it only consists of digits,
+     *         false, if it should not be accepted
+     * @return The index of the first character of the public suffix as an {@link Integer} value
+     * or -1, if the top-level domain is empty or not accepted
+     */
+    public int getPublicSuffixStart(@NonNull final CharSequence text, final int start,
+                                    final int end, final boolean applyImplicitRule) {
+        ensureValidRange(text, start, end);
+        int node = root;
+        int labelEnd = end;
+        int suffixStart = -1;
+
+        while (true) {
+            int labelStart = getLabelStart(text, start, labelEnd);
+
+            if (labelStart == labelEnd) {
+                return node == root ? -1 : suffixStart;
+            }
+
+            int child = getChild(node, text, labelStart, labelEnd);
+
+            if (child == -1 && node == root &&
+                    (!applyImplicitRule || isNumeric(text, labelStart, labelEnd))) {
+                return -1;
+            }
+
+            if (child != -1 && (getFlags(child) & EXCEPTION) != 0) {
+                return labelEnd + 1;
+            }
+
+            if (node == root || (getFlags(node) & WILDCARD) != 0) {
+                suffixStart = labelStart;
+            }
+
+            if (child == -1) {
+                return suffixStart;
+            }
+
+            if ((getFlags(child) & RULE) != 0) {
+                suffixStart = labelStart;
+            }
+
+            if (labelStart == start) {
+                return suffixStart;
+            }
+
+            node = child;
+            labelEnd = labelStart - 1;
+        }
+    }
+
+    /**
+     * Returns the index of the first character of the registrable domain of a specific domain
+     * name, i.e. of its public suffix and the label to its left. Top-level domains, which are not
+     * contained by the trie, are not accepted.
+     *
+     * @param domainName
+     *         The domain name as an instance of the type {@link CharSequence}. The domain name may
+     *         not be null
+     * @return The index of the first character of the registrable domain as an {@link Integer}
+     * value or -1, if the top-level domain is unknown or if the domain name is a public suffix
+     */
+    public int getRegistrableDomainStart(@NonNull final CharSequence domainName) {
+        ensureNotNull(domainName, "The domain name may not be null");
+        return getRegistrableDomainStart(domainName, 0, domainName.length(), false);
+    }
+
+    /**
+     * Returns the index of the first character of the registrable domain of the domain name, which
+     * is contained by a specific range of a text, i.e. of its public suffix and the label to its
+     * left. Top-level domains, which are not contained by the trie, are not accepted.
+     *
+     * @param text
+     *         The text as an instance of the type {@link CharSequence}. The text may not be null
+     * @param start
+     *         The index of the first character of the domain name as an {@link Integer} value
+     * @param end
+     *         The index after the last character of the domain name as an {@link Integer} value
+     * @return The index of the first character of the registrable domain as an {@link Integer}
+     * value or -1, if the top-level domain is unknown or if the domain name is a public suffix
+     */
+    public int getRegistrableDomainStart(@NonNull final CharSequence text, final int start,
+                                         final int end) {
+        return getRegistrableDomainStart(text, start, end, false);
+    }
+
+    /**
+     * Returns the index of the first character of the registrable domain of the domain name, which
+     * is contained by a specific range of a text, i.e. of its public suffix and the label to its
+     * left.
+     *
+     * @param text
+     *         The text as an instance of the type {@link CharSequence}. The text may not be null
+     * @param start
+     *         The index of the first character of the domain name as an {@link Integer} value
+     * @param end
+     *         The index after the last character of the domain name as an {@link Integer} value
+     * @param applyImplicitRule
+     *         True, if a top-level domain, which is not contained by the trie, should be treated
+     *         as a public suffix (implicit rule <code>*</code>), unless it only consists of digits,
+     *         false, if it should not be accepted
+     * @return The index of the first character of the registrable domain as an {@link Integer}
+     * value or -1, if the top-level domain is empty or not accepted or if the domain name is a
+     * public suffix
+     */
+    public int getRegistrableDomainStart(@NonNull final CharSequence text, final int start,
+                                         final int end, final boolean applyImplicitRule) {
+        int suffixStart = getPublicSuffixStart(text, start, end, applyImplicitRule);
+
+        if (suffixStart <= start) {
+            return -1;
+        }
+
+        int labelStart = getLabelStart(text, start, suffixStart - 1);
+        return labelStart < suffixStart - 1 ? labelStart : -1;
+    }
+
+    /**
+     * Returns the number of rules, which are contained by the trie.
+     *
+     * @return The number of rules, which are contained by the trie, as an {@link Integer} value
+     */
+    public int getRuleCount() {
+        return ruleCount;
+    }
+
+    /**
+     * Returns an estimate of the number of bytes, the trie occupies on the heap.
+     *
+     * @return The estimated number of bytes as a {@link Long} value
+     */
+    public long getMemoryFootprint() {
+        return buffer.isDirect() ? 0 : buffer.capacity();
+    }
+
+    @Override
+    public String toString() {
+        return "PublicSuffixTrie{rules=" + ruleCount + ", bytes=" + buffer.capacity() +
+                ", direct=" + buffer.isDirect() + "}";
+    }
+
+}
@@ -0,0 +1,513 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.file;
+
+import android.support.annotation.NonNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import de.mrapp.android.validation.Validator;
+
+import static de.mrapp.android.util.Condition.ensureAtLeast;
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * Allows to validate each line of a text file by using a specific validator. The file is
+ * memory-mapped in windows of a fixed size, which are split into chunks at line boundaries. The
+ * chunks are validated in parallel. Each line is passed to the validator as a char sequence, which
+ * provides a view on the mapped bytes, i.e. ASCII lines are not copied at all. Lines, which contain
+ * other characters, are decoded as UTF-8.
+ *
+ * As the validator is used by multiple threads at once, it must be thread-safe. Furthermore, it
+ * must not retain references to the char sequences, which are passed to it, as they are reused for
+ * subsequent lines.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class MappedFileValidator {
+
+    /**
+     * The default size of the windows, which are mapped into memory, in bytes.
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * The default size of the chunks, which are validated in parallel, in bytes.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    /**
+     * The result of validating a single chunk.
+     */
+    private static final class ChunkResult {
+
+        /**
+         * The indices of the lines within the chunk, which failed to validate.
+         */
+        private int[] failedLines = new int[16];
+
+        /**
+         * The number of lines within the chunk, which failed to validate.
+         */
+        private int failedLineCount;
+
+        /**
+         * The total number of lines within the chunk.
+         */
+        private int lineCount;
+
+        /**
+         * Adds the index of a line, which failed to validate.
+         *
+         * @param line
+         *         The index of the line within the chunk as an {@link Integer} value
+         */
+        private void addFailedLine(final int line) {
+            if (failedLineCount == failedLines.length) {
+                failedLines = Arrays.copyOf(failedLines, failedLines.length * 2);
+            }
+
+            failedLines[failedLineCount++] = line;
+        }
+
+    }
+
+    /**
+     * A task, which validates all lines of a single chunk.
+     */
+    private final class ChunkTask implements Callable<ChunkResult> {
+
+        /**
+         * The buffer, which contains the chunk.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * The index of the first byte of the chunk.
+         */
+        private final int start;
+
+        /**
+         * The index after the last byte of the chunk.
+         */
+        private final int end;
+
+        /**
+         * Creates a new task, which validates all lines of a single chunk.
+         *
+         * @param buffer
+         *         The buffer, which contains the chunk, as an instance of the class {@link
+         *         ByteBuffer}. The buffer may not be null
+         * @param start
+         *         The index of the first byte of the chunk as an {@link Integer} value
+         * @param end
+         *         The index after the last byte of the chunk as an {@link Integer} value
+         */
+        private ChunkTask(@NonNull final ByteBuffer buffer, final int start, final int end) {
+            this.buffer = buffer.duplicate();
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public ChunkResult call() {
+            ChunkResult result = new ChunkResult();
+            MappedLine line = new MappedLine(buffer);
+            int lineStart = start;
+            int nonAscii = 0;
+
+            for (int i = start; i < end; i++) {
+                byte b = buffer.get(i);
+
+                if (b == '\n') {
+                    int lineEnd = i > lineStart && buffer.get(i - 1) == '\r' ? i - 1 : i;
+                    validateLine(line, lineStart, lineEnd, nonAscii == 0, result);
+                    lineStart = i + 1;
+                    nonAscii = 0;
+                } else {
+                    nonAscii |= b & 0x80;
+                }
+            }
+
+            if (lineStart < end) {
+                validateLine(line, lineStart, end, nonAscii == 0, result);
+            }
+
+            return result;
+        }
+
+        /**
+         * Validates a single line.
+         *
+         * @param line
+         *         The char sequence, which should be pointed to the line, as an instance of the
+         *         class {@link MappedLine}. The char sequence may not be null
+         * @param lineStart
+         *         The index of the first byte of the line as an {@link Integer} value
+         * @param lineEnd
+         *         The index after the last byte of the line as an {@link Integer} value
+         * @param ascii
+         *         True, if the line consists of ASCII characters only, false otherwise
+         * @param result
+         *         The result, the line should be added to, as an instance of the class {@link
+         *         ChunkResult}. The result may not be null
+         */
+        private void validateLine(@NonNull final MappedLine line, final int lineStart,
+                                  final int lineEnd, final boolean ascii,
+                                  @NonNull final ChunkResult result) {
+            line.set(lineStart, lineEnd, ascii);
+
+            if (!validator.validate(line)) {
+                result.addFailedLine(result.lineCount);
+            }
+
+            result.lineCount++;
+        }
+
+    }
+
+    /**
+     * The validator, which is used to validate the lines.
+     */
+    private final Validator<CharSequence> validator;
+
+    /**
+     * The number of threads, which are used to validate chunks in parallel.
+     */
+    private final int parallelism;
+
+    /**
+     * The size of the windows, which are mapped into memory, in bytes.
+     */
+    private int windowSize;
+
+    /**
+     * The size of the chunks, which are validated in parallel, in bytes.
+     */
+    private int chunkSize;
+
+    /**
+     * Returns the index after the last line terminator within a specific range of a buffer.
+     *
+     * @param buffer
+     *         The buffer, which should be searched, as an instance of the class {@link ByteBuffer}.
+     *         The buffer may not be null
+     * @param start
+     *         The index of the first byte, which should be searched, as an {@link Integer} value
+     * @param end
+     *         The index after the last byte, which should be searched, as an {@link Integer}
+     *         value
+     * @return The index after the last line terminator as an {@link Integer} value or -1, if the
+     * range does not contain any line terminator
+     */
+    private static int indexAfterLastLineTerminator(@NonNull final ByteBuffer buffer,
+                                                    final int start, final int end) {
+        for (int i = end - 1; i >= start; i--) {
+            if (buffer.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the index after the first line terminator, which follows a specific position.
+     *
+     * @param buffer
+     *         The buffer, which should be searched, as an instance of the class {@link ByteBuffer}.
+     *         The buffer may not be null
+     * @param start
+     *         The index of the first byte, which should be searched, as an {@link Integer} value
+     * @param end
+     *         The index after the last byte, which should be searched, as an {@link Integer}
+     *         value
+     * @return The index after the first line terminator or the given end index, if the range does
+     * not contain any line terminator
+     */
+    private static int indexAfterNextLineTerminator(@NonNull final ByteBuffer buffer,
+                                                    final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+
+        return end;
+    }
+
+    /**
+     * Splits a specific range of a buffer into chunks, which end at line boundaries, and creates a
+     * task for each of them.
+     *
+     * @param buffer
+     *         The buffer, which should be split, as an instance of the class {@link ByteBuffer}.
+     *         The buffer may not be null
+     * @param end
+     *         The index after the last byte of the range as an {@link Integer} value
+     * @return A list, which contains the tasks, which have been created, as an instance of the type
+     * {@link List}. The list may not be null
+     */
+    @NonNull
+    private List<ChunkTask> createTasks(@NonNull final ByteBuffer buffer, final int end) {
+        List<ChunkTask> tasks = new ArrayList<>();
+        int start = 0;
+
+        while (start < end) {
+            int chunkEnd = end;
+
+            if (end - start > chunkSize) {
+                chunkEnd = indexAfterNextLineTerminator(buffer, start + chunkSize - 1, end);
+            }
+
+            tasks.add(new ChunkTask(buffer, start, chunkEnd));
+            start = chunkEnd;
+        }
+
+        return tasks;
+    }
+
+    /**
+     * Executes specific tasks and returns their results in the same order.
+     *
+     * @param executor
+     *         The executor, which should be used to execute the tasks, as an instance of the type
+     *         {@link ExecutorService} or null, if the tasks should be executed by the current
+     *         thread
+     * @param tasks
+     *         A list, which contains the tasks, which should be executed, as an instance of the
+     *         type {@link List}. The list may not be null
+     * @return A list, which contains the results of the tasks, as an instance of the type {@link
+     * List}. The list may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if a task has been interrupted
+     */
+    @NonNull
+    private List<ChunkResult> execute(final ExecutorService executor,
+                                      @NonNull final List<ChunkTask> tasks) throws IOException {
+        List<ChunkResult> results = new ArrayList<>(tasks.size());
+
+        if (executor == null || tasks.size() == 1) {
+            for (ChunkTask task : tasks) {
+                results.add(task.call());
+            }
+        } else {
+            try {
+                for (Future<ChunkResult> future : executor.invokeAll(tasks)) {
+                    results.add(future.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("The validation has been interrupted", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+
+                throw new IOException(cause);
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Creates a new engine, which allows to validate each line of a text file by using a specific
+     * validator. All available processors are used to validate the file.
+     *
+     * @param validator
+     *         The validator, which should be used to validate the lines, as an instance of the type
+     *         {@link Validator}. The validator may not be null and must be thread-safe
+     */
+    public MappedFileValidator(@NonNull final Validator<CharSequence> validator) {
+        this(validator, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new engine, which allows to validate each line of a text file by using a specific
+     * validator.
+     *
+     * @param validator
+     *         The validator, which should be used to validate the lines, as an instance of the type
+     *         {@link Validator}. The validator may not be null and must be thread-safe
+     * @param parallelism
+     *         The number of threads, which should be used to validate chunks in parallel, as an
+     *         {@link Integer} value. The number of threads must be at least 1
+     */
+    public MappedFileValidator(@NonNull final Validator<CharSequence> validator,
+                               final int parallelism) {
+        ensureNotNull(validator, "The validator may not be null");
+        ensureAtLeast(parallelism, 1, "The parallelism must be at least 1");
+        this.validator = validator;
+        this.parallelism = parallelism;
+        setWindowSize(DEFAULT_WINDOW_SIZE);
+        setChunkSize(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Returns the validator, which is used to validate the lines.
+     *
+     * @return The validator, which is used to validate the lines, as an instance of the type {@link
+     * Validator}
+     */
+    public final Validator<CharSequence> getValidator() {
+        return validator;
+    }
+
+    /**
+     * Returns the number of threads, which are used to validate chunks in parallel.
+     *
+     * @return The number of threads, which are used to validate chunks in parallel, as an {@link
+     * Integer} value
+     */
+    public final int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Returns the size of the windows, which are mapped into memory.
+     *
+     * @return The size of the windows, which are mapped into memory, in bytes as an {@link Integer}
+     * value
+     */
+    public final int getWindowSize() {
+        return windowSize;
+    }
+
+    /**
+     * Sets the size of the windows, which should be mapped into memory. A single line must not be
+     * longer than a window.
+     *
+     * @param windowSize
+     *         The size, which should be set, in bytes as an {@link Integer} value. The size must be
+     *         at least 1
+     */
+    public final void setWindowSize(final int windowSize) {
+        ensureAtLeast(windowSize, 1, "The window size must be at least 1");
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Returns the size of the chunks, which are validated in parallel.
+     *
+     * @return The size of the chunks, which are validated in parallel, in bytes as an {@link
+     * Integer} value
+     */
+    public final int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Sets the size of the chunks, which should be validated in parallel. As chunks are split at
+     * line boundaries, the actual chunks may be slightly larger.
+     *
+     * @param chunkSize
+     *         The size, which should be set, in bytes as an {@link Integer} value. The size must be
+     *         at least 1
+     */
+    public final void setChunkSize(final int chunkSize) {
+        ensureAtLeast(chunkSize, 1, "The chunk size must be at least 1");
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Validates each line of a specific file. The file is expected to be UTF-8 encoded. Lines may
+     * be terminated by either <code>\n</code> or <code>\r\n</code>.
+     *
+     * @param file
+     *         The file, which should be validated, as an instance of the class {@link File}. The
+     *         file may not be null
+     * @return An array, which contains the numbers of the lines, which failed to validate, in
+     * ascending order, as a {@link Long} array. Line numbers start at 1. If all lines are valid, an
+     * empty array is returned
+     * @throws IOException
+     *         The exception, which is thrown, if the file could not be read or if a line is longer
+     *         than the window size
+     */
+    @NonNull
+    public final long[] validate(@NonNull final File file) throws IOException {
+        ensureNotNull(file, "The file may not be null");
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        ExecutorService executor =
+                parallelism > 1 ? Executors.newFixedThreadPool(parallelism) : null;
+
+        try {
+            FileChannel channel = randomAccessFile.getChannel();
+            long size = channel.size();
+            long position = 0;
+            long lineOffset = 0;
+            long[] failedLines = new long[16];
+            int failedLineCount = 0;
+
+            while (position < size) {
+                int length = (int) Math.min(windowSize, size - position);
+                MappedByteBuffer buffer =
+                        channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int end = length;
+
+                if (position + length < size) {
+                    end = indexAfterLastLineTerminator(buffer, 0, length);
+
+                    if (end == -1) {
+                        throw new IOException("The line at offset " + position +
+                                " is longer than the window size of " + windowSize + " bytes");
+                    }
+                }
+
+                for (ChunkResult result : execute(executor, createTasks(buffer, end))) {
+                    if (failedLineCount + result.failedLineCount > failedLines.length) {
+                        failedLines = Arrays.copyOf(failedLines,
+                                Math.max(failedLines.length * 2,
+                                        failedLineCount + result.failedLineCount));
+                    }
+
+                    for (int i = 0; i < result.failedLineCount; i++) {
+                        failedLines[failedLineCount++] = lineOffset + result.failedLines[i] + 1;
+                    }
+
+                    lineOffset += result.lineCount;
+                }
+
+                position += end;
+            }
+
+            return Arrays.copyOf(failedLines, failedLineCount);
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+
+            randomAccessFile.close();
+        }
+    }
+
+}
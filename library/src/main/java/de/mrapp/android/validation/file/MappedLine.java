@@ -0,0 +1,177 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.file;
+
+import android.support.annotation.NonNull;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * A char sequence, which provides a view on a single line of a memory-mapped file. If the line
+ * consists of ASCII characters only, the characters are read directly from the underlying buffer
+ * without being copied. Otherwise, the line is decoded as UTF-8 into a buffer, which is reused
+ * for subsequent lines.
+ *
+ * An instance of this class is mutable and is pointed to the next line once the previous one has
+ * been validated. It must therefore not be retained by validators and must not be accessed by
+ * multiple threads.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+final class MappedLine implements CharSequence {
+
+    /**
+     * The initial capacity of the buffer, which is used to decode non-ASCII lines.
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * The buffer, which contains the bytes of the mapped file.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * A duplicate of the buffer, whose position and limit are modified in order to decode lines,
+     * which contain non-ASCII characters.
+     */
+    private final ByteBuffer view;
+
+    /**
+     * The decoder, which is used to decode lines, which contain non-ASCII characters.
+     */
+    private final CharsetDecoder decoder;
+
+    /**
+     * The buffer, which contains the decoded characters of the current line, if it contains
+     * non-ASCII characters.
+     */
+    private CharBuffer decoded;
+
+    /**
+     * The index of the first byte of the current line.
+     */
+    private int start;
+
+    /**
+     * The index after the last byte of the current line.
+     */
+    private int end;
+
+    /**
+     * True, if the current line consists of ASCII characters only, false otherwise.
+     */
+    private boolean ascii;
+
+    /**
+     * Decodes the bytes of the current line into the reusable char buffer.
+     */
+    private void decode() {
+        int length = end - start;
+
+        if (decoded == null || decoded.capacity() < length) {
+            int capacity = decoded != null ? decoded.capacity() * 2 : INITIAL_CAPACITY;
+            decoded = CharBuffer.allocate(Math.max(length, capacity));
+        }
+
+        decoded.clear();
+        view.limit(end);
+        view.position(start);
+        decoder.reset();
+        decoder.decode(view, decoded, true);
+        decoder.flush(decoded);
+        decoded.flip();
+    }
+
+    /**
+     * Creates a new char sequence, which provides a view on a single line of a memory-mapped file.
+     *
+     * @param buffer
+     *         The buffer, which contains the bytes of the mapped file, as an instance of the class
+     *         {@link ByteBuffer}. The buffer may not be null
+     */
+    MappedLine(@NonNull final ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.view = buffer.duplicate();
+        this.decoder = Charset.forName("UTF-8").newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * Points the char sequence to a specific line.
+     *
+     * @param start
+     *         The index of the first byte of the line as an {@link Integer} value
+     * @param end
+     *         The index after the last byte of the line, excluding any line terminators, as an
+     *         {@link Integer} value
+     * @param ascii
+     *         True, if the line consists of ASCII characters only, false otherwise
+     */
+    void set(final int start, final int end, final boolean ascii) {
+        this.start = start;
+        this.end = end;
+        this.ascii = ascii;
+
+        if (!ascii) {
+            decode();
+        }
+    }
+
+    @Override
+    public int length() {
+        return ascii ? end - start : decoded.remaining();
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if (ascii) {
+            if (index < 0 || index >= end - start) {
+                throw new IndexOutOfBoundsException("Invalid index: " + index);
+            }
+
+            return (char) buffer.get(start + index);
+        }
+
+        return decoded.get(index);
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        if (start < 0 || end > length() || start > end) {
+            throw new IndexOutOfBoundsException(
+                    "Invalid range: [" + start + ", " + end + "), length: " + length());
+        }
+
+        StringBuilder builder = new StringBuilder(end - start);
+
+        for (int i = start; i < end; i++) {
+            builder.append(charAt(i));
+        }
+
+        return builder.toString();
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return subSequence(0, length()).toString();
+    }
+
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.form;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.v7.widget.RecyclerView;
+import android.view.ViewGroup;
+
+import java.util.Collection;
+
+import de.mrapp.android.validation.AbstractValidateableView;
+import de.mrapp.android.validation.EditText;
+import de.mrapp.android.validation.Spinner;
+import de.mrapp.android.validation.ValidationModel;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * A {@link RecyclerView} adapter, which shows the fields of a form, which are described by
+ * instances of the class {@link FormField}. Views are only created for the fields, which are
+ * currently shown, and are recycled across rows. The values of the fields, as well as the results
+ * of their last validations, are kept by the fields' models and a compact per-field array, which
+ * allows to check, whether the whole form is valid, and to find the first invalid field without
+ * creating views for fields, which are not shown.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class FormAdapter extends RecyclerView.Adapter<FormAdapter.ViewHolder> {
+
+    /**
+     * The view holder, which is used by the adapter.
+     */
+    public static class ViewHolder extends RecyclerView.ViewHolder {
+
+        /**
+         * The view, which is used to show a field.
+         */
+        private final AbstractValidateableView<?, ?> view;
+
+        /**
+         * Creates a new view holder.
+         *
+         * @param view
+         *         The view, which is used to show a field, as an instance of the class {@link
+         *         AbstractValidateableView}. The view may not be null
+         */
+        ViewHolder(@NonNull final AbstractValidateableView<?, ?> view) {
+            super(view);
+            this.view = view;
+        }
+
+        /**
+         * Returns the view, which is used to show a field.
+         *
+         * @return The view, which is used to show a field, as an instance of the class {@link
+         * AbstractValidateableView}. The view may not be null
+         */
+        @NonNull
+        public final AbstractValidateableView<?, ?> getView() {
+            return view;
+        }
+
+    }
+
+    /**
+     * The view type of fields, which allow to enter text.
+     */
+    static final int VIEW_TYPE_TEXT = 0;
+
+    /**
+     * The view type of fields, which allow to select an item.
+     */
+    static final int VIEW_TYPE_SPINNER = 1;
+
+    /**
+     * The state of a field, which has not been validated yet.
+     */
+    private static final byte STATE_NOT_VALIDATED = 0;
+
+    /**
+     * The state of a field, whose last validation succeeded.
+     */
+    private static final byte STATE_VALID = 1;
+
+    /**
+     * The state of a field, whose last validation failed.
+     */
+    private static final byte STATE_INVALID = 2;
+
+    /**
+     * An array, which contains the fields of the form.
+     */
+    private final FormField<?>[] fields;
+
+    /**
+     * An array, which contains the state of each field.
+     */
+    private final byte[] states;
+
+    /**
+     * Validates the field at a specific position, if it has not been validated yet, or if its
+     * model has been invalidated since its last validation, e.g. because its value has been
+     * changed.
+     *
+     * @param position
+     *         The position of the field as an {@link Integer} value
+     * @return The state of the field as a {@link Byte} value
+     */
+    private byte obtainState(final int position) {
+        ValidationModel<?> model = fields[position].getModel();
+
+        if (states[position] == STATE_NOT_VALIDATED || !model.isValidated()) {
+            states[position] = STATE_NOT_VALIDATED;
+            model.validate();
+        }
+
+        return states[position];
+    }
+
+    /**
+     * The method, which is invoked, when a field has been validated.
+     *
+     * @param position
+     *         The position of the field as an {@link Integer} value
+     * @param valid
+     *         True, if the validation succeeded, false otherwise
+     */
+    final void onFieldValidated(final int position, final boolean valid) {
+        states[position] = valid ? STATE_VALID : STATE_INVALID;
+    }
+
+    /**
+     * Creates a new adapter, which shows the fields of a form.
+     *
+     * @param fields
+     *         A collection, which contains the fields, which should be shown, as an instance of
+     *         the type {@link Collection}. The collection may not be null
+     */
+    public FormAdapter(@NonNull final Collection<? extends FormField<?>> fields) {
+        ensureNotNull(fields, "The collection may not be null");
+        this.fields = fields.toArray(new FormField<?>[fields.size()]);
+        this.states = new byte[this.fields.length];
+
+        for (int i = 0; i < this.fields.length; i++) {
+            ensureNotNull(this.fields[i], "The fields may not be null");
+            this.fields[i].attach(this, i);
+        }
+    }
+
+    /**
+     * Returns the field at a specific position.
+     *
+     * @param position
+     *         The position of the field as an {@link Integer} value
+     * @return The field at the given position as an instance of the class {@link FormField}. The
+     * field may not be null
+     */
+    @NonNull
+    public final FormField<?> getField(final int position) {
+        return fields[position];
+    }
+
+    /**
+     * Returns, whether the field at a specific position has been validated, or not. A field is
+     * not considered as validated anymore, if its value has been changed, or if its model has
+     * been invalidated, since its last validation.
+     *
+     * @param position
+     *         The position of the field as an {@link Integer} value
+     * @return True, if the field has been validated, false otherwise
+     */
+    public final boolean isValidated(final int position) {
+        return states[position] != STATE_NOT_VALIDATED &&
+                fields[position].getModel().isValidated();
+    }
+
+    /**
+     * Returns, whether the field at a specific position is valid, or not. If the field has not
+     * been validated yet, it is validated without creating a view.
+     *
+     * @param position
+     *         The position of the field as an {@link Integer} value
+     * @return True, if the field is valid, false otherwise
+     */
+    public final boolean isValid(final int position) {
+        return obtainState(position) == STATE_VALID;
+    }
+
+    /**
+     * Returns, whether all fields of the form are valid, or not. Fields, which have not been
+     * validated yet, are validated without creating views. For all other fields, the result of
+     * their last validation is used.
+     *
+     * @return True, if all fields are valid, false otherwise
+     */
+    public final boolean isValid() {
+        return getFirstInvalidPosition() == RecyclerView.NO_POSITION;
+    }
+
+    /**
+     * Returns the position of the first invalid field, e.g. in order to scroll to it. Fields,
+     * which have not been validated yet, are validated without creating views. For all other
+     * fields, the result of their last validation is used.
+     *
+     * @return The position of the first invalid field as an {@link Integer} value or {@link
+     * RecyclerView#NO_POSITION}, if all fields are valid
+     */
+    public final int getFirstInvalidPosition() {
+        for (int i = 0; i < fields.length; i++) {
+            if (obtainState(i) == STATE_INVALID) {
+                return i;
+            }
+        }
+
+        return RecyclerView.NO_POSITION;
+    }
+
+    /**
+     * Validates all fields of the form. Fields, which are currently shown, are validated by their
+     * views, all other fields are validated without creating views.
+     *
+     * @return The position of the first invalid field as an {@link Integer} value or {@link
+     * RecyclerView#NO_POSITION}, if all fields are valid
+     */
+    public final int validate() {
+        int result = RecyclerView.NO_POSITION;
+
+        for (int i = 0; i < fields.length; i++) {
+            if (!fields[i].getModel().validate() && result == RecyclerView.NO_POSITION) {
+                result = i;
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public final int getItemCount() {
+        return fields.length;
+    }
+
+    @Override
+    public final int getItemViewType(final int position) {
+        return fields[position].getViewType();
+    }
+
+    @NonNull
+    @Override
+    public final ViewHolder onCreateViewHolder(@NonNull final ViewGroup parent,
+                                               final int viewType) {
+        Context context = parent.getContext();
+        AbstractValidateableView<?, ?> view =
+                viewType == VIEW_TYPE_SPINNER ? new Spinner(context) : new EditText(context);
+        view.setLayoutParams(new RecyclerView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
+                ViewGroup.LayoutParams.WRAP_CONTENT));
+        return new ViewHolder(view);
+    }
+
+    @Override
+    public final void onBindViewHolder(@NonNull final ViewHolder holder, final int position) {
+        fields[position].bindView(holder.getView());
+    }
+
+    @Override
+    public final void onViewRecycled(@NonNull final ViewHolder holder) {
+        holder.getView().unbindModel();
+    }
+
+}
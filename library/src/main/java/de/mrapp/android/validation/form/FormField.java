@@ -0,0 +1,205 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.form;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import de.mrapp.android.validation.AbstractValidateableView;
+import de.mrapp.android.validation.Validateable;
+import de.mrapp.android.validation.ValidationListener;
+import de.mrapp.android.validation.ValidationModel;
+import de.mrapp.android.validation.Validator;
+
+/**
+ * An abstract base class for all descriptors of fields, which are shown by a {@link FormAdapter}.
+ * A descriptor holds the value of a field, the validators, which should be used to validate it,
+ * and the properties of the view, which is used to show it, without requiring the view to exist.
+ *
+ * @param <Type>
+ *         The type of the field's value
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public abstract class FormField<Type> {
+
+    /**
+     * The model, which holds the field's value, its validators and the result of the last
+     * validation.
+     */
+    private final ValidationModel<Type> model;
+
+    /**
+     * The listener, which is registered at the field's model, in order to notify the adapter,
+     * the field is attached to, when the field has been validated.
+     */
+    private final ValidationListener<Type> validationListener;
+
+    /**
+     * The adapter, the field is attached to, or null, if the field has not been attached yet.
+     */
+    private FormAdapter adapter;
+
+    /**
+     * The position of the field within the adapter, it is attached to.
+     */
+    private int position;
+
+    /**
+     * The helper text of the field.
+     */
+    private CharSequence helperText;
+
+    /**
+     * Creates and returns a listener, which notifies the adapter, the field is attached to, when
+     * the field has been validated.
+     *
+     * @return The listener, which has been created, as an instance of the type {@link
+     * ValidationListener}. The listener may not be null
+     */
+    @NonNull
+    private ValidationListener<Type> createValidationListener() {
+        return new ValidationListener<Type>() {
+
+            @Override
+            public void onValidationSuccess(@NonNull final Validateable<Type> view) {
+                adapter.onFieldValidated(position, true);
+            }
+
+            @Override
+            public void onValidationFailure(@NonNull final Validateable<Type> view,
+                                            @NonNull final Validator<Type> validator) {
+                adapter.onFieldValidated(position, false);
+            }
+
+        };
+    }
+
+    /**
+     * Creates a new descriptor of a field, which is shown by a {@link FormAdapter}.
+     *
+     * @param value
+     *         The initial value of the field as an instance of the generic type Type or null
+     */
+    FormField(@Nullable final Type value) {
+        this.model = new ValidationModel<>(value);
+        this.validationListener = createValidationListener();
+        this.adapter = null;
+        this.position = -1;
+        this.helperText = null;
+    }
+
+    /**
+     * Attaches the field to a specific adapter, which is notified, when the field has been
+     * validated. A field can only be attached to a single adapter at once. If it has already been
+     * attached to another adapter, the previous adapter is not notified anymore. The listener,
+     * which is registered at the field's model, is reused.
+     *
+     * @param adapter
+     *         The adapter, which should be notified, as an instance of the class {@link
+     *         FormAdapter}. The adapter may not be null
+     * @param position
+     *         The position of the field as an {@link Integer} value
+     */
+    final void attach(@NonNull final FormAdapter adapter, final int position) {
+        if (this.adapter == null) {
+            model.addValidationListener(validationListener);
+        }
+
+        this.adapter = adapter;
+        this.position = position;
+    }
+
+    /**
+     * Returns the adapter, the field is attached to.
+     *
+     * @return The adapter, the field is attached to, as an instance of the class {@link
+     * FormAdapter} or null, if the field has not been attached yet
+     */
+    @Nullable
+    final FormAdapter getAdapter() {
+        return adapter;
+    }
+
+    /**
+     * Returns the view type of the field, which is used by the adapter to recycle views.
+     *
+     * @return The view type of the field as an {@link Integer} value
+     */
+    abstract int getViewType();
+
+    /**
+     * Adapts a specific view, in order to show the field, and binds it to the field's model.
+     *
+     * @param view
+     *         The view, which should be adapted, as an instance of the class {@link
+     *         AbstractValidateableView}. The view must have been created for the field's view
+     *         type
+     */
+    abstract void bindView(@NonNull AbstractValidateableView<?, ?> view);
+
+    /**
+     * Returns the model, which holds the field's value, its validators and the result of the last
+     * validation. The model can be used to add validators to the field.
+     *
+     * @return The model as an instance of the class {@link ValidationModel}. The model may not be
+     * null
+     */
+    @NonNull
+    public final ValidationModel<Type> getModel() {
+        return model;
+    }
+
+    /**
+     * Returns the value of the field.
+     *
+     * @return The value of the field as an instance of the generic type Type or null
+     */
+    public final Type getValue() {
+        return model.getValue();
+    }
+
+    /**
+     * Sets the value of the field.
+     *
+     * @param value
+     *         The value, which should be set, as an instance of the generic type Type or null
+     */
+    public final void setValue(@Nullable final Type value) {
+        model.setValue(value);
+    }
+
+    /**
+     * Returns the helper text of the field.
+     *
+     * @return The helper text of the field as an instance of the type {@link CharSequence} or
+     * null, if no helper text is shown
+     */
+    public final CharSequence getHelperText() {
+        return helperText;
+    }
+
+    /**
+     * Sets the helper text of the field. The helper text is applied, when the field is bound to a
+     * view the next time.
+     *
+     * @param helperText
+     *         The helper text, which should be set, as an instance of the type {@link
+     *         CharSequence} or null, if no helper text should be shown
+     */
+    public final void setHelperText(@Nullable final CharSequence helperText) {
+        this.helperText = helperText;
+    }
+
+}
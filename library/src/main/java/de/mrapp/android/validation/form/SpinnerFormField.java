@@ -0,0 +1,129 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.form;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.text.TextUtils;
+import android.widget.SpinnerAdapter;
+
+import de.mrapp.android.validation.AbstractValidateableView;
+import de.mrapp.android.validation.Spinner;
+import de.mrapp.android.validation.adapter.ProxySpinnerAdapter;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * A descriptor of a field, which allows to select an item and is shown by using a {@link Spinner}.
+ * The value of the field is the selected item or null, if no item is selected.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class SpinnerFormField extends FormField<Object> {
+
+    /**
+     * The adapter, which provides the field's items.
+     */
+    private final SpinnerAdapter adapter;
+
+    /**
+     * The hint of the field, which is displayed, when no item is selected.
+     */
+    private CharSequence hint;
+
+    /**
+     * Creates a new descriptor of a field, which allows to select an item. Initially, no item is
+     * selected.
+     *
+     * @param adapter
+     *         The adapter, which provides the field's items, as an instance of the type {@link
+     *         SpinnerAdapter}. The adapter may not be null
+     */
+    public SpinnerFormField(@NonNull final SpinnerAdapter adapter) {
+        this(adapter, null);
+    }
+
+    /**
+     * Creates a new descriptor of a field, which allows to select an item.
+     *
+     * @param adapter
+     *         The adapter, which provides the field's items, as an instance of the type {@link
+     *         SpinnerAdapter}. The adapter may not be null
+     * @param selectedItem
+     *         The item, which should initially be selected, or null, if no item should be
+     *         selected
+     */
+    public SpinnerFormField(@NonNull final SpinnerAdapter adapter,
+                            @Nullable final Object selectedItem) {
+        super(selectedItem);
+        ensureNotNull(adapter, "The adapter may not be null");
+        this.adapter = adapter;
+        this.hint = null;
+    }
+
+    /**
+     * Returns the adapter, which provides the field's items.
+     *
+     * @return The adapter, which provides the field's items, as an instance of the type {@link
+     * SpinnerAdapter}. The adapter may not be null
+     */
+    @NonNull
+    public final SpinnerAdapter getAdapter() {
+        return adapter;
+    }
+
+    /**
+     * Returns the hint of the field, which is displayed, when no item is selected.
+     *
+     * @return The hint of the field as an instance of the type {@link CharSequence} or null, if
+     * no hint is shown
+     */
+    public final CharSequence getHint() {
+        return hint;
+    }
+
+    /**
+     * Sets the hint of the field, which should be displayed, when no item is selected.
+     *
+     * @param hint
+     *         The hint, which should be set, as an instance of the type {@link CharSequence} or
+     *         null, if no hint should be shown
+     */
+    public final void setHint(@Nullable final CharSequence hint) {
+        this.hint = hint;
+    }
+
+    @Override
+    final int getViewType() {
+        return FormAdapter.VIEW_TYPE_SPINNER;
+    }
+
+    @Override
+    final void bindView(@NonNull final AbstractValidateableView<?, ?> view) {
+        Spinner spinner = (Spinner) view;
+        ProxySpinnerAdapter proxyAdapter = (ProxySpinnerAdapter) spinner.getAdapter();
+
+        if (proxyAdapter == null || proxyAdapter.getAdapter() != adapter) {
+            spinner.setHint(hint);
+            spinner.setAdapter(adapter);
+        } else if (!TextUtils.equals(spinner.getHint(), hint)) {
+            spinner.setHint(hint);
+        }
+
+        spinner.setHelperText(getHelperText());
+        spinner.bindModel(getModel());
+    }
+
+}
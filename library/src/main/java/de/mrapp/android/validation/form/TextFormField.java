@@ -0,0 +1,122 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.form;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.text.InputType;
+
+import de.mrapp.android.validation.AbstractValidateableView;
+import de.mrapp.android.validation.EditText;
+
+/**
+ * A descriptor of a field, which allows to enter text and is shown by using an {@link EditText}.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class TextFormField extends FormField<CharSequence> {
+
+    /**
+     * The hint of the field.
+     */
+    private CharSequence hint;
+
+    /**
+     * The input type of the field.
+     */
+    private int inputType;
+
+    /**
+     * Creates a new descriptor of a field, which allows to enter text. The text is initially
+     * empty.
+     */
+    public TextFormField() {
+        this(null);
+    }
+
+    /**
+     * Creates a new descriptor of a field, which allows to enter text.
+     *
+     * @param text
+     *         The initial text of the field as an instance of the type {@link CharSequence} or
+     *         null
+     */
+    public TextFormField(@Nullable final CharSequence text) {
+        super(text != null ? text.toString() : null);
+        this.hint = null;
+        this.inputType = InputType.TYPE_CLASS_TEXT;
+    }
+
+    /**
+     * Returns the hint of the field.
+     *
+     * @return The hint of the field as an instance of the type {@link CharSequence} or null, if
+     * no hint is shown
+     */
+    public final CharSequence getHint() {
+        return hint;
+    }
+
+    /**
+     * Sets the hint of the field.
+     *
+     * @param hint
+     *         The hint, which should be set, as an instance of the type {@link CharSequence} or
+     *         null, if no hint should be shown
+     */
+    public final void setHint(@Nullable final CharSequence hint) {
+        this.hint = hint;
+    }
+
+    /**
+     * Returns the input type of the field.
+     *
+     * @return The input type of the field as an {@link Integer} value
+     */
+    public final int getInputType() {
+        return inputType;
+    }
+
+    /**
+     * Sets the input type of the field.
+     *
+     * @param inputType
+     *         The input type, which should be set, as an {@link Integer} value. The input type must
+     *         be a valid combination of the constants, which are defined by the class {@link
+     *         InputType}
+     */
+    public final void setInputType(final int inputType) {
+        this.inputType = inputType;
+    }
+
+    @Override
+    final int getViewType() {
+        return FormAdapter.VIEW_TYPE_TEXT;
+    }
+
+    @Override
+    final void bindView(@NonNull final AbstractValidateableView<?, ?> view) {
+        EditText editText = (EditText) view;
+        editText.setHint(hint);
+
+        if (editText.getInputType() != inputType) {
+            editText.setInputType(inputType);
+        }
+
+        editText.setHelperText(getHelperText());
+        editText.bindModel(getModel());
+    }
+
+}
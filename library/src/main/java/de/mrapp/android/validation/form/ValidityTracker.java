@@ -0,0 +1,305 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.form;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.mrapp.android.util.datastructure.ListenerList;
+import de.mrapp.android.validation.Validateable;
+import de.mrapp.android.validation.ValidationListener;
+import de.mrapp.android.validation.Validator;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * Tracks the validity of multiple {@link Validateable}s, e.g. the fields of a form, by observing
+ * their validations. The tracker maintains the number of invalid validateables, as well as a bit
+ * set, which identifies them, incrementally. This allows to check, whether all validateables are
+ * valid, in constant time, without validating any of them, and to notify listeners, when the
+ * overall validity changes, e.g. in order to enable or disable a submit button.
+ *
+ * The tracker relies on the results of the last validations of the validateables. A validateable,
+ * which has not been validated yet, is considered to be invalid by default.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class ValidityTracker {
+
+    /**
+     * Defines the interface, a class, which should be notified, when the overall validity of the
+     * validateables, which are tracked by a {@link ValidityTracker}, changes, must implement.
+     */
+    public interface ValidityListener {
+
+        /**
+         * The method, which is invoked, when the overall validity changes.
+         *
+         * @param tracker
+         *         The tracker, whose validity changed, as an instance of the class {@link
+         *         ValidityTracker}. The tracker may not be null
+         * @param valid
+         *         True, if all validateables are valid, false otherwise
+         */
+        void onValidityChanged(@NonNull ValidityTracker tracker, boolean valid);
+
+    }
+
+    /**
+     * A list, which contains the validateables, which are tracked. Validateables, which have been
+     * removed, are represented by null values.
+     */
+    private final List<Validateable<?>> validateables;
+
+    /**
+     * A map, which contains the indices of the validateables, which are tracked.
+     */
+    private final Map<Validateable<?>, Integer> indices;
+
+    /**
+     * A list, which contains the listeners, which have been registered at the validateables.
+     */
+    private final List<ValidationListener<?>> validationListeners;
+
+    /**
+     * A bit set, which identifies the indices of the invalid validateables.
+     */
+    private final BitSet invalid;
+
+    /**
+     * The number of invalid validateables.
+     */
+    private int invalidCount;
+
+    /**
+     * A set, which contains the listeners, which should be notified, when the overall validity
+     * changes.
+     */
+    private final ListenerList<ValidityListener> listeners;
+
+    /**
+     * Notifies all registered listeners, that the overall validity has changed.
+     *
+     * @param valid
+     *         True, if all validateables are valid, false otherwise
+     */
+    private void notifyOnValidityChanged(final boolean valid) {
+        for (ValidityListener listener : listeners) {
+            listener.onValidityChanged(this, valid);
+        }
+    }
+
+    /**
+     * Sets the validity of the validateable at a specific index.
+     *
+     * @param index
+     *         The index of the validateable as an {@link Integer} value
+     * @param valid
+     *         True, if the validateable is valid, false otherwise
+     */
+    private void setValid(final int index, final boolean valid) {
+        if (valid == invalid.get(index)) {
+            invalid.set(index, !valid);
+            invalidCount += valid ? -1 : 1;
+
+            if (invalidCount == (valid ? 0 : 1)) {
+                notifyOnValidityChanged(valid);
+            }
+        }
+    }
+
+    /**
+     * Creates and returns a listener, which updates the validity of the validateable at a specific
+     * index, when it has been validated.
+     *
+     * @param <Type>
+     *         The type of the values, which are validated
+     * @param index
+     *         The index of the validateable as an {@link Integer} value
+     * @return The listener, which has been created, as an instance of the type {@link
+     * ValidationListener}. The listener may not be null
+     */
+    @NonNull
+    private <Type> ValidationListener<Type> createValidationListener(final int index) {
+        return new ValidationListener<Type>() {
+
+            @Override
+            public void onValidationSuccess(@NonNull final Validateable<Type> view) {
+                setValid(index, true);
+            }
+
+            @Override
+            public void onValidationFailure(@NonNull final Validateable<Type> view,
+                                            @NonNull final Validator<Type> validator) {
+                setValid(index, false);
+            }
+
+        };
+    }
+
+    /**
+     * Creates a new tracker, which tracks the validity of multiple {@link Validateable}s.
+     */
+    public ValidityTracker() {
+        this.validateables = new ArrayList<>();
+        this.indices = new IdentityHashMap<>();
+        this.validationListeners = new ArrayList<>();
+        this.invalid = new BitSet();
+        this.invalidCount = 0;
+        this.listeners = new ListenerList<>();
+    }
+
+    /**
+     * Adds a specific validateable, whose validity should be tracked. The validateable is
+     * considered to be invalid until it has been validated.
+     *
+     * @param <Type>
+     *         The type of the values, which are validated
+     * @param validateable
+     *         The validateable, which should be added, as an instance of the type {@link
+     *         Validateable}. The validateable may not be null
+     */
+    public final <Type> void add(@NonNull final Validateable<Type> validateable) {
+        add(validateable, false);
+    }
+
+    /**
+     * Adds a specific validateable, whose validity should be tracked.
+     *
+     * @param <Type>
+     *         The type of the values, which are validated
+     * @param validateable
+     *         The validateable, which should be added, as an instance of the type {@link
+     *         Validateable}. The validateable may not be null
+     * @param valid
+     *         True, if the validateable should be considered to be valid until it has been
+     *         validated, false otherwise
+     */
+    public final <Type> void add(@NonNull final Validateable<Type> validateable,
+                                 final boolean valid) {
+        ensureNotNull(validateable, "The validateable may not be null");
+
+        if (!indices.containsKey(validateable)) {
+            int index = validateables.size();
+            indices.put(validateable, index);
+            ValidationListener<Type> validationListener = createValidationListener(index);
+            validateables.add(validateable);
+            validationListeners.add(validationListener);
+            validateable.addValidationListener(validationListener);
+
+            if (!valid) {
+                setValid(index, false);
+            }
+        }
+    }
+
+    /**
+     * Removes a specific validateable, whose validity should not be tracked anymore.
+     *
+     * @param <Type>
+     *         The type of the values, which are validated
+     * @param validateable
+     *         The validateable, which should be removed, as an instance of the type {@link
+     *         Validateable}. The validateable may not be null
+     */
+    @SuppressWarnings("unchecked")
+    public final <Type> void remove(@NonNull final Validateable<Type> validateable) {
+        ensureNotNull(validateable, "The validateable may not be null");
+        Integer index = indices.remove(validateable);
+
+        if (index != null) {
+            validateable.removeValidationListener(
+                    (ValidationListener<Type>) validationListeners.get(index));
+            validateables.set(index, null);
+            validationListeners.set(index, null);
+            setValid(index, true);
+        }
+    }
+
+    /**
+     * Returns, whether all validateables are valid, or not. This method does not validate any
+     * validateables and runs in constant time.
+     *
+     * @return True, if all validateables are valid, false otherwise
+     */
+    public final boolean isValid() {
+        return invalidCount == 0;
+    }
+
+    /**
+     * Returns the number of invalid validateables.
+     *
+     * @return The number of invalid validateables as an {@link Integer} value
+     */
+    public final int getInvalidCount() {
+        return invalidCount;
+    }
+
+    /**
+     * Returns, whether a specific validateable is valid, or not.
+     *
+     * @param validateable
+     *         The validateable as an instance of the type {@link Validateable}. The validateable
+     *         may not be null
+     * @return True, if the validateable is valid or if it is not tracked, false otherwise
+     */
+    public final boolean isValid(@NonNull final Validateable<?> validateable) {
+        ensureNotNull(validateable, "The validateable may not be null");
+        Integer index = indices.get(validateable);
+        return index == null || !invalid.get(index);
+    }
+
+    /**
+     * Returns the first invalid validateable in the order, the validateables have been added.
+     *
+     * @return The first invalid validateable as an instance of the type {@link Validateable} or
+     * null, if all validateables are valid
+     */
+    public final Validateable<?> getFirstInvalid() {
+        int index = invalid.nextSetBit(0);
+        return index != -1 ? validateables.get(index) : null;
+    }
+
+    /**
+     * Adds a new listener, which should be notified, when the overall validity changes.
+     *
+     * @param listener
+     *         The listener, which should be added, as an instance of the type {@link
+     *         ValidityListener}. The listener may not be null
+     */
+    public final void addValidityListener(@NonNull final ValidityListener listener) {
+        ensureNotNull(listener, "The listener may not be null");
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a specific listener, which should not be notified, when the overall validity
+     * changes, anymore.
+     *
+     * @param listener
+     *         The listener, which should be removed, as an instance of the type {@link
+     *         ValidityListener}. The listener may not be null
+     */
+    public final void removeValidityListener(@NonNull final ValidityListener listener) {
+        ensureNotNull(listener, "The listener may not be null");
+        listeners.remove(listener);
+    }
+
+}
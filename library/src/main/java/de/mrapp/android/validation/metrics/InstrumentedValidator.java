@@ -0,0 +1,98 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.metrics;
+
+import android.graphics.drawable.Drawable;
+import android.support.annotation.NonNull;
+
+import de.mrapp.android.validation.Validator;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * A validator, which delegates to an other validator and records the metrics of each invocation.
+ * The validator, which is delegated to, is not modified, i.e. it can still be used elsewhere
+ * without recording any metrics.
+ *
+ * @param <Type>
+ *         The type of the values, which should be validated
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class InstrumentedValidator<Type> implements Validator<Type> {
+
+    /**
+     * The validator, which is instrumented.
+     */
+    private final Validator<Type> validator;
+
+    /**
+     * The metrics, the invocations of the validator are recorded in.
+     */
+    private final ValidationMetrics metrics;
+
+    /**
+     * Creates a new validator, which delegates to an other validator and records the metrics of
+     * each invocation.
+     *
+     * @param validator
+     *         The validator, which should be instrumented, as an instance of the type {@link
+     *         Validator}. The validator may not be null
+     * @param metrics
+     *         The metrics, the invocations of the validator should be recorded in, as an instance
+     *         of the class {@link ValidationMetrics}. The metrics may not be null
+     */
+    public InstrumentedValidator(@NonNull final Validator<Type> validator,
+                                 @NonNull final ValidationMetrics metrics) {
+        ensureNotNull(validator, "The validator may not be null");
+        ensureNotNull(metrics, "The metrics may not be null");
+        this.validator = validator;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the validator, which is instrumented.
+     *
+     * @return The validator, which is instrumented, as an instance of the type {@link Validator}
+     */
+    public final Validator<Type> getValidator() {
+        return validator;
+    }
+
+    /**
+     * Returns the metrics, the invocations of the validator are recorded in.
+     *
+     * @return The metrics, the invocations of the validator are recorded in, as an instance of the
+     * class {@link ValidationMetrics}
+     */
+    public final ValidationMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public final boolean validate(final Type value) {
+        return metrics.validate(validator, value);
+    }
+
+    @Override
+    public final CharSequence getErrorMessage() {
+        return validator.getErrorMessage();
+    }
+
+    @Override
+    public final Drawable getIcon() {
+        return validator.getIcon();
+    }
+
+}
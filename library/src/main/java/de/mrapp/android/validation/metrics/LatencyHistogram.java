@@ -0,0 +1,335 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.metrics;
+
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram, which allows to record latencies in nanoseconds. Similar to a HDR histogram, the
+ * recorded values are counted in buckets, whose width grows exponentially, while each power of two
+ * is divided into a fixed number of linear sub-buckets. This results in a relative error of at
+ * most 1 / {@link #SUB_BUCKET_COUNT}. Values are recorded without locking and can therefore be
+ * recorded by multiple threads at once.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class LatencyHistogram {
+
+    /**
+     * The number of bits, which are used to determine the sub-bucket of a value.
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /**
+     * The number of linear sub-buckets, each power of two is divided into.
+     */
+    public static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * The number of bits of the largest value, which can be tracked. Larger values are counted in
+     * the last bucket.
+     */
+    private static final int MAX_VALUE_BITS = 40;
+
+    /**
+     * The largest value, which can be tracked.
+     */
+    public static final long MAX_TRACKABLE_VALUE = (1L << MAX_VALUE_BITS) - 1;
+
+    /**
+     * The total number of buckets.
+     */
+    static final int BUCKET_COUNT = (MAX_VALUE_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    /**
+     * An array, which contains the number of values, which have been counted in each bucket.
+     */
+    private final AtomicLongArray counts;
+
+    /**
+     * The total number of recorded values.
+     */
+    private final AtomicLong totalCount;
+
+    /**
+     * The sum of all recorded values.
+     */
+    private final AtomicLong sum;
+
+    /**
+     * The largest recorded value.
+     */
+    private final AtomicLong max;
+
+    /**
+     * Returns the index of the bucket, a specific value is counted in.
+     *
+     * @param value
+     *         The value as a {@link Long} value. The value must be at least 0
+     * @return The index of the bucket as an {@link Integer} value
+     */
+    static int getBucketIndex(final long value) {
+        long clampedValue = Math.min(value, MAX_TRACKABLE_VALUE);
+
+        if (clampedValue < SUB_BUCKET_COUNT) {
+            return (int) clampedValue;
+        }
+
+        int shift = 63 - Long.numberOfLeadingZeros(clampedValue) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKET_COUNT +
+                (int) ((clampedValue >>> shift) & (SUB_BUCKET_COUNT - 1));
+    }
+
+    /**
+     * Returns the smallest value, which is counted in a specific bucket.
+     *
+     * @param index
+     *         The index of the bucket as an {@link Integer} value
+     * @return The smallest value, which is counted in the given bucket, as a {@link Long} value
+     */
+    static long getLowerBound(final int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long subBucket = index % SUB_BUCKET_COUNT;
+        return (SUB_BUCKET_COUNT + subBucket) << shift;
+    }
+
+    /**
+     * Returns the largest value, which is counted in a specific bucket.
+     *
+     * @param index
+     *         The index of the bucket as an {@link Integer} value
+     * @return The largest value, which is counted in the given bucket, as a {@link Long} value
+     */
+    static long getUpperBound(final int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        return getLowerBound(index) + (1L << shift) - 1;
+    }
+
+    /**
+     * Creates a new histogram, which allows to record latencies in nanoseconds.
+     */
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(BUCKET_COUNT);
+        this.totalCount = new AtomicLong();
+        this.sum = new AtomicLong();
+        this.max = new AtomicLong();
+    }
+
+    /**
+     * Records a specific value.
+     *
+     * @param value
+     *         The value, which should be recorded, in nanoseconds as a {@link Long} value. Negative
+     *         values are recorded as 0
+     */
+    public final void record(final long value) {
+        long nonNegativeValue = Math.max(0, value);
+        counts.incrementAndGet(getBucketIndex(nonNegativeValue));
+        totalCount.incrementAndGet();
+        sum.addAndGet(nonNegativeValue);
+        long currentMax = max.get();
+
+        while (nonNegativeValue > currentMax && !max.compareAndSet(currentMax, nonNegativeValue)) {
+            currentMax = max.get();
+        }
+    }
+
+    /**
+     * Returns the total number of recorded values.
+     *
+     * @return The total number of recorded values as a {@link Long} value
+     */
+    public final long getTotalCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * Creates and returns a snapshot of the histogram. If values are recorded concurrently, the
+     * snapshot may not reflect a single point in time.
+     *
+     * @param reset
+     *         True, if the histogram should be reset while creating the snapshot, false otherwise
+     * @return The snapshot, which has been created, as an instance of the class {@link Snapshot}.
+     * The snapshot may not be null
+     */
+    @NonNull
+    public final Snapshot snapshot(final boolean reset) {
+        long[] bucketCounts = new long[BUCKET_COUNT];
+        long count = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            bucketCounts[i] = reset ? counts.getAndSet(i, 0) : counts.get(i);
+            count += bucketCounts[i];
+        }
+
+        long totalSum = reset ? sum.getAndSet(0) : sum.get();
+        long maxValue = reset ? max.getAndSet(0) : max.get();
+
+        if (reset) {
+            totalCount.addAndGet(-count);
+        }
+
+        return new Snapshot(bucketCounts, count, totalSum, maxValue);
+    }
+
+    /**
+     * Resets the histogram.
+     */
+    public final void reset() {
+        snapshot(true);
+    }
+
+    /**
+     * An immutable snapshot of a {@link LatencyHistogram}.
+     */
+    public static final class Snapshot {
+
+        /**
+         * An array, which contains the number of values, which have been counted in each bucket.
+         */
+        private final long[] counts;
+
+        /**
+         * The total number of values.
+         */
+        private final long totalCount;
+
+        /**
+         * The sum of all values.
+         */
+        private final long sum;
+
+        /**
+         * The largest value.
+         */
+        private final long max;
+
+        /**
+         * Creates a new snapshot of a {@link LatencyHistogram}.
+         *
+         * @param counts
+         *         An array, which contains the number of values, which have been counted in each
+         *         bucket, as a {@link Long} array. The array may not be null
+         * @param totalCount
+         *         The total number of values as a {@link Long} value
+         * @param sum
+         *         The sum of all values as a {@link Long} value
+         * @param max
+         *         The largest value as a {@link Long} value
+         */
+        private Snapshot(@NonNull final long[] counts, final long totalCount, final long sum,
+                         final long max) {
+            this.counts = counts;
+            this.totalCount = totalCount;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        /**
+         * Returns the total number of values.
+         *
+         * @return The total number of values as a {@link Long} value
+         */
+        public long getTotalCount() {
+            return totalCount;
+        }
+
+        /**
+         * Returns the mean of all values.
+         *
+         * @return The mean of all values in nanoseconds as a {@link Double} value or 0, if no
+         * values have been recorded
+         */
+        public double getMean() {
+            return totalCount > 0 ? (double) sum / totalCount : 0;
+        }
+
+        /**
+         * Returns the largest value.
+         *
+         * @return The largest value in nanoseconds as a {@link Long} value or 0, if no values
+         * have been recorded
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * Returns the value at a specific percentile. The value is the upper bound of the bucket,
+         * which contains the percentile, and therefore may overestimate the actual value by the
+         * width of a bucket.
+         *
+         * @param percentile
+         *         The percentile as a {@link Double} value between 0 and 100
+         * @return The value at the given percentile in nanoseconds as a {@link Long} value or 0, if
+         * no values have been recorded
+         */
+        public long getValueAtPercentile(final double percentile) {
+            if (totalCount == 0) {
+                return 0;
+            }
+
+            double clampedPercentile = Math.min(Math.max(percentile, 0), 100);
+            long rank = Math.max(1, (long) Math.ceil(clampedPercentile / 100 * totalCount));
+            long count = 0;
+
+            for (int i = 0; i < counts.length; i++) {
+                count += counts[i];
+
+                if (count >= rank) {
+                    return Math.min(getUpperBound(i), max);
+                }
+            }
+
+            return max;
+        }
+
+        /**
+         * Returns the number of values, which have been counted in each bucket.
+         *
+         * @return An array, which contains the number of values, which have been counted in each
+         * bucket, as a {@link Long} array. The array may not be null
+         */
+        @NonNull
+        public long[] getCounts() {
+            return counts.clone();
+        }
+
+        /**
+         * Returns the smallest value, which is counted in a specific bucket.
+         *
+         * @param index
+         *         The index of the bucket as an {@link Integer} value
+         * @return The smallest value, which is counted in the given bucket, in nanoseconds as a
+         * {@link Long} value
+         */
+        public long getBucketLowerBound(final int index) {
+            return getLowerBound(index);
+        }
+
+    }
+
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.metrics;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import de.mrapp.android.validation.AbstractValidateableView;
+import de.mrapp.android.validation.Validateable;
+import de.mrapp.android.validation.ValidationModel;
+import de.mrapp.android.validation.Validator;
+import de.mrapp.android.validation.validators.ConjunctiveValidator;
+import de.mrapp.android.validation.validators.DisjunctiveValidator;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * Allows to record the number of invocations, the number of failures and the latencies of
+ * validators. Metrics can be recorded for the validators of {@link Validateable}s, as well as for
+ * the single validators of composite validators. The metrics are recorded, where the validators
+ * are invoked, i.e. the validators themselves are never modified or replaced. All metrics are
+ * recorded without locking and can therefore be recorded by multiple threads at once.
+ *
+ * As the metrics are stored per validator instance, the recorded validators are referenced until
+ * the method {@link #clear()} is called.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class ValidationMetrics {
+
+    /**
+     * The metrics, which are recorded for a single validator.
+     */
+    private static final class Recorder {
+
+        /**
+         * The number of times, the validator has been invoked.
+         */
+        private final AtomicLong invocationCount = new AtomicLong();
+
+        /**
+         * The number of times, the validation failed.
+         */
+        private final AtomicLong failureCount = new AtomicLong();
+
+        /**
+         * The latencies of the validator's invocations.
+         */
+        private final LatencyHistogram latencies = new LatencyHistogram();
+
+    }
+
+    /**
+     * A map, which contains the metrics, which are recorded for each validator.
+     */
+    private final ConcurrentMap<Validator<?>, Recorder> recorders;
+
+    /**
+     * Returns the metrics, which are recorded for a specific validator. If no metrics have been
+     * recorded for the validator yet, they are created.
+     *
+     * @param validator
+     *         The validator, whose metrics should be returned, as an instance of the type {@link
+     *         Validator}. The validator may not be null
+     * @return The metrics, which are recorded for the given validator, as an instance of the class
+     * {@link Recorder}. The metrics may not be null
+     */
+    @NonNull
+    private Recorder getRecorder(@NonNull final Validator<?> validator) {
+        Recorder recorder = recorders.get(validator);
+
+        if (recorder == null) {
+            recorder = new Recorder();
+            Recorder previousRecorder = recorders.putIfAbsent(validator, recorder);
+
+            if (previousRecorder != null) {
+                recorder = previousRecorder;
+            }
+        }
+
+        return recorder;
+    }
+
+    /**
+     * Validates a specific value by using the single validators of a {@link
+     * ConjunctiveValidator} or {@link DisjunctiveValidator}, while recording their metrics.
+     *
+     * @param <Type>
+     *         The type of the values, which are validated
+     * @param validators
+     *         The single validators as an array of the type {@link Validator}. The array may not
+     *         be null
+     * @param value
+     *         The value, which should be validated, as an instance of the generic type Type
+     * @param conjunctive
+     *         True, if all single validators must succeed, false, if a single one must succeed
+     * @return True, if the validation succeeded, false otherwise
+     */
+    private <Type> boolean validate(@NonNull final Validator<Type>[] validators, final Type value,
+                                    final boolean conjunctive) {
+        for (Validator<Type> validator : validators) {
+            if (validate(validator, value) != conjunctive) {
+                return !conjunctive;
+            }
+        }
+
+        return conjunctive;
+    }
+
+    /**
+     * Creates new metrics, which allow to record the number of invocations, the number of failures
+     * and the latencies of validators.
+     */
+    public ValidationMetrics() {
+        this.recorders = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Records a single invocation of a specific validator.
+     *
+     * @param validator
+     *         The validator, which has been invoked, as an instance of the type {@link Validator}.
+     *         The validator may not be null
+     * @param duration
+     *         The duration of the invocation in nanoseconds as a {@link Long} value
+     * @param valid
+     *         True, if the validation succeeded, false otherwise
+     */
+    public final void record(@NonNull final Validator<?> validator, final long duration,
+                             final boolean valid) {
+        ensureNotNull(validator, "The validator may not be null");
+        Recorder recorder = getRecorder(validator);
+        recorder.invocationCount.incrementAndGet();
+
+        if (!valid) {
+            recorder.failureCount.incrementAndGet();
+        }
+
+        recorder.latencies.record(duration);
+    }
+
+    /**
+     * Validates a specific value by using a specific validator and records the metrics of the
+     * invocation. If the validator is a {@link ConjunctiveValidator} or a {@link
+     * DisjunctiveValidator}, its single validators are invoked one after another, in order to
+     * record their metrics as well. The validator is not modified.
+     *
+     * @param <Type>
+     *         The type of the values, which are validated
+     * @param validator
+     *         The validator, which should be used, as an instance of the type {@link Validator}.
+     *         The validator may not be null
+     * @param value
+     *         The value, which should be validated, as an instance of the generic type Type
+     * @return True, if the validation succeeded, false otherwise
+     */
+    public final <Type> boolean validate(@NonNull final Validator<Type> validator,
+                                         final Type value) {
+        ensureNotNull(validator, "The validator may not be null");
+        long startTime = System.nanoTime();
+        boolean valid;
+
+        if (validator instanceof ConjunctiveValidator) {
+            valid = validate(((ConjunctiveValidator<Type>) validator).getValidators(), value,
+                    true);
+        } else if (validator instanceof DisjunctiveValidator) {
+            valid = validate(((DisjunctiveValidator<Type>) validator).getValidators(), value,
+                    false);
+        } else {
+            valid = validator.validate(value);
+        }
+
+        record(validator, System.nanoTime() - startTime, valid);
+        return valid;
+    }
+
+    /**
+     * Wraps a specific validator in order to record its metrics, whenever the returned validator
+     * is invoked. If the validator is a {@link ConjunctiveValidator} or a {@link
+     * DisjunctiveValidator}, the metrics of its single validators are recorded as well. The given
+     * validator is not modified.
+     *
+     * @param <Type>
+     *         The type of the values, which are validated
+     * @param validator
+     *         The validator, which should be wrapped, as an instance of the type {@link Validator}.
+     *         The validator may not be null
+     * @return The wrapped validator as an instance of the type {@link Validator}. The validator
+     * may not be null
+     */
+    @NonNull
+    public final <Type> Validator<Type> wrap(@NonNull final Validator<Type> validator) {
+        ensureNotNull(validator, "The validator may not be null");
+
+        if (validator instanceof InstrumentedValidator) {
+            return validator;
+        }
+
+        return new InstrumentedValidator<>(validator, this);
+    }
+
+    /**
+     * Instruments the validators of a specific {@link Validateable} in order to record their
+     * metrics. The metrics are recorded by the validateable itself, including validators, which
+     * are added later. The validators, which are added to the validateable, are not replaced.
+     *
+     * @param <Type>
+     *         The type of the values, which are validated
+     * @param validateable
+     *         The validateable, whose validators should be instrumented, as an instance of the type
+     *         {@link Validateable}. The validateable must either be an {@link
+     *         AbstractValidateableView} or a {@link ValidationModel}. It may not be null
+     */
+    public final <Type> void instrument(@NonNull final Validateable<Type> validateable) {
+        ensureNotNull(validateable, "The validateable may not be null");
+
+        if (validateable instanceof AbstractValidateableView) {
+            ((AbstractValidateableView<?, Type>) validateable).setValidationMetrics(this);
+        } else if (validateable instanceof ValidationModel) {
+            ((ValidationModel<Type>) validateable).setValidationMetrics(this);
+        } else {
+            throw new IllegalArgumentException(
+                    "Unsupported validateable: " + validateable.getClass().getName());
+        }
+    }
+
+    /**
+     * Creates and returns a snapshot of the metrics of all validators, which have been invoked at
+     * least once.
+     *
+     * @return A list, which contains the metrics of all validators, as an instance of the type
+     * {@link List}. The list may not be null
+     */
+    @NonNull
+    public final List<ValidatorStatistics> snapshot() {
+        return snapshot(false);
+    }
+
+    /**
+     * Creates and returns a snapshot of the metrics of all validators, which have been invoked at
+     * least once, and resets them afterwards.
+     *
+     * @return A list, which contains the metrics of all validators, as an instance of the type
+     * {@link List}. The list may not be null
+     */
+    @NonNull
+    public final List<ValidatorStatistics> snapshotAndReset() {
+        return snapshot(true);
+    }
+
+    /**
+     * Resets the metrics of all validators.
+     */
+    public final void reset() {
+        snapshot(true);
+    }
+
+    /**
+     * Removes the metrics of all validators and releases the references to them.
+     */
+    public final void clear() {
+        recorders.clear();
+    }
+
+    /**
+     * Creates and returns a snapshot of the metrics of all validators, which have been invoked at
+     * least once.
+     *
+     * @param reset
+     *         True, if the metrics should be reset while creating the snapshot, false otherwise
+     * @return A list, which contains the metrics of all validators, as an instance of the type
+     * {@link List}. The list may not be null
+     */
+    @NonNull
+    private List<ValidatorStatistics> snapshot(final boolean reset) {
+        List<ValidatorStatistics> result = new ArrayList<>();
+
+        for (Map.Entry<Validator<?>, Recorder> entry : recorders.entrySet()) {
+            Recorder recorder = entry.getValue();
+            long invocationCount = reset ? recorder.invocationCount.getAndSet(0) :
+                    recorder.invocationCount.get();
+            long failureCount =
+                    reset ? recorder.failureCount.getAndSet(0) : recorder.failureCount.get();
+            LatencyHistogram.Snapshot latencies = recorder.latencies.snapshot(reset);
+
+            if (invocationCount > 0) {
+                result.add(new ValidatorStatistics(entry.getKey(), invocationCount, failureCount,
+                        latencies));
+            }
+        }
+
+        return result;
+    }
+
+}
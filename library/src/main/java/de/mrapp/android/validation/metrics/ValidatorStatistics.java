@@ -0,0 +1,131 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.metrics;
+
+import android.support.annotation.NonNull;
+
+import de.mrapp.android.validation.Validator;
+
+/**
+ * An immutable snapshot of the metrics, which have been recorded for a single validator.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public final class ValidatorStatistics {
+
+    /**
+     * The validator, the metrics have been recorded for.
+     */
+    private final Validator<?> validator;
+
+    /**
+     * The number of times, the validator has been invoked.
+     */
+    private final long invocationCount;
+
+    /**
+     * The number of times, the validation failed.
+     */
+    private final long failureCount;
+
+    /**
+     * The latencies of the validator's invocations.
+     */
+    private final LatencyHistogram.Snapshot latencies;
+
+    /**
+     * Creates a new snapshot of the metrics, which have been recorded for a single validator.
+     *
+     * @param validator
+     *         The validator, the metrics have been recorded for, as an instance of the type {@link
+     *         Validator}. The validator may not be null
+     * @param invocationCount
+     *         The number of times, the validator has been invoked, as a {@link Long} value
+     * @param failureCount
+     *         The number of times, the validation failed, as a {@link Long} value
+     * @param latencies
+     *         The latencies of the validator's invocations as an instance of the class {@link
+     *         LatencyHistogram.Snapshot}. The latencies may not be null
+     */
+    ValidatorStatistics(@NonNull final Validator<?> validator, final long invocationCount,
+                        final long failureCount,
+                        @NonNull final LatencyHistogram.Snapshot latencies) {
+        this.validator = validator;
+        this.invocationCount = invocationCount;
+        this.failureCount = failureCount;
+        this.latencies = latencies;
+    }
+
+    /**
+     * Returns the validator, the metrics have been recorded for.
+     *
+     * @return The validator, the metrics have been recorded for, as an instance of the type {@link
+     * Validator}. The validator may not be null
+     */
+    @NonNull
+    public Validator<?> getValidator() {
+        return validator;
+    }
+
+    /**
+     * Returns the name of the validator's class, which may be used to aggregate the metrics of
+     * multiple validators.
+     *
+     * @return The name of the validator's class as a {@link String}. The name may not be null
+     */
+    @NonNull
+    public String getValidatorName() {
+        return validator.getClass().getName();
+    }
+
+    /**
+     * Returns the number of times, the validator has been invoked.
+     *
+     * @return The number of times, the validator has been invoked, as a {@link Long} value
+     */
+    public long getInvocationCount() {
+        return invocationCount;
+    }
+
+    /**
+     * Returns the number of times, the validation failed.
+     *
+     * @return The number of times, the validation failed, as a {@link Long} value
+     */
+    public long getFailureCount() {
+        return failureCount;
+    }
+
+    /**
+     * Returns the latencies of the validator's invocations.
+     *
+     * @return The latencies of the validator's invocations as an instance of the class {@link
+     * LatencyHistogram.Snapshot}. The latencies may not be null
+     */
+    @NonNull
+    public LatencyHistogram.Snapshot getLatencies() {
+        return latencies;
+    }
+
+    @Override
+    public String toString() {
+        return "ValidatorStatistics{validator=" + getValidatorName() + ", invocations=" +
+                invocationCount + ", failures=" + failureCount + ", mean=" +
+                latencies.getMean() + "ns, p50=" + latencies.getValueAtPercentile(50) +
+                "ns, p99=" + latencies.getValueAtPercentile(99) + "ns, max=" +
+                latencies.getMax() + "ns}";
+    }
+
+}
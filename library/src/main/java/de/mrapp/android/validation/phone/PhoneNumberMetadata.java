@@ -0,0 +1,294 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.phone;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * Provides the numbering plans of multiple regions, which are stored in a compact binary format
+ * (see {@link PhoneNumberMetadataWriter}). When the metadata is opened, only its directory is
+ * validated. The numbering plan of a region is decoded, when it is requested for the first time,
+ * and cached afterwards. If the metadata is read from a file or an uncompressed asset, it is
+ * memory-mapped, so that the numbering plans of regions, which are never used, are not even read.
+ *
+ * The library contains the numbering plans of the regions AT, AU, BE, BR, CA, CH, CN, DE, ES, FR,
+ * GB, IN, IT, JP, NL and US in the asset {@link #ASSET_NAME}, which is used by default by the
+ * class {@link de.mrapp.android.validation.validators.misc.RegionalPhoneNumberValidator}. The
+ * numbering plans are simplified, i.e. they only specify the valid lengths of numbers depending on
+ * their leading digits. They neither distinguish between number types, nor exclude unassigned
+ * number ranges. An instance can be used by multiple threads at once.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public final class PhoneNumberMetadata {
+
+    /**
+     * The magic number, the binary format starts with.
+     */
+    public static final int MAGIC = 0x504e4d44;
+
+    /**
+     * The version of the binary format.
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    /**
+     * The name of the asset, which contains the numbering plans, which are provided by the
+     * library.
+     */
+    public static final String ASSET_NAME = "phone_number_metadata.bin";
+
+    /**
+     * The size of the header in bytes.
+     */
+    static final int HEADER_SIZE = 12;
+
+    /**
+     * The size of an entry of the directory in bytes.
+     */
+    static final int DIRECTORY_ENTRY_SIZE = 6;
+
+    /**
+     * The buffer, which contains the metadata in its binary format.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * The number of regions.
+     */
+    private final int regionCount;
+
+    /**
+     * The numbering plans of the regions, which have already been decoded, mapped to the codes of
+     * the regions.
+     */
+    private final ConcurrentMap<String, RegionMetadata> regions;
+
+    /**
+     * Returns the code of the region at a specific index of the directory.
+     *
+     * @param index
+     *         The index as an {@link Integer} value
+     * @return The code of the region as a {@link String}. The code may not be null
+     */
+    @NonNull
+    private String getRegionCode(final int index) {
+        int entry = HEADER_SIZE + index * DIRECTORY_ENTRY_SIZE;
+        return new String(new char[]{(char) buffer.get(entry), (char) buffer.get(entry + 1)});
+    }
+
+    /**
+     * Returns the index of a specific region in the directory.
+     *
+     * @param regionCode
+     *         The code of the region as a {@link String}. The code may not be null
+     * @return The index of the region as an {@link Integer} value or -1, if the metadata does not
+     * contain the region
+     */
+    private int indexOf(@NonNull final String regionCode) {
+        if (regionCode.length() != 2) {
+            return -1;
+        }
+
+        int low = 0;
+        int high = regionCount - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int entry = HEADER_SIZE + mid * DIRECTORY_ENTRY_SIZE;
+            int result = buffer.get(entry) - regionCode.charAt(0);
+
+            if (result == 0) {
+                result = buffer.get(entry + 1) - regionCode.charAt(1);
+            }
+
+            if (result < 0) {
+                low = mid + 1;
+            } else if (result > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Creates new metadata, which is backed by a specific buffer.
+     *
+     * @param buffer
+     *         The buffer, which contains the metadata in its binary format, as an instance of the
+     *         class {@link ByteBuffer}. The buffer may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if the buffer does not contain valid metadata
+     */
+    private PhoneNumberMetadata(@NonNull final ByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not phone number metadata");
+        } else if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Unsupported format version: " + buffer.getInt(4));
+        }
+
+        this.buffer = buffer;
+        this.regionCount = buffer.getInt(8);
+        this.regions = new ConcurrentHashMap<>();
+
+        if (regionCount < 0 ||
+                HEADER_SIZE + (long) DIRECTORY_ENTRY_SIZE * regionCount > buffer.capacity()) {
+            throw new IOException("Corrupt phone number metadata");
+        }
+
+        for (int i = 0; i < regionCount; i++) {
+            int offset = buffer.getInt(HEADER_SIZE + i * DIRECTORY_ENTRY_SIZE + 2);
+
+            if (offset < HEADER_SIZE + DIRECTORY_ENTRY_SIZE * regionCount ||
+                    offset >= buffer.capacity()) {
+                throw new IOException("Corrupt phone number metadata");
+            }
+        }
+    }
+
+    /**
+     * Creates new metadata, which is backed by a specific buffer. The buffer is not copied and
+     * must not be modified afterwards.
+     *
+     * @param buffer
+     *         The buffer, which contains the metadata in its binary format, as an instance of the
+     *         class {@link ByteBuffer}. The buffer may not be null
+     * @return The metadata, which has been created, as an instance of the class {@link
+     * PhoneNumberMetadata}. The metadata may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if the buffer does not contain valid metadata
+     */
+    @NonNull
+    public static PhoneNumberMetadata wrap(@NonNull final ByteBuffer buffer) throws IOException {
+        ensureNotNull(buffer, "The buffer may not be null");
+        return new PhoneNumberMetadata(buffer.slice());
+    }
+
+    /**
+     * Creates new metadata by memory-mapping a specific file, which contains the metadata in its
+     * binary format.
+     *
+     * @param file
+     *         The file as an instance of the class {@link File}. The file may not be null
+     * @return The metadata, which has been created, as an instance of the class {@link
+     * PhoneNumberMetadata}. The metadata may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if the file could not be read or does not contain
+     *         valid metadata
+     */
+    @NonNull
+    public static PhoneNumberMetadata map(@NonNull final File file) throws IOException {
+        ensureNotNull(file, "The file may not be null");
+        FileInputStream stream = new FileInputStream(file);
+
+        try {
+            FileChannel channel = stream.getChannel();
+            return new PhoneNumberMetadata(
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } finally {
+            stream.close();
+        }
+    }
+
+    /**
+     * Returns the numbering plan of a specific region. If the numbering plan has not been
+     * requested before, it is decoded.
+     *
+     * @param regionCode
+     *         The ISO 3166-1 alpha-2 code of the region, e.g. <code>DE</code>, as a {@link
+     *         String}. The code may not be null
+     * @return The numbering plan of the given region as an instance of the class {@link
+     * RegionMetadata} or null, if the metadata does not contain the region
+     */
+    @Nullable
+    public RegionMetadata getRegion(@NonNull final String regionCode) {
+        ensureNotNull(regionCode, "The region code may not be null");
+        RegionMetadata region = regions.get(regionCode);
+
+        if (region == null) {
+            int index = indexOf(regionCode);
+
+            if (index == -1) {
+                return null;
+            }
+
+            try {
+                int offset = buffer.getInt(HEADER_SIZE + index * DIRECTORY_ENTRY_SIZE + 2);
+                region = RegionMetadata.read(buffer, offset, regionCode);
+            } catch (IndexOutOfBoundsException e) {
+                throw new IllegalStateException(
+                        "Corrupt phone number metadata of region " + regionCode, e);
+            }
+
+            RegionMetadata previousRegion = regions.putIfAbsent(regionCode, region);
+
+            if (previousRegion != null) {
+                region = previousRegion;
+            }
+        }
+
+        return region;
+    }
+
+    /**
+     * Returns the codes of all regions, whose numbering plans are contained by the metadata.
+     *
+     * @return A set, which contains the codes of the regions, as an instance of the type {@link
+     * Set}. The set may not be null
+     */
+    @NonNull
+    public Set<String> getRegionCodes() {
+        Set<String> regionCodes = new TreeSet<>();
+
+        for (int i = 0; i < regionCount; i++) {
+            regionCodes.add(getRegionCode(i));
+        }
+
+        return regionCodes;
+    }
+
+    /**
+     * Returns the number of regions, whose numbering plans have already been decoded.
+     *
+     * @return The number of regions, whose numbering plans have already been decoded, as an
+     * {@link Integer} value
+     */
+    public int getDecodedRegionCount() {
+        return regions.size();
+    }
+
+    @Override
+    public String toString() {
+        return "PhoneNumberMetadata{regions=" + regionCount + ", decoded=" + regions.size() +
+                ", bytes=" + buffer.capacity() + ", direct=" + buffer.isDirect() + "}";
+    }
+
+}
@@ -0,0 +1,462 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.phone;
+
+import android.support.annotation.NonNull;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static de.mrapp.android.util.Condition.ensureAtLeast;
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * Allows to write the numbering plans of multiple regions in the binary format, which is read by
+ * the class {@link PhoneNumberMetadata}. The numbering plan of a region consists of its country
+ * calling code, its international prefix, its national prefix and rules, which specify the valid
+ * lengths of national significant numbers depending on their leading digits.
+ *
+ * A rule has the form <code>leadingDigits:lengths</code>, e.g. <code>1[5-7]:10-11</code>. The
+ * leading digits may consist of digits and character classes, which contain digits and ranges of
+ * digits. The lengths may consist of comma-separated lengths and ranges of lengths. If multiple
+ * rules match a number, the lengths of all of them are valid.
+ *
+ * The binary format starts with a header, which consists of the magic number {@link
+ * PhoneNumberMetadata#MAGIC}, the version {@link PhoneNumberMetadata#FORMAT_VERSION} and the
+ * number of regions. It is followed by a directory, which contains the code and offset of each
+ * region, sorted by the codes, and by the blocks of the regions. Each block contains the country
+ * calling code, the international prefix, the national prefix and the nodes of a digit trie, which
+ * consist of a bit mask of valid lengths and the indices of their children.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public final class PhoneNumberMetadataWriter {
+
+    /**
+     * A node of the digit trie of a region, which is being built.
+     */
+    private static final class Node {
+
+        /**
+         * The valid lengths of the national significant numbers, which start with the leading
+         * digits of the node, as a bit mask.
+         */
+        private int lengthMask;
+
+        /**
+         * The children of the node per digit.
+         */
+        private final Node[] children = new Node[RegionMetadata.RADIX];
+
+    }
+
+    /**
+     * The numbering plan of a region, which is being built.
+     */
+    private static final class Region {
+
+        /**
+         * The country calling code of the region.
+         */
+        private final int callingCode;
+
+        /**
+         * The international prefix of the region.
+         */
+        private final String internationalPrefix;
+
+        /**
+         * The national prefix of the region.
+         */
+        private final String nationalPrefix;
+
+        /**
+         * The root of the region's digit trie.
+         */
+        private final Node root = new Node();
+
+        /**
+         * Creates a new numbering plan of a region.
+         *
+         * @param callingCode
+         *         The country calling code of the region as an {@link Integer} value
+         * @param internationalPrefix
+         *         The international prefix of the region as a {@link String}. The prefix may not
+         *         be null
+         * @param nationalPrefix
+         *         The national prefix of the region as a {@link String}. The prefix may not be
+         *         null
+         */
+        private Region(final int callingCode, @NonNull final String internationalPrefix,
+                       @NonNull final String nationalPrefix) {
+            this.callingCode = callingCode;
+            this.internationalPrefix = internationalPrefix;
+            this.nationalPrefix = nationalPrefix;
+        }
+
+    }
+
+    /**
+     * The regions, which have been added, mapped to their codes.
+     */
+    private final Map<String, Region> regions = new TreeMap<>();
+
+    /**
+     * Ensures, that a specific prefix only consists of digits.
+     *
+     * @param prefix
+     *         The prefix as a {@link String}. The prefix may not be null
+     * @param name
+     *         The name of the prefix as a {@link String}. The name may not be null
+     */
+    private static void ensureDigits(@NonNull final String prefix, @NonNull final String name) {
+        ensureNotNull(prefix, "The " + name + " may not be null");
+
+        for (int i = 0; i < prefix.length(); i++) {
+            if (prefix.charAt(i) < '0' || prefix.charAt(i) > '9') {
+                throw new IllegalArgumentException(
+                        "The " + name + " must only contain digits: " + prefix);
+            }
+        }
+    }
+
+    /**
+     * Parses the lengths of a specific rule.
+     *
+     * @param lengths
+     *         The lengths as a {@link String}. The lengths may not be null
+     * @return The lengths as a bit mask
+     */
+    private static int parseLengths(@NonNull final String lengths) {
+        int mask = 0;
+
+        for (String item : lengths.split(",")) {
+            String[] range = item.trim().split("-", 2);
+
+            try {
+                int from = Integer.parseInt(range[0]);
+                int to = range.length > 1 ? Integer.parseInt(range[1]) : from;
+
+                if (from < 1 || to > RegionMetadata.MAX_LENGTH || from > to) {
+                    throw new IllegalArgumentException("Invalid lengths: " + lengths);
+                }
+
+                for (int length = from; length <= to; length++) {
+                    mask |= 1 << length;
+                }
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid lengths: " + lengths, e);
+            }
+        }
+
+        return mask;
+    }
+
+    /**
+     * Adds the nodes, which correspond to specific leading digits, to a digit trie, starting at a
+     * specific index of the leading digits.
+     *
+     * @param node
+     *         The node, the remaining leading digits should be added to, as an instance of the
+     *         class {@link Node}. The node may not be null
+     * @param leadingDigits
+     *         The leading digits as a {@link String}. The leading digits may not be null
+     * @param index
+     *         The index of the first leading digit, which should be added, as an {@link Integer}
+     *         value
+     * @param lengthMask
+     *         The valid lengths of the numbers, which start with the leading digits, as a bit mask
+     */
+    private static void addLeadingDigits(@NonNull final Node node,
+                                         @NonNull final String leadingDigits, final int index,
+                                         final int lengthMask) {
+        if (index == leadingDigits.length()) {
+            node.lengthMask |= lengthMask;
+            return;
+        }
+
+        boolean[] digits = new boolean[RegionMetadata.RADIX];
+        int next;
+        char character = leadingDigits.charAt(index);
+
+        if (character == '[') {
+            next = leadingDigits.indexOf(']', index);
+
+            if (next == -1) {
+                throw new IllegalArgumentException("Invalid leading digits: " + leadingDigits);
+            }
+
+            for (int i = index + 1; i < next; i++) {
+                char from = leadingDigits.charAt(i);
+                char to = from;
+
+                if (i + 2 < next && leadingDigits.charAt(i + 1) == '-') {
+                    to = leadingDigits.charAt(i + 2);
+                    i += 2;
+                }
+
+                if (from < '0' || to > '9' || from > to) {
+                    throw new IllegalArgumentException("Invalid leading digits: " + leadingDigits);
+                }
+
+                for (char digit = from; digit <= to; digit++) {
+                    digits[digit - '0'] = true;
+                }
+            }
+
+            next++;
+        } else if (character >= '0' && character <= '9') {
+            digits[character - '0'] = true;
+            next = index + 1;
+        } else {
+            throw new IllegalArgumentException("Invalid leading digits: " + leadingDigits);
+        }
+
+        for (int digit = 0; digit < RegionMetadata.RADIX; digit++) {
+            if (digits[digit]) {
+                if (node.children[digit] == null) {
+                    node.children[digit] = new Node();
+                }
+
+                addLeadingDigits(node.children[digit], leadingDigits, next, lengthMask);
+            }
+        }
+    }
+
+    /**
+     * Writes a specific prefix in the binary format.
+     *
+     * @param stream
+     *         The stream, the prefix should be written to, as an instance of the class {@link
+     *         DataOutputStream}. The stream may not be null
+     * @param prefix
+     *         The prefix as a {@link String}. The prefix may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if the prefix could not be written
+     */
+    private static void writeDigits(@NonNull final DataOutputStream stream,
+                                    @NonNull final String prefix) throws IOException {
+        stream.writeByte(prefix.length());
+
+        for (int i = 0; i < prefix.length(); i++) {
+            stream.writeByte(prefix.charAt(i) - '0');
+        }
+    }
+
+    /**
+     * Writes the block of a specific region in the binary format.
+     *
+     * @param stream
+     *         The stream, the block should be written to, as an instance of the class {@link
+     *         DataOutputStream}. The stream may not be null
+     * @param region
+     *         The region as an instance of the class {@link Region}. The region may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if the block could not be written
+     */
+    private static void writeRegion(@NonNull final DataOutputStream stream,
+                                    @NonNull final Region region) throws IOException {
+        List<Node> nodes = new ArrayList<>();
+        Map<Node, Integer> indices = new IdentityHashMap<>();
+        nodes.add(region.root);
+        indices.put(region.root, 0);
+
+        for (int i = 0; i < nodes.size(); i++) {
+            for (Node child : nodes.get(i).children) {
+                if (child != null) {
+                    indices.put(child, nodes.size());
+                    nodes.add(child);
+                }
+            }
+        }
+
+        if (nodes.size() > Character.MAX_VALUE) {
+            throw new IOException("Too many leading digits: " + nodes.size());
+        }
+
+        stream.writeChar(region.callingCode);
+        writeDigits(stream, region.internationalPrefix);
+        writeDigits(stream, region.nationalPrefix);
+        stream.writeChar(nodes.size());
+
+        for (Node node : nodes) {
+            stream.writeInt(node.lengthMask);
+
+            for (Node child : node.children) {
+                stream.writeChar(child != null ? indices.get(child) : 0);
+            }
+        }
+    }
+
+    /**
+     * Adds the numbering plan of a specific region. If a region with the same code has already
+     * been added, it is replaced.
+     *
+     * @param regionCode
+     *         The ISO 3166-1 alpha-2 code of the region, e.g. <code>DE</code>, as a {@link
+     *         String}. The code must consist of two uppercase letters
+     * @param callingCode
+     *         The country calling code of the region, e.g. 49, as an {@link Integer} value. The
+     *         code must be between 1 and 999
+     * @param internationalPrefix
+     *         The international prefix of the region, e.g. <code>00</code>, as a {@link String}.
+     *         The prefix may not be null, but it may be empty
+     * @param nationalPrefix
+     *         The national prefix of the region, e.g. <code>0</code>, as a {@link String}. The
+     *         prefix may not be null, but it may be empty
+     * @param rules
+     *         The rules, which specify the valid lengths of national significant numbers
+     *         depending on their leading digits, as a {@link String} array. The array may not be
+     *         null
+     */
+    public void addRegion(@NonNull final String regionCode, final int callingCode,
+                          @NonNull final String internationalPrefix,
+                          @NonNull final String nationalPrefix, @NonNull final String... rules) {
+        ensureNotNull(regionCode, "The region code may not be null");
+        ensureAtLeast(callingCode, 1, "The calling code must be at least 1");
+        ensureDigits(internationalPrefix, "international prefix");
+        ensureDigits(nationalPrefix, "national prefix");
+        ensureNotNull(rules, "The rules may not be null");
+
+        if (regionCode.length() != 2 || regionCode.charAt(0) < 'A' ||
+                regionCode.charAt(0) > 'Z' || regionCode.charAt(1) < 'A' ||
+                regionCode.charAt(1) > 'Z') {
+            throw new IllegalArgumentException("Invalid region code: " + regionCode);
+        } else if (callingCode > 999) {
+            throw new IllegalArgumentException("Invalid calling code: " + callingCode);
+        }
+
+        Region region = new Region(callingCode, internationalPrefix, nationalPrefix);
+
+        for (String rule : rules) {
+            ensureNotNull(rule, "The rule may not be null");
+            int separator = rule.indexOf(':');
+
+            if (separator == -1) {
+                throw new IllegalArgumentException("Invalid rule: " + rule);
+            }
+
+            addLeadingDigits(region.root, rule.substring(0, separator), 0,
+                    parseLengths(rule.substring(separator + 1)));
+        }
+
+        regions.put(regionCode, region);
+    }
+
+    /**
+     * Reads the numbering plans of regions in a text format from a specific stream and adds them.
+     * The stream must contain one region per line in UTF-8 encoding. Each line consists of the
+     * code of the region, its country calling code, its international prefix, its national prefix
+     * or <code>-</code>, if the region does not have a national prefix, and its rules, separated
+     * by whitespace, e.g. <code>DE 49 00 0 1[5-7]:10-11 [2-9]:5-11</code>. Empty lines and lines,
+     * which start with <code>#</code>, are ignored. The stream is closed afterwards.
+     *
+     * @param stream
+     *         The stream, the numbering plans should be read from, as an instance of the class
+     *         {@link InputStream}. The stream may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if the stream could not be read or contains an
+     *         invalid line
+     */
+    public void read(@NonNull final InputStream stream) throws IOException {
+        ensureNotNull(stream, "The stream may not be null");
+        BufferedReader reader = new BufferedReader(new InputStreamReader(stream, "UTF-8"));
+
+        try {
+            int lineNumber = 0;
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmedLine = line.trim();
+
+                if (trimmedLine.isEmpty() || trimmedLine.startsWith("#")) {
+                    continue;
+                }
+
+                String[] fields = trimmedLine.split("\\s+");
+
+                try {
+                    if (fields.length < 4) {
+                        throw new IllegalArgumentException("Missing fields");
+                    }
+
+                    addRegion(fields[0], Integer.parseInt(fields[1]), fields[2],
+                            fields[3].equals("-") ? "" : fields[3],
+                            Arrays.copyOfRange(fields, 4, fields.length));
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Invalid line " + lineNumber + ": " + e.getMessage(),
+                            e);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Returns the number of regions, which have been added.
+     *
+     * @return The number of regions, which have been added, as an {@link Integer} value
+     */
+    public int getRegionCount() {
+        return regions.size();
+    }
+
+    /**
+     * Writes the numbering plans of all regions, which have been added, in the binary format to a
+     * specific stream. The stream is not closed.
+     *
+     * @param stream
+     *         The stream, the numbering plans should be written to, as an instance of the class
+     *         {@link OutputStream}. The stream may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if the numbering plans could not be written
+     */
+    public void write(@NonNull final OutputStream stream) throws IOException {
+        ensureNotNull(stream, "The stream may not be null");
+        ByteArrayOutputStream blocks = new ByteArrayOutputStream();
+        DataOutputStream blockStream = new DataOutputStream(blocks);
+        int dataOffset = PhoneNumberMetadata.HEADER_SIZE +
+                PhoneNumberMetadata.DIRECTORY_ENTRY_SIZE * regions.size();
+        DataOutputStream dataStream = new DataOutputStream(stream);
+        dataStream.writeInt(PhoneNumberMetadata.MAGIC);
+        dataStream.writeInt(PhoneNumberMetadata.FORMAT_VERSION);
+        dataStream.writeInt(regions.size());
+
+        for (Map.Entry<String, Region> entry : regions.entrySet()) {
+            dataStream.writeByte(entry.getKey().charAt(0));
+            dataStream.writeByte(entry.getKey().charAt(1));
+            dataStream.writeInt(dataOffset + blockStream.size());
+            writeRegion(blockStream, entry.getValue());
+        }
+
+        blockStream.flush();
+        blocks.writeTo(dataStream);
+        dataStream.flush();
+    }
+
+}
@@ -0,0 +1,423 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.phone;
+
+import android.support.annotation.NonNull;
+
+import java.nio.ByteBuffer;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * The numbering plan of a single region, which allows to validate phone numbers of that region.
+ * The numbering plan consists of the region's country calling code, its international prefix,
+ * its national prefix and a digit trie, which maps the leading digits of national significant
+ * numbers to their valid lengths.
+ *
+ * Phone numbers may contain spaces, hyphens, dots, slashes and parentheses as separators. They are
+ * validated in a single pass over their characters per possible format without allocating any
+ * objects. An instance can be used by multiple threads at once.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public final class RegionMetadata {
+
+    /**
+     * The number of children of each node of the digit trie.
+     */
+    static final int RADIX = 10;
+
+    /**
+     * The maximum length of national significant numbers.
+     */
+    static final int MAX_LENGTH = 17;
+
+    /**
+     * The code of the region.
+     */
+    private final String regionCode;
+
+    /**
+     * The country calling code of the region.
+     */
+    private final int callingCode;
+
+    /**
+     * The digits of the country calling code.
+     */
+    private final byte[] callingCodeDigits;
+
+    /**
+     * The digits of the international prefix, which is used to dial numbers of other countries.
+     */
+    private final byte[] internationalPrefix;
+
+    /**
+     * The digits of the national prefix, which may precede national significant numbers, when
+     * they are dialed nationally.
+     */
+    private final byte[] nationalPrefix;
+
+    /**
+     * The valid lengths of the national significant numbers, which start with the leading digits
+     * of each node, as bit masks.
+     */
+    private final int[] lengthMasks;
+
+    /**
+     * The children of the nodes per digit or 0, if a node does not have a child for a digit.
+     */
+    private final char[] children;
+
+    /**
+     * Returns, whether a specific character is a separator, which may be contained by phone
+     * numbers, or not.
+     *
+     * @param character
+     *         The character as a {@link Character} value
+     * @return True, if the given character is a separator, false otherwise
+     */
+    private static boolean isSeparator(final char character) {
+        return character == ' ' || character == '-' || character == '.' || character == '/' ||
+                character == '(' || character == ')' || character == '\u00A0';
+    }
+
+    /**
+     * Returns, whether the digits of a specific text, starting at a specific digit, start with
+     * specific digits, or not.
+     *
+     * @param text
+     *         The text as an instance of the type {@link CharSequence}. The text may not be null
+     * @param skip
+     *         The number of digits, which should be skipped, as an {@link Integer} value
+     * @param digits
+     *         The digits as a {@link Byte} array. The array may not be null
+     * @return True, if the digits of the given text start with the given digits, false otherwise
+     */
+    private static boolean startsWith(@NonNull final CharSequence text, final int skip,
+                                      @NonNull final byte[] digits) {
+        int index = 0;
+        int end = skip + digits.length;
+
+        for (int i = 0; i < text.length() && index < end; i++) {
+            char character = text.charAt(i);
+
+            if (character >= '0' && character <= '9') {
+                if (index >= skip && character - '0' != digits[index - skip]) {
+                    return false;
+                }
+
+                index++;
+            }
+        }
+
+        return index == end;
+    }
+
+    /**
+     * Returns, whether the digits of a specific text, starting at a specific digit, start with the
+     * national prefix of the region enclosed in parentheses, e.g. <code>+49 (0)30 123456</code>,
+     * or not.
+     *
+     * @param text
+     *         The text as an instance of the type {@link CharSequence}. The text may not be null
+     * @param skip
+     *         The number of digits, which precede the parentheses, as an {@link Integer} value
+     * @return True, if the national prefix follows the given number of digits in parentheses,
+     * false otherwise
+     */
+    private boolean hasParenthesizedNationalPrefix(@NonNull final CharSequence text,
+                                                   final int skip) {
+        if (nationalPrefix.length == 0) {
+            return false;
+        }
+
+        int index = 0;
+        int i = 0;
+
+        while (i < text.length() && index < skip) {
+            char character = text.charAt(i++);
+
+            if (character >= '0' && character <= '9') {
+                index++;
+            }
+        }
+
+        while (i < text.length() && text.charAt(i) != '(' && isSeparator(text.charAt(i))) {
+            i++;
+        }
+
+        if (i >= text.length() || text.charAt(i++) != '(') {
+            return false;
+        }
+
+        for (byte digit : nationalPrefix) {
+            if (i >= text.length() || text.charAt(i++) - '0' != digit) {
+                return false;
+            }
+        }
+
+        return i < text.length() && text.charAt(i) == ')';
+    }
+
+    /**
+     * Reads the digits of a prefix from a specific buffer.
+     *
+     * @param buffer
+     *         The buffer as an instance of the class {@link ByteBuffer}. The buffer may not be
+     *         null
+     * @param offset
+     *         The offset of the prefix as an {@link Integer} value
+     * @return The digits of the prefix as a {@link Byte} array. The array may not be null
+     */
+    @NonNull
+    private static byte[] readDigits(@NonNull final ByteBuffer buffer, final int offset) {
+        byte[] digits = new byte[buffer.get(offset)];
+
+        for (int i = 0; i < digits.length; i++) {
+            digits[i] = buffer.get(offset + 1 + i);
+        }
+
+        return digits;
+    }
+
+    /**
+     * Returns, whether the national significant number, which starts after a specific number of
+     * digits of a text, is valid, or not.
+     *
+     * @param text
+     *         The text as an instance of the type {@link CharSequence}. The text may not be null
+     * @param skip
+     *         The number of digits, which precede the national significant number, as an {@link
+     *         Integer} value
+     * @param digitCount
+     *         The total number of digits of the text as an {@link Integer} value
+     * @return True, if the national significant number is valid, false otherwise
+     */
+    private boolean isValidNationalNumber(@NonNull final CharSequence text, final int skip,
+                                          final int digitCount) {
+        int length = digitCount - skip;
+
+        if (length < 1 || length > MAX_LENGTH) {
+            return false;
+        }
+
+        int node = 0;
+        int mask = lengthMasks[0];
+        int index = 0;
+
+        for (int i = 0; i < text.length() && node != -1; i++) {
+            char character = text.charAt(i);
+
+            if (character >= '0' && character <= '9') {
+                if (index >= skip) {
+                    int child = children[node * RADIX + character - '0'];
+                    node = child != 0 ? child : -1;
+
+                    if (node != -1) {
+                        mask |= lengthMasks[node];
+                    }
+                }
+
+                index++;
+            }
+        }
+
+        return (mask & (1 << length)) != 0;
+    }
+
+    /**
+     * Returns, whether the national significant number of an international number, which starts
+     * after a specific number of digits of a text, is valid, or not. The national prefix may
+     * precede the national significant number in parentheses.
+     *
+     * @param text
+     *         The text as an instance of the type {@link CharSequence}. The text may not be null
+     * @param skip
+     *         The number of digits, which precede the national significant number, including the
+     *         country calling code, as an {@link Integer} value
+     * @param digitCount
+     *         The total number of digits of the text as an {@link Integer} value
+     * @return True, if the national significant number is valid, false otherwise
+     */
+    private boolean isValidInternationalNumber(@NonNull final CharSequence text, final int skip,
+                                               final int digitCount) {
+        int nationalNumberStart = skip;
+
+        if (hasParenthesizedNationalPrefix(text, skip)) {
+            nationalNumberStart += nationalPrefix.length;
+        }
+
+        return isValidNationalNumber(text, nationalNumberStart, digitCount);
+    }
+
+    /**
+     * Creates a new numbering plan of a single region.
+     *
+     * @param regionCode
+     *         The code of the region as a {@link String}. The code may not be null
+     * @param callingCode
+     *         The country calling code of the region as an {@link Integer} value
+     * @param internationalPrefix
+     *         The digits of the international prefix as a {@link Byte} array. The array may not be
+     *         null
+     * @param nationalPrefix
+     *         The digits of the national prefix as a {@link Byte} array. The array may not be null
+     * @param lengthMasks
+     *         The valid lengths of the national significant numbers, which start with the leading
+     *         digits of each node, as an {@link Integer} array. The array may not be null
+     * @param children
+     *         The children of the nodes per digit as a {@link Character} array. The array may not
+     *         be null
+     */
+    private RegionMetadata(@NonNull final String regionCode, final int callingCode,
+                           @NonNull final byte[] internationalPrefix,
+                           @NonNull final byte[] nationalPrefix, @NonNull final int[] lengthMasks,
+                           @NonNull final char[] children) {
+        this.regionCode = regionCode;
+        this.callingCode = callingCode;
+        this.internationalPrefix = internationalPrefix;
+        this.nationalPrefix = nationalPrefix;
+        this.lengthMasks = lengthMasks;
+        this.children = children;
+        String callingCodeString = Integer.toString(callingCode);
+        this.callingCodeDigits = new byte[callingCodeString.length()];
+
+        for (int i = 0; i < callingCodeDigits.length; i++) {
+            callingCodeDigits[i] = (byte) (callingCodeString.charAt(i) - '0');
+        }
+    }
+
+    /**
+     * Reads the numbering plan of a single region from a specific buffer. See {@link
+     * PhoneNumberMetadataWriter} for the binary format.
+     *
+     * @param buffer
+     *         The buffer as an instance of the class {@link ByteBuffer}. The buffer may not be
+     *         null
+     * @param offset
+     *         The offset of the region's block as an {@link Integer} value
+     * @param regionCode
+     *         The code of the region as a {@link String}. The code may not be null
+     * @return The numbering plan, which has been read, as an instance of the class {@link
+     * RegionMetadata}. The numbering plan may not be null
+     */
+    @NonNull
+    static RegionMetadata read(@NonNull final ByteBuffer buffer, final int offset,
+                               @NonNull final String regionCode) {
+        int position = offset;
+        int callingCode = buffer.getChar(position);
+        position += 2;
+        byte[] internationalPrefix = readDigits(buffer, position);
+        position += 1 + internationalPrefix.length;
+        byte[] nationalPrefix = readDigits(buffer, position);
+        position += 1 + nationalPrefix.length;
+        int nodeCount = buffer.getChar(position);
+        position += 2;
+        int[] lengthMasks = new int[nodeCount];
+        char[] children = new char[nodeCount * RADIX];
+
+        for (int i = 0; i < nodeCount; i++) {
+            lengthMasks[i] = buffer.getInt(position);
+            position += 4;
+
+            for (int j = 0; j < RADIX; j++) {
+                char child = buffer.getChar(position);
+
+                if (child >= nodeCount) {
+                    throw new IllegalStateException(
+                            "Corrupt phone number metadata of region " + regionCode);
+                }
+
+                children[i * RADIX + j] = child;
+                position += 2;
+            }
+        }
+
+        return new RegionMetadata(regionCode, callingCode, internationalPrefix, nationalPrefix,
+                lengthMasks, children);
+    }
+
+    /**
+     * Returns the code of the region.
+     *
+     * @return The code of the region as a {@link String}. The code may not be null
+     */
+    @NonNull
+    public String getRegionCode() {
+        return regionCode;
+    }
+
+    /**
+     * Returns the country calling code of the region.
+     *
+     * @return The country calling code of the region as an {@link Integer} value
+     */
+    public int getCallingCode() {
+        return callingCode;
+    }
+
+    /**
+     * Returns, whether a specific text represents a valid phone number of the region, or not. The
+     * number may be given in international format, i.e. starting with <code>+</code> or the
+     * region's international prefix followed by the country calling code, or in national format,
+     * with or without the national prefix. In international format, the national prefix may
+     * follow the country calling code in parentheses, e.g. <code>+49 (0)30 123456</code>.
+     *
+     * @param text
+     *         The text as an instance of the type {@link CharSequence}. The text may not be null
+     * @return True, if the given text represents a valid phone number of the region, false
+     * otherwise
+     */
+    public boolean isValidNumber(@NonNull final CharSequence text) {
+        ensureNotNull(text, "The text may not be null");
+        boolean international = false;
+        int digitCount = 0;
+
+        for (int i = 0; i < text.length(); i++) {
+            char character = text.charAt(i);
+
+            if (character >= '0' && character <= '9') {
+                digitCount++;
+            } else if (character == '+' && digitCount == 0 && !international) {
+                international = true;
+            } else if (!isSeparator(character)) {
+                return false;
+            }
+        }
+
+        if (international) {
+            return startsWith(text, 0, callingCodeDigits) &&
+                    isValidInternationalNumber(text, callingCodeDigits.length, digitCount);
+        } else if (internationalPrefix.length > 0 &&
+                startsWith(text, 0, internationalPrefix) &&
+                startsWith(text, internationalPrefix.length, callingCodeDigits)) {
+            return isValidInternationalNumber(text,
+                    internationalPrefix.length + callingCodeDigits.length, digitCount);
+        } else if (nationalPrefix.length > 0 && startsWith(text, 0, nationalPrefix) &&
+                isValidNationalNumber(text, nationalPrefix.length, digitCount)) {
+            return true;
+        }
+
+        return isValidNationalNumber(text, 0, digitCount);
+    }
+
+    @Override
+    public String toString() {
+        return "RegionMetadata{regionCode=" + regionCode + ", callingCode=" + callingCode +
+                ", nodes=" + lengthMasks.length + "}";
+    }
+
+}
@@ -0,0 +1,744 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.regex;
+
+import android.support.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static de.mrapp.android.util.Condition.ensureAtLeast;
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * A finite automaton, which allows to match texts against a regular expression in linear time.
+ * The regular expression is compiled into a non-deterministic automaton, whose deterministic
+ * equivalent is built lazily, i.e. a deterministic state and its transitions are only created,
+ * when they are reached by a text for the first time. Once created, advancing by one character
+ * requires a single array lookup. The number of deterministic states, which are kept in memory, is
+ * bounded. When the limit is reached, all states are discarded and rebuilt on demand, which keeps
+ * the memory consumption bounded without affecting the linear running time.
+ *
+ * Only the subset of the syntax of the class {@link java.util.regex.Pattern}, which can be matched
+ * by a finite automaton, is supported. Regular expressions, which use other constructs, such as
+ * back references, lookaround or word boundaries, which are not always satisfied by an
+ * alternative, cause an {@link UnsupportedPatternException} to be thrown. Supplementary characters
+ * are matched as a whole, whereas unpaired surrogates, which are contained by a text, are matched
+ * as individual characters, as by the class {@link java.util.regex.Pattern}. In order to
+ * distinguish them from surrogate pairs, unpaired surrogates are passed to the automaton twice.
+ * An automaton can be used by multiple threads at once.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public final class Automaton {
+
+    /**
+     * A state of the deterministic automaton, which corresponds to a set of states of the
+     * non-deterministic automaton.
+     */
+    static final class State {
+
+        /**
+         * The sorted indices of the states of the non-deterministic automaton.
+         */
+        private final int[] nfaStates;
+
+        /**
+         * True, if the state is accepting, false otherwise.
+         */
+        final boolean accepting;
+
+        /**
+         * A bit mask, which specifies the indices of the regular expressions, the state is
+         * accepting for.
+         */
+        final long matches;
+
+        /**
+         * The successors of the state per character class. Successors, which have not been
+         * created yet, are null.
+         */
+        final State[] transitions;
+
+        /**
+         * Creates a new state of the deterministic automaton.
+         *
+         * @param nfaStates
+         *         The sorted indices of the states of the non-deterministic automaton as an {@link
+         *         Integer} array. The array may not be null
+         * @param matches
+         *         A bit mask, which specifies the indices of the regular expressions, the state is
+         *         accepting for, as a {@link Long} value
+         * @param classCount
+         *         The number of character classes as an {@link Integer} value
+         */
+        private State(@NonNull final int[] nfaStates, final long matches, final int classCount) {
+            this.nfaStates = nfaStates;
+            this.accepting = matches != 0;
+            this.matches = matches;
+            this.transitions = new State[classCount];
+        }
+
+        /**
+         * Returns, whether the state is a dead state, i.e. whether no text, which reaches the
+         * state, can be extended to a match, or not.
+         *
+         * @return True, if the state is a dead state, false otherwise
+         */
+        boolean isDead() {
+            return nfaStates.length == 0;
+        }
+
+    }
+
+    /**
+     * A key, which allows to look up a state of the deterministic automaton by the indices of the
+     * states of the non-deterministic automaton, it corresponds to.
+     */
+    private static final class Key {
+
+        /**
+         * The sorted indices of the states of the non-deterministic automaton.
+         */
+        private final int[] nfaStates;
+
+        /**
+         * The hash code of the key.
+         */
+        private final int hashCode;
+
+        /**
+         * Creates a new key.
+         *
+         * @param nfaStates
+         *         The sorted indices of the states of the non-deterministic automaton as an {@link
+         *         Integer} array. The array may not be null
+         */
+        Key(@NonNull final int[] nfaStates) {
+            this.nfaStates = nfaStates;
+            this.hashCode = Arrays.hashCode(nfaStates);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof Key && Arrays.equals(nfaStates, ((Key) obj).nfaStates);
+        }
+
+    }
+
+    /**
+     * The number of characters, whose character class is looked up in a table.
+     */
+    private static final int ASCII_CHARACTERS = 128;
+
+    /**
+     * The maximum number of states of the deterministic automaton, which are kept in memory by
+     * default.
+     */
+    public static final int DEFAULT_MAX_STATE_COUNT = 1000;
+
+    /**
+     * The regular expression, the automaton has been compiled from.
+     */
+    private final String pattern;
+
+    /**
+     * The flags, the automaton has been compiled with.
+     */
+    private final int flags;
+
+    /**
+     * The maximum number of states of the deterministic automaton, which are kept in memory.
+     */
+    private final int maxStateCount;
+
+    /**
+     * The non-deterministic automaton.
+     */
+    private final Nfa nfa;
+
+    /**
+     * The sorted characters, at which a new character class begins. All characters of a class
+     * are treated equally by the non-deterministic automaton.
+     */
+    private final int[] classBoundaries;
+
+    /**
+     * The character classes of ASCII characters.
+     */
+    private final int[] asciiClasses;
+
+    /**
+     * The states of the deterministic automaton, which have been created so far.
+     */
+    private final Map<Key, State> states;
+
+    /**
+     * The start state of the deterministic automaton.
+     */
+    private final State startState;
+
+    /**
+     * Marks the states of the non-deterministic automaton, which have already been visited while
+     * computing a transition.
+     */
+    private final int[] marks;
+
+    /**
+     * The value, which is used to mark visited states during the current computation.
+     */
+    private int generation;
+
+    /**
+     * A stack, which is used to compute the epsilon closure of a set of states.
+     */
+    private final int[] stack;
+
+    /**
+     * Creates a new automaton from a specific non-deterministic automaton.
+     *
+     * @param pattern
+     *         The regular expression, the automaton has been compiled from, as a {@link String}.
+     *         The regular expression may not be null
+     * @param flags
+     *         The flags, the automaton has been compiled with, as an {@link Integer} value
+     * @param maxStateCount
+     *         The maximum number of states of the deterministic automaton, which should be kept in
+     *         memory, as an {@link Integer} value
+     * @param nfa
+     *         The non-deterministic automaton as an instance of the class {@link Nfa}. The
+     *         automaton may not be null
+     */
+    Automaton(@NonNull final String pattern, final int flags, final int maxStateCount,
+              @NonNull final Nfa nfa) {
+        this.pattern = pattern;
+        this.flags = flags;
+        this.maxStateCount = maxStateCount;
+        this.nfa = nfa;
+        this.classBoundaries = createClassBoundaries(nfa);
+        this.asciiClasses = new int[ASCII_CHARACTERS];
+
+        for (int i = 0; i < ASCII_CHARACTERS; i++) {
+            asciiClasses[i] = lookupClass(i);
+        }
+
+        this.states = new HashMap<>();
+        this.marks = new int[nfa.size];
+        this.generation = 0;
+        this.stack = new int[nfa.size];
+        this.startState = createState(closure(new int[]{nfa.start}, 1));
+    }
+
+    /**
+     * Creates and returns the sorted characters, at which a new character class begins, for a
+     * specific non-deterministic automaton.
+     *
+     * @param nfa
+     *         The non-deterministic automaton as an instance of the class {@link Nfa}. The
+     *         automaton may not be null
+     * @return An array, which contains the characters, at which a new character class begins, as
+     * an {@link Integer} array. The array may not be null
+     */
+    @NonNull
+    private static int[] createClassBoundaries(@NonNull final Nfa nfa) {
+        int[] boundaries = new int[16];
+        int count = 0;
+
+        for (int i = 0; i < nfa.size; i++) {
+            if (nfa.types[i] == Nfa.TYPE_CHARACTERS) {
+                int[] ranges = nfa.characters[i].getRanges();
+
+                for (int j = 0; j < ranges.length; j += 2) {
+                    if (count + 2 > boundaries.length) {
+                        boundaries = Arrays.copyOf(boundaries, boundaries.length * 2);
+                    }
+
+                    if (ranges[j] > 0) {
+                        boundaries[count++] = ranges[j];
+                    }
+
+                    if (ranges[j + 1] < CharacterSet.MAX_CHARACTER) {
+                        boundaries[count++] = ranges[j + 1] + 1;
+                    }
+                }
+            }
+        }
+
+        Arrays.sort(boundaries, 0, count);
+        int length = 0;
+
+        for (int i = 0; i < count; i++) {
+            if (length == 0 || boundaries[length - 1] != boundaries[i]) {
+                boundaries[length++] = boundaries[i];
+            }
+        }
+
+        return Arrays.copyOf(boundaries, length);
+    }
+
+    /**
+     * Looks up the character class of a specific character by using binary search.
+     *
+     * @param character
+     *         The character as an {@link Integer} value
+     * @return The character class as an {@link Integer} value
+     */
+    private int lookupClass(final int character) {
+        int low = 0;
+        int high = classBoundaries.length;
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+
+            if (classBoundaries[mid] <= character) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Returns the character class of a specific character.
+     *
+     * @param character
+     *         The character as a {@link Character} value
+     * @return The character class as an {@link Integer} value
+     */
+    private int getClass(final char character) {
+        return character < ASCII_CHARACTERS ? asciiClasses[character] : lookupClass(character);
+    }
+
+    /**
+     * Pushes a specific state of the non-deterministic automaton onto the stack, which is used to
+     * compute an epsilon closure, unless it has already been visited.
+     *
+     * @param state
+     *         The index of the state as an {@link Integer} value
+     * @param stackSize
+     *         The current size of the stack as an {@link Integer} value
+     * @return The new size of the stack as an {@link Integer} value
+     */
+    private int push(final int state, final int stackSize) {
+        if (marks[state] != generation) {
+            marks[state] = generation;
+            stack[stackSize] = state;
+            return stackSize + 1;
+        }
+
+        return stackSize;
+    }
+
+    /**
+     * Computes the epsilon closure of specific states of the non-deterministic automaton. Only
+     * states, which consume characters, and the accepting state are contained by the closure.
+     *
+     * @param seeds
+     *         An array, which contains the indices of the states, as an {@link Integer} array. The
+     *         array may not be null
+     * @param count
+     *         The number of states, which are contained by the array, as an {@link Integer} value
+     * @return An array, which contains the sorted indices of the states of the closure, as an
+     * {@link Integer} array. The array may not be null
+     */
+    @NonNull
+    private int[] closure(@NonNull final int[] seeds, final int count) {
+        if (++generation == 0) {
+            Arrays.fill(marks, 0);
+            generation = 1;
+        }
+
+        int[] result = new int[nfa.size];
+        int length = 0;
+        int stackSize = 0;
+
+        for (int i = 0; i < count; i++) {
+            stackSize = push(seeds[i], stackSize);
+        }
+
+        while (stackSize > 0) {
+            int state = stack[--stackSize];
+
+            if (nfa.types[state] == Nfa.TYPE_SPLIT) {
+                stackSize = push(nfa.alternativeNext[state], stackSize);
+                stackSize = push(nfa.next[state], stackSize);
+            } else if (nfa.types[state] == Nfa.TYPE_MATCH || !nfa.characters[state].isEmpty()) {
+                result[length++] = state;
+            }
+        }
+
+        int[] closure = Arrays.copyOf(result, length);
+        Arrays.sort(closure);
+        return closure;
+    }
+
+    /**
+     * Returns the state of the deterministic automaton, which corresponds to specific states of
+     * the non-deterministic automaton. If no such state exists yet, it is created.
+     *
+     * @param nfaStates
+     *         The sorted indices of the states of the non-deterministic automaton as an {@link
+     *         Integer} array. The array may not be null
+     * @return The state as an instance of the class {@link State}. The state may not be null
+     */
+    @NonNull
+    private State createState(@NonNull final int[] nfaStates) {
+        Key key = new Key(nfaStates);
+        State state = states.get(key);
+
+        if (state == null) {
+            long matches = 0;
+
+            for (int nfaState : nfaStates) {
+                if (nfa.types[nfaState] == Nfa.TYPE_MATCH) {
+                    matches |= 1L << nfa.next[nfaState];
+                }
+            }
+
+            state = new State(nfaStates, matches, classBoundaries.length + 1);
+
+            if (state.isDead()) {
+                Arrays.fill(state.transitions, state);
+            }
+
+            if (states.size() >= maxStateCount) {
+                clearStates();
+            }
+
+            states.put(key, state);
+        }
+
+        return state;
+    }
+
+    /**
+     * Discards all states of the deterministic automaton, except for the start state. States,
+     * which are still referenced, e.g. by an {@link IncrementalMatcher}, remain valid, as their
+     * transitions are computed anew when needed.
+     */
+    private void clearStates() {
+        for (State state : states.values()) {
+            if (!state.isDead()) {
+                Arrays.fill(state.transitions, null);
+            }
+        }
+
+        states.clear();
+        states.put(new Key(startState.nfaStates), startState);
+    }
+
+    /**
+     * Computes the successor of a specific state for a specific character class.
+     *
+     * @param state
+     *         The state as an instance of the class {@link State}. The state may not be null
+     * @param characterClass
+     *         The character class as an {@link Integer} value
+     * @return The successor as an instance of the class {@link State}. The successor may not be
+     * null
+     */
+    @NonNull
+    private synchronized State computeTransition(@NonNull final State state,
+                                                 final int characterClass) {
+        State successor = state.transitions[characterClass];
+
+        if (successor == null) {
+            int representative = characterClass == 0 ? 0 : classBoundaries[characterClass - 1];
+            int[] seeds = new int[state.nfaStates.length];
+            int count = 0;
+
+            for (int nfaState : state.nfaStates) {
+                if (nfa.types[nfaState] == Nfa.TYPE_CHARACTERS &&
+                        nfa.characters[nfaState].contains(representative)) {
+                    seeds[count++] = nfa.next[nfaState];
+                }
+            }
+
+            successor = createState(closure(seeds, count));
+            state.transitions[characterClass] = successor;
+        }
+
+        return successor;
+    }
+
+    /**
+     * Returns the non-deterministic automaton.
+     *
+     * @return The non-deterministic automaton as an instance of the class {@link Nfa}. The
+     * automaton may not be null
+     */
+    @NonNull
+    Nfa getNfa() {
+        return nfa;
+    }
+
+    /**
+     * Returns the start state of the deterministic automaton.
+     *
+     * @return The start state as an instance of the class {@link State}. The state may not be null
+     */
+    @NonNull
+    State getStartState() {
+        return startState;
+    }
+
+    /**
+     * Returns the successor of a specific state for a specific character.
+     *
+     * @param state
+     *         The state as an instance of the class {@link State}. The state may not be null
+     * @param character
+     *         The character as a {@link Character} value
+     * @return The successor as an instance of the class {@link State}. The successor may not be
+     * null
+     */
+    @NonNull
+    State step(@NonNull final State state, final char character) {
+        int characterClass = getClass(character);
+        State successor = state.transitions[characterClass];
+        return successor != null ? successor : computeTransition(state, characterClass);
+    }
+
+    /**
+     * Returns, whether the character at a specific index of a text is a surrogate, which is not
+     * part of a surrogate pair, or not. Such characters must be passed to the automaton twice.
+     *
+     * @param text
+     *         The text as an instance of the type {@link CharSequence}. The text may not be null
+     * @param index
+     *         The index of the character as an {@link Integer} value
+     * @param character
+     *         The character at the given index as a {@link Character} value
+     * @return True, if the character is an unpaired surrogate, false otherwise
+     */
+    static boolean isUnpairedSurrogate(@NonNull final CharSequence text, final int index,
+                                       final char character) {
+        if (Character.isHighSurrogate(character)) {
+            return index + 1 >= text.length() || !Character.isLowSurrogate(text.charAt(index + 1));
+        } else if (Character.isLowSurrogate(character)) {
+            return index == 0 || !Character.isHighSurrogate(text.charAt(index - 1));
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the state, which is reached by a specific text, starting at the start state.
+     *
+     * @param text
+     *         The text as an instance of the type {@link CharSequence}. The text may not be null
+     * @param prefix
+     *         True, if the text may be extended by further characters, false otherwise. If true,
+     *         a high surrogate at the end of the text is not considered to be unpaired
+     * @return The state, which is reached by the given text, as an instance of the class {@link
+     * State}. The state may not be null
+     */
+    @NonNull
+    private State run(@NonNull final CharSequence text, final boolean prefix) {
+        State state = startState;
+        int length = text.length();
+
+        for (int i = 0; i < length && !state.isDead(); i++) {
+            char character = text.charAt(i);
+            state = step(state, character);
+
+            if (isUnpairedSurrogate(text, i, character) &&
+                    !(prefix && i == length - 1 && Character.isHighSurrogate(character))) {
+                state = step(state, character);
+            }
+        }
+
+        return state;
+    }
+
+    /**
+     * Compiles a specific regular expression into an automaton.
+     *
+     * @param regex
+     *         The regular expression, which should be compiled, as a {@link String}. The regular
+     *         expression may not be null
+     * @return The automaton, which has been compiled, as an instance of the class {@link
+     * Automaton}. The automaton may not be null
+     * @throws PatternSyntaxException
+     *         If the regular expression is invalid
+     * @throws UnsupportedPatternException
+     *         If the regular expression uses constructs, which are not supported
+     */
+    @NonNull
+    public static Automaton compile(@NonNull final String regex) {
+        return compile(regex, 0);
+    }
+
+    /**
+     * Compiles a specific regular expression into an automaton, using specific flags.
+     *
+     * @param regex
+     *         The regular expression, which should be compiled, as a {@link String}. The regular
+     *         expression may not be null
+     * @param flags
+     *         The flags, which should be used, as an {@link Integer} value. The value must be a
+     *         combination of the flags {@link Pattern#CASE_INSENSITIVE}, {@link Pattern#DOTALL},
+     *         {@link Pattern#MULTILINE} and {@link Pattern#LITERAL}. Case insensitive matching is
+     *         restricted to ASCII characters, as by the class {@link Pattern}
+     * @return The automaton, which has been compiled, as an instance of the class {@link
+     * Automaton}. The automaton may not be null
+     * @throws PatternSyntaxException
+     *         If the regular expression is invalid
+     * @throws UnsupportedPatternException
+     *         If the regular expression uses constructs or flags, which are not supported
+     */
+    @NonNull
+    public static Automaton compile(@NonNull final String regex, final int flags) {
+        return compile(regex, flags, DEFAULT_MAX_STATE_COUNT);
+    }
+
+    /**
+     * Compiles a specific regular expression into an automaton, using specific flags and a
+     * specific maximum number of states of the deterministic automaton, which are kept in memory.
+     *
+     * @param regex
+     *         The regular expression, which should be compiled, as a {@link String}. The regular
+     *         expression may not be null
+     * @param flags
+     *         The flags, which should be used, as an {@link Integer} value. The value must be a
+     *         combination of the flags {@link Pattern#CASE_INSENSITIVE}, {@link Pattern#DOTALL},
+     *         {@link Pattern#MULTILINE} and {@link Pattern#LITERAL}. Case insensitive matching is
+     *         restricted to ASCII characters, as by the class {@link Pattern}
+     * @param maxStateCount
+     *         The maximum number of states of the deterministic automaton, which should be kept in
+     *         memory, as an {@link Integer} value. The maximum number must be at least 2
+     * @return The automaton, which has been compiled, as an instance of the class {@link
+     * Automaton}. The automaton may not be null
+     * @throws PatternSyntaxException
+     *         If the regular expression is invalid
+     * @throws UnsupportedPatternException
+     *         If the regular expression uses constructs or flags, which are not supported
+     */
+    @NonNull
+    public static Automaton compile(@NonNull final String regex, final int flags,
+                                    final int maxStateCount) {
+        ensureNotNull(regex, "The regular expression may not be null");
+        ensureAtLeast(maxStateCount, 2, "The maximum number of states must be at least 2");
+        return new Automaton(regex, flags, maxStateCount,
+                Nfa.compile(Parser.parse(regex, flags), regex));
+    }
+
+    /**
+     * Returns the regular expression, the automaton has been compiled from.
+     *
+     * @return The regular expression, the automaton has been compiled from, as a {@link String}.
+     * The regular expression may not be null
+     */
+    @NonNull
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Returns the flags, the automaton has been compiled with.
+     *
+     * @return The flags, the automaton has been compiled with, as an {@link Integer} value
+     */
+    public int getFlags() {
+        return flags;
+    }
+
+    /**
+     * Returns the maximum number of states of the deterministic automaton, which are kept in
+     * memory.
+     *
+     * @return The maximum number of states as an {@link Integer} value
+     */
+    public int getMaxStateCount() {
+        return maxStateCount;
+    }
+
+    /**
+     * Returns, whether a specific text matches the regular expression entirely, or not.
+     *
+     * @param text
+     *         The text as an instance of the type {@link CharSequence}. The text may not be null
+     * @return True, if the given text matches the regular expression, false otherwise
+     */
+    public boolean matches(@NonNull final CharSequence text) {
+        ensureNotNull(text, "The text may not be null");
+        return run(text, false).accepting;
+    }
+
+    /**
+     * Returns, whether a specific text is a prefix of a text, which matches the regular
+     * expression, i.e. whether the text can still become a match by appending further
+     * characters, or not.
+     *
+     * @param text
+     *         The text as an instance of the type {@link CharSequence}. The text may not be null
+     * @return True, if the given text is a prefix of a match, false otherwise
+     */
+    public boolean matchesPrefix(@NonNull final CharSequence text) {
+        ensureNotNull(text, "The text may not be null");
+        return !run(text, true).isDead();
+    }
+
+    /**
+     * Returns a bit mask, which specifies the indices of the regular expressions, a specific text
+     * matches entirely, if the automaton has been constructed from multiple regular expressions.
+     *
+     * @param text
+     *         The text as an instance of the type {@link CharSequence}. The text may not be null
+     * @return A bit mask, which specifies the indices of the regular expressions, the given text
+     * matches, as a {@link Long} value
+     */
+    long matchAll(@NonNull final CharSequence text) {
+        return run(text, false).matches;
+    }
+
+    /**
+     * Creates and returns a new matcher, which allows to match texts, which are changed
+     * incrementally, against the regular expression.
+     *
+     * @return The matcher, which has been created, as an instance of the class {@link
+     * IncrementalMatcher}. The matcher may not be null
+     */
+    @NonNull
+    public IncrementalMatcher createIncrementalMatcher() {
+        return new IncrementalMatcher(this);
+    }
+
+    /**
+     * Returns the number of states of the deterministic automaton, which are currently kept in
+     * memory.
+     *
+     * @return The number of states as an {@link Integer} value
+     */
+    public synchronized int getStateCount() {
+        return states.size();
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+}
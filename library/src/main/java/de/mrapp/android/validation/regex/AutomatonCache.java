@@ -0,0 +1,650 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.regex;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Log;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.regex.PatternSyntaxException;
+
+import de.mrapp.android.validation.BuildConfig;
+
+import static de.mrapp.android.util.Condition.ensureAtLeast;
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * A cache, which persists compiled automata in a directory, e.g. the cache directory of the app,
+ * in order to avoid parsing and compiling regular expressions at each start of the process. Each
+ * automaton is stored in a separate binary file, whose name is derived from a hash of the regular
+ * expression and its flags. Besides the automaton, each file contains the regular expression,
+ * its flags, the version of the file format and the version of the library. Files are read by
+ * using memory-mapped I/O and written to a temporary file, which is renamed afterwards, so that
+ * concurrent readers never see a partially written file.
+ *
+ * If a file is missing, has been written by a different version of the library or the file
+ * format, or is corrupt, the regular expression is compiled again and the file is replaced. Errors,
+ * which occur while writing a file, are logged, but do not prevent the automaton from being
+ * returned. A cache can be used by multiple threads at once.
+ *
+ * A cache can be set as the default cache of the process by using the method {@link
+ * #setDefault(AutomatonCache)}, e.g. when the app is created. The default cache is used by all
+ * validators and constraints, which use the engine {@link RegexEngine#LINEAR}, such as the class
+ * {@link de.mrapp.android.validation.validators.text.RegexValidator}, to compile their regular
+ * expressions.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public final class AutomatonCache {
+
+    /**
+     * The version of the file format. It must be increased whenever the format or the
+     * construction of the non-deterministic automata is changed.
+     */
+    public static final int FORMAT_VERSION = 3;
+
+    /**
+     * The name of the directory within the cache directory of the app, the automata are stored
+     * in.
+     */
+    public static final String DIRECTORY_NAME = "validation_automata";
+
+    /**
+     * The magic number, each file starts with.
+     */
+    private static final int MAGIC_NUMBER = 0x414d5641;
+
+    /**
+     * The suffix of the files, the automata are stored in.
+     */
+    private static final String FILE_SUFFIX = ".automaton";
+
+    /**
+     * The charset, which is used to encode texts.
+     */
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * The default cache of the process or null, if no default cache has been set.
+     */
+    private static volatile AutomatonCache defaultCache;
+
+    /**
+     * The directory, the automata are stored in.
+     */
+    private final File directory;
+
+    /**
+     * The version of the library, which is stored in each file.
+     */
+    private final String libraryVersion;
+
+    /**
+     * Returns the default cache of the process.
+     *
+     * @return The default cache of the process as an instance of the class {@link AutomatonCache}
+     * or null, if no default cache has been set
+     */
+    @Nullable
+    public static AutomatonCache getDefault() {
+        return defaultCache;
+    }
+
+    /**
+     * Sets the default cache of the process, which should be used by all validators and
+     * constraints, which use the engine {@link RegexEngine#LINEAR}, to compile their regular
+     * expressions. Only regular expressions, which are compiled afterwards, are affected.
+     *
+     * @param cache
+     *         The cache, which should be set, as an instance of the class {@link AutomatonCache}
+     *         or null, if the regular expressions should be compiled without using a cache
+     */
+    public static void setDefault(@Nullable final AutomatonCache cache) {
+        defaultCache = cache;
+    }
+
+    /**
+     * Returns the automaton of a specific regular expression, using specific flags. If a default
+     * cache has been set, the automaton is retrieved from it. Otherwise, the regular expression is
+     * compiled.
+     *
+     * @param regex
+     *         The regular expression as a {@link String}. The regular expression may not be null
+     * @param flags
+     *         The flags, which should be used, as an {@link Integer} value. See {@link
+     *         Automaton#compile(String, int)} for the supported flags
+     * @return The automaton as an instance of the class {@link Automaton}. The automaton may not
+     * be null
+     * @throws PatternSyntaxException
+     *         If the regular expression is invalid
+     * @throws UnsupportedPatternException
+     *         If the regular expression uses constructs or flags, which are not supported
+     */
+    @NonNull
+    public static Automaton compileWithDefault(@NonNull final String regex, final int flags) {
+        AutomatonCache cache = defaultCache;
+        return cache != null ? cache.compile(regex, flags) : Automaton.compile(regex, flags);
+    }
+
+    /**
+     * Ensures, that a specific context is not null.
+     *
+     * @param context
+     *         The context as an instance of the class {@link Context}
+     * @return The given context as an instance of the class {@link Context}. The context may not
+     * be null
+     */
+    @NonNull
+    private static Context ensureContextNotNull(final Context context) {
+        ensureNotNull(context, "The context may not be null");
+        return context;
+    }
+
+    /**
+     * Returns the name of the file, the automaton of a specific regular expression is stored in.
+     *
+     * @param regex
+     *         The regular expression as a {@link String}. The regular expression may not be null
+     * @param flags
+     *         The flags of the regular expression as an {@link Integer} value
+     * @return The name of the file as a {@link String}. The name may not be null
+     */
+    @NonNull
+    private static String getFileName(@NonNull final String regex, final int flags) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update((flags + ":").getBytes(UTF_8));
+            digest.update(regex.getBytes(UTF_8));
+            StringBuilder fileName = new StringBuilder();
+
+            for (byte b : digest.digest()) {
+                fileName.append(Character.forDigit((b >> 4) & 0xf, 16));
+                fileName.append(Character.forDigit(b & 0xf, 16));
+            }
+
+            return fileName.append(FILE_SUFFIX).toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Reads a text from a specific buffer. The text must have been written by the method {@link
+     * #writeString(DataOutputStream, String)}.
+     *
+     * @param buffer
+     *         The buffer, the text should be read from, as an instance of the class {@link
+     *         ByteBuffer}. The buffer may not be null
+     * @return The text, which has been read, as a {@link String}. The text may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if the buffer is corrupt
+     */
+    @NonNull
+    private static String readString(@NonNull final ByteBuffer buffer) throws IOException {
+        int length = buffer.getInt();
+
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("Invalid string length: " + length);
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    /**
+     * Writes a text to a specific stream.
+     *
+     * @param stream
+     *         The stream, the text should be written to, as an instance of the class {@link
+     *         DataOutputStream}. The stream may not be null
+     * @param text
+     *         The text, which should be written, as a {@link String}. The text may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if the text could not be written
+     */
+    private static void writeString(@NonNull final DataOutputStream stream,
+                                    @NonNull final String text) throws IOException {
+        byte[] bytes = text.getBytes(UTF_8);
+        stream.writeInt(bytes.length);
+        stream.write(bytes);
+    }
+
+    /**
+     * Ensures, that a specific index of a state is valid.
+     *
+     * @param state
+     *         The index of the state as an {@link Integer} value
+     * @param size
+     *         The number of states as an {@link Integer} value
+     * @throws IOException
+     *         The exception, which is thrown, if the index is invalid
+     */
+    private static void ensureValidState(final int state, final int size) throws IOException {
+        if (state < 0 || state >= size) {
+            throw new IOException("Invalid state: " + state);
+        }
+    }
+
+    /**
+     * Reads the ranges of a set of characters from a specific buffer and ensures, that they are
+     * sorted, disjoint and non-adjacent.
+     *
+     * @param buffer
+     *         The buffer, the ranges should be read from, as an instance of the class {@link
+     *         ByteBuffer}. The buffer may not be null
+     * @return The set of characters, which has been read, as an instance of the class {@link
+     * CharacterSet}. The set may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if the buffer is corrupt
+     */
+    @NonNull
+    private static CharacterSet readCharacterSet(@NonNull final ByteBuffer buffer)
+            throws IOException {
+        int length = buffer.getInt();
+
+        if (length < 0 || length % 2 != 0 || length > buffer.remaining() / 4) {
+            throw new IOException("Invalid number of ranges: " + length);
+        }
+
+        int[] ranges = new int[length];
+        int previous = -2;
+
+        for (int i = 0; i < length; i += 2) {
+            ranges[i] = buffer.getInt();
+            ranges[i + 1] = buffer.getInt();
+
+            if (ranges[i] <= previous + 1 || ranges[i + 1] < ranges[i] ||
+                    ranges[i + 1] > CharacterSet.MAX_CHARACTER) {
+                throw new IOException("Invalid range: [" + ranges[i] + ", " + ranges[i + 1] + "]");
+            }
+
+            previous = ranges[i + 1];
+        }
+
+        return CharacterSet.fromRanges(ranges);
+    }
+
+    /**
+     * Reads a non-deterministic automaton from a specific buffer.
+     *
+     * @param buffer
+     *         The buffer, the automaton should be read from, as an instance of the class {@link
+     *         ByteBuffer}. The buffer may not be null
+     * @param regex
+     *         The regular expression, the automaton has been constructed from, as a {@link
+     *         String}. The regular expression may not be null
+     * @param flags
+     *         The flags of the regular expression as an {@link Integer} value
+     * @return The automaton, which has been read, as an instance of the class {@link Nfa} or null,
+     * if the buffer has been written for a different regular expression or by a different version
+     * of the library or the file format
+     * @throws IOException
+     *         The exception, which is thrown, if the buffer is corrupt
+     */
+    @Nullable
+    private Nfa readNfa(@NonNull final ByteBuffer buffer, @NonNull final String regex,
+                        final int flags) throws IOException {
+        if (buffer.getInt() != MAGIC_NUMBER || buffer.getInt() != FORMAT_VERSION ||
+                !libraryVersion.equals(readString(buffer)) || buffer.getInt() != flags ||
+                !regex.equals(readString(buffer))) {
+            return null;
+        }
+
+        int start = buffer.getInt();
+        int size = buffer.getInt();
+
+        if (size <= 0 || size > Nfa.MAX_STATES) {
+            throw new IOException("Invalid number of states: " + size);
+        }
+
+        ensureValidState(start, size);
+        int[] types = new int[size];
+        int[] next = new int[size];
+        int[] alternativeNext = new int[size];
+        CharacterSet[] characters = new CharacterSet[size];
+
+        for (int i = 0; i < size; i++) {
+            types[i] = buffer.get();
+            next[i] = buffer.getInt();
+            alternativeNext[i] = buffer.getInt();
+
+            if (types[i] == Nfa.TYPE_CHARACTERS) {
+                ensureValidState(next[i], size);
+                characters[i] = readCharacterSet(buffer);
+            } else if (types[i] == Nfa.TYPE_SPLIT) {
+                ensureValidState(next[i], size);
+                ensureValidState(alternativeNext[i], size);
+            } else if (types[i] != Nfa.TYPE_MATCH || next[i] != 0) {
+                throw new IOException("Invalid state type: " + types[i]);
+            }
+        }
+
+        if (buffer.hasRemaining()) {
+            throw new IOException("Unexpected data at the end of the file");
+        }
+
+        return Nfa.create(regex, types, next, alternativeNext, characters, start);
+    }
+
+    /**
+     * Writes a non-deterministic automaton to a specific stream.
+     *
+     * @param stream
+     *         The stream, the automaton should be written to, as an instance of the class {@link
+     *         DataOutputStream}. The stream may not be null
+     * @param nfa
+     *         The automaton, which should be written, as an instance of the class {@link Nfa}. The
+     *         automaton may not be null
+     * @param regex
+     *         The regular expression, the automaton has been constructed from, as a {@link
+     *         String}. The regular expression may not be null
+     * @param flags
+     *         The flags of the regular expression as an {@link Integer} value
+     * @throws IOException
+     *         The exception, which is thrown, if the automaton could not be written
+     */
+    private void writeNfa(@NonNull final DataOutputStream stream, @NonNull final Nfa nfa,
+                          @NonNull final String regex, final int flags) throws IOException {
+        stream.writeInt(MAGIC_NUMBER);
+        stream.writeInt(FORMAT_VERSION);
+        writeString(stream, libraryVersion);
+        stream.writeInt(flags);
+        writeString(stream, regex);
+        stream.writeInt(nfa.start);
+        stream.writeInt(nfa.size);
+
+        for (int i = 0; i < nfa.size; i++) {
+            stream.writeByte(nfa.types[i]);
+            stream.writeInt(nfa.next[i]);
+            stream.writeInt(nfa.alternativeNext[i]);
+
+            if (nfa.types[i] == Nfa.TYPE_CHARACTERS) {
+                int[] ranges = nfa.characters[i].getRanges();
+                stream.writeInt(ranges.length);
+
+                for (int bound : ranges) {
+                    stream.writeInt(bound);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the non-deterministic automaton of a specific regular expression from a specific file
+     * by using memory-mapped I/O.
+     *
+     * @param file
+     *         The file as an instance of the class {@link File}. The file may not be null
+     * @param regex
+     *         The regular expression as a {@link String}. The regular expression may not be null
+     * @param flags
+     *         The flags of the regular expression as an {@link Integer} value
+     * @return The automaton, which has been read, as an instance of the class {@link Nfa} or null,
+     * if the file has been written for a different regular expression or by a different version
+     * of the library or the file format
+     * @throws IOException
+     *         The exception, which is thrown, if the file could not be read or is corrupt
+     */
+    @Nullable
+    private Nfa read(@NonNull final File file, @NonNull final String regex, final int flags)
+            throws IOException {
+        FileInputStream stream = new FileInputStream(file);
+
+        try {
+            FileChannel channel = stream.getChannel();
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return readNfa(buffer, regex, flags);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Unexpected end of file", e);
+        } finally {
+            stream.close();
+        }
+    }
+
+    /**
+     * Writes the non-deterministic automaton of a specific regular expression to a specific file.
+     * The automaton is written to a temporary file, which is renamed afterwards.
+     *
+     * @param file
+     *         The file as an instance of the class {@link File}. The file may not be null
+     * @param nfa
+     *         The automaton, which should be written, as an instance of the class {@link Nfa}. The
+     *         automaton may not be null
+     * @param regex
+     *         The regular expression as a {@link String}. The regular expression may not be null
+     * @param flags
+     *         The flags of the regular expression as an {@link Integer} value
+     * @throws IOException
+     *         The exception, which is thrown, if the file could not be written
+     */
+    private void write(@NonNull final File file, @NonNull final Nfa nfa,
+                       @NonNull final String regex, final int flags) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs() && !directory.isDirectory()) {
+            throw new IOException("Failed to create directory " + directory);
+        }
+
+        File temporaryFile = File.createTempFile(file.getName(), ".tmp", directory);
+        boolean renamed = false;
+
+        try {
+            DataOutputStream stream = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(temporaryFile)));
+
+            try {
+                writeNfa(stream, nfa, regex, flags);
+            } finally {
+                stream.close();
+            }
+
+            renamed = temporaryFile.renameTo(file);
+
+            if (!renamed) {
+                throw new IOException("Failed to rename " + temporaryFile + " to " + file);
+            }
+        } finally {
+            if (!renamed) {
+                temporaryFile.delete();
+            }
+        }
+    }
+
+    /**
+     * Creates a new cache, which persists compiled automata in the cache directory of the app.
+     *
+     * @param context
+     *         The context, which should be used to retrieve the cache directory, as an instance of
+     *         the class {@link Context}. The context may not be null
+     */
+    public AutomatonCache(@NonNull final Context context) {
+        this(new File(ensureContextNotNull(context).getCacheDir(), DIRECTORY_NAME));
+    }
+
+    /**
+     * Creates a new cache, which persists compiled automata in a specific directory.
+     *
+     * @param directory
+     *         The directory, the automata should be stored in, as an instance of the class {@link
+     *         File}. The directory may not be null. If it does not exist, it is created when
+     *         storing the first automaton
+     */
+    public AutomatonCache(@NonNull final File directory) {
+        ensureNotNull(directory, "The directory may not be null");
+        this.directory = directory;
+        this.libraryVersion = BuildConfig.VERSION_NAME;
+    }
+
+    /**
+     * Returns the directory, the automata are stored in.
+     *
+     * @return The directory, the automata are stored in, as an instance of the class {@link
+     * File}. The directory may not be null
+     */
+    @NonNull
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns the automaton of a specific regular expression. If the automaton has been stored
+     * previously, it is loaded from its file. Otherwise, the regular expression is compiled and the
+     * automaton is stored.
+     *
+     * @param regex
+     *         The regular expression as a {@link String}. The regular expression may not be null
+     * @return The automaton as an instance of the class {@link Automaton}. The automaton may not
+     * be null
+     * @throws PatternSyntaxException
+     *         If the regular expression is invalid
+     * @throws UnsupportedPatternException
+     *         If the regular expression uses constructs, which are not supported
+     */
+    @NonNull
+    public Automaton compile(@NonNull final String regex) {
+        return compile(regex, 0);
+    }
+
+    /**
+     * Returns the automaton of a specific regular expression, using specific flags. If the
+     * automaton has been stored previously, it is loaded from its file. Otherwise, the regular
+     * expression is compiled and the automaton is stored.
+     *
+     * @param regex
+     *         The regular expression as a {@link String}. The regular expression may not be null
+     * @param flags
+     *         The flags, which should be used, as an {@link Integer} value. See {@link
+     *         Automaton#compile(String, int)} for the supported flags
+     * @return The automaton as an instance of the class {@link Automaton}. The automaton may not
+     * be null
+     * @throws PatternSyntaxException
+     *         If the regular expression is invalid
+     * @throws UnsupportedPatternException
+     *         If the regular expression uses constructs or flags, which are not supported
+     */
+    @NonNull
+    public Automaton compile(@NonNull final String regex, final int flags) {
+        return compile(regex, flags, Automaton.DEFAULT_MAX_STATE_COUNT);
+    }
+
+    /**
+     * Returns the automaton of a specific regular expression, using specific flags and a specific
+     * maximum number of states of the deterministic automaton, which are kept in memory. If the
+     * automaton has been stored previously, it is loaded from its file. Otherwise, the regular
+     * expression is compiled and the automaton is stored.
+     *
+     * @param regex
+     *         The regular expression as a {@link String}. The regular expression may not be null
+     * @param flags
+     *         The flags, which should be used, as an {@link Integer} value. See {@link
+     *         Automaton#compile(String, int)} for the supported flags
+     * @param maxStateCount
+     *         The maximum number of states of the deterministic automaton, which should be kept in
+     *         memory, as an {@link Integer} value. The maximum number must be at least 2
+     * @return The automaton as an instance of the class {@link Automaton}. The automaton may not
+     * be null
+     * @throws PatternSyntaxException
+     *         If the regular expression is invalid
+     * @throws UnsupportedPatternException
+     *         If the regular expression uses constructs or flags, which are not supported
+     */
+    @NonNull
+    public Automaton compile(@NonNull final String regex, final int flags,
+                             final int maxStateCount) {
+        Automaton automaton = load(regex, flags, maxStateCount);
+
+        if (automaton == null) {
+            automaton = Automaton.compile(regex, flags, maxStateCount);
+
+            try {
+                write(new File(directory, getFileName(regex, flags)), automaton.getNfa(), regex,
+                        flags);
+            } catch (IOException e) {
+                Log.w(getClass().getSimpleName(), "Failed to store automaton of " + regex, e);
+            }
+        }
+
+        return automaton;
+    }
+
+    /**
+     * Loads the automaton of a specific regular expression from its file. Files, which are corrupt,
+     * are deleted.
+     *
+     * @param regex
+     *         The regular expression as a {@link String}. The regular expression may not be null
+     * @param flags
+     *         The flags of the regular expression as an {@link Integer} value
+     * @param maxStateCount
+     *         The maximum number of states of the deterministic automaton, which should be kept in
+     *         memory, as an {@link Integer} value. The maximum number must be at least 2
+     * @return The automaton, which has been loaded, as an instance of the class {@link Automaton}
+     * or null, if no valid file exists
+     */
+    @Nullable
+    Automaton load(@NonNull final String regex, final int flags, final int maxStateCount) {
+        ensureNotNull(regex, "The regular expression may not be null");
+        ensureAtLeast(maxStateCount, 2, "The maximum number of states must be at least 2");
+        File file = new File(directory, getFileName(regex, flags));
+
+        if (file.isFile()) {
+            try {
+                Nfa nfa = read(file, regex, flags);
+
+                if (nfa != null) {
+                    return new Automaton(regex, flags, maxStateCount, nfa);
+                }
+            } catch (IOException e) {
+                Log.w(getClass().getSimpleName(), "Failed to load automaton of " + regex, e);
+                file.delete();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Deletes all files, which have been stored by the cache.
+     */
+    public void clear() {
+        File[] files = directory.listFiles();
+
+        if (files != null) {
+            for (File file : files) {
+                if (file.getName().endsWith(FILE_SUFFIX) || file.getName().endsWith(".tmp")) {
+                    file.delete();
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AutomatonCache{directory=" + directory + ", version=" + FORMAT_VERSION + "}";
+    }
+
+}
@@ -0,0 +1,326 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.regex;
+
+import android.support.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * An immutable set of characters, which is represented by sorted, disjoint and non-adjacent
+ * ranges of Unicode code points. Sets, which are consumed by the states of an automaton, only
+ * contain UTF-16 code units, i.e. code points, which are not greater than {@link
+ * #MAX_CHARACTER}.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+final class CharacterSet {
+
+    /**
+     * The largest UTF-16 code unit.
+     */
+    static final int MAX_CHARACTER = Character.MAX_VALUE;
+
+    /**
+     * The largest code point, which can be contained by a set.
+     */
+    static final int MAX_CODE_POINT = Character.MAX_CODE_POINT;
+
+    /**
+     * A set, which does not contain any characters.
+     */
+    static final CharacterSet EMPTY = new CharacterSet(new int[0]);
+
+    /**
+     * A set, which contains all characters.
+     */
+    static final CharacterSet ALL = new CharacterSet(new int[]{0, MAX_CODE_POINT});
+
+    /**
+     * A set, which contains all digits, as defined by the character class <code>\d</code>.
+     */
+    static final CharacterSet DIGITS = range('0', '9');
+
+    /**
+     * A set, which contains all word characters, as defined by the character class
+     * <code>\w</code>.
+     */
+    static final CharacterSet WORD_CHARACTERS =
+            new CharacterSet(new int[]{'0', '9', 'A', 'Z', '_', '_', 'a', 'z'});
+
+    /**
+     * A set, which contains all whitespace characters, as defined by the character class
+     * <code>\s</code>.
+     */
+    static final CharacterSet WHITESPACE = new CharacterSet(new int[]{'\t', '\r', ' ', ' '});
+
+    /**
+     * A set, which contains all characters, which are matched by the metacharacter
+     * <code>.</code>, i.e. all characters except line terminators.
+     */
+    static final CharacterSet DOT = new CharacterSet(
+            new int[]{'\n', '\n', '\r', '\r', 0x85, 0x85, 0x2028, 0x2029}).negate();
+
+    /**
+     * The start and end points of the ranges, the set consists of. Each range is represented by two
+     * subsequent inclusive bounds.
+     */
+    private final int[] ranges;
+
+    /**
+     * Creates a new set from ranges, which are sorted, disjoint and non-adjacent.
+     *
+     * @param ranges
+     *         The start and end points of the ranges as an {@link Integer} array. The array may not
+     *         be null
+     */
+    private CharacterSet(@NonNull final int[] ranges) {
+        this.ranges = ranges;
+    }
+
+    /**
+     * Creates and returns a set, which contains a single character.
+     *
+     * @param character
+     *         The code point of the character as an {@link Integer} value
+     * @return The set, which has been created, as an instance of the class {@link CharacterSet}.
+     * The set may not be null
+     */
+    @NonNull
+    static CharacterSet of(final int character) {
+        return range(character, character);
+    }
+
+    /**
+     * Creates and returns a set, which contains a range of characters.
+     *
+     * @param start
+     *         The code point of the first character of the range as an {@link Integer} value
+     * @param end
+     *         The code point of the last character of the range as an {@link Integer} value. The
+     *         code point must not be less than the first one
+     * @return The set, which has been created, as an instance of the class {@link CharacterSet}.
+     * The set may not be null
+     */
+    @NonNull
+    static CharacterSet range(final int start, final int end) {
+        return new CharacterSet(new int[]{start, end});
+    }
+
+    /**
+     * Creates and returns a set from ranges, which are sorted, disjoint and non-adjacent, e.g.
+     * ranges, which have previously been returned by the method {@link #getRanges()}.
+     *
+     * @param ranges
+     *         The start and end points of the ranges as an {@link Integer} array. The array may not
+     *         be null
+     * @return The set, which has been created, as an instance of the class {@link CharacterSet}.
+     * The set may not be null
+     */
+    @NonNull
+    static CharacterSet fromRanges(@NonNull final int[] ranges) {
+        return new CharacterSet(ranges);
+    }
+
+    /**
+     * Creates and returns the union of this set and an other set.
+     *
+     * @param other
+     *         The other set as an instance of the class {@link CharacterSet}. The set may not be
+     *         null
+     * @return The union as an instance of the class {@link CharacterSet}. The union may not be
+     * null
+     */
+    @NonNull
+    CharacterSet union(@NonNull final CharacterSet other) {
+        if (other.ranges.length == 0) {
+            return this;
+        } else if (ranges.length == 0) {
+            return other;
+        }
+
+        long[] merged = new long[(ranges.length + other.ranges.length) / 2];
+        int n = 0;
+
+        for (int i = 0; i < ranges.length; i += 2) {
+            merged[n++] = ((long) ranges[i] << 32) | ranges[i + 1];
+        }
+
+        for (int i = 0; i < other.ranges.length; i += 2) {
+            merged[n++] = ((long) other.ranges[i] << 32) | other.ranges[i + 1];
+        }
+
+        Arrays.sort(merged);
+        int[] result = new int[merged.length * 2];
+        int length = 0;
+
+        for (long range : merged) {
+            int start = (int) (range >>> 32);
+            int end = (int) range;
+
+            if (length > 0 && start <= result[length - 1] + 1) {
+                result[length - 1] = Math.max(result[length - 1], end);
+            } else {
+                result[length++] = start;
+                result[length++] = end;
+            }
+        }
+
+        return new CharacterSet(Arrays.copyOf(result, length));
+    }
+
+    /**
+     * Creates and returns the intersection of this set and an other set. The difference of two
+     * sets can be obtained by intersecting one set with the complement of the other one.
+     *
+     * @param other
+     *         The other set as an instance of the class {@link CharacterSet}. The set may not be
+     *         null
+     * @return The intersection as an instance of the class {@link CharacterSet}. The intersection
+     * may not be null
+     */
+    @NonNull
+    CharacterSet intersect(@NonNull final CharacterSet other) {
+        int[] result = new int[ranges.length + other.ranges.length];
+        int length = 0;
+        int i = 0;
+        int j = 0;
+
+        while (i < ranges.length && j < other.ranges.length) {
+            int start = Math.max(ranges[i], other.ranges[j]);
+            int end = Math.min(ranges[i + 1], other.ranges[j + 1]);
+
+            if (start <= end) {
+                result[length++] = start;
+                result[length++] = end;
+            }
+
+            if (ranges[i + 1] < other.ranges[j + 1]) {
+                i += 2;
+            } else {
+                j += 2;
+            }
+        }
+
+        return new CharacterSet(Arrays.copyOf(result, length));
+    }
+
+    /**
+     * Creates and returns the complement of this set.
+     *
+     * @return The complement as an instance of the class {@link CharacterSet}. The complement may
+     * not be null
+     */
+    @NonNull
+    CharacterSet negate() {
+        int[] result = new int[ranges.length + 2];
+        int length = 0;
+        int start = 0;
+
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (ranges[i] > start) {
+                result[length++] = start;
+                result[length++] = ranges[i] - 1;
+            }
+
+            start = ranges[i + 1] + 1;
+        }
+
+        if (start <= MAX_CODE_POINT) {
+            result[length++] = start;
+            result[length++] = MAX_CODE_POINT;
+        }
+
+        return new CharacterSet(Arrays.copyOf(result, length));
+    }
+
+    /**
+     * Creates and returns a set, which contains the characters of this set, as well as the
+     * uppercase and lowercase variants of the ASCII letters, which are contained by this set.
+     *
+     * @return The set, which has been created, as an instance of the class {@link CharacterSet}.
+     * The set may not be null
+     */
+    @NonNull
+    CharacterSet foldCase() {
+        CharacterSet result = this;
+
+        for (int i = 0; i < ranges.length; i += 2) {
+            int start = Math.max(ranges[i], 'a');
+            int end = Math.min(ranges[i + 1], 'z');
+
+            if (start <= end) {
+                result = result.union(range(start - 32, end - 32));
+            }
+
+            start = Math.max(ranges[i], 'A');
+            end = Math.min(ranges[i + 1], 'Z');
+
+            if (start <= end) {
+                result = result.union(range(start + 32, end + 32));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns, whether the set contains a specific character, or not.
+     *
+     * @param character
+     *         The character as an {@link Integer} value
+     * @return True, if the set contains the given character, false otherwise
+     */
+    boolean contains(final int character) {
+        int low = 0;
+        int high = ranges.length / 2 - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+
+            if (character < ranges[mid * 2]) {
+                high = mid - 1;
+            } else if (character > ranges[mid * 2 + 1]) {
+                low = mid + 1;
+            } else {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns, whether the set is empty, or not.
+     *
+     * @return True, if the set is empty, false otherwise
+     */
+    boolean isEmpty() {
+        return ranges.length == 0;
+    }
+
+    /**
+     * Returns the start and end points of the ranges, the set consists of. The returned array must
+     * not be modified.
+     *
+     * @return The start and end points of the ranges as an {@link Integer} array. The array may not
+     * be null
+     */
+    @NonNull
+    int[] getRanges() {
+        return ranges;
+    }
+
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.regex;
+
+import android.support.annotation.NonNull;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * A matcher, which allows to match texts, which are changed incrementally, against the regular
+ * expression of an {@link Automaton}. The matcher stores the state of the automaton, which has
+ * been reached after each character of the previously matched text. When a text is matched, only
+ * the characters, which follow the longest common prefix of the text and the previously matched
+ * text, are processed by the automaton. When characters are appended to a text, such as when
+ * typing, each appended character therefore only requires a single transition of the automaton,
+ * regardless of the length of the text.
+ *
+ * Finding the common prefix requires to compare the text to the previously matched one. This can
+ * be avoided by reporting the changes of a text by using the method {@link #onTextChanged(
+ * CharSequence, int, int, int)}, e.g. from a {@link android.text.TextWatcher}. Once the changes of
+ * a text have been reported, the text can be matched without reading any of its characters, as
+ * long as all of its changes are reported.
+ *
+ * A matcher is not thread-safe. It should only be used by a single thread.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public final class IncrementalMatcher {
+
+    /**
+     * The initial capacity of the arrays, which store the previously matched text.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The automaton, which is used by the matcher.
+     */
+    private final Automaton automaton;
+
+    /**
+     * The characters of the previously matched text.
+     */
+    private char[] text;
+
+    /**
+     * The states of the automaton, which have been reached after each character of the previously
+     * matched text. The start state is stored at index 0.
+     */
+    private Automaton.State[] states;
+
+    /**
+     * The length of the previously matched text.
+     */
+    private int length;
+
+    /**
+     * A reference to the text, whose changes have been reported by using the method {@link
+     * #onTextChanged(CharSequence, int, int, int)}, or null, if no changes have been reported.
+     */
+    private WeakReference<CharSequence> trackedText;
+
+    /**
+     * Returns, whether the changes of a specific text have been reported by using the method
+     * {@link #onTextChanged(CharSequence, int, int, int)}, or not.
+     *
+     * @param value
+     *         The text as an instance of the type {@link CharSequence}. The text may not be null
+     * @return True, if the changes of the given text have been reported, false otherwise
+     */
+    private boolean isTracked(@NonNull final CharSequence value) {
+        return trackedText != null && trackedText.get() == value;
+    }
+
+    /**
+     * Processes the characters of a specific text, starting at a specific index, by using the
+     * state, which has been reached by the preceding characters of the previously matched text. If
+     * the preceding character is a high surrogate, it is processed again, because whether it is
+     * unpaired, depends on the character, which follows it.
+     *
+     * @param value
+     *         The text as an instance of the type {@link CharSequence}. The text may not be null
+     * @param start
+     *         The index of the first character, which should be processed, as an {@link Integer}
+     *         value. The index must not be greater than the length of the previously matched text
+     * @return The state, which is reached by the given text, as an instance of the class {@link
+     * Automaton.State}. The state may not be null
+     */
+    @NonNull
+    private Automaton.State resume(@NonNull final CharSequence value, final int start) {
+        int newLength = value.length();
+        int resumeIndex = start > 0 && Character.isHighSurrogate(text[start - 1]) ? start - 1 :
+                start;
+        ensureCapacity(newLength);
+        Automaton.State state = states[resumeIndex];
+
+        for (int i = resumeIndex; i < newLength; i++) {
+            char character = value.charAt(i);
+            state = automaton.step(state, character);
+
+            if (Automaton.isUnpairedSurrogate(value, i, character)) {
+                state = automaton.step(state, character);
+            }
+
+            text[i] = character;
+            states[i + 1] = state;
+        }
+
+        length = newLength;
+        return state;
+    }
+
+    /**
+     * Ensures, that the arrays, which store the previously matched text, are able to store a text
+     * of a specific length.
+     *
+     * @param capacity
+     *         The length of the text as an {@link Integer} value
+     */
+    private void ensureCapacity(final int capacity) {
+        if (capacity > text.length) {
+            int newCapacity = Math.max(capacity, text.length * 2);
+            text = Arrays.copyOf(text, newCapacity);
+            states = Arrays.copyOf(states, newCapacity + 1);
+        }
+    }
+
+    /**
+     * Returns the state of the automaton, which is reached by a specific text. If the changes of
+     * the text have been reported, the state, which has been reached by the previously matched
+     * text, is returned. Otherwise, the states, which are reached by the longest common prefix of
+     * the text and the previously matched text, are reused.
+     *
+     * @param value
+     *         The text as an instance of the type {@link CharSequence}. The text may not be null
+     * @return The state, which is reached by the given text, as an instance of the class {@link
+     * Automaton.State}. The state may not be null
+     */
+    @NonNull
+    private Automaton.State advance(@NonNull final CharSequence value) {
+        ensureNotNull(value, "The text may not be null");
+        int newLength = value.length();
+
+        if (isTracked(value)) {
+            if (newLength == length) {
+                return states[length];
+            }
+        } else {
+            trackedText = null;
+        }
+
+        int commonLength = 0;
+        int maxCommonLength = Math.min(length, newLength);
+
+        while (commonLength < maxCommonLength &&
+                text[commonLength] == value.charAt(commonLength)) {
+            commonLength++;
+        }
+
+        return resume(value, commonLength);
+    }
+
+    /**
+     * Creates a new matcher, which allows to match texts, which are changed incrementally,
+     * against the regular expression of a specific automaton.
+     *
+     * @param automaton
+     *         The automaton, which should be used by the matcher, as an instance of the class
+     *         {@link Automaton}. The automaton may not be null
+     */
+    IncrementalMatcher(@NonNull final Automaton automaton) {
+        this.automaton = automaton;
+        this.text = new char[INITIAL_CAPACITY];
+        this.states = new Automaton.State[INITIAL_CAPACITY + 1];
+        this.states[0] = automaton.getStartState();
+        this.length = 0;
+    }
+
+    /**
+     * Returns the automaton, which is used by the matcher.
+     *
+     * @return The automaton, which is used by the matcher, as an instance of the class {@link
+     * Automaton}. The automaton may not be null
+     */
+    @NonNull
+    public Automaton getAutomaton() {
+        return automaton;
+    }
+
+    /**
+     * Returns, whether a specific text matches the regular expression entirely, or not.
+     *
+     * @param value
+     *         The text as an instance of the type {@link CharSequence}. The text may not be null
+     * @return True, if the given text matches the regular expression, false otherwise
+     */
+    public boolean matches(@NonNull final CharSequence value) {
+        return advance(value).accepting;
+    }
+
+    /**
+     * Returns, whether a specific text is a prefix of a text, which matches the regular
+     * expression, i.e. whether the text can still become a match by appending further
+     * characters, or not.
+     *
+     * @param value
+     *         The text as an instance of the type {@link CharSequence}. The text may not be null
+     * @return True, if the given text is a prefix of a match, false otherwise
+     */
+    public boolean matchesPrefix(@NonNull final CharSequence value) {
+        Automaton.State state = advance(value);
+
+        if (length > 0 && Character.isHighSurrogate(text[length - 1])) {
+            state = automaton.step(states[length - 1], text[length - 1]);
+        }
+
+        return !state.isDead();
+    }
+
+    /**
+     * Reports a change of a specific text. The parameters correspond to those of the method {@link
+     * android.text.TextWatcher#onTextChanged(CharSequence, int, int, int)}. If the previous changes
+     * of the text have been reported as well, only the characters, which follow the changed
+     * position, are processed by the automaton. When characters are appended, only the appended
+     * characters are therefore read. Once a change of a text has been reported, all further
+     * changes of the text must be reported as well, until the matcher is reset or a different text
+     * is matched.
+     *
+     * @param value
+     *         The text, which has been changed, as an instance of the type {@link CharSequence}.
+     *         The text may not be null
+     * @param start
+     *         The index of the first character, which has been changed, as an {@link Integer}
+     *         value
+     * @param before
+     *         The number of characters, which have been replaced, as an {@link Integer} value
+     * @param count
+     *         The number of characters, which have replaced the previous ones, as an {@link
+     *         Integer} value
+     */
+    public void onTextChanged(@NonNull final CharSequence value, final int start,
+                              final int before, final int count) {
+        ensureNotNull(value, "The text may not be null");
+
+        if (isTracked(value) && start >= 0 && start <= length &&
+                value.length() == length - before + count) {
+            resume(value, start);
+        } else {
+            trackedText = null;
+            advance(value);
+            trackedText = new WeakReference<>(value);
+        }
+    }
+
+    /**
+     * Discards the previously matched text.
+     */
+    public void reset() {
+        length = 0;
+        trackedText = null;
+    }
+
+}
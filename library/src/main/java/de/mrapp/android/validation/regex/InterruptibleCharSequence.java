@@ -0,0 +1,133 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.regex;
+
+import android.support.annotation.NonNull;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * A char sequence, which wraps an other char sequence in order to enforce a {@link MatchBudget}.
+ * Each access of a character is counted and a {@link MatchBudgetExceededException} is thrown, once
+ * the maximum number of accesses or the deadline has been exceeded. As the deadline is only
+ * checked every {@link #DEADLINE_CHECK_INTERVAL} accesses, the overhead per access is a counter
+ * increment.
+ *
+ * The budget can only be enforced, if a text is matched by accessing it character by character.
+ * This applies to an {@link Automaton}, as well as to the class {@link java.util.regex.Matcher} of
+ * the JVM. The Android runtime however copies the text by calling {@link #toString()} and matches
+ * it natively, which cannot be interrupted. On Android, a budget can therefore only be enforced by
+ * the engine {@link RegexEngine#LINEAR} (see {@link RegexEngine#isMatchBudgetEnforceable()}).
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public final class InterruptibleCharSequence implements CharSequence {
+
+    /**
+     * The number of character accesses, after which the deadline is checked.
+     */
+    static final int DEADLINE_CHECK_INTERVAL = 256;
+
+    /**
+     * The char sequence, which is wrapped.
+     */
+    private final CharSequence text;
+
+    /**
+     * The budget, which is enforced.
+     */
+    private final MatchBudget budget;
+
+    /**
+     * The maximum number of character accesses or {@link Long#MAX_VALUE}, if the number of
+     * accesses is not limited.
+     */
+    private final long maxCharacterAccesses;
+
+    /**
+     * The point in time, the deadline expires at, in nanoseconds.
+     */
+    private final long deadline;
+
+    /**
+     * The number of character accesses so far.
+     */
+    private long characterAccesses;
+
+    /**
+     * Creates a new char sequence, which wraps an other char sequence in order to enforce a
+     * specific budget. The deadline starts to run immediately.
+     *
+     * @param text
+     *         The char sequence, which should be wrapped, as an instance of the type {@link
+     *         CharSequence}. The char sequence may not be null
+     * @param budget
+     *         The budget, which should be enforced, as an instance of the class {@link
+     *         MatchBudget}. The budget may not be null
+     */
+    public InterruptibleCharSequence(@NonNull final CharSequence text,
+                                     @NonNull final MatchBudget budget) {
+        ensureNotNull(text, "The text may not be null");
+        ensureNotNull(budget, "The budget may not be null");
+        this.text = text;
+        this.budget = budget;
+        this.maxCharacterAccesses =
+                budget.getMaxCharacterAccesses() != MatchBudget.UNLIMITED ?
+                        budget.getMaxCharacterAccesses() : Long.MAX_VALUE;
+        this.deadline = budget.getTimeout() != MatchBudget.UNLIMITED ?
+                System.nanoTime() + budget.getTimeout() : 0;
+        this.characterAccesses = 0;
+    }
+
+    /**
+     * Returns the number of times, the characters have been accessed so far.
+     *
+     * @return The number of times, the characters have been accessed so far, as a {@link Long}
+     * value
+     */
+    public long getCharacterAccesses() {
+        return characterAccesses;
+    }
+
+    @Override
+    public int length() {
+        return text.length();
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if (++characterAccesses > maxCharacterAccesses) {
+            throw new MatchBudgetExceededException(
+                    "Exceeded the maximum number of character accesses of " + budget);
+        } else if (deadline != 0 && characterAccesses % DEADLINE_CHECK_INTERVAL == 0 &&
+                System.nanoTime() - deadline > 0) {
+            throw new MatchBudgetExceededException("Exceeded the timeout of " + budget);
+        }
+
+        return text.charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        return text.subSequence(start, end);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return text.toString();
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.regex;
+
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.TimeUnit;
+
+import static de.mrapp.android.util.Condition.ensureAtLeast;
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * The budget of matching a single text against a regular expression. A budget limits the number
+ * of times, the characters of the text may be accessed, and the time, matching may take. Both
+ * limits are enforced by an {@link InterruptibleCharSequence}.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public final class MatchBudget {
+
+    /**
+     * The value, which indicates, that a limit is not used.
+     */
+    public static final long UNLIMITED = 0;
+
+    /**
+     * The maximum number of times, the characters of a text may be accessed.
+     */
+    private final long maxCharacterAccesses;
+
+    /**
+     * The maximum time, matching may take, in nanoseconds.
+     */
+    private final long timeout;
+
+    /**
+     * Creates a new budget of matching a single text against a regular expression.
+     *
+     * @param maxCharacterAccesses
+     *         The maximum number of times, the characters of a text may be accessed, as a {@link
+     *         Long} value or {@link #UNLIMITED}, if the number of accesses should not be limited.
+     *         The maximum number must be at least 0
+     * @param timeout
+     *         The maximum time, matching may take, as a {@link Long} value or {@link #UNLIMITED},
+     *         if the time should not be limited. The time must be at least 0
+     * @param unit
+     *         The unit of the timeout as a value of the enum {@link TimeUnit}. The unit may not be
+     *         null
+     */
+    public MatchBudget(final long maxCharacterAccesses, final long timeout,
+                       @NonNull final TimeUnit unit) {
+        ensureAtLeast(maxCharacterAccesses, 0,
+                "The maximum number of character accesses must be at least 0");
+        ensureAtLeast(timeout, 0, "The timeout must be at least 0");
+        ensureNotNull(unit, "The unit may not be null");
+        this.maxCharacterAccesses = maxCharacterAccesses;
+        this.timeout = unit.toNanos(timeout);
+    }
+
+    /**
+     * Returns the maximum number of times, the characters of a text may be accessed.
+     *
+     * @return The maximum number of times, the characters of a text may be accessed, as a {@link
+     * Long} value or {@link #UNLIMITED}, if the number of accesses is not limited
+     */
+    public long getMaxCharacterAccesses() {
+        return maxCharacterAccesses;
+    }
+
+    /**
+     * Returns the maximum time, matching may take.
+     *
+     * @return The maximum time, matching may take, in nanoseconds as a {@link Long} value or
+     * {@link #UNLIMITED}, if the time is not limited
+     */
+    public long getTimeout() {
+        return timeout;
+    }
+
+    @Override
+    public String toString() {
+        return "MatchBudget{maxCharacterAccesses=" + maxCharacterAccesses + ", timeout=" +
+                TimeUnit.NANOSECONDS.toMicros(timeout) + "us}";
+    }
+
+}
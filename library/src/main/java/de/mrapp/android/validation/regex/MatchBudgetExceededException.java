@@ -0,0 +1,42 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.regex;
+
+import android.support.annotation.NonNull;
+
+/**
+ * The exception, which is thrown by an {@link InterruptibleCharSequence}, if matching a text
+ * exceeded its {@link MatchBudget}.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class MatchBudgetExceededException extends RuntimeException {
+
+    /**
+     * The constant serial version UID.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates a new exception, which is thrown, if matching a text exceeded its budget.
+     *
+     * @param message
+     *         The message of the exception as a {@link String}. The message may not be null
+     */
+    public MatchBudgetExceededException(@NonNull final String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.regex;
+
+import android.support.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A non-deterministic finite automaton, which is constructed from the abstract syntax tree of a
+ * regular expression by using Thompson's construction. Each state either consumes a single
+ * character of a {@link CharacterSet}, splits into two epsilon transitions, or accepts. An
+ * automaton may be constructed from multiple regular expressions, in which case each one has its
+ * own accepting state.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+final class Nfa {
+
+    /**
+     * The type of states, which consume a single character.
+     */
+    static final int TYPE_CHARACTERS = 0;
+
+    /**
+     * The type of states, which split into two epsilon transitions.
+     */
+    static final int TYPE_SPLIT = 1;
+
+    /**
+     * The type of accepting states. The successor of an accepting state is the index of the
+     * regular expression, it belongs to.
+     */
+    static final int TYPE_MATCH = 2;
+
+    /**
+     * The maximum number of states of an automaton.
+     */
+    static final int MAX_STATES = 20000;
+
+    /**
+     * The regular expression, the automaton has been constructed from.
+     */
+    private final String regex;
+
+    /**
+     * The types of the states.
+     */
+    int[] types;
+
+    /**
+     * The successors of the states. For splitting states, this is the first successor.
+     */
+    int[] next;
+
+    /**
+     * The second successors of splitting states.
+     */
+    int[] alternativeNext;
+
+    /**
+     * The sets of characters, which are consumed by the states.
+     */
+    CharacterSet[] characters;
+
+    /**
+     * The number of states.
+     */
+    int size;
+
+    /**
+     * The index of the start state.
+     */
+    int start;
+
+    /**
+     * Creates a new, empty automaton.
+     *
+     * @param regex
+     *         The regular expression, the automaton is constructed from, as a {@link String}. The
+     *         regular expression may not be null
+     */
+    private Nfa(@NonNull final String regex) {
+        this.regex = regex;
+        this.types = new int[16];
+        this.next = new int[16];
+        this.alternativeNext = new int[16];
+        this.characters = new CharacterSet[16];
+        this.size = 0;
+    }
+
+    /**
+     * Adds a new state to the automaton.
+     *
+     * @param type
+     *         The type of the state as an {@link Integer} value
+     * @param characterSet
+     *         The set of characters, which is consumed by the state, as an instance of the class
+     *         {@link CharacterSet} or null, if the state does not consume any characters
+     * @param successor
+     *         The index of the successor as an {@link Integer} value or -1, if the state does not
+     *         have a successor
+     * @param alternativeSuccessor
+     *         The index of the second successor as an {@link Integer} value or -1, if the state
+     *         does not have a second successor
+     * @return The index of the state, which has been added, as an {@link Integer} value
+     */
+    private int addState(final int type, final CharacterSet characterSet, final int successor,
+                         final int alternativeSuccessor) {
+        if (size == MAX_STATES) {
+            throw new UnsupportedPatternException(
+                    "The regular expression results in more than " + MAX_STATES + " states",
+                    regex, -1);
+        } else if (size == types.length) {
+            int capacity = Math.min(size * 2, MAX_STATES);
+            types = Arrays.copyOf(types, capacity);
+            next = Arrays.copyOf(next, capacity);
+            alternativeNext = Arrays.copyOf(alternativeNext, capacity);
+            characters = Arrays.copyOf(characters, capacity);
+        }
+
+        types[size] = type;
+        characters[size] = characterSet;
+        next[size] = successor;
+        alternativeNext[size] = alternativeSuccessor;
+        return size++;
+    }
+
+    /**
+     * Adds the states, which correspond to a specific node, to the automaton.
+     *
+     * @param node
+     *         The node as an instance of the class {@link Node}. The node may not be null
+     * @param successor
+     *         The index of the state, which should follow the states of the node, as an {@link
+     *         Integer} value
+     * @return The index of the first state of the node as an {@link Integer} value
+     */
+    private int compile(@NonNull final Node node, final int successor) {
+        if (node instanceof Node.Characters) {
+            return addState(TYPE_CHARACTERS, ((Node.Characters) node).characters, successor, -1);
+        } else if (node instanceof Node.Anchor || node instanceof Node.Boundary) {
+            return successor;
+        } else if (node instanceof Node.Sequence) {
+            Node.Sequence sequence = (Node.Sequence) node;
+            int state = successor;
+
+            for (int i = sequence.nodes.size() - 1; i >= 0; i--) {
+                state = compile(sequence.nodes.get(i), state);
+            }
+
+            return state;
+        } else if (node instanceof Node.Alternation) {
+            Node.Alternation alternation = (Node.Alternation) node;
+            int last = alternation.alternatives.size() - 1;
+            int state = compile(alternation.alternatives.get(last), successor);
+
+            for (int i = last - 1; i >= 0; i--) {
+                int alternative = compile(alternation.alternatives.get(i), successor);
+                state = addState(TYPE_SPLIT, null, alternative, state);
+            }
+
+            return state;
+        } else {
+            Node.Repetition repetition = (Node.Repetition) node;
+            int state;
+
+            if (repetition.max == Node.Repetition.UNBOUNDED) {
+                state = addState(TYPE_SPLIT, null, -1, successor);
+                // The arrays may be reallocated while compiling the repeated node
+                int body = compile(repetition.node, state);
+                next[state] = body;
+            } else {
+                state = successor;
+
+                for (int i = repetition.min; i < repetition.max; i++) {
+                    state = addState(TYPE_SPLIT, null, compile(repetition.node, state),
+                            successor);
+                }
+            }
+
+            for (int i = 0; i < repetition.min; i++) {
+                state = compile(repetition.node, state);
+            }
+
+            return state;
+        }
+    }
+
+    /**
+     * Creates an automaton from previously constructed states, e.g. states, which have been read
+     * from a file.
+     *
+     * @param regex
+     *         The regular expression, the automaton has been constructed from, as a {@link
+     *         String}. The regular expression may not be null
+     * @param types
+     *         The types of the states as an {@link Integer} array. The array may not be null
+     * @param next
+     *         The successors of the states as an {@link Integer} array. The array may not be null
+     * @param alternativeNext
+     *         The second successors of splitting states as an {@link Integer} array. The array
+     *         may not be null
+     * @param characters
+     *         The sets of characters, which are consumed by the states, as an array of the type
+     *         {@link CharacterSet}. The array may not be null
+     * @param start
+     *         The index of the start state as an {@link Integer} value
+     * @return The automaton, which has been created, as an instance of the class {@link Nfa}. The
+     * automaton may not be null
+     */
+    @NonNull
+    static Nfa create(@NonNull final String regex, @NonNull final int[] types,
+                      @NonNull final int[] next, @NonNull final int[] alternativeNext,
+                      @NonNull final CharacterSet[] characters, final int start) {
+        Nfa nfa = new Nfa(regex);
+        nfa.types = types;
+        nfa.next = next;
+        nfa.alternativeNext = alternativeNext;
+        nfa.characters = characters;
+        nfa.size = types.length;
+        nfa.start = start;
+        return nfa;
+    }
+
+    /**
+     * Constructs an automaton from the abstract syntax tree of a specific regular expression.
+     *
+     * @param node
+     *         The root node of the abstract syntax tree as an instance of the class {@link Node}.
+     *         The node may not be null
+     * @param regex
+     *         The regular expression as a {@link String}. The regular expression may not be null
+     * @return The automaton, which has been constructed, as an instance of the class {@link Nfa}.
+     * The automaton may not be null
+     */
+    @NonNull
+    static Nfa compile(@NonNull final Node node, @NonNull final String regex) {
+        return compile(Collections.singletonList(node), regex);
+    }
+
+    /**
+     * Constructs an automaton from the abstract syntax trees of multiple regular expressions,
+     * which is in the accepting state of a regular expression, whenever the regular expression
+     * matches.
+     *
+     * @param nodes
+     *         A list, which contains the root nodes of the abstract syntax trees, as an instance of
+     *         the type {@link List}. The list may not be null or empty
+     * @param regex
+     *         A textual representation of the regular expressions as a {@link String}. The
+     *         representation may not be null
+     * @return The automaton, which has been constructed, as an instance of the class {@link Nfa}.
+     * The automaton may not be null
+     */
+    @NonNull
+    static Nfa compile(@NonNull final List<Node> nodes, @NonNull final String regex) {
+        Nfa nfa = new Nfa(regex);
+        int state = -1;
+
+        for (int i = nodes.size() - 1; i >= 0; i--) {
+            int match = nfa.addState(TYPE_MATCH, null, i, -1);
+            int start = nfa.compile(nodes.get(i), match);
+            state = state == -1 ? start : nfa.addState(TYPE_SPLIT, null, start, state);
+        }
+
+        nfa.start = state;
+        return nfa;
+    }
+
+}
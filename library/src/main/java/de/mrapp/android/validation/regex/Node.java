@@ -0,0 +1,203 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.regex;
+
+import android.support.annotation.NonNull;
+
+import java.util.List;
+
+/**
+ * A node of the abstract syntax tree of a regular expression.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+abstract class Node {
+
+    /**
+     * A node, which matches a single character of a {@link CharacterSet}.
+     */
+    static final class Characters extends Node {
+
+        /**
+         * The set of characters, which are matched.
+         */
+        final CharacterSet characters;
+
+        /**
+         * Creates a new node, which matches a single character of a {@link CharacterSet}.
+         *
+         * @param characters
+         *         The set of characters, which should be matched, as an instance of the class
+         *         {@link CharacterSet}. The set may not be null
+         */
+        Characters(@NonNull final CharacterSet characters) {
+            this.characters = characters;
+        }
+
+    }
+
+    /**
+     * A node, which corresponds to the anchor <code>^</code> or <code>$</code>. Anchors do not
+     * consume any characters. As texts must be matched entirely, they are only supported at
+     * positions, which can only be reached at the beginning or at the end of a text.
+     */
+    static final class Anchor extends Node {
+
+        /**
+         * True, if the anchor corresponds to the beginning of a text, false, if it corresponds to
+         * the end.
+         */
+        final boolean beginning;
+
+        /**
+         * The index of the anchor within the regular expression.
+         */
+        final int index;
+
+        /**
+         * Creates a new node, which corresponds to an anchor.
+         *
+         * @param beginning
+         *         True, if the anchor corresponds to the beginning of a text, false, if it
+         *         corresponds to the end
+         * @param index
+         *         The index of the anchor within the regular expression as an {@link Integer}
+         *         value
+         */
+        Anchor(final boolean beginning, final int index) {
+            this.beginning = beginning;
+            this.index = index;
+        }
+
+    }
+
+    /**
+     * A node, which corresponds to the boundary matcher <code>\b</code> or <code>\B</code>.
+     * Boundary matchers do not consume any characters. They are only supported within
+     * alternations, which are always satisfied by an other alternative, such as <code>(?:\b|$)
+     * </code> at the end of a regular expression.
+     */
+    static final class Boundary extends Node {
+
+        /**
+         * The index of the boundary matcher within the regular expression.
+         */
+        final int index;
+
+        /**
+         * Creates a new node, which corresponds to a boundary matcher.
+         *
+         * @param index
+         *         The index of the boundary matcher within the regular expression as an {@link
+         *         Integer} value
+         */
+        Boundary(final int index) {
+            this.index = index;
+        }
+
+    }
+
+    /**
+     * A node, which matches a sequence of nodes. An empty sequence matches the empty text.
+     */
+    static final class Sequence extends Node {
+
+        /**
+         * The nodes, which are matched one after another.
+         */
+        final List<Node> nodes;
+
+        /**
+         * Creates a new node, which matches a sequence of nodes.
+         *
+         * @param nodes
+         *         The nodes, which should be matched one after another, as an instance of the type
+         *         {@link List}. The list may not be null
+         */
+        Sequence(@NonNull final List<Node> nodes) {
+            this.nodes = nodes;
+        }
+
+    }
+
+    /**
+     * A node, which matches one of several alternative nodes.
+     */
+    static final class Alternation extends Node {
+
+        /**
+         * The alternative nodes.
+         */
+        final List<Node> alternatives;
+
+        /**
+         * Creates a new node, which matches one of several alternative nodes.
+         *
+         * @param alternatives
+         *         The alternative nodes as an instance of the type {@link List}. The list may not
+         *         be null
+         */
+        Alternation(@NonNull final List<Node> alternatives) {
+            this.alternatives = alternatives;
+        }
+
+    }
+
+    /**
+     * A node, which matches an other node repeatedly.
+     */
+    static final class Repetition extends Node {
+
+        /**
+         * The value of the maximum number of repetitions, if the number is not restricted.
+         */
+        static final int UNBOUNDED = -1;
+
+        /**
+         * The node, which is repeated.
+         */
+        final Node node;
+
+        /**
+         * The minimum number of repetitions.
+         */
+        final int min;
+
+        /**
+         * The maximum number of repetitions or {@link #UNBOUNDED}.
+         */
+        final int max;
+
+        /**
+         * Creates a new node, which matches an other node repeatedly.
+         *
+         * @param node
+         *         The node, which should be repeated, as an instance of the class {@link Node}.
+         *         The node may not be null
+         * @param min
+         *         The minimum number of repetitions as an {@link Integer} value
+         * @param max
+         *         The maximum number of repetitions as an {@link Integer} value or {@link
+         *         #UNBOUNDED}
+         */
+        Repetition(@NonNull final Node node, final int min, final int max) {
+            this.node = node;
+            this.min = min;
+            this.max = max;
+        }
+
+    }
+
+}
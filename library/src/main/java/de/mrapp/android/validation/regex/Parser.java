@@ -0,0 +1,1246 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.regex;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * A recursive descent parser, which converts a regular expression into an abstract syntax tree. The
+ * parser supports the subset of the syntax of the class {@link java.util.regex.Pattern}, which can
+ * be matched by a finite automaton. This includes literals, escape sequences, character classes,
+ * including nested classes and intersections, the predefined character classes <code>\d</code>,
+ * <code>\w</code> and <code>\s</code>, as well as their negations, groups, alternations and greedy
+ * or reluctant quantifiers. Supplementary characters are matched as a whole, i.e. character classes
+ * are translated into alternatives, which match the corresponding surrogate pairs. Unpaired
+ * surrogates, which are contained by a text, are matched as individual characters, as by the class
+ * {@link Pattern}. As the automaton passes them twice (see {@link
+ * Automaton#isUnpairedSurrogate(CharSequence, int, char)}), they are matched by alternatives, which
+ * consist of the surrogate, followed by any surrogate of the same kind. The anchors <code>^</code>
+ * and <code>$</code> are supported at positions, which can only be reached at the beginning,
+ * respectively the end, of a text. The boundary matchers <code>\b</code> and <code>\B</code> are
+ * only supported within alternations, which are always satisfied by an other alternative, such as
+ * <code>(?:\b|$|^)</code> at the end of a regular expression. Furthermore, the flags {@link
+ * Pattern#CASE_INSENSITIVE}, {@link Pattern#DOTALL}, {@link Pattern#MULTILINE} and {@link
+ * Pattern#LITERAL}, as well as the corresponding inline modifiers, are supported. All other
+ * constructs cause an {@link UnsupportedPatternException} to be thrown.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+final class Parser {
+
+    /**
+     * The maximum number of repetitions, which can be specified by a bounded quantifier.
+     */
+    private static final int MAX_REPETITIONS = 1000;
+
+    /**
+     * A set, which contains all UTF-16 code units, which are not surrogates.
+     */
+    private static final CharacterSet NON_SURROGATES =
+            CharacterSet.range(0, Character.MIN_SURROGATE - 1)
+                    .union(CharacterSet.range(Character.MAX_SURROGATE + 1,
+                            CharacterSet.MAX_CHARACTER));
+
+    /**
+     * A set, which contains all high surrogates.
+     */
+    private static final CharacterSet HIGH_SURROGATES =
+            CharacterSet.range(Character.MIN_HIGH_SURROGATE, Character.MAX_HIGH_SURROGATE);
+
+    /**
+     * A set, which contains all low surrogates.
+     */
+    private static final CharacterSet LOW_SURROGATES =
+            CharacterSet.range(Character.MIN_LOW_SURROGATE, Character.MAX_LOW_SURROGATE);
+
+    /**
+     * A set, which contains all supplementary characters.
+     */
+    private static final CharacterSet SUPPLEMENTARY_CHARACTERS = CharacterSet
+            .range(Character.MIN_SUPPLEMENTARY_CODE_POINT, CharacterSet.MAX_CODE_POINT);
+
+    /**
+     * The flags, which are supported.
+     */
+    private static final int SUPPORTED_FLAGS =
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL | Pattern.MULTILINE | Pattern.LITERAL;
+
+    /**
+     * The regular expression, which is parsed.
+     */
+    private final String regex;
+
+    /**
+     * The index of the next character of the regular expression, which is parsed.
+     */
+    private int position;
+
+    /**
+     * The flags, which currently apply.
+     */
+    private int flags;
+
+    /**
+     * Creates a new parser, which converts a specific regular expression into an abstract syntax
+     * tree.
+     *
+     * @param regex
+     *         The regular expression as a {@link String}. The regular expression may not be null
+     * @param flags
+     *         The flags, which should initially apply, as an {@link Integer} value
+     */
+    private Parser(@NonNull final String regex, final int flags) {
+        this.regex = regex;
+        this.position = 0;
+        this.flags = flags;
+    }
+
+    /**
+     * Creates and returns an exception, which indicates a syntax error.
+     *
+     * @param description
+     *         A description of the error as a {@link String}. The description may not be null
+     * @param index
+     *         The index of the error within the regular expression as an {@link Integer} value
+     * @return The exception, which has been created, as an instance of the class {@link
+     * PatternSyntaxException}. The exception may not be null
+     */
+    @NonNull
+    private PatternSyntaxException syntaxError(@NonNull final String description,
+                                               final int index) {
+        return new PatternSyntaxException(description, regex, index);
+    }
+
+    /**
+     * Creates and returns an exception, which indicates an unsupported construct.
+     *
+     * @param description
+     *         A description of the construct as a {@link String}. The description may not be null
+     * @param index
+     *         The index of the construct within the regular expression as an {@link Integer}
+     *         value
+     * @return The exception, which has been created, as an instance of the class {@link
+     * UnsupportedPatternException}. The exception may not be null
+     */
+    @NonNull
+    private UnsupportedPatternException unsupported(@NonNull final String description,
+                                                    final int index) {
+        return new UnsupportedPatternException(description, regex, index);
+    }
+
+    /**
+     * Returns, whether the regular expression contains further characters, or not.
+     *
+     * @return True, if the regular expression contains further characters, false otherwise
+     */
+    private boolean hasNext() {
+        return position < regex.length();
+    }
+
+    /**
+     * Returns, whether the next character of the regular expression is equal to a specific
+     * character, or not.
+     *
+     * @param character
+     *         The character as a {@link Character} value
+     * @return True, if the next character is equal to the given character, false otherwise
+     */
+    private boolean isNext(final char character) {
+        return hasNext() && regex.charAt(position) == character;
+    }
+
+    /**
+     * Returns the next character of the regular expression and advances the position.
+     *
+     * @return The next character as a {@link Character} value
+     */
+    private char next() {
+        if (!hasNext()) {
+            throw syntaxError("Unexpected end of regular expression", regex.length());
+        }
+
+        return regex.charAt(position++);
+    }
+
+    /**
+     * Creates and returns a node, which matches a specific set of characters.
+     *
+     * @param characters
+     *         The set of characters as an instance of the class {@link CharacterSet}. The set may
+     *         not be null
+     * @return The node, which has been created, as an instance of the class {@link Node}. The
+     * node may not be null
+     */
+    @NonNull
+    private Node characters(@NonNull final CharacterSet characters) {
+        CharacterSet codeUnits = characters.intersect(NON_SURROGATES);
+        CharacterSet highSurrogates = characters.intersect(HIGH_SURROGATES);
+        CharacterSet lowSurrogates = characters.intersect(LOW_SURROGATES);
+        CharacterSet supplementaryCharacters = characters.intersect(SUPPLEMENTARY_CHARACTERS);
+
+        if (supplementaryCharacters.isEmpty() && highSurrogates.isEmpty() &&
+                lowSurrogates.isEmpty()) {
+            return new Node.Characters(codeUnits);
+        }
+
+        List<Node> alternatives = new ArrayList<>();
+
+        if (!codeUnits.isEmpty()) {
+            alternatives.add(new Node.Characters(codeUnits));
+        }
+
+        if (!highSurrogates.isEmpty()) {
+            alternatives.add(unpairedSurrogates(highSurrogates, HIGH_SURROGATES));
+        }
+
+        if (!lowSurrogates.isEmpty()) {
+            alternatives.add(unpairedSurrogates(lowSurrogates, LOW_SURROGATES));
+        }
+
+        alternatives.addAll(surrogatePairs(supplementaryCharacters));
+        return alternatives.size() == 1 ? alternatives.get(0) :
+                new Node.Alternation(alternatives);
+    }
+
+    /**
+     * Creates and returns a node, which matches the unpaired surrogates of a specific set. As
+     * unpaired surrogates are passed to the automaton twice, the node matches a surrogate of the
+     * set, followed by any surrogate of the same kind.
+     *
+     * @param surrogates
+     *         The set of surrogates, which should be matched, as an instance of the class {@link
+     *         CharacterSet}. The set may not be null
+     * @param kind
+     *         The set, which contains all surrogates of the same kind, as an instance of the class
+     *         {@link CharacterSet}. The set may not be null
+     * @return The node, which has been created, as an instance of the class {@link Node}. The
+     * node may not be null
+     */
+    @NonNull
+    private static Node unpairedSurrogates(@NonNull final CharacterSet surrogates,
+                                           @NonNull final CharacterSet kind) {
+        return new Node.Sequence(
+                Arrays.asList(new Node.Characters(surrogates), new Node.Characters(kind)));
+    }
+
+    /**
+     * Creates and returns nodes, which match the surrogate pairs of a specific set of
+     * supplementary characters. Ranges of high surrogates, which are followed by the same range
+     * of low surrogates, are merged in order to keep the number of nodes small.
+     *
+     * @param characters
+     *         The set of supplementary characters as an instance of the class {@link
+     *         CharacterSet}. The set may not be null
+     * @return A list, which contains the nodes, which have been created, as an instance of the
+     * type {@link List}. The list may not be null
+     */
+    @NonNull
+    private static List<Node> surrogatePairs(@NonNull final CharacterSet characters) {
+        Map<Long, CharacterSet> highSurrogates = new LinkedHashMap<>();
+        int[] ranges = characters.getRanges();
+
+        for (int i = 0; i < ranges.length; i += 2) {
+            char[] first = Character.toChars(ranges[i]);
+            char[] last = Character.toChars(ranges[i + 1]);
+
+            if (first[0] == last[0]) {
+                addSurrogatePairs(highSurrogates, first[0], last[0], first[1], last[1]);
+            } else {
+                int firstHighSurrogate = first[0];
+                int lastHighSurrogate = last[0];
+
+                if (first[1] != Character.MIN_LOW_SURROGATE) {
+                    addSurrogatePairs(highSurrogates, first[0], first[0], first[1],
+                            Character.MAX_LOW_SURROGATE);
+                    firstHighSurrogate++;
+                }
+
+                if (last[1] != Character.MAX_LOW_SURROGATE) {
+                    addSurrogatePairs(highSurrogates, last[0], last[0],
+                            Character.MIN_LOW_SURROGATE, last[1]);
+                    lastHighSurrogate--;
+                }
+
+                if (firstHighSurrogate <= lastHighSurrogate) {
+                    addSurrogatePairs(highSurrogates, firstHighSurrogate, lastHighSurrogate,
+                            Character.MIN_LOW_SURROGATE, Character.MAX_LOW_SURROGATE);
+                }
+            }
+        }
+
+        List<Node> nodes = new ArrayList<>(highSurrogates.size());
+
+        for (Map.Entry<Long, CharacterSet> entry : highSurrogates.entrySet()) {
+            long lowSurrogates = entry.getKey();
+            Node lowSurrogateNode = new Node.Characters(
+                    CharacterSet.range((int) (lowSurrogates >>> 32), (int) lowSurrogates));
+            nodes.add(new Node.Sequence(
+                    Arrays.asList(new Node.Characters(entry.getValue()), lowSurrogateNode)));
+        }
+
+        return nodes;
+    }
+
+    /**
+     * Adds surrogate pairs, which consist of a range of high surrogates and a range of low
+     * surrogates, to a map, which associates ranges of low surrogates with the high surrogates,
+     * they may follow.
+     *
+     * @param highSurrogates
+     *         The map as an instance of the type {@link Map}. The map may not be null
+     * @param firstHighSurrogate
+     *         The first high surrogate of the range as an {@link Integer} value
+     * @param lastHighSurrogate
+     *         The last high surrogate of the range as an {@link Integer} value
+     * @param firstLowSurrogate
+     *         The first low surrogate of the range as an {@link Integer} value
+     * @param lastLowSurrogate
+     *         The last low surrogate of the range as an {@link Integer} value
+     */
+    private static void addSurrogatePairs(@NonNull final Map<Long, CharacterSet> highSurrogates,
+                                          final int firstHighSurrogate,
+                                          final int lastHighSurrogate,
+                                          final int firstLowSurrogate,
+                                          final int lastLowSurrogate) {
+        long key = ((long) firstLowSurrogate << 32) | lastLowSurrogate;
+        CharacterSet range = CharacterSet.range(firstHighSurrogate, lastHighSurrogate);
+        CharacterSet previous = highSurrogates.get(key);
+        highSurrogates.put(key, previous != null ? previous.union(range) : range);
+    }
+
+    /**
+     * Returns the set of characters, which is matched by a specific literal character, taking the
+     * flags, which currently apply, into account.
+     *
+     * @param character
+     *         The literal character as an {@link Integer} value
+     * @param index
+     *         The index of the literal character within the regular expression as an {@link
+     *         Integer} value
+     * @return The set of characters, which is matched by the given character, as an instance of
+     * the class {@link CharacterSet}. The set may not be null
+     */
+    @NonNull
+    private CharacterSet literal(final int character, final int index) {
+        CharacterSet result = CharacterSet.of(character);
+        return isFlagSet(Pattern.CASE_INSENSITIVE) ? result.foldCase() : result;
+    }
+
+    /**
+     * Throws an {@link UnsupportedPatternException}, if a specific character is a surrogate, which
+     * is not part of a surrogate pair.
+     *
+     * @param character
+     *         The character as an {@link Integer} value
+     * @param index
+     *         The index of the character within the regular expression as an {@link Integer}
+     *         value
+     */
+    private void checkSurrogate(final int character, final int index) {
+        if (character >= Character.MIN_SURROGATE && character <= Character.MAX_SURROGATE) {
+            throw unsupported("Unpaired surrogates are not supported", index);
+        }
+    }
+
+    /**
+     * Combines a specific character with the next character of the regular expression, if the
+     * given character is a high surrogate, which is followed by a low surrogate. The low surrogate
+     * may either be given literally or as an escape sequence.
+     *
+     * @param character
+     *         The character as an {@link Integer} value
+     * @param index
+     *         The index of the character within the regular expression as an {@link Integer}
+     *         value
+     * @return The code point of the supplementary character, which is denoted by the surrogate
+     * pair, or the given character, if it is not a surrogate, as an {@link Integer} value
+     */
+    private int combineSurrogates(final int character, final int index) {
+        if (character >= Character.MIN_HIGH_SURROGATE &&
+                character <= Character.MAX_HIGH_SURROGATE && hasNext()) {
+            if (Character.isLowSurrogate(regex.charAt(position))) {
+                return Character.toCodePoint((char) character, next());
+            } else if (regex.startsWith("\\u", position)) {
+                int escapeStart = position;
+                position += 2;
+                int lowSurrogate = parseHexadecimalNumber(4, escapeStart);
+
+                if (Character.isLowSurrogate((char) lowSurrogate)) {
+                    return Character.toCodePoint((char) character, (char) lowSurrogate);
+                }
+
+                position = escapeStart;
+            }
+        }
+
+        checkSurrogate(character, index);
+        return character;
+    }
+
+    /**
+     * Returns, whether a specific flag currently applies, or not.
+     *
+     * @param flag
+     *         The flag as an {@link Integer} value
+     * @return True, if the given flag currently applies, false otherwise
+     */
+    private boolean isFlagSet(final int flag) {
+        return (flags & flag) != 0;
+    }
+
+    /**
+     * Creates and returns a node, which matches the empty text.
+     *
+     * @return The node, which has been created, as an instance of the class {@link Node}. The
+     * node may not be null
+     */
+    @NonNull
+    private static Node empty() {
+        return new Node.Sequence(new ArrayList<Node>(0));
+    }
+
+    /**
+     * Parses an alternation of sequences.
+     *
+     * @return The node, which has been created, as an instance of the class {@link Node}. The
+     * node may not be null
+     */
+    @NonNull
+    private Node parseAlternation() {
+        List<Node> alternatives = new ArrayList<>();
+        alternatives.add(parseSequence());
+
+        while (isNext('|')) {
+            position++;
+            alternatives.add(parseSequence());
+        }
+
+        return alternatives.size() == 1 ? alternatives.get(0) :
+                new Node.Alternation(alternatives);
+    }
+
+    /**
+     * Parses a sequence of quantified atoms.
+     *
+     * @return The node, which has been created, as an instance of the class {@link Node}. The
+     * node may not be null
+     */
+    @NonNull
+    private Node parseSequence() {
+        List<Node> nodes = new ArrayList<>();
+
+        while (hasNext() && !isNext('|') && !isNext(')')) {
+            nodes.add(parseQuantifier(parseAtom()));
+        }
+
+        return nodes.size() == 1 ? nodes.get(0) : new Node.Sequence(nodes);
+    }
+
+    /**
+     * Parses a single atom, i.e. a literal, an escape sequence, a character class or a group.
+     *
+     * @return The node, which has been created, as an instance of the class {@link Node}. The
+     * node may not be null
+     */
+    @NonNull
+    private Node parseAtom() {
+        int start = position;
+        char character = next();
+
+        switch (character) {
+            case '(':
+                return parseGroup(start);
+            case '[':
+                return characters(parseCharacterClass());
+            case '.':
+                return characters(
+                        isFlagSet(Pattern.DOTALL) ? CharacterSet.ALL : CharacterSet.DOT);
+            case '\\':
+                return parseEscapeSequence(start);
+            case '^':
+                return new Node.Anchor(true, start);
+            case '$':
+                return new Node.Anchor(false, start);
+            case '*':
+            case '+':
+            case '?':
+                throw syntaxError("Dangling meta character '" + character + "'", start);
+            case '{':
+                throw syntaxError("Illegal repetition", start);
+            default:
+                return characters(literal(combineSurrogates(character, start), start));
+        }
+    }
+
+    /**
+     * Parses a group. The opening parenthesis must already have been consumed. Inline modifiers,
+     * which are contained by the group, only apply until the end of the group.
+     *
+     * @param start
+     *         The index of the opening parenthesis as an {@link Integer} value
+     * @return The node, which has been created, as an instance of the class {@link Node}. The
+     * node may not be null
+     */
+    @NonNull
+    private Node parseGroup(final int start) {
+        int previousFlags = flags;
+
+        if (isNext('?')) {
+            position++;
+            char character = next();
+
+            if (character == '<' && !isNext('=') && !isNext('!')) {
+                parseGroupName(start);
+            } else if (character == '=' || character == '!' || character == '<') {
+                throw unsupported("Lookaround is not supported", start);
+            } else if (character == '>') {
+                throw unsupported("Atomic groups are not supported", start);
+            } else if (character != ':' && parseInlineModifiers(character)) {
+                return empty();
+            }
+        }
+
+        Node node = parseAlternation();
+
+        if (!isNext(')')) {
+            throw syntaxError("Unclosed group", regex.length());
+        }
+
+        position++;
+        flags = previousFlags;
+        return node;
+    }
+
+    /**
+     * Parses inline modifiers, such as <code>(?i)</code> or <code>(?s-i:</code>, and adapts the
+     * flags, which currently apply, accordingly. The characters <code>(?</code> and the first
+     * modifier must already have been consumed.
+     *
+     * @param firstCharacter
+     *         The first modifier as a {@link Character} value
+     * @return True, if the modifiers are terminated by a closing parenthesis and therefore apply
+     * until the end of the enclosing group, false, if they are terminated by a colon and therefore
+     * only apply to the current group
+     */
+    private boolean parseInlineModifiers(final char firstCharacter) {
+        char character = firstCharacter;
+        boolean enable = true;
+
+        while (character != ')' && character != ':') {
+            if (character == '-' && enable) {
+                enable = false;
+            } else {
+                int flag = getFlag(character, position - 1);
+                flags = enable ? flags | flag : flags & ~flag;
+            }
+
+            character = next();
+        }
+
+        return character == ')';
+    }
+
+    /**
+     * Returns the flag, which corresponds to a specific inline modifier.
+     *
+     * @param modifier
+     *         The inline modifier as a {@link Character} value
+     * @param index
+     *         The index of the inline modifier within the regular expression as an {@link
+     *         Integer} value
+     * @return The flag, which corresponds to the given inline modifier, as an {@link Integer}
+     * value
+     */
+    private int getFlag(final char modifier, final int index) {
+        switch (modifier) {
+            case 'i':
+                return Pattern.CASE_INSENSITIVE;
+            case 's':
+                return Pattern.DOTALL;
+            case 'm':
+                return Pattern.MULTILINE;
+            case 'd':
+            case 'u':
+            case 'x':
+            case 'U':
+                throw unsupported("The inline modifier '" + modifier + "' is not supported",
+                        index);
+            default:
+                throw syntaxError("Unknown inline modifier", index);
+        }
+    }
+
+    /**
+     * Parses the name of a named group. The characters <code>(?&lt;</code> must already have been
+     * consumed. The name is validated, but ignored, as groups do not capture.
+     *
+     * @param start
+     *         The index of the opening parenthesis as an {@link Integer} value
+     */
+    private void parseGroupName(final int start) {
+        int nameStart = position;
+        char character;
+
+        while ((character = next()) != '>') {
+            boolean letter = (character >= 'a' && character <= 'z') ||
+                    (character >= 'A' && character <= 'Z');
+            boolean digit = character >= '0' && character <= '9';
+
+            if (!letter && !(digit && position - 1 > nameStart)) {
+                throw syntaxError("Named capturing group is missing trailing '>'", start);
+            }
+        }
+
+        if (position - 1 == nameStart) {
+            throw syntaxError("Named capturing group has 0 length name", start);
+        }
+    }
+
+    /**
+     * Parses an optional quantifier, which follows a specific atom.
+     *
+     * @param node
+     *         The node, which corresponds to the atom, as an instance of the class {@link Node}.
+     *         The node may not be null
+     * @return The node, which has been created, as an instance of the class {@link Node}. The
+     * node may not be null
+     */
+    @NonNull
+    private Node parseQuantifier(@NonNull final Node node) {
+        int start = position;
+        int min;
+        int max;
+
+        if (isNext('*')) {
+            min = 0;
+            max = Node.Repetition.UNBOUNDED;
+        } else if (isNext('+')) {
+            min = 1;
+            max = Node.Repetition.UNBOUNDED;
+        } else if (isNext('?')) {
+            min = 0;
+            max = 1;
+        } else if (isNext('{')) {
+            position++;
+            min = parseRepetitionCount(start);
+            max = min;
+
+            if (isNext(',')) {
+                position++;
+                max = isNext('}') ? Node.Repetition.UNBOUNDED : parseRepetitionCount(start);
+            }
+
+            if (!isNext('}')) {
+                throw syntaxError("Unclosed counted closure", position);
+            } else if (max != Node.Repetition.UNBOUNDED && max < min) {
+                throw syntaxError("Illegal repetition range", start);
+            }
+        } else {
+            return node;
+        }
+
+        position++;
+
+        if (isNext('?')) {
+            position++;
+        } else if (isNext('+')) {
+            throw unsupported("Possessive quantifiers are not supported", position);
+        }
+
+        return new Node.Repetition(node, min, max);
+    }
+
+    /**
+     * Parses the number of repetitions of a bounded quantifier.
+     *
+     * @param start
+     *         The index of the quantifier as an {@link Integer} value
+     * @return The number of repetitions as an {@link Integer} value
+     */
+    private int parseRepetitionCount(final int start) {
+        int count = 0;
+        int digits = 0;
+
+        while (hasNext() && regex.charAt(position) >= '0' && regex.charAt(position) <= '9') {
+            count = count * 10 + (regex.charAt(position++) - '0');
+            digits++;
+
+            if (count > MAX_REPETITIONS) {
+                throw unsupported("Repetitions of more than " + MAX_REPETITIONS +
+                        " times are not supported", start);
+            }
+        }
+
+        if (digits == 0) {
+            throw syntaxError("Illegal repetition", start);
+        }
+
+        return count;
+    }
+
+    /**
+     * Parses a character class. The opening bracket must already have been consumed. The class
+     * may contain nested classes, which are united with the other characters of the class, as
+     * well as intersections, which are denoted by <code>&&</code>. The difference of two classes
+     * can be specified by intersecting a class with the negation of an other class, e.g.
+     * <code>[a-z&&[^aeiou]]</code>. A negation always applies to the whole class.
+     *
+     * @return The set of characters, which corresponds to the character class, as an instance of
+     * the class {@link CharacterSet}. The set may not be null
+     */
+    @NonNull
+    private CharacterSet parseCharacterClass() {
+        boolean negated = false;
+
+        if (isNext('^')) {
+            position++;
+            negated = true;
+        }
+
+        int operandStart = position;
+        CharacterSet result = parseCharacterClassOperand(true);
+        boolean empty = position == operandStart;
+
+        while (!isNext(']')) {
+            position += 2;
+            operandStart = position;
+            CharacterSet operand = parseCharacterClassOperand(false);
+
+            if (position > operandStart) {
+                result = empty ? operand : result.intersect(operand);
+                empty = false;
+            }
+        }
+
+        position++;
+        return negated ? result.negate() : result;
+    }
+
+    /**
+     * Parses an operand of an intersection within a character class, i.e. the union of the
+     * characters, ranges and nested classes, which precede the next <code>&&</code> or the end of
+     * the class. The delimiter, the operand ends at, is not consumed.
+     *
+     * @param first
+     *         True, if the operand is the first one of the class, false otherwise
+     * @return The set of characters, which corresponds to the operand, as an instance of the
+     * class {@link CharacterSet}. The set may not be null
+     */
+    @NonNull
+    private CharacterSet parseCharacterClassOperand(final boolean first) {
+        boolean firstItem = first;
+        CharacterSet result = CharacterSet.EMPTY;
+
+        while (true) {
+            if (!hasNext()) {
+                throw syntaxError("Unclosed character class", regex.length() - 1);
+            }
+
+            int itemStart = position;
+            char character = regex.charAt(position);
+
+            if ((character == ']' && !firstItem) || regex.startsWith("&&", position)) {
+                return result;
+            }
+
+            position++;
+            firstItem = false;
+            int low;
+
+            if (character == '[') {
+                result = result.union(parseCharacterClass());
+                continue;
+            } else if (character == '\\') {
+                CharacterSet predefinedClass = parsePredefinedCharacterClass();
+
+                if (predefinedClass != null) {
+                    result = result.union(predefinedClass);
+                    continue;
+                }
+
+                low = combineSurrogates(parseCharacterEscape(itemStart), itemStart);
+            } else {
+                low = combineSurrogates(character, itemStart);
+            }
+
+            if (isNext('-') && position + 1 < regex.length() &&
+                    regex.charAt(position + 1) != ']') {
+                position++;
+                int rangeStart = position;
+                char endCharacter = next();
+                int high;
+
+                if (endCharacter == '[') {
+                    throw syntaxError("Illegal character range", rangeStart);
+                } else if (endCharacter == '\\') {
+                    if (parsePredefinedCharacterClass() != null) {
+                        throw syntaxError("Illegal character range", rangeStart);
+                    }
+
+                    high = combineSurrogates(parseCharacterEscape(rangeStart), rangeStart);
+                } else {
+                    high = combineSurrogates(endCharacter, rangeStart);
+                }
+
+                if (high < low) {
+                    throw syntaxError("Illegal character range", rangeStart);
+                }
+
+                CharacterSet range = CharacterSet.range(low, high);
+                result = result.union(
+                        isFlagSet(Pattern.CASE_INSENSITIVE) ? range.foldCase() : range);
+            } else {
+                result = result.union(literal(low, itemStart));
+            }
+        }
+    }
+
+    /**
+     * Parses an escape sequence outside of a character class. The backslash must already have
+     * been consumed.
+     *
+     * @param start
+     *         The index of the backslash as an {@link Integer} value
+     * @return The node, which has been created, as an instance of the class {@link Node}. The
+     * node may not be null
+     */
+    @NonNull
+    private Node parseEscapeSequence(final int start) {
+        if (!hasNext()) {
+            throw syntaxError("Unexpected internal error", start);
+        }
+
+        CharacterSet predefinedClass = parsePredefinedCharacterClass();
+
+        if (predefinedClass != null) {
+            return characters(predefinedClass);
+        }
+
+        char character = regex.charAt(position);
+
+        switch (character) {
+            case 'Q':
+                position++;
+                int end = regex.indexOf("\\E", position);
+                Node quotation = parseQuotation(end != -1 ? end : regex.length());
+                position = end != -1 ? end + 2 : position;
+                return quotation;
+            case 'k':
+            case '1':
+            case '2':
+            case '3':
+            case '4':
+            case '5':
+            case '6':
+            case '7':
+            case '8':
+            case '9':
+                throw unsupported("Back references are not supported", start);
+            case 'b':
+            case 'B':
+                position++;
+                return new Node.Boundary(start);
+            case 'A':
+            case 'G':
+            case 'Z':
+            case 'z':
+                throw unsupported("Boundary matchers are not supported", start);
+            case 'p':
+            case 'P':
+                throw unsupported("Unicode character classes are not supported", start);
+            case 'h':
+            case 'H':
+            case 'v':
+            case 'V':
+            case 'R':
+            case 'X':
+                throw unsupported("The escape sequence '\\" + character + "' is not supported",
+                        start);
+            default:
+                return characters(
+                        literal(combineSurrogates(parseCharacterEscape(start), start), start));
+        }
+    }
+
+    /**
+     * Parses a quotation, i.e. a sequence of characters, which are all treated literally. The
+     * quotation starts at the current position and ends at a specific index.
+     *
+     * @param end
+     *         The index, the quotation ends at (exclusive), as an {@link Integer} value
+     * @return The node, which has been created, as an instance of the class {@link Node}. The
+     * node may not be null
+     */
+    @NonNull
+    private Node parseQuotation(final int end) {
+        List<Node> nodes = new ArrayList<>(end - position);
+
+        while (position < end) {
+            int index = position;
+            int character = Character.codePointAt(regex, position);
+            checkSurrogate(character, index);
+            position += Character.charCount(character);
+            nodes.add(characters(literal(character, index)));
+        }
+
+        return nodes.size() == 1 ? nodes.get(0) : new Node.Sequence(nodes);
+    }
+
+    /**
+     * Returns, whether a specific node only matches the empty text, or not.
+     *
+     * @param node
+     *         The node as an instance of the class {@link Node}. The node may not be null
+     * @return True, if the given node only matches the empty text, false otherwise
+     */
+    private static boolean isEmpty(@NonNull final Node node) {
+        if (node instanceof Node.Anchor || node instanceof Node.Boundary) {
+            return true;
+        } else if (node instanceof Node.Sequence) {
+            return isEmpty(((Node.Sequence) node).nodes);
+        } else if (node instanceof Node.Alternation) {
+            return isEmpty(((Node.Alternation) node).alternatives);
+        } else if (node instanceof Node.Repetition) {
+            return isEmpty(((Node.Repetition) node).node);
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns, whether all nodes, which are contained by a specific list, only match the empty
+     * text, or not.
+     *
+     * @param nodes
+     *         The list, which contains the nodes, as an instance of the type {@link List}. The
+     *         list may not be null
+     * @return True, if all nodes only match the empty text, false otherwise
+     */
+    private static boolean isEmpty(@NonNull final List<Node> nodes) {
+        for (Node node : nodes) {
+            if (!isEmpty(node)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns, whether a specific node, which only matches the empty text, is always satisfied at
+     * a specific position, or not.
+     *
+     * @param node
+     *         The node as an instance of the class {@link Node}. The node may not be null
+     * @param beginning
+     *         True, if the node can only be reached at the beginning of a text, false otherwise
+     * @param end
+     *         True, if the node can only be reached at the end of a text, false otherwise
+     * @return True, if the given node is always satisfied, false otherwise
+     */
+    private static boolean isSatisfied(@NonNull final Node node, final boolean beginning,
+                                       final boolean end) {
+        if (node instanceof Node.Anchor) {
+            return ((Node.Anchor) node).beginning ? beginning : end;
+        } else if (node instanceof Node.Sequence) {
+            for (Node child : ((Node.Sequence) node).nodes) {
+                if (!isSatisfied(child, beginning, end)) {
+                    return false;
+                }
+            }
+
+            return true;
+        } else if (node instanceof Node.Alternation) {
+            for (Node alternative : ((Node.Alternation) node).alternatives) {
+                if (isSatisfied(alternative, beginning, end)) {
+                    return true;
+                }
+            }
+        } else if (node instanceof Node.Repetition) {
+            Node.Repetition repetition = (Node.Repetition) node;
+            return repetition.min == 0 || isSatisfied(repetition.node, beginning, end);
+        }
+
+        return false;
+    }
+
+    /**
+     * Ensures, that all anchors, which are contained by a specific node, are located at positions,
+     * which can only be reached at the beginning, respectively the end, of a text. As texts must
+     * be matched entirely, such anchors are always satisfied and can therefore be ignored. Boundary
+     * matchers are only accepted, if they are part of a node, which is always satisfied anyway.
+     *
+     * @param node
+     *         The node as an instance of the class {@link Node}. The node may not be null
+     * @param beginning
+     *         True, if the node can only be reached at the beginning of a text, false otherwise
+     * @param end
+     *         True, if the end of the node can only be reached at the end of a text, false
+     *         otherwise
+     */
+    private void validateAnchors(@NonNull final Node node, final boolean beginning,
+                                 final boolean end) {
+        if (isEmpty(node) && isSatisfied(node, beginning, end)) {
+            return;
+        } else if (node instanceof Node.Boundary) {
+            throw unsupported("Boundary matchers are only supported, if they are always " +
+                    "satisfied by an alternative", ((Node.Boundary) node).index);
+        } else if (node instanceof Node.Anchor) {
+            Node.Anchor anchor = (Node.Anchor) node;
+
+            if (anchor.beginning && !beginning) {
+                throw unsupported("The anchor '^' is only supported at the beginning",
+                        anchor.index);
+            } else if (!anchor.beginning && !end) {
+                throw unsupported("The anchor '$' is only supported at the end", anchor.index);
+            }
+        } else if (node instanceof Node.Sequence) {
+            List<Node> nodes = ((Node.Sequence) node).nodes;
+
+            for (int i = 0; i < nodes.size(); i++) {
+                validateAnchors(nodes.get(i), beginning && isEmpty(nodes.subList(0, i)),
+                        end && isEmpty(nodes.subList(i + 1, nodes.size())));
+            }
+        } else if (node instanceof Node.Alternation) {
+            for (Node alternative : ((Node.Alternation) node).alternatives) {
+                validateAnchors(alternative, beginning, end);
+            }
+        } else if (node instanceof Node.Repetition) {
+            Node.Repetition repetition = (Node.Repetition) node;
+            boolean repeatable = repetition.max != 1 && !isEmpty(repetition.node);
+            validateAnchors(repetition.node, beginning && !repeatable, end && !repeatable);
+        }
+    }
+
+    /**
+     * Parses a predefined character class, such as <code>\d</code>, if the next character of the
+     * regular expression denotes one. The backslash must already have been consumed.
+     *
+     * @return The set of characters, which corresponds to the predefined character class, as an
+     * instance of the class {@link CharacterSet} or null, if the next character does not denote a
+     * predefined character class
+     */
+    private CharacterSet parsePredefinedCharacterClass() {
+        if (!hasNext()) {
+            return null;
+        }
+
+        CharacterSet result;
+
+        switch (regex.charAt(position)) {
+            case 'd':
+                result = CharacterSet.DIGITS;
+                break;
+            case 'D':
+                result = CharacterSet.DIGITS.negate();
+                break;
+            case 'w':
+                result = CharacterSet.WORD_CHARACTERS;
+                break;
+            case 'W':
+                result = CharacterSet.WORD_CHARACTERS.negate();
+                break;
+            case 's':
+                result = CharacterSet.WHITESPACE;
+                break;
+            case 'S':
+                result = CharacterSet.WHITESPACE.negate();
+                break;
+            default:
+                return null;
+        }
+
+        position++;
+        return result;
+    }
+
+    /**
+     * Parses an escape sequence, which denotes a single character. The backslash must already
+     * have been consumed.
+     *
+     * @param start
+     *         The index of the backslash as an {@link Integer} value
+     * @return The character, which is denoted by the escape sequence, as an {@link Integer} value
+     */
+    private int parseCharacterEscape(final int start) {
+        char character = next();
+
+        switch (character) {
+            case 't':
+                return '\t';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 'f':
+                return '\f';
+            case 'a':
+                return 0x07;
+            case 'e':
+                return 0x1B;
+            case '0':
+                return parseOctalEscape(start);
+            case 'x':
+                return parseHexadecimalEscape(start);
+            case 'u':
+                return parseHexadecimalNumber(4, start);
+            case 'c':
+                return next() ^ 64;
+            default:
+                if ((character >= 'a' && character <= 'z') ||
+                        (character >= 'A' && character <= 'Z') ||
+                        (character >= '0' && character <= '9')) {
+                    throw syntaxError("Illegal/unsupported escape sequence", start + 1);
+                }
+
+                return character;
+        }
+    }
+
+    /**
+     * Parses the digits of an octal escape sequence. The characters <code>\0</code> must already
+     * have been consumed.
+     *
+     * @param start
+     *         The index of the backslash as an {@link Integer} value
+     * @return The character, which is denoted by the escape sequence, as an {@link Integer} value
+     */
+    private int parseOctalEscape(final int start) {
+        int value = 0;
+        int digits = 0;
+
+        while (digits < 3 && hasNext() && regex.charAt(position) >= '0' &&
+                regex.charAt(position) <= '7') {
+            int newValue = value * 8 + (regex.charAt(position) - '0');
+
+            if (newValue > 0377) {
+                break;
+            }
+
+            value = newValue;
+            position++;
+            digits++;
+        }
+
+        if (digits == 0) {
+            throw syntaxError("Illegal octal escape sequence", start + 2);
+        }
+
+        return value;
+    }
+
+    /**
+     * Parses the digits of a hexadecimal escape sequence, which are either given as two digits or
+     * enclosed in braces. The characters <code>\x</code> must already have been consumed.
+     *
+     * @param start
+     *         The index of the backslash as an {@link Integer} value
+     * @return The character, which is denoted by the escape sequence, as an {@link Integer} value
+     */
+    private int parseHexadecimalEscape(final int start) {
+        if (isNext('{')) {
+            position++;
+            int end = regex.indexOf('}', position);
+
+            if (end == -1 || end == position) {
+                throw syntaxError("Unclosed hexadecimal escape sequence", start);
+            }
+
+            int value = parseHexadecimalNumber(end - position, start);
+            position++;
+            return value;
+        }
+
+        return parseHexadecimalNumber(2, start);
+    }
+
+    /**
+     * Parses a hexadecimal number, which consists of a specific number of digits.
+     *
+     * @param digits
+     *         The number of digits as an {@link Integer} value
+     * @param start
+     *         The index of the escape sequence, the number belongs to, as an {@link Integer} value
+     * @return The number as an {@link Integer} value
+     */
+    private int parseHexadecimalNumber(final int digits, final int start) {
+        int value = 0;
+
+        for (int i = 0; i < digits; i++) {
+            int digit = hasNext() ? Character.digit(regex.charAt(position), 16) : -1;
+
+            if (digit == -1) {
+                throw syntaxError("Illegal hexadecimal escape sequence", start);
+            }
+
+            value = value * 16 + digit;
+            position++;
+
+            if (value > CharacterSet.MAX_CODE_POINT) {
+                throw syntaxError("Hexadecimal codepoint is too big", start);
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Parses a specific regular expression and returns its abstract syntax tree.
+     *
+     * @param regex
+     *         The regular expression, which should be parsed, as a {@link String}. The regular
+     *         expression may not be null
+     * @param flags
+     *         The flags, which should be used, as an {@link Integer} value. The value must be a
+     *         combination of the flags {@link Pattern#CASE_INSENSITIVE}, {@link Pattern#DOTALL},
+     *         {@link Pattern#MULTILINE} and {@link Pattern#LITERAL}
+     * @return The root node of the abstract syntax tree as an instance of the class {@link Node}.
+     * The node may not be null
+     * @throws PatternSyntaxException
+     *         If the regular expression is invalid or uses an unsupported construct
+     */
+    @NonNull
+    static Node parse(@NonNull final String regex, final int flags) {
+        Parser parser = new Parser(regex, flags);
+
+        int unsupportedFlags = flags & ~SUPPORTED_FLAGS;
+
+        if (unsupportedFlags != 0) {
+            throw parser.unsupported(
+                    "The flags 0x" + Integer.toHexString(unsupportedFlags) + " are not supported",
+                    -1);
+        } else if (parser.isFlagSet(Pattern.LITERAL)) {
+            return parser.parseQuotation(regex.length());
+        }
+
+        Node node = parser.parseAlternation();
+
+        if (parser.hasNext()) {
+            throw parser.syntaxError("Unmatched closing ')'", parser.position);
+        }
+
+        parser.validateAnchors(node, true, true);
+        return node;
+    }
+
+}
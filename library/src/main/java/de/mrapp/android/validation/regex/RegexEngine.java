@@ -0,0 +1,56 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.regex;
+
+/**
+ * Contains all engines, which may be used to match texts against regular expressions.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public enum RegexEngine {
+
+    /**
+     * If the class {@link java.util.regex.Pattern} should be used. It supports the full syntax of
+     * regular expressions, but relies on backtracking, which may take exponential time for
+     * certain regular expressions and texts.
+     */
+    JAVA,
+
+    /**
+     * If an {@link Automaton} should be used. It guarantees linear time, but only supports a
+     * subset of the syntax of regular expressions. Using a regular expression, which is not
+     * supported, causes an {@link UnsupportedPatternException} to be thrown.
+     */
+    LINEAR;
+
+    /**
+     * True, if the code is executed by the Android runtime, false otherwise.
+     */
+    private static final boolean ANDROID_RUNTIME =
+            "Dalvik".equals(System.getProperty("java.vm.name"));
+
+    /**
+     * Returns, whether a {@link MatchBudget} can be enforced, when using the engine, or not. The
+     * Android runtime copies a text by calling its <code>toString</code>-method and matches it
+     * natively, when using the class {@link java.util.regex.Pattern}. A budget can therefore not
+     * be enforced by the engine {@link #JAVA} on Android (see {@link InterruptibleCharSequence}).
+     *
+     * @return True, if a budget can be enforced, false otherwise
+     */
+    public boolean isMatchBudgetEnforceable() {
+        return this == LINEAR || !ANDROID_RUNTIME;
+    }
+
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.regex;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * A set of regular expressions, which allows to determine, which of them a text matches, by
+ * scanning the text only once. All regular expressions, which are supported by an {@link
+ * Automaton}, are compiled into a single automaton, whose states keep track of the regular
+ * expressions, they are accepting for. Regular expressions, which are not supported, are matched
+ * separately by using the class {@link java.util.regex.Matcher}.
+ *
+ * A set can be used by multiple threads at once.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public final class RegexSet {
+
+    /**
+     * The maximum number of regular expressions, a set may contain.
+     */
+    public static final int MAX_PATTERN_COUNT = 64;
+
+    /**
+     * The regular expressions, which are contained by the set.
+     */
+    private final Pattern[] patterns;
+
+    /**
+     * The automaton, the supported regular expressions have been compiled into, or null, if no
+     * regular expression is supported.
+     */
+    private final Automaton automaton;
+
+    /**
+     * The indices of the regular expressions, which have been compiled into the automaton, in the
+     * order of the automaton's regular expressions.
+     */
+    private final int[] combinedIndices;
+
+    /**
+     * True, if the indices of the automaton's regular expressions correspond to the indices of
+     * the set, false otherwise.
+     */
+    private final boolean identityMapping;
+
+    /**
+     * The indices of the regular expressions, which are matched separately.
+     */
+    private final int[] separateIndices;
+
+    /**
+     * Creates a new set of regular expressions.
+     *
+     * @param patterns
+     *         An array, which contains the regular expressions, as an array of the type {@link
+     *         Pattern}. The array may not be null
+     */
+    private RegexSet(@NonNull final Pattern[] patterns) {
+        this.patterns = patterns;
+        List<Node> nodes = new ArrayList<>(patterns.length);
+        int[] combined = new int[patterns.length];
+        int[] separate = new int[patterns.length];
+        int separateCount = 0;
+
+        for (int i = 0; i < patterns.length; i++) {
+            try {
+                nodes.add(Parser.parse(patterns[i].pattern(), patterns[i].flags()));
+                combined[nodes.size() - 1] = i;
+            } catch (UnsupportedPatternException e) {
+                separate[separateCount++] = i;
+            }
+        }
+
+        Automaton combinedAutomaton = null;
+
+        if (!nodes.isEmpty()) {
+            String description = Arrays.toString(patterns);
+
+            try {
+                combinedAutomaton = new Automaton(description, 0,
+                        Automaton.DEFAULT_MAX_STATE_COUNT, Nfa.compile(nodes, description));
+            } catch (UnsupportedPatternException e) {
+                for (int i = 0; i < nodes.size(); i++) {
+                    separate[separateCount++] = combined[i];
+                }
+
+                Arrays.sort(separate, 0, separateCount);
+                nodes.clear();
+            }
+        }
+
+        this.automaton = combinedAutomaton;
+        this.combinedIndices = Arrays.copyOf(combined, nodes.size());
+        this.identityMapping = separateCount == 0;
+        this.separateIndices = Arrays.copyOf(separate, separateCount);
+    }
+
+    /**
+     * Compiles specific regular expressions into a set.
+     *
+     * @param patterns
+     *         The regular expressions, which should be compiled, as an array of the type {@link
+     *         Pattern}. The array may not be null and contain at most {@link #MAX_PATTERN_COUNT}
+     *         regular expressions
+     * @return The set, which has been compiled, as an instance of the class {@link RegexSet}. The
+     * set may not be null
+     */
+    @NonNull
+    public static RegexSet compile(@NonNull final Pattern... patterns) {
+        ensureNotNull(patterns, "The array may not be null");
+
+        if (patterns.length > MAX_PATTERN_COUNT) {
+            throw new IllegalArgumentException(
+                    "A set may contain at most " + MAX_PATTERN_COUNT + " regular expressions");
+        }
+
+        for (Pattern pattern : patterns) {
+            ensureNotNull(pattern, "The regular expression may not be null");
+        }
+
+        return new RegexSet(patterns.clone());
+    }
+
+    /**
+     * Compiles the regular expressions, which are contained by a specific collection, into a set.
+     *
+     * @param patterns
+     *         A collection, which contains the regular expressions, which should be compiled, as
+     *         an instance of the type {@link Collection}. The collection may not be null and
+     *         contain at most {@link #MAX_PATTERN_COUNT} regular expressions
+     * @return The set, which has been compiled, as an instance of the class {@link RegexSet}. The
+     * set may not be null
+     */
+    @NonNull
+    public static RegexSet compile(@NonNull final Collection<Pattern> patterns) {
+        ensureNotNull(patterns, "The collection may not be null");
+        return compile(patterns.toArray(new Pattern[patterns.size()]));
+    }
+
+    /**
+     * Returns the number of regular expressions, which are contained by the set.
+     *
+     * @return The number of regular expressions, which are contained by the set, as an {@link
+     * Integer} value
+     */
+    public int getPatternCount() {
+        return patterns.length;
+    }
+
+    /**
+     * Returns the regular expression at a specific index.
+     *
+     * @param index
+     *         The index of the regular expression as an {@link Integer} value
+     * @return The regular expression at the given index as an instance of the class {@link
+     * Pattern}. The regular expression may not be null
+     */
+    @NonNull
+    public Pattern getPattern(final int index) {
+        return patterns[index];
+    }
+
+    /**
+     * Returns, whether the regular expression at a specific index is matched by the combined
+     * automaton, or separately.
+     *
+     * @param index
+     *         The index of the regular expression as an {@link Integer} value
+     * @return True, if the regular expression is matched by the combined automaton, false
+     * otherwise
+     */
+    public boolean isCombined(final int index) {
+        return Arrays.binarySearch(separateIndices, index) < 0;
+    }
+
+    /**
+     * Returns a bit mask, which specifies the regular expressions, a specific text matches
+     * entirely. The bit <code>1L &lt;&lt; i</code> is set, if the text matches the regular
+     * expression at index <code>i</code>.
+     *
+     * @param text
+     *         The text as an instance of the type {@link CharSequence}. The text may not be null
+     * @return A bit mask, which specifies the regular expressions, the given text matches, as a
+     * {@link Long} value
+     */
+    public long match(@NonNull final CharSequence text) {
+        ensureNotNull(text, "The text may not be null");
+        long result = 0;
+
+        if (automaton != null) {
+            long matches = automaton.matchAll(text);
+
+            if (identityMapping) {
+                result = matches;
+            } else {
+                while (matches != 0) {
+                    int index = Long.numberOfTrailingZeros(matches);
+                    result |= 1L << combinedIndices[index];
+                    matches &= matches - 1;
+                }
+            }
+        }
+
+        for (int index : separateIndices) {
+            if (patterns[index].matcher(text).matches()) {
+                result |= 1L << index;
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "RegexSet" + Arrays.toString(patterns);
+    }
+
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.regex;
+
+import android.support.annotation.NonNull;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * Allows to match texts against a regular expression by reusing a single {@link Matcher} per
+ * thread instead of allocating a new one for each text. This allows to share validators and
+ * constraints among multiple threads, while each thread's matcher is confined to that thread.
+ * After a text has been matched, the matcher is reset in order to not keep a reference to the
+ * text.
+ *
+ * If a text is matched while an other text is being matched by the same thread, e.g. by a {@link
+ * CharSequence}, which performs a validation when being accessed, a new matcher is used instead.
+ *
+ * Please note, that Android's implementation of the class {@link Matcher} converts the text into
+ * a {@link String} when being reset. Reusing the matcher nevertheless avoids allocating the
+ * matcher's native state for each text.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public final class ThreadLocalMatcher {
+
+    /**
+     * The regular expression, the texts are matched against.
+     */
+    private final Pattern pattern;
+
+    /**
+     * The matcher of each thread or null, if the thread's matcher is currently in use.
+     */
+    private final ThreadLocal<Matcher> matchers;
+
+    /**
+     * Creates a new object, which allows to match texts against a regular expression by reusing a
+     * single matcher per thread.
+     *
+     * @param pattern
+     *         The regular expression, the texts should be matched against, as an instance of the
+     *         class {@link Pattern}. The regular expression may not be null
+     */
+    public ThreadLocalMatcher(@NonNull final Pattern pattern) {
+        ensureNotNull(pattern, "The regular expression may not be null");
+        this.pattern = pattern;
+        this.matchers = new ThreadLocal<Matcher>() {
+
+            @Override
+            protected Matcher initialValue() {
+                return pattern.matcher("");
+            }
+
+        };
+    }
+
+    /**
+     * Returns the regular expression, the texts are matched against.
+     *
+     * @return The regular expression, the texts are matched against, as an instance of the class
+     * {@link Pattern}. The regular expression may not be null
+     */
+    @NonNull
+    public Pattern getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Returns, whether a specific text matches the regular expression entirely, or not.
+     *
+     * @param text
+     *         The text as an instance of the type {@link CharSequence}. The text may not be null
+     * @return True, if the given text matches the regular expression, false otherwise
+     */
+    public boolean matches(@NonNull final CharSequence text) {
+        Matcher matcher = matchers.get();
+
+        if (matcher == null) {
+            return pattern.matcher(text).matches();
+        }
+
+        matchers.set(null);
+
+        try {
+            return matcher.reset(text).matches();
+        } finally {
+            matcher.reset("");
+            matchers.set(matcher);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ThreadLocalMatcher{pattern=" + pattern + "}";
+    }
+
+}
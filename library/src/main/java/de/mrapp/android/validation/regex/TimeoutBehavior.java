@@ -0,0 +1,43 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.regex;
+
+/**
+ * Contains all behaviors, which may be used by validators, if matching a text against a regular
+ * expression exceeded its {@link MatchBudget}.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public enum TimeoutBehavior {
+
+    /**
+     * If the text should be treated as invalid.
+     */
+    INVALID,
+
+    /**
+     * If the text should be treated as valid.
+     */
+    VALID,
+
+    /**
+     * If a {@link de.mrapp.android.validation.ValidationTimeoutException} should be thrown. When
+     * thrown by a validator, which is invoked by a view or a model, the validation is treated as
+     * failed and listeners, which implement the interface {@link
+     * de.mrapp.android.validation.ValidationTimeoutListener}, are notified about the timeout.
+     */
+    REPORT
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.regex;
+
+import android.support.annotation.NonNull;
+
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * An exception, which is thrown, if a regular expression uses a construct of the syntax of the
+ * class {@link java.util.regex.Pattern}, which is not supported by an {@link Automaton}, such as
+ * back references, lookaround or word boundaries. Such regular expressions cannot be matched in
+ * linear time and must be matched by using the class {@link java.util.regex.Pattern} instead.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class UnsupportedPatternException extends PatternSyntaxException {
+
+    /**
+     * The constant serial version UID.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates a new exception, which is thrown, if a regular expression uses an unsupported
+     * construct.
+     *
+     * @param description
+     *         A description of the unsupported construct as a {@link String}. The description may
+     *         not be null
+     * @param regex
+     *         The regular expression as a {@link String}. The regular expression may not be null
+     * @param index
+     *         The index of the unsupported construct within the regular expression as an {@link
+     *         Integer} value
+     */
+    public UnsupportedPatternException(@NonNull final String description,
+                                       @NonNull final String regex, final int index) {
+        super(description, regex, index);
+    }
+
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.validators.misc;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.StringRes;
+
+import java.io.IOException;
+
+import de.mrapp.android.validation.datastructure.FrontCodedStringSet;
+import de.mrapp.android.validation.validators.AbstractValidator;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * A validator, which allows to validate texts to ensure, that they are contained by an allowlist,
+ * e.g. a list of cities, airline codes or product SKUs. The allowlist is stored as a {@link
+ * FrontCodedStringSet}, which requires only a fraction of the memory of a {@link
+ * java.util.HashSet} and can be memory-mapped. If the allowlist is read from an asset, a missing
+ * asset is reported by the constructor, but the asset is not loaded until the first text is
+ * validated or the method {@link #getSet()} is called, e.g. in a background thread in order to
+ * prewarm the validator. Texts must match an entry of the allowlist exactly. Empty texts are also
+ * accepted.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class AllowlistValidator extends AbstractValidator<CharSequence> {
+
+    /**
+     * The loader, which provides the set, which contains the allowed texts.
+     */
+    private final AssetLoader<FrontCodedStringSet> loader;
+
+    /**
+     * Creates and returns a loader, which reads the set, which contains the allowed texts, from a
+     * specific asset.
+     *
+     * @param context
+     *         The context, which should be used to open the asset, as an instance of the class
+     *         {@link Context}. The context may not be null
+     * @param assetName
+     *         The name of the asset as a {@link String}. The name may not be null
+     * @return The loader, which has been created, as an instance of the class {@link
+     * AssetLoader}. The loader may not be null
+     */
+    @NonNull
+    private static AssetLoader<FrontCodedStringSet> createLoader(@NonNull final Context context,
+                                                                 @NonNull final String assetName) {
+        return new AssetLoader<>(context, assetName, "allowlist",
+                new AssetLoader.Reader<FrontCodedStringSet>() {
+
+                    @NonNull
+                    @Override
+                    public FrontCodedStringSet read(@NonNull final Context context,
+                                                    @NonNull final String assetName)
+                            throws IOException {
+                        return FrontCodedStringSet.wrap(AssetLoader.map(context, assetName));
+                    }
+
+                });
+    }
+
+    /**
+     * Creates a new validator, which allows to validate texts to ensure, that they are contained
+     * by an allowlist.
+     *
+     * @param errorMessage
+     *         The error message, which should be shown, if the validation fails, as an instance of
+     *         the type {@link CharSequence}. The error message may not be null
+     * @param set
+     *         The set, which contains the allowed texts, as an instance of the class {@link
+     *         FrontCodedStringSet}. The set may not be null
+     */
+    public AllowlistValidator(@NonNull final CharSequence errorMessage,
+                              @NonNull final FrontCodedStringSet set) {
+        super(errorMessage);
+        ensureNotNull(set, "The set may not be null");
+        this.loader = new AssetLoader<>(set);
+    }
+
+    /**
+     * Creates a new validator, which allows to validate texts to ensure, that they are contained
+     * by an allowlist.
+     *
+     * @param context
+     *         The context, which should be used to retrieve the error message, as an instance of
+     *         the class {@link Context}. The context may not be null
+     * @param resourceId
+     *         The resource ID of the string resource, which contains the error message, which
+     *         should be set, as an {@link Integer} value. The resource ID must correspond to a
+     *         valid string resource
+     * @param set
+     *         The set, which contains the allowed texts, as an instance of the class {@link
+     *         FrontCodedStringSet}. The set may not be null
+     */
+    public AllowlistValidator(@NonNull final Context context, @StringRes final int resourceId,
+                              @NonNull final FrontCodedStringSet set) {
+        super(context, resourceId);
+        ensureNotNull(set, "The set may not be null");
+        this.loader = new AssetLoader<>(set);
+    }
+
+    /**
+     * Creates a new validator, which allows to validate texts to ensure, that they are contained
+     * by an allowlist, which is read from a specific asset, when the first text is validated. The
+     * asset must have been written by using the method {@link
+     * FrontCodedStringSet#writeTo(java.io.OutputStream)} and should be stored uncompressed in
+     * order to be memory-mapped. If the asset does not exist, an {@link IllegalArgumentException}
+     * is thrown.
+     *
+     * @param errorMessage
+     *         The error message, which should be shown, if the validation fails, as an instance of
+     *         the type {@link CharSequence}. The error message may not be null
+     * @param context
+     *         The context, which should be used to open the asset, as an instance of the class
+     *         {@link Context}. The context may not be null
+     * @param assetName
+     *         The name of the asset, which contains the allowlist, as a {@link String}. The name
+     *         may not be null
+     */
+    public AllowlistValidator(@NonNull final CharSequence errorMessage,
+                              @NonNull final Context context, @NonNull final String assetName) {
+        super(errorMessage);
+        this.loader = createLoader(context, assetName);
+    }
+
+    /**
+     * Creates a new validator, which allows to validate texts to ensure, that they are contained
+     * by an allowlist, which is read from a specific asset, when the first text is validated. The
+     * asset must have been written by using the method {@link
+     * FrontCodedStringSet#writeTo(java.io.OutputStream)} and should be stored uncompressed in
+     * order to be memory-mapped. If the asset does not exist, an {@link IllegalArgumentException}
+     * is thrown.
+     *
+     * @param context
+     *         The context, which should be used to retrieve the error message and to open the
+     *         asset, as an instance of the class {@link Context}. The context may not be null
+     * @param resourceId
+     *         The resource ID of the string resource, which contains the error message, which
+     *         should be set, as an {@link Integer} value. The resource ID must correspond to a
+     *         valid string resource
+     * @param assetName
+     *         The name of the asset, which contains the allowlist, as a {@link String}. The name
+     *         may not be null
+     */
+    public AllowlistValidator(@NonNull final Context context, @StringRes final int resourceId,
+                              @NonNull final String assetName) {
+        super(context, resourceId);
+        this.loader = createLoader(context, assetName);
+    }
+
+    /**
+     * Returns the set, which contains the allowed texts. If the set has not been loaded yet, it
+     * is loaded from the asset. This method may be called in advance, e.g. in a background
+     * thread, in order to avoid loading the set, when the first text is validated, and to report
+     * a corrupt asset early.
+     *
+     * @return The set, which contains the allowed texts, as an instance of the class {@link
+     * FrontCodedStringSet}. The set may not be null
+     * @throws IllegalStateException
+     *         If the asset, which contains the allowlist, could not be read
+     */
+    @NonNull
+    public final FrontCodedStringSet getSet() {
+        return loader.get();
+    }
+
+    /**
+     * Returns, whether the set, which contains the allowed texts, has already been loaded, or
+     * not.
+     *
+     * @return True, if the set has already been loaded, false otherwise
+     */
+    public final boolean isLoaded() {
+        return loader.isLoaded();
+    }
+
+    @Override
+    public final boolean validate(final CharSequence value) {
+        return value.length() == 0 || getSet().contains(value);
+    }
+
+}
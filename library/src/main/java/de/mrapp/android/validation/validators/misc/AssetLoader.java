@@ -0,0 +1,261 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.validators.misc;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.support.annotation.NonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * Loads a data structure, which is used by a validator, from an asset, when it is requested for
+ * the first time. The existence of the asset is verified, when the loader is created, so that a
+ * missing asset is reported immediately. A corrupt asset is reported, when the data structure is
+ * loaded, which can be done in advance, e.g. in a background thread, by calling the method {@link
+ * #get()}. A loader can be used by multiple threads at once.
+ *
+ * @param <Type>
+ *         The type of the data structure
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+final class AssetLoader<Type> {
+
+    /**
+     * Defines the interface, a class, which should be used to read a data structure from an
+     * asset, must implement.
+     *
+     * @param <Type>
+     *         The type of the data structure
+     */
+    interface Reader<Type> {
+
+        /**
+         * The method, which is invoked in order to read the data structure from an asset.
+         *
+         * @param context
+         *         The context, which should be used to open the asset, as an instance of the class
+         *         {@link Context}. The context may not be null
+         * @param assetName
+         *         The name of the asset as a {@link String}. The name may not be null
+         * @return The data structure, which has been read, as an instance of the generic type
+         * Type. The data structure may not be null
+         * @throws IOException
+         *         The exception, which is thrown, if the asset could not be read or does not
+         *         contain a valid data structure
+         */
+        @NonNull
+        Type read(@NonNull Context context, @NonNull String assetName) throws IOException;
+
+    }
+
+    /**
+     * The context, which is used to open the asset, or null, if the data structure has been
+     * passed to the loader.
+     */
+    private final Context context;
+
+    /**
+     * The name of the asset, or null, if the data structure has been passed to the loader.
+     */
+    private final String assetName;
+
+    /**
+     * A description of the data structure, which is used in error messages, or null, if the data
+     * structure has been passed to the loader.
+     */
+    private final String description;
+
+    /**
+     * The reader, which is used to read the data structure from the asset, or null, if the data
+     * structure has been passed to the loader.
+     */
+    private final Reader<Type> reader;
+
+    /**
+     * The data structure or null, if it has not been loaded yet.
+     */
+    private volatile Type value;
+
+    /**
+     * Reads all bytes from a specific stream. The stream is closed afterwards.
+     *
+     * @param stream
+     *         The stream, which should be read, as an instance of the class {@link InputStream}.
+     *         The stream may not be null
+     * @return The bytes, which have been read, as a {@link Byte} array. The array may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if the stream could not be read
+     */
+    @NonNull
+    private static byte[] readFully(@NonNull final InputStream stream) throws IOException {
+        try {
+            ByteArrayOutputStream result = new ByteArrayOutputStream();
+            byte[] chunk = new byte[8192];
+            int read;
+
+            while ((read = stream.read(chunk)) != -1) {
+                result.write(chunk, 0, read);
+            }
+
+            return result.toByteArray();
+        } finally {
+            stream.close();
+        }
+    }
+
+    /**
+     * Creates a new loader, which provides a data structure, which has already been loaded.
+     *
+     * @param value
+     *         The data structure as an instance of the generic type Type. The data structure may
+     *         not be null
+     */
+    AssetLoader(@NonNull final Type value) {
+        this.context = null;
+        this.assetName = null;
+        this.description = null;
+        this.reader = null;
+        this.value = value;
+    }
+
+    /**
+     * Creates a new loader, which loads a data structure from a specific asset, when it is
+     * requested for the first time.
+     *
+     * @param context
+     *         The context, which should be used to open the asset, as an instance of the class
+     *         {@link Context}. The context may not be null. Only its application context is
+     *         retained
+     * @param assetName
+     *         The name of the asset as a {@link String}. The name may not be null
+     * @param description
+     *         A description of the data structure, which should be used in error messages, as a
+     *         {@link String}. The description may not be null
+     * @param reader
+     *         The reader, which should be used to read the data structure from the asset, as an
+     *         instance of the type {@link Reader}. The reader may not be null
+     * @throws IllegalArgumentException
+     *         If the asset does not exist
+     */
+    AssetLoader(@NonNull final Context context, @NonNull final String assetName,
+                @NonNull final String description, @NonNull final Reader<Type> reader) {
+        ensureNotNull(context, "The context may not be null");
+        ensureNotNull(assetName, "The asset name may not be null");
+        this.context = context.getApplicationContext() != null ?
+                context.getApplicationContext() : context;
+        this.assetName = assetName;
+        this.description = description;
+        this.reader = reader;
+        this.value = null;
+
+        try {
+            this.context.getAssets().open(assetName).close();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("The asset \"" + assetName + "\" does not exist",
+                    e);
+        }
+    }
+
+    /**
+     * Returns a buffer, which contains the content of a specific asset. If the asset is stored
+     * uncompressed, e.g. because its extension has been added to the <code>noCompress</code>
+     * option of the app's build, it is memory-mapped. Otherwise, it is read into the heap.
+     *
+     * @param context
+     *         The context, which should be used to open the asset, as an instance of the class
+     *         {@link Context}. The context may not be null
+     * @param assetName
+     *         The name of the asset as a {@link String}. The name may not be null
+     * @return The buffer, which contains the content of the asset, as an instance of the class
+     * {@link ByteBuffer}. The buffer may not be null
+     * @throws IOException
+     *         The exception, which is thrown, if the asset could not be read
+     */
+    @NonNull
+    static ByteBuffer map(@NonNull final Context context, @NonNull final String assetName)
+            throws IOException {
+        AssetFileDescriptor descriptor;
+
+        try {
+            descriptor = context.getAssets().openFd(assetName);
+        } catch (FileNotFoundException e) {
+            return ByteBuffer.wrap(readFully(context.getAssets().open(assetName)));
+        }
+
+        try {
+            FileInputStream stream = descriptor.createInputStream();
+
+            try {
+                return stream.getChannel().map(FileChannel.MapMode.READ_ONLY,
+                        descriptor.getStartOffset(), descriptor.getLength());
+            } finally {
+                stream.close();
+            }
+        } finally {
+            descriptor.close();
+        }
+    }
+
+    /**
+     * Returns the data structure. If it has not been loaded yet, it is loaded from the asset.
+     *
+     * @return The data structure as an instance of the generic type Type. The data structure may
+     * not be null
+     * @throws IllegalStateException
+     *         If the asset could not be read or does not contain a valid data structure
+     */
+    @NonNull
+    Type get() {
+        Type result = value;
+
+        if (result == null) {
+            synchronized (this) {
+                result = value;
+
+                if (result == null) {
+                    try {
+                        result = reader.read(context, assetName);
+                        value = result;
+                    } catch (IOException e) {
+                        throw new IllegalStateException(
+                                "Failed to read " + description + " from asset \"" + assetName +
+                                        "\"", e);
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns, whether the data structure has already been loaded, or not.
+     *
+     * @return True, if the data structure has already been loaded, false otherwise
+     */
+    boolean isLoaded() {
+        return value != null;
+    }
+
+}
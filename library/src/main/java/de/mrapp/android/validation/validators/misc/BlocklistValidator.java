@@ -0,0 +1,204 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.validators.misc;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.StringRes;
+
+import java.io.IOException;
+
+import de.mrapp.android.validation.datastructure.AhoCorasickAutomaton;
+import de.mrapp.android.validation.validators.AbstractValidator;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * A validator, which allows to validate texts to ensure, that they do not contain any blocked
+ * words, e.g. profanity or reserved names. The texts are scanned only once by using an {@link
+ * AhoCorasickAutomaton}, regardless of the number of blocked words. If the blocked words are read
+ * from an asset, a missing asset is reported by the constructor, but the asset is not loaded until
+ * the first text is validated or the method {@link #getAutomaton()} is called, e.g. in a
+ * background thread in order to prewarm the validator. Empty texts are also accepted.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class BlocklistValidator extends AbstractValidator<CharSequence> {
+
+    /**
+     * The loader, which provides the automaton, which is used to find blocked words.
+     */
+    private final AssetLoader<AhoCorasickAutomaton> loader;
+
+    /**
+     * Creates and returns a loader, which reads the automaton, which is used to find blocked
+     * words, from a specific asset.
+     *
+     * @param context
+     *         The context, which should be used to open the asset, as an instance of the class
+     *         {@link Context}. The context may not be null
+     * @param assetName
+     *         The name of the asset as a {@link String}. The name may not be null
+     * @param flags
+     *         The flags, which should be used to build the automaton, as an {@link Integer} value
+     * @return The loader, which has been created, as an instance of the class {@link
+     * AssetLoader}. The loader may not be null
+     */
+    @NonNull
+    private static AssetLoader<AhoCorasickAutomaton> createLoader(@NonNull final Context context,
+                                                                  @NonNull final String assetName,
+                                                                  final int flags) {
+        return new AssetLoader<>(context, assetName, "blocked words",
+                new AssetLoader.Reader<AhoCorasickAutomaton>() {
+
+                    @NonNull
+                    @Override
+                    public AhoCorasickAutomaton read(@NonNull final Context context,
+                                                     @NonNull final String assetName)
+                            throws IOException {
+                        return AhoCorasickAutomaton.fromAsset(context, assetName, flags);
+                    }
+
+                });
+    }
+
+    /**
+     * Creates a new validator, which allows to validate texts to ensure, that they do not contain
+     * any blocked words.
+     *
+     * @param errorMessage
+     *         The error message, which should be shown, if the validation fails, as an instance of
+     *         the type {@link CharSequence}. The error message may not be null
+     * @param automaton
+     *         The automaton, which should be used to find blocked words, as an instance of the
+     *         class {@link AhoCorasickAutomaton}. The automaton may not be null
+     */
+    public BlocklistValidator(@NonNull final CharSequence errorMessage,
+                              @NonNull final AhoCorasickAutomaton automaton) {
+        super(errorMessage);
+        ensureNotNull(automaton, "The automaton may not be null");
+        this.loader = new AssetLoader<>(automaton);
+    }
+
+    /**
+     * Creates a new validator, which allows to validate texts to ensure, that they do not contain
+     * any blocked words.
+     *
+     * @param context
+     *         The context, which should be used to retrieve the error message, as an instance of
+     *         the class {@link Context}. The context may not be null
+     * @param resourceId
+     *         The resource ID of the string resource, which contains the error message, which
+     *         should be set, as an {@link Integer} value. The resource ID must correspond to a
+     *         valid string resource
+     * @param automaton
+     *         The automaton, which should be used to find blocked words, as an instance of the
+     *         class {@link AhoCorasickAutomaton}. The automaton may not be null
+     */
+    public BlocklistValidator(@NonNull final Context context, @StringRes final int resourceId,
+                              @NonNull final AhoCorasickAutomaton automaton) {
+        super(context, resourceId);
+        ensureNotNull(automaton, "The automaton may not be null");
+        this.loader = new AssetLoader<>(automaton);
+    }
+
+    /**
+     * Creates a new validator, which allows to validate texts to ensure, that they do not contain
+     * any of the blocked words, which are read from a specific asset, when the first text is
+     * validated. See {@link AhoCorasickAutomaton#read(java.io.InputStream, int)} for the format of
+     * the asset. If the asset does not exist, an {@link IllegalArgumentException} is thrown.
+     *
+     * @param errorMessage
+     *         The error message, which should be shown, if the validation fails, as an instance of
+     *         the type {@link CharSequence}. The error message may not be null
+     * @param context
+     *         The context, which should be used to open the asset, as an instance of the class
+     *         {@link Context}. The context may not be null
+     * @param assetName
+     *         The name of the asset, which contains the blocked words, as a {@link String}. The
+     *         name may not be null
+     * @param flags
+     *         The flags, which should be used to build the automaton, as an {@link Integer} value.
+     *         The value must be a combination of the flags {@link
+     *         AhoCorasickAutomaton#CASE_INSENSITIVE} and {@link AhoCorasickAutomaton#LEETSPEAK} or
+     *         0
+     */
+    public BlocklistValidator(@NonNull final CharSequence errorMessage,
+                              @NonNull final Context context, @NonNull final String assetName,
+                              final int flags) {
+        super(errorMessage);
+        this.loader = createLoader(context, assetName, flags);
+    }
+
+    /**
+     * Creates a new validator, which allows to validate texts to ensure, that they do not contain
+     * any of the blocked words, which are read from a specific asset, when the first text is
+     * validated. See {@link AhoCorasickAutomaton#read(java.io.InputStream, int)} for the format of
+     * the asset. If the asset does not exist, an {@link IllegalArgumentException} is thrown.
+     *
+     * @param context
+     *         The context, which should be used to retrieve the error message and to open the
+     *         asset, as an instance of the class {@link Context}. The context may not be null
+     * @param resourceId
+     *         The resource ID of the string resource, which contains the error message, which
+     *         should be set, as an {@link Integer} value. The resource ID must correspond to a
+     *         valid string resource
+     * @param assetName
+     *         The name of the asset, which contains the blocked words, as a {@link String}. The
+     *         name may not be null
+     * @param flags
+     *         The flags, which should be used to build the automaton, as an {@link Integer} value.
+     *         The value must be a combination of the flags {@link
+     *         AhoCorasickAutomaton#CASE_INSENSITIVE} and {@link AhoCorasickAutomaton#LEETSPEAK} or
+     *         0
+     */
+    public BlocklistValidator(@NonNull final Context context, @StringRes final int resourceId,
+                              @NonNull final String assetName, final int flags) {
+        super(context, resourceId);
+        this.loader = createLoader(context, assetName, flags);
+    }
+
+    /**
+     * Returns the automaton, which is used to find blocked words. If the automaton has not been
+     * loaded yet, it is loaded from the asset. This method may be called in advance, e.g. in a
+     * background thread, in order to avoid loading the automaton, when the first text is
+     * validated, and to report a corrupt asset early.
+     *
+     * @return The automaton, which is used to find blocked words, as an instance of the class
+     * {@link AhoCorasickAutomaton}. The automaton may not be null
+     * @throws IllegalStateException
+     *         If the asset, which contains the blocked words, could not be read
+     */
+    @NonNull
+    public final AhoCorasickAutomaton getAutomaton() {
+        return loader.get();
+    }
+
+    /**
+     * Returns, whether the automaton, which is used to find blocked words, has already been
+     * loaded, or not.
+     *
+     * @return True, if the automaton has already been loaded, false otherwise
+     */
+    public final boolean isLoaded() {
+        return loader.isLoaded();
+    }
+
+    @Override
+    public final boolean validate(final CharSequence value) {
+        return value.length() == 0 || !getAutomaton().containsAny(value);
+    }
+
+}
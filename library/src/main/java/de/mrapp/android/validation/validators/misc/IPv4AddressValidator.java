@@ -19,6 +19,7 @@ import android.support.annotation.StringRes;
 
 import java.util.regex.Pattern;
 
+import de.mrapp.android.validation.ValueSupplier;
 import de.mrapp.android.validation.validators.text.RegexValidator;
 
 /**
@@ -31,13 +32,34 @@ import de.mrapp.android.validation.validators.text.RegexValidator;
 public class IPv4AddressValidator extends RegexValidator {
 
     /**
-     * The regular expression, which is used by the validator.
+     * Holds the regular expression, which is used by the validator, in order to compile it,
+     * when it is used for the first time.
      */
-    private static final Pattern REGEX =
-            Pattern.compile("(^$)" + "|(^([01]?\\d\\d?|2[0-4]\\d|25[0-5])\\." +
-                    "([01]?\\d\\d?|2[0-4]\\d|25[0-5])\\." +
-                    "([01]?\\d\\d?|2[0-4]\\d|25[0-5])\\." +
-                    "([01]?\\d\\d?|2[0-4]\\d|25[0-5])$)");
+    private static final class RegexHolder {
+
+        /**
+         * The regular expression, which is used by the validator.
+         */
+        private static final Pattern REGEX =
+                Pattern.compile("(^$)" + "|(^([01]?\\d\\d?|2[0-4]\\d|25[0-5])\\." +
+                        "([01]?\\d\\d?|2[0-4]\\d|25[0-5])\\." +
+                        "([01]?\\d\\d?|2[0-4]\\d|25[0-5])\\." +
+                        "([01]?\\d\\d?|2[0-4]\\d|25[0-5])$)");
+
+    }
+
+    /**
+     * The supplier, which provides the regular expression, which is used by the validator. The
+     * regular expression is compiled, when it is obtained for the first time.
+     */
+    private static final ValueSupplier<Pattern> REGEX_SUPPLIER = new ValueSupplier<Pattern>() {
+
+        @Override
+        public Pattern getValue() {
+            return RegexHolder.REGEX;
+        }
+
+    };
 
     /**
      * Creates a new validator, which allows to validate texts to ensure, that they represent valid
@@ -48,7 +70,8 @@ public class IPv4AddressValidator extends RegexValidator {
      *         the type {@link CharSequence}. The error message may not be null
      */
     public IPv4AddressValidator(@NonNull final CharSequence errorMessage) {
-        super(errorMessage, REGEX);
+        super(errorMessage);
+        setRegexSupplier(REGEX_SUPPLIER);
     }
 
     /**
@@ -64,7 +87,8 @@ public class IPv4AddressValidator extends RegexValidator {
      *         valid string resource
      */
     public IPv4AddressValidator(@NonNull final Context context, @StringRes final int resourceId) {
-        super(context, resourceId, REGEX);
+        super(context, resourceId);
+        setRegexSupplier(REGEX_SUPPLIER);
     }
 
 }
\ No newline at end of file
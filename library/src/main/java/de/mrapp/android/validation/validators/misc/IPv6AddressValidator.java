@@ -19,6 +19,7 @@ import android.support.annotation.StringRes;
 
 import java.util.regex.Pattern;
 
+import de.mrapp.android.validation.ValueSupplier;
 import de.mrapp.android.validation.validators.text.RegexValidator;
 
 /**
@@ -31,11 +32,32 @@ import de.mrapp.android.validation.validators.text.RegexValidator;
 public class IPv6AddressValidator extends RegexValidator {
 
     /**
-     * The regular expression, which is used by the validator.
+     * Holds the regular expression, which is used by the validator, in order to compile it,
+     * when it is used for the first time.
      */
-    private static final Pattern REGEX =
-            Pattern.compile("(^$)" + "|(^(?:[0-9a-fA-F]{1,4}:){7}[0-9a-fA-F]{1,4}$)" +
-                    "|(^((?:[0-9A-Fa-f]{1,4}(?::[0-9A-Fa-f]{1,4})*)?)::((?:[0-9A-Fa-f]{1,4}(?::[0-9A-Fa-f]{1,4})*)?)$)");
+    private static final class RegexHolder {
+
+        /**
+         * The regular expression, which is used by the validator.
+         */
+        private static final Pattern REGEX =
+                Pattern.compile("(^$)" + "|(^(?:[0-9a-fA-F]{1,4}:){7}[0-9a-fA-F]{1,4}$)" +
+                        "|(^((?:[0-9A-Fa-f]{1,4}(?::[0-9A-Fa-f]{1,4})*)?)::((?:[0-9A-Fa-f]{1,4}(?::[0-9A-Fa-f]{1,4})*)?)$)");
+
+    }
+
+    /**
+     * The supplier, which provides the regular expression, which is used by the validator. The
+     * regular expression is compiled, when it is obtained for the first time.
+     */
+    private static final ValueSupplier<Pattern> REGEX_SUPPLIER = new ValueSupplier<Pattern>() {
+
+        @Override
+        public Pattern getValue() {
+            return RegexHolder.REGEX;
+        }
+
+    };
 
     /**
      * Creates a new validator, which allows to validate texts to ensure, that they represent valid
@@ -46,7 +68,8 @@ public class IPv6AddressValidator extends RegexValidator {
      *         the type {@link CharSequence}. The error message may not be null
      */
     public IPv6AddressValidator(@NonNull final CharSequence errorMessage) {
-        super(errorMessage, REGEX);
+        super(errorMessage);
+        setRegexSupplier(REGEX_SUPPLIER);
     }
 
     /**
@@ -62,7 +85,8 @@ public class IPv6AddressValidator extends RegexValidator {
      *         valid string resource
      */
     public IPv6AddressValidator(@NonNull final Context context, @StringRes final int resourceId) {
-        super(context, resourceId, REGEX);
+        super(context, resourceId);
+        setRegexSupplier(REGEX_SUPPLIER);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,318 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.validators.misc;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.StringRes;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import de.mrapp.android.validation.phone.PhoneNumberMetadata;
+import de.mrapp.android.validation.phone.RegionMetadata;
+import de.mrapp.android.validation.validators.AbstractValidator;
+
+import static de.mrapp.android.util.Condition.ensureNotEmpty;
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * A validator, which allows to validate texts to ensure, that they represent valid phone numbers
+ * of a specific region. Unlike the {@link PhoneNumberValidator}, which only checks the syntax of
+ * phone numbers, this takes the valid lengths of numbers, depending on their leading digits, into
+ * account. Numbers may be given in international format, e.g. <code>+49 30 123456</code> or
+ * <code>0049 30 123456</code>, or in national format, e.g. <code>030 123456</code>. The numbering
+ * plans are looked up in {@link PhoneNumberMetadata}. By default, the metadata, which is contained
+ * by the library, is used (see {@link #getDefaultMetadata(Context)}). It only supports the regions
+ * AT, AU, BE, BR, CA, CH, CN, DE, ES, FR, GB, IN, IT, JP, NL and US.
+ *
+ * The numbering plans are simplified, i.e. only the length of a number is checked depending on its
+ * leading digits. Numbers of unassigned ranges, which have a valid length, are therefore accepted
+ * and number types, e.g. mobile or landline numbers, are not distinguished. If a region is not
+ * contained by the metadata, an {@link IllegalArgumentException} is thrown by the constructor. The
+ * constructor only opens the metadata, but the numbering plan of the region is not decoded until
+ * the first text is validated or the method {@link #getRegion()} is called, e.g. in a background
+ * thread in order to prewarm the validator. Empty texts are also accepted.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class RegionalPhoneNumberValidator extends AbstractValidator<CharSequence> {
+
+    /**
+     * The loader, which provides the metadata, which is contained by the library, or null, if it
+     * has not been created yet.
+     */
+    private static AssetLoader<PhoneNumberMetadata> defaultLoader;
+
+    /**
+     * The loader, which provides the metadata, which is used to look up the numbering plan of the
+     * region.
+     */
+    private final AssetLoader<PhoneNumberMetadata> loader;
+
+    /**
+     * The ISO 3166-1 alpha-2 code of the region, whose phone numbers are accepted.
+     */
+    private final String regionCode;
+
+    /**
+     * The numbering plan of the region, whose phone numbers are accepted, or null, if it has not
+     * been decoded yet.
+     */
+    private volatile RegionMetadata region;
+
+    /**
+     * Returns the loader, which provides the metadata, which is contained by the library. If the
+     * loader has not been created yet, it is created.
+     *
+     * @param context
+     *         The context, which should be used to open the asset, which contains the metadata, as
+     *         an instance of the class {@link Context}. The context may not be null
+     * @return The loader as an instance of the class {@link AssetLoader}. The loader may not be
+     * null
+     */
+    @NonNull
+    private static synchronized AssetLoader<PhoneNumberMetadata> getDefaultLoader(
+            @NonNull final Context context) {
+        if (defaultLoader == null) {
+            defaultLoader = new AssetLoader<>(context, PhoneNumberMetadata.ASSET_NAME,
+                    "phone number metadata", new AssetLoader.Reader<PhoneNumberMetadata>() {
+
+                @NonNull
+                @Override
+                public PhoneNumberMetadata read(@NonNull final Context context,
+                                                @NonNull final String assetName)
+                        throws IOException {
+                    return PhoneNumberMetadata.wrap(AssetLoader.map(context, assetName));
+                }
+
+            });
+        }
+
+        return defaultLoader;
+    }
+
+    /**
+     * Returns the upper-case code of a specific region.
+     *
+     * @param regionCode
+     *         The ISO 3166-1 alpha-2 code of the region as a {@link String}. The code may neither
+     *         be null, nor empty
+     * @return The upper-case code of the given region as a {@link String}. The code may not be
+     * null
+     */
+    @NonNull
+    private static String normalizeRegionCode(@NonNull final String regionCode) {
+        ensureNotNull(regionCode, "The region code may not be null");
+        ensureNotEmpty(regionCode, "The region code may not be empty");
+        return regionCode.toUpperCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Returns the upper-case code of a specific region and ensures, that the numbering plan of the
+     * region is contained by the metadata, which is provided by a specific loader.
+     *
+     * @param loader
+     *         The loader, which provides the metadata, as an instance of the class {@link
+     *         AssetLoader}. The loader may not be null
+     * @param regionCode
+     *         The ISO 3166-1 alpha-2 code of the region as a {@link String}. The code may neither
+     *         be null, nor empty
+     * @return The upper-case code of the given region as a {@link String}. The code may not be
+     * null
+     * @throws IllegalArgumentException
+     *         If the metadata does not contain the region
+     */
+    @NonNull
+    private static String ensureSupportedRegion(
+            @NonNull final AssetLoader<PhoneNumberMetadata> loader,
+            @NonNull final String regionCode) {
+        String normalizedRegionCode = normalizeRegionCode(regionCode);
+
+        if (!loader.get().getRegionCodes().contains(normalizedRegionCode)) {
+            throw new IllegalArgumentException("Unsupported region: " + normalizedRegionCode);
+        }
+
+        return normalizedRegionCode;
+    }
+
+    /**
+     * Creates a new validator, which allows to validate texts to ensure, that they represent valid
+     * phone numbers of a specific region, by using the default metadata.
+     *
+     * @param errorMessage
+     *         The error message, which should be shown, if the validation fails, as an instance of
+     *         the type {@link CharSequence}. The error message may not be null
+     * @param context
+     *         The context, which should be used to load the metadata, as an instance of the class
+     *         {@link Context}. The context may not be null
+     * @param regionCode
+     *         The ISO 3166-1 alpha-2 code of the region, whose phone numbers should be accepted,
+     *         e.g. <code>DE</code>, as a {@link String}. The code may neither be null, nor empty
+     * @throws IllegalArgumentException
+     *         If the asset, which contains the metadata, does not exist or if the region is not
+     *         supported
+     * @throws IllegalStateException
+     *         If the asset, which contains the metadata, is corrupt
+     */
+    public RegionalPhoneNumberValidator(@NonNull final CharSequence errorMessage,
+                                        @NonNull final Context context,
+                                        @NonNull final String regionCode) {
+        super(errorMessage);
+        ensureNotNull(context, "The context may not be null");
+        this.loader = getDefaultLoader(context);
+        this.regionCode = ensureSupportedRegion(loader, regionCode);
+    }
+
+    /**
+     * Creates a new validator, which allows to validate texts to ensure, that they represent valid
+     * phone numbers of a specific region, by using the default metadata.
+     *
+     * @param context
+     *         The context, which should be used to retrieve the error message and to load the
+     *         metadata, as an instance of the class {@link Context}. The context may not be null
+     * @param resourceId
+     *         The resource ID of the string resource, which contains the error message, which
+     *         should be set, as an {@link Integer} value. The resource ID must correspond to a
+     *         valid string resource
+     * @param regionCode
+     *         The ISO 3166-1 alpha-2 code of the region, whose phone numbers should be accepted,
+     *         e.g. <code>DE</code>, as a {@link String}. The code may neither be null, nor empty
+     * @throws IllegalArgumentException
+     *         If the asset, which contains the metadata, does not exist or if the region is not
+     *         supported
+     * @throws IllegalStateException
+     *         If the asset, which contains the metadata, is corrupt
+     */
+    public RegionalPhoneNumberValidator(@NonNull final Context context,
+                                        @StringRes final int resourceId,
+                                        @NonNull final String regionCode) {
+        super(context, resourceId);
+        this.loader = getDefaultLoader(context);
+        this.regionCode = ensureSupportedRegion(loader, regionCode);
+    }
+
+    /**
+     * Creates a new validator, which allows to validate texts to ensure, that they represent valid
+     * phone numbers of a specific region, by using specific metadata.
+     *
+     * @param errorMessage
+     *         The error message, which should be shown, if the validation fails, as an instance of
+     *         the type {@link CharSequence}. The error message may not be null
+     * @param metadata
+     *         The metadata, which should be used to look up the numbering plan of the region, as
+     *         an instance of the class {@link PhoneNumberMetadata}. The metadata may not be null
+     * @param regionCode
+     *         The ISO 3166-1 alpha-2 code of the region, whose phone numbers should be accepted,
+     *         e.g. <code>DE</code>, as a {@link String}. The code may neither be null, nor empty
+     * @throws IllegalArgumentException
+     *         If the metadata does not contain the region
+     */
+    public RegionalPhoneNumberValidator(@NonNull final CharSequence errorMessage,
+                                        @NonNull final PhoneNumberMetadata metadata,
+                                        @NonNull final String regionCode) {
+        super(errorMessage);
+        ensureNotNull(metadata, "The metadata may not be null");
+        this.loader = new AssetLoader<>(metadata);
+        this.regionCode = ensureSupportedRegion(loader, regionCode);
+    }
+
+    /**
+     * Creates a new validator, which allows to validate texts to ensure, that they represent valid
+     * phone numbers of a specific region, by using specific metadata.
+     *
+     * @param context
+     *         The context, which should be used to retrieve the error message, as an instance of
+     *         the class {@link Context}. The context may not be null
+     * @param resourceId
+     *         The resource ID of the string resource, which contains the error message, which
+     *         should be set, as an {@link Integer} value. The resource ID must correspond to a
+     *         valid string resource
+     * @param metadata
+     *         The metadata, which should be used to look up the numbering plan of the region, as
+     *         an instance of the class {@link PhoneNumberMetadata}. The metadata may not be null
+     * @param regionCode
+     *         The ISO 3166-1 alpha-2 code of the region, whose phone numbers should be accepted,
+     *         e.g. <code>DE</code>, as a {@link String}. The code may neither be null, nor empty
+     * @throws IllegalArgumentException
+     *         If the metadata does not contain the region
+     */
+    public RegionalPhoneNumberValidator(@NonNull final Context context,
+                                        @StringRes final int resourceId,
+                                        @NonNull final PhoneNumberMetadata metadata,
+                                        @NonNull final String regionCode) {
+        super(context, resourceId);
+        ensureNotNull(metadata, "The metadata may not be null");
+        this.loader = new AssetLoader<>(metadata);
+        this.regionCode = ensureSupportedRegion(loader, regionCode);
+    }
+
+    /**
+     * Returns the metadata, which is contained by the library. It is read from the asset {@link
+     * PhoneNumberMetadata#ASSET_NAME}, when this method is called for the first time.
+     *
+     * @param context
+     *         The context, which should be used to open the asset, which contains the metadata, as
+     *         an instance of the class {@link Context}. The context may not be null
+     * @return The metadata as an instance of the class {@link PhoneNumberMetadata}. The metadata
+     * may not be null
+     * @throws IllegalArgumentException
+     *         If the asset, which contains the metadata, does not exist
+     * @throws IllegalStateException
+     *         If the asset, which contains the metadata, is corrupt
+     */
+    @NonNull
+    public static PhoneNumberMetadata getDefaultMetadata(@NonNull final Context context) {
+        ensureNotNull(context, "The context may not be null");
+        return getDefaultLoader(context).get();
+    }
+
+    /**
+     * Returns the ISO 3166-1 alpha-2 code of the region, whose phone numbers are accepted.
+     *
+     * @return The upper-case code of the region as a {@link String}. The code may not be null
+     */
+    @NonNull
+    public final String getRegionCode() {
+        return regionCode;
+    }
+
+    /**
+     * Returns the numbering plan of the region, whose phone numbers are accepted. If it has not
+     * been decoded yet, it is decoded.
+     *
+     * @return The numbering plan of the region as an instance of the class {@link
+     * RegionMetadata}. The numbering plan may not be null
+     * @throws IllegalStateException
+     *         The exception, which is thrown, if the numbering plan of the region is corrupt
+     */
+    @NonNull
+    public final RegionMetadata getRegion() {
+        RegionMetadata result = region;
+
+        if (result == null) {
+            result = loader.get().getRegion(regionCode);
+            region = result;
+        }
+
+        return result;
+    }
+
+    @Override
+    public final boolean validate(final CharSequence value) {
+        return value.length() == 0 || getRegion().isValidNumber(value);
+    }
+
+}
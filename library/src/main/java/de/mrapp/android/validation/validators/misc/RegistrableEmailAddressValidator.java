@@ -0,0 +1,214 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.validators.misc;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.StringRes;
+import android.util.Patterns;
+
+import de.mrapp.android.validation.datastructure.PublicSuffixTrie;
+import de.mrapp.android.validation.regex.ThreadLocalMatcher;
+import de.mrapp.android.validation.validators.AbstractValidator;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * A validator, which allows to validate texts to ensure, that they represent valid email addresses,
+ * whose domain has a known top-level domain and contains a registrable domain. Unlike the {@link
+ * EmailAddressValidator}, this rejects typos like <code>john@gmail.con</code>. The public suffixes
+ * are looked up in a {@link PublicSuffixTrie}. By default, the complete ICANN section of the Public
+ * Suffix List, which is contained by the library, is used (see {@link
+ * RegistrableDomainNameValidator#getDefaultTrie(Context)}). It is not loaded until the first text
+ * is validated. Top-level domains, which have been delegated after the list was compiled, can be
+ * accepted by using the method {@link #setUnknownTopLevelDomainAccepted(boolean)}. Empty texts are
+ * also accepted.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class RegistrableEmailAddressValidator extends AbstractValidator<CharSequence> {
+
+    /**
+     * Holds the matcher, which is used to check the syntax of the texts, in order to create it,
+     * when it is used for the first time.
+     */
+    private static final class MatcherHolder {
+
+        /**
+         * The matcher, which is used to check the syntax of the texts.
+         */
+        private static final ThreadLocalMatcher MATCHER =
+                new ThreadLocalMatcher(Patterns.EMAIL_ADDRESS);
+
+    }
+
+    /**
+     * The loader, which provides the trie, which is used to look up public suffixes.
+     */
+    private final AssetLoader<PublicSuffixTrie> loader;
+
+    /**
+     * True, if top-level domains, which are not contained by the trie, are accepted, false
+     * otherwise.
+     */
+    private boolean unknownTopLevelDomainAccepted;
+
+    /**
+     * Creates a new validator, which allows to validate texts to ensure, that they represent valid
+     * email addresses, whose domain has a known top-level domain and contains a registrable domain,
+     * by using the default public suffix list.
+     *
+     * @param errorMessage
+     *         The error message, which should be shown, if the validation fails, as an instance of
+     *         the type {@link CharSequence}. The error message may not be null
+     * @param context
+     *         The context, which should be used to load the public suffix list, as an instance of
+     *         the class {@link Context}. The context may not be null
+     * @throws IllegalArgumentException
+     *         If the asset, which contains the public suffix list, does not exist
+     */
+    public RegistrableEmailAddressValidator(@NonNull final CharSequence errorMessage,
+                                            @NonNull final Context context) {
+        super(errorMessage);
+        ensureNotNull(context, "The context may not be null");
+        this.loader = RegistrableDomainNameValidator.getDefaultLoader(context);
+    }
+
+    /**
+     * Creates a new validator, which allows to validate texts to ensure, that they represent valid
+     * email addresses, whose domain has a known top-level domain and contains a registrable domain,
+     * by using the default public suffix list.
+     *
+     * @param context
+     *         The context, which should be used to retrieve the error message and to load the
+     *         public suffix list, as an instance of the class {@link Context}. The context may not
+     *         be null
+     * @param resourceId
+     *         The resource ID of the string resource, which contains the error message, which
+     *         should be set, as an {@link Integer} value. The resource ID must correspond to a
+     *         valid string resource
+     * @throws IllegalArgumentException
+     *         If the asset, which contains the public suffix list, does not exist
+     */
+    public RegistrableEmailAddressValidator(@NonNull final Context context,
+                                            @StringRes final int resourceId) {
+        super(context, resourceId);
+        this.loader = RegistrableDomainNameValidator.getDefaultLoader(context);
+    }
+
+    /**
+     * Creates a new validator, which allows to validate texts to ensure, that they represent valid
+     * email addresses, whose domain has a known top-level domain and contains a registrable domain,
+     * by using a specific trie.
+     *
+     * @param errorMessage
+     *         The error message, which should be shown, if the validation fails, as an instance of
+     *         the type {@link CharSequence}. The error message may not be null
+     * @param trie
+     *         The trie, which should be used to look up public suffixes, as an instance of the
+     *         class {@link PublicSuffixTrie}. The trie may not be null
+     */
+    public RegistrableEmailAddressValidator(@NonNull final CharSequence errorMessage,
+                                            @NonNull final PublicSuffixTrie trie) {
+        super(errorMessage);
+        ensureNotNull(trie, "The trie may not be null");
+        this.loader = new AssetLoader<>(trie);
+    }
+
+    /**
+     * Creates a new validator, which allows to validate texts to ensure, that they represent valid
+     * email addresses, whose domain has a known top-level domain and contains a registrable domain,
+     * by using a specific trie.
+     *
+     * @param context
+     *         The context, which should be used to retrieve the error message, as an instance of
+     *         the class {@link Context}. The context may not be null
+     * @param resourceId
+     *         The resource ID of the string resource, which contains the error message, which
+     *         should be set, as an {@link Integer} value. The resource ID must correspond to a
+     *         valid string resource
+     * @param trie
+     *         The trie, which should be used to look up public suffixes, as an instance of the
+     *         class {@link PublicSuffixTrie}. The trie may not be null
+     */
+    public RegistrableEmailAddressValidator(@NonNull final Context context,
+                                            @StringRes final int resourceId,
+                                            @NonNull final PublicSuffixTrie trie) {
+        super(context, resourceId);
+        ensureNotNull(trie, "The trie may not be null");
+        this.loader = new AssetLoader<>(trie);
+    }
+
+    /**
+     * Returns the trie, which is used to look up public suffixes. If the default public suffix
+     * list is used and has not been loaded yet, it is loaded. This method may be called in
+     * advance, e.g. in a background thread, in order to avoid loading the list, when the first
+     * text is validated.
+     *
+     * @return The trie, which is used to look up public suffixes, as an instance of the class
+     * {@link PublicSuffixTrie}. The trie may not be null
+     * @throws IllegalStateException
+     *         If the asset, which contains the public suffix list, is corrupt
+     */
+    @NonNull
+    public final PublicSuffixTrie getTrie() {
+        return loader.get();
+    }
+
+    /**
+     * Returns, whether top-level domains, which are not contained by the trie, are accepted, or
+     * not.
+     *
+     * @return True, if top-level domains, which are not contained by the trie, are accepted, false
+     * otherwise
+     */
+    public final boolean isUnknownTopLevelDomainAccepted() {
+        return unknownTopLevelDomainAccepted;
+    }
+
+    /**
+     * Sets, whether top-level domains, which are not contained by the trie, should be accepted, or
+     * not. If they are accepted, the implicit rule <code>*</code> of the Public Suffix List's
+     * algorithm is applied to them, e.g. in order to accept top-level domains, which have been
+     * delegated after the list was compiled. As a consequence, typos in top-level domains are not
+     * detected anymore. By default, they are not accepted.
+     *
+     * @param accepted
+     *         True, if top-level domains, which are not contained by the trie, should be accepted,
+     *         false otherwise
+     */
+    public final void setUnknownTopLevelDomainAccepted(final boolean accepted) {
+        this.unknownTopLevelDomainAccepted = accepted;
+    }
+
+    @Override
+    public final boolean validate(final CharSequence value) {
+        if (value.length() == 0) {
+            return true;
+        } else if (!MatcherHolder.MATCHER.matches(value)) {
+            return false;
+        }
+
+        int domainStart = value.length();
+
+        while (value.charAt(domainStart - 1) != '@') {
+            domainStart--;
+        }
+
+        return getTrie().getRegistrableDomainStart(value, domainStart, value.length(),
+                unknownTopLevelDomainAccepted) != -1;
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.validators.text;
+
+import android.support.annotation.NonNull;
+import android.text.InputFilter;
+import android.text.SpannableStringBuilder;
+import android.text.Spanned;
+
+/**
+ * An input filter, which removes all characters, which are not accepted by a predicate, from the
+ * text, which is about to be inserted. If all characters are accepted, the input is not copied.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+abstract class CharacterFilter implements InputFilter {
+
+    /**
+     * Returns, whether a specific character is a whitespace character, as defined by the character
+     * class <code>\s</code> of regular expressions, or not.
+     *
+     * @param character
+     *         The character as a {@link Character} value
+     * @return True, if the given character is a whitespace character, false otherwise
+     */
+    static boolean isWhitespace(final char character) {
+        return character == ' ' || (character >= '\t' && character <= '\r');
+    }
+
+    /**
+     * Returns, whether a specific character is a letter from A to Z, which corresponds to a
+     * specific case sensitivity, or not.
+     *
+     * @param character
+     *         The character as a {@link Character} value
+     * @param caseSensitivity
+     *         The case sensitivity as a value of the enum {@link Case}. The case sensitivity may
+     *         not be null
+     * @return True, if the given character is a letter, which corresponds to the given case
+     * sensitivity, false otherwise
+     */
+    static boolean isLetter(final char character, @NonNull final Case caseSensitivity) {
+        boolean uppercase = character >= 'A' && character <= 'Z';
+        boolean lowercase = character >= 'a' && character <= 'z';
+
+        if (caseSensitivity == Case.UPPERCASE) {
+            return uppercase;
+        } else if (caseSensitivity == Case.LOWERCASE) {
+            return lowercase;
+        }
+
+        return uppercase || lowercase;
+    }
+
+    /**
+     * Returns, whether a specific array contains a specific character, or not.
+     *
+     * @param characters
+     *         The array as a <code>char</code> array. The array may not be null
+     * @param character
+     *         The character as a {@link Character} value
+     * @return True, if the given array contains the given character, false otherwise
+     */
+    static boolean contains(@NonNull final char[] characters, final char character) {
+        for (char c : characters) {
+            if (c == character) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * The method, which is invoked in order to determine, whether a specific character is
+     * accepted, or not.
+     *
+     * @param character
+     *         The character as a {@link Character} value
+     * @return True, if the given character is accepted, false otherwise
+     */
+    protected abstract boolean isAccepted(final char character);
+
+    @Override
+    public final CharSequence filter(final CharSequence source, final int start, final int end,
+                                     final Spanned dest, final int dstart, final int dend) {
+        int i = start;
+
+        while (i < end && isAccepted(source.charAt(i))) {
+            i++;
+        }
+
+        if (i == end) {
+            return null;
+        } else if (end - start == 1) {
+            return "";
+        }
+
+        SpannableStringBuilder filtered = new SpannableStringBuilder(source, start, end);
+
+        for (int j = end - 1; j >= i; j--) {
+            if (!isAccepted(source.charAt(j))) {
+                filtered.delete(j - start, j - start + 1);
+            }
+        }
+
+        return filtered;
+    }
+
+}
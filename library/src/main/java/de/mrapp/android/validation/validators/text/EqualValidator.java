@@ -16,25 +16,39 @@ package de.mrapp.android.validation.validators.text;
 import android.content.Context;
 import android.support.annotation.NonNull;
 import android.support.annotation.StringRes;
-import android.text.TextUtils;
 
+import de.mrapp.android.validation.AbstractValidateableView;
 import de.mrapp.android.validation.EditText;
-import de.mrapp.android.validation.validators.AbstractValidator;
+import de.mrapp.android.validation.ValueSupplier;
+import de.mrapp.android.validation.ViewValueSupplier;
 
 import static de.mrapp.android.util.Condition.ensureNotNull;
 
 /**
  * A validator, which allows to validate texts to ensure, that they are equal to the text, which is
- * contained by an {@link EditText} widget.
+ * contained by an {@link EditText} widget. The widget is only weakly referenced, which allows to
+ * share the validator across multiple screens without preventing the widget from being garbage
+ * collected.
  *
  * @author Michael Rapp
  */
-public class EqualValidator extends AbstractValidator<CharSequence> {
+public class EqualValidator extends EqualValueValidator {
 
     /**
-     * The edit text widget, which contains the content, the texts should be equal to.
+     * Creates and returns a supplier, which provides the text of a specific edit text widget.
+     *
+     * @param editText
+     *         The edit text widget, whose text should be provided, as an instance of the class
+     *         {@link EditText}. The widget may not be null
+     * @return The supplier, which has been created, as an instance of the type {@link
+     * ValueSupplier}. The supplier may not be null
      */
-    private EditText editText;
+    @NonNull
+    private static ValueSupplier<CharSequence> createValueSupplier(
+            @NonNull final EditText editText) {
+        ensureNotNull(editText, "The edit text widget may not be null");
+        return new ViewValueSupplier<>(editText);
+    }
 
     /**
      * Creates a new validator, which allows to validate texts to ensure, that they are equal to the
@@ -49,8 +63,7 @@ public class EqualValidator extends AbstractValidator<CharSequence> {
      */
     public EqualValidator(@NonNull final CharSequence errorMessage,
                           @NonNull final EditText editText) {
-        super(errorMessage);
-        setEditText(editText);
+        super(errorMessage, createValueSupplier(editText));
     }
 
     /**
@@ -70,18 +83,24 @@ public class EqualValidator extends AbstractValidator<CharSequence> {
      */
     public EqualValidator(@NonNull final Context context, @StringRes final int resourceId,
                           @NonNull final EditText editText) {
-        super(context, resourceId);
-        setEditText(editText);
+        super(context, resourceId, createValueSupplier(editText));
     }
 
     /**
      * Returns the edit text widget, which contains the content, the texts should be equal to.
      *
      * @return The edit text widget, which contains the content, the texts should be equal to, as an
-     * instance of the class {@link EditText}
+     * instance of the class {@link EditText} or null, if the widget has already been garbage
+     * collected or if a different value supplier has been set
      */
     public final EditText getEditText() {
-        return editText;
+        if (getValueSupplier() instanceof ViewValueSupplier) {
+            AbstractValidateableView<?, CharSequence> view =
+                    ((ViewValueSupplier<CharSequence>) getValueSupplier()).getView();
+            return view instanceof EditText ? (EditText) view : null;
+        }
+
+        return null;
     }
 
     /**
@@ -92,13 +111,7 @@ public class EqualValidator extends AbstractValidator<CharSequence> {
      *         EditText}. The widget may not be null
      */
     public final void setEditText(@NonNull final EditText editText) {
-        ensureNotNull(editText, "The edit text widget may not be null");
-        this.editText = editText;
-    }
-
-    @Override
-    public final boolean validate(final CharSequence value) {
-        return TextUtils.equals(value, getEditText().getText());
+        setValueSupplier(createValueSupplier(editText));
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.validators.text;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.StringRes;
+import android.text.TextUtils;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import de.mrapp.android.validation.AbstractValidateableView;
+import de.mrapp.android.validation.DependentValidator;
+import de.mrapp.android.validation.Validateable;
+import de.mrapp.android.validation.ValueSupplier;
+import de.mrapp.android.validation.ViewValueSupplier;
+import de.mrapp.android.validation.validators.AbstractValidator;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * A validator, which allows to validate texts to ensure, that they are equal to a text, which is
+ * provided by a {@link ValueSupplier} at validation time. As the validator does not reference any
+ * views directly, it can be shared across multiple screens without preventing their views from
+ * being garbage collected, if a {@link ViewValueSupplier} is used.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class EqualValueValidator extends AbstractValidator<CharSequence>
+        implements DependentValidator<CharSequence> {
+
+    /**
+     * The supplier, which provides the text, the texts should be equal to.
+     */
+    private ValueSupplier<CharSequence> valueSupplier;
+
+    /**
+     * Creates a new validator, which allows to validate texts to ensure, that they are equal to a
+     * text, which is provided by a {@link ValueSupplier}.
+     *
+     * @param errorMessage
+     *         The error message, which should be shown, if the validation fails, as an instance of
+     *         the type {@link CharSequence}. The error message may not be null
+     * @param valueSupplier
+     *         The supplier, which provides the text, the texts should be equal to, as an instance
+     *         of the type {@link ValueSupplier}. The supplier may not be null
+     */
+    public EqualValueValidator(@NonNull final CharSequence errorMessage,
+                               @NonNull final ValueSupplier<CharSequence> valueSupplier) {
+        super(errorMessage);
+        setValueSupplier(valueSupplier);
+    }
+
+    /**
+     * Creates a new validator, which allows to validate texts to ensure, that they are equal to a
+     * text, which is provided by a {@link ValueSupplier}.
+     *
+     * @param context
+     *         The context, which should be used to retrieve the error message, as an instance of
+     *         the class {@link Context}. The context may not be null
+     * @param resourceId
+     *         The resource ID of the string resource, which contains the error message, which
+     *         should be set, as an {@link Integer} value. The resource ID must correspond to a
+     *         valid string resource
+     * @param valueSupplier
+     *         The supplier, which provides the text, the texts should be equal to, as an instance
+     *         of the type {@link ValueSupplier}. The supplier may not be null
+     */
+    public EqualValueValidator(@NonNull final Context context, @StringRes final int resourceId,
+                               @NonNull final ValueSupplier<CharSequence> valueSupplier) {
+        super(context, resourceId);
+        setValueSupplier(valueSupplier);
+    }
+
+    /**
+     * Returns the supplier, which provides the text, the texts should be equal to.
+     *
+     * @return The supplier, which provides the text, the texts should be equal to, as an instance
+     * of the type {@link ValueSupplier}. The supplier may not be null
+     */
+    @NonNull
+    public final ValueSupplier<CharSequence> getValueSupplier() {
+        return valueSupplier;
+    }
+
+    /**
+     * Sets the supplier, which provides the text, the texts should be equal to.
+     *
+     * @param valueSupplier
+     *         The supplier, which should be set, as an instance of the type {@link ValueSupplier}.
+     *         The supplier may not be null
+     */
+    public final void setValueSupplier(@NonNull final ValueSupplier<CharSequence> valueSupplier) {
+        ensureNotNull(valueSupplier, "The value supplier may not be null");
+        this.valueSupplier = valueSupplier;
+    }
+
+    @NonNull
+    @Override
+    public final Collection<Validateable<?>> getDependencies() {
+        if (valueSupplier instanceof ViewValueSupplier) {
+            AbstractValidateableView<?, CharSequence> view =
+                    ((ViewValueSupplier<CharSequence>) valueSupplier).getView();
+
+            if (view != null) {
+                return Collections.<Validateable<?>>singletonList(view);
+            }
+        }
+
+        return Collections.emptyList();
+    }
+
+    @Override
+    public final boolean validate(final CharSequence value) {
+        return TextUtils.equals(value, valueSupplier.getValue());
+    }
+
+}
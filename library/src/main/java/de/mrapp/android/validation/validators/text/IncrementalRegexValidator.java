@@ -0,0 +1,159 @@
+/*
+ * Copyright 2015 - 2018 Michael Rapp
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package de.mrapp.android.validation.validators.text;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.StringRes;
+
+import de.mrapp.android.validation.IncrementalValidator;
+import de.mrapp.android.validation.regex.Automaton;
+import de.mrapp.android.validation.regex.IncrementalMatcher;
+import de.mrapp.android.validation.validators.AbstractValidator;
+
+import static de.mrapp.android.util.Condition.ensureNotNull;
+
+/**
+ * A validator, which allows to validate texts to ensure, that they match a regular expression,
+ * which has been compiled into an {@link Automaton}. The validator remembers the states of the
+ * automaton, which have been reached by the previously validated text. When a text is validated,
+ * which has been created by appending characters to the previously validated one, such as when
+ * typing, only the appended characters are processed by the automaton. Each thread, which uses
+ * the validator, is assigned its own {@link IncrementalMatcher}. When the changes of a text are
+ * reported, e.g. by an {@link de.mrapp.android.validation.EditText}, the text is validated
+ * without comparing it to the previously validated one.
+ *
+ * @author Michael Rapp
+ * @since 2.2.0
+ */
+public class IncrementalRegexValidator extends AbstractValidator<CharSequence>
+        implements IncrementalValidator {
+
+    /**
+     * The automaton, which is used to validate the texts.
+     */
+    private Automaton automaton;
+
+    /**
+     * The matchers, which are used by the individual threads.
+     */
+    private final ThreadLocal<IncrementalMatcher> matchers;
+
+    /**
+     * Returns the matcher, which is used by the current thread.
+     *
+     * @return The matcher, which is used by the current thread, as an instance of the class {@link
+     * IncrementalMatcher}. The matcher may not be null
+     */
+    @NonNull
+    private IncrementalMatcher getMatcher() {
+        Automaton currentAutomaton = automaton;
+        IncrementalMatcher matcher = matchers.get();
+
+        if (matcher == null || matcher.getAutomaton() != currentAutomaton) {
+            matcher = currentAutomaton.createIncrementalMatcher();
+            matchers.set(matcher);
+        }
+
+        return matcher;
+    }
+
+    /**
+     * Creates a new validator, which allows to validate texts to ensure, that they match a regular
+     * expression, which has been compiled into an {@link Automaton}.
+     *
+     * @param errorMessage
+     *         The error message, which should be shown, if the validation fails, as an instance of
+     *         the type {@link CharSequence}. The error message may not be null
+     * @param automaton
+     *         The automaton, which should be used to validate the texts, as an instance of the
+     *         class {@link Automaton}. The automaton may not be null
+     */
+    public IncrementalRegexValidator(@NonNull final CharSequence errorMessage,
+                                     @NonNull final Automaton automaton) {
+        super(errorMessage);
+        this.matchers = new ThreadLocal<>();
+        setAutomaton(automaton);
+    }
+
+    /**
+     * Creates a new validator, which allows to validate texts to ensure, that they match a regular
+     * expression, which has been compiled into an {@link Automaton}.
+     *
+     * @param context
+     *         The context, which should be used to retrieve the error message, as an instance of
+     *         the class {@link Context}. The context may not be null
+     * @param resourceId
+     *         The resource ID of the string resource, which contains the error message, which
+     *         should be set, as an {@link Integer} value. The resource ID must correspond to a
+     *         valid string resource
+     * @param automaton
+     *         The automaton, which should be used to validate the texts, as an instance of the
+     *         class {@link Automaton}. The automaton may not be null
+     */
+    public IncrementalRegexValidator(@NonNull final Context context,
+                                     @StringRes final int resourceId,
+                                     @NonNull final Automaton automaton) {
+        super(context, resourceId);
+        this.matchers = new ThreadLocal<>();
+        setAutomaton(automaton);
+    }
+
+    /**
+     * Returns the automaton, which is used to validate the texts.
+     *
+     * @return The automaton, which is used to validate the texts, as an instance of the class
+     * {@link Automaton}. The automaton may not be null
+     */
+    @NonNull
+    public final Automaton getAutomaton() {
+        return automaton;
+    }
+
+    /**
+     * Sets the automaton, which should be used to validate the texts.
+     *
+     * @param automaton
+     *         The automaton, which should be set, as an instance of the class {@link Automaton}.
+     *         The automaton may not be null
+     */
+    public final void setAutomaton(@NonNull final Automaton automaton) {
+        ensureNotNull(automaton, "The automaton may not be null");
+        this.automaton = automaton;
+    }
+
+    /**
+     * Returns, whether a specific text can still become valid by appending further characters, or
+     * not.
+     *
+     * @param value
+     *         The text as an instance of the type {@link CharSequence}. The text may not be null
+     * @return True, if the given text is a prefix of a valid text, false otherwise
+     */
+    public final boolean isValidPrefix(@NonNull final CharSequence value) {
+        return getMatcher().matchesPrefix(value);
+    }
+
+    @Override
+    public final void onTextChanged(@NonNull final CharSequence text, final int start,
+                                    final int before, final int count) {
+        getMatcher().onTextChanged(text, start, before, count);
+    }
+
+    @Override
+    public final boolean validate(final CharSequence value) {
+        return getMatcher().matches(value);
+    }
+
+}
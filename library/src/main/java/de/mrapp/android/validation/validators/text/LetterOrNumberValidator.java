@@ -16,10 +16,12 @@ package de.mrapp.android.validation.validators.text;
 import android.content.Context;
 import android.support.annotation.NonNull;
 import android.support.annotation.StringRes;
+import android.text.InputFilter;
 
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import de.mrapp.android.validation.FilteringValidator;
 import de.mrapp.android.validation.validators.AbstractValidator;
 
 import static de.mrapp.android.util.Condition.ensureNotNull;
@@ -34,25 +36,50 @@ import static de.mrapp.android.util.Condition.ensureNotNull;
  * @author Michael Rapp
  * @since 1.0.0
  */
-public class LetterOrNumberValidator extends AbstractValidator<CharSequence> {
+public class LetterOrNumberValidator extends AbstractValidator<CharSequence>
+        implements FilteringValidator {
 
     /**
-     * The regular expression, which is used, when only uppercase letters and numbers should be
-     * allowed.
+     * Holds the uppercase regular expression in order to compile it, when it is used for the
+     * first time.
      */
-    private static final Pattern UPPERCASE_PATTERN = Pattern.compile("^[A-Z0-9]*$");
+    private static final class UppercasePatternHolder {
+
+        /**
+         * The regular expression, which is used, when only uppercase letters and numbers should be
+         * allowed.
+         */
+        private static final Pattern UPPERCASE_PATTERN = Pattern.compile("^[A-Z0-9]*$");
+
+    }
 
     /**
-     * The regular expression, which is used, when only lowercase letters and numbers should be
-     * allowed.
+     * Holds the lowercase regular expression in order to compile it, when it is used for the
+     * first time.
      */
-    private static final Pattern LOWERCASE_PATTERN = Pattern.compile("^[a-z0-9]*$");
+    private static final class LowercasePatternHolder {
+
+        /**
+         * The regular expression, which is used, when only lowercase letters and numbers should be
+         * allowed.
+         */
+        private static final Pattern LOWERCASE_PATTERN = Pattern.compile("^[a-z0-9]*$");
+
+    }
 
     /**
-     * The regular expression, which is used, when all letters and numbers, regardless of their
-     * case, should be allowed.
+     * Holds the case-insensitive regular expression in order to compile it, when it is used for the
+     * first time.
      */
-    private static final Pattern CASE_INSENSITIVE_PATTERN = Pattern.compile("^[a-zA-Z0-9]*$");
+    private static final class CaseInsensitivePatternHolder {
+
+        /**
+         * The regular expression, which is used, when all letters and numbers, regardless of their
+         * case, should be allowed.
+         */
+        private static final Pattern CASE_INSENSITIVE_PATTERN = Pattern.compile("^[a-zA-Z0-9]*$");
+
+    }
 
     /**
      * The case sensitivity, which is used by the validator.
@@ -69,6 +96,11 @@ public class LetterOrNumberValidator extends AbstractValidator<CharSequence> {
      */
     private char[] allowedCharacters;
 
+    /**
+     * The input filter, which corresponds to the validator.
+     */
+    private InputFilter inputFilter;
+
     /**
      * Creates a new validator, which allows to validate texts to ensure, that they only contain
      * letters or numbers.
@@ -193,7 +225,7 @@ public class LetterOrNumberValidator extends AbstractValidator<CharSequence> {
     @Override
     public final boolean validate(final CharSequence value) {
         String text = value.toString();
-        Pattern regex = CASE_INSENSITIVE_PATTERN;
+        Pattern regex = CaseInsensitivePatternHolder.CASE_INSENSITIVE_PATTERN;
 
         if (areSpacesAllowed()) {
             text = text.replaceAll("\\s+", "");
@@ -204,13 +236,32 @@ public class LetterOrNumberValidator extends AbstractValidator<CharSequence> {
         }
 
         if (getCaseSensitivity() == Case.UPPERCASE) {
-            regex = UPPERCASE_PATTERN;
+            regex = UppercasePatternHolder.UPPERCASE_PATTERN;
         } else if (getCaseSensitivity() == Case.LOWERCASE) {
-            regex = LOWERCASE_PATTERN;
+            regex = LowercasePatternHolder.LOWERCASE_PATTERN;
         }
 
         Matcher matcher = regex.matcher(text);
         return matcher.matches();
     }
 
+    @Override
+    public final InputFilter getInputFilter() {
+        if (inputFilter == null) {
+            inputFilter = new CharacterFilter() {
+
+                @Override
+                protected boolean isAccepted(final char character) {
+                    return isLetter(character, getCaseSensitivity()) ||
+                            (character >= '0' && character <= '9') ||
+                            (areSpacesAllowed() && isWhitespace(character)) ||
+                            contains(getAllowedCharacters(), character);
+                }
+
+            };
+        }
+
+        return inputFilter;
+    }
+
 }
\ No newline at end of file
@@ -16,10 +16,12 @@ package de.mrapp.android.validation.validators.text;
 import android.content.Context;
 import android.support.annotation.NonNull;
 import android.support.annotation.StringRes;
+import android.text.InputFilter;
 
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import de.mrapp.android.validation.FilteringValidator;
 import de.mrapp.android.validation.validators.AbstractValidator;
 
 import static de.mrapp.android.util.Condition.ensureNotNull;
@@ -34,23 +36,48 @@ import static de.mrapp.android.util.Condition.ensureNotNull;
  * @author Michael Rapp
  * @since 1.0.0
  */
-public class LetterValidator extends AbstractValidator<CharSequence> {
+public class LetterValidator extends AbstractValidator<CharSequence>
+        implements FilteringValidator {
 
     /**
-     * The regular expression, which is used, when only uppercase letters should be allowed.
+     * Holds the uppercase regular expression in order to compile it, when it is used for the
+     * first time.
      */
-    private static final Pattern UPPERCASE_PATTERN = Pattern.compile("[A-Z]*");
+    private static final class UppercasePatternHolder {
+
+        /**
+         * The regular expression, which is used, when only uppercase letters should be allowed.
+         */
+        private static final Pattern UPPERCASE_PATTERN = Pattern.compile("[A-Z]*");
+
+    }
 
     /**
-     * The regular expression, which is used, when only lowercase letters should be allowed.
+     * Holds the lowercase regular expression in order to compile it, when it is used for the
+     * first time.
      */
-    private static final Pattern LOWERCASE_PATTERN = Pattern.compile("[a-z]*");
+    private static final class LowercasePatternHolder {
+
+        /**
+         * The regular expression, which is used, when only lowercase letters should be allowed.
+         */
+        private static final Pattern LOWERCASE_PATTERN = Pattern.compile("[a-z]*");
+
+    }
 
     /**
-     * The regular expression, which is used, when all letters, regardless of their case, should be
-     * allowed.
+     * Holds the case-insensitive regular expression in order to compile it, when it is used for the
+     * first time.
      */
-    private static final Pattern CASE_INSENSITIVE_PATTERN = Pattern.compile("[a-zA-Z]*");
+    private static final class CaseInsensitivePatternHolder {
+
+        /**
+         * The regular expression, which is used, when all letters, regardless of their case,
+         * should be allowed.
+         */
+        private static final Pattern CASE_INSENSITIVE_PATTERN = Pattern.compile("[a-zA-Z]*");
+
+    }
 
     /**
      * The case sensitivity, which is used by the validator.
@@ -67,6 +94,11 @@ public class LetterValidator extends AbstractValidator<CharSequence> {
      */
     private char[] allowedCharacters;
 
+    /**
+     * The input filter, which corresponds to the validator.
+     */
+    private InputFilter inputFilter;
+
     /**
      * Creates a new validator, which allows to validate texts to ensure, that they only contain
      * letters.
@@ -191,7 +223,7 @@ public class LetterValidator extends AbstractValidator<CharSequence> {
     @Override
     public final boolean validate(final CharSequence value) {
         String text = value.toString();
-        Pattern regex = CASE_INSENSITIVE_PATTERN;
+        Pattern regex = CaseInsensitivePatternHolder.CASE_INSENSITIVE_PATTERN;
 
         if (areSpacesAllowed()) {
             text = text.replaceAll("\\s+", "");
@@ -202,13 +234,31 @@ public class LetterValidator extends AbstractValidator<CharSequence> {
         }
 
         if (getCaseSensitivity() == Case.UPPERCASE) {
-            regex = UPPERCASE_PATTERN;
+            regex = UppercasePatternHolder.UPPERCASE_PATTERN;
         } else if (getCaseSensitivity() == Case.LOWERCASE) {
-            regex = LOWERCASE_PATTERN;
+            regex = LowercasePatternHolder.LOWERCASE_PATTERN;
         }
 
         Matcher matcher = regex.matcher(text);
         return matcher.matches();
     }
 
+    @Override
+    public final InputFilter getInputFilter() {
+        if (inputFilter == null) {
+            inputFilter = new CharacterFilter() {
+
+                @Override
+                protected boolean isAccepted(final char character) {
+                    return isLetter(character, getCaseSensitivity()) ||
+                            (areSpacesAllowed() && isWhitespace(character)) ||
+                            contains(getAllowedCharacters(), character);
+                }
+
+            };
+        }
+
+        return inputFilter;
+    }
+
 }
\ No newline at end of file
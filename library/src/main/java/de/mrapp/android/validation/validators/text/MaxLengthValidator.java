@@ -16,7 +16,10 @@ package de.mrapp.android.validation.validators.text;
 import android.content.Context;
 import android.support.annotation.NonNull;
 import android.support.annotation.StringRes;
+import android.text.InputFilter;
+import android.text.Spanned;
 
+import de.mrapp.android.validation.FilteringValidator;
 import de.mrapp.android.validation.validators.AbstractValidator;
 
 import static de.mrapp.android.util.Condition.ensureAtLeast;
@@ -28,13 +31,19 @@ import static de.mrapp.android.util.Condition.ensureAtLeast;
  * @author Michael Rapp
  * @since 1.0.0
  */
-public class MaxLengthValidator extends AbstractValidator<CharSequence> {
+public class MaxLengthValidator extends AbstractValidator<CharSequence>
+        implements FilteringValidator {
 
     /**
      * The maximum length a text may have.
      */
     private int maxLength;
 
+    /**
+     * The input filter, which truncates texts, which are longer than the maximum length.
+     */
+    private InputFilter inputFilter;
+
     /**
      * Creates a new validator, which allows to validate texts to ensure, that they are not longer
      * than a specific length.
@@ -98,4 +107,45 @@ public class MaxLengthValidator extends AbstractValidator<CharSequence> {
         return value.length() <= getMaxLength();
     }
 
+    /**
+     * Returns the input filter, which truncates texts, which are longer than the maximum length.
+     * In contrast to an {@link InputFilter.LengthFilter}, the filter reflects changes of the
+     * maximum length.
+     */
+    @Override
+    public final InputFilter getInputFilter() {
+        if (inputFilter == null) {
+            inputFilter = new InputFilter() {
+
+                @Override
+                public CharSequence filter(final CharSequence source, final int start,
+                                           final int end, final Spanned dest, final int dstart,
+                                           final int dend) {
+                    int keep = getMaxLength() - (dest.length() - (dend - dstart));
+
+                    if (keep <= 0) {
+                        return "";
+                    } else if (keep >= end - start) {
+                        return null;
+                    }
+
+                    keep += start;
+
+                    if (Character.isHighSurrogate(source.charAt(keep - 1))) {
+                        keep--;
+
+                        if (keep == start) {
+                            return "";
+                        }
+                    }
+
+                    return source.subSequence(start, keep);
+                }
+
+            };
+        }
+
+        return inputFilter;
+    }
+
 }
\ No newline at end of file
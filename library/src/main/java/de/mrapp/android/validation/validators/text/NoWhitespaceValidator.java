@@ -16,7 +16,9 @@ package de.mrapp.android.validation.validators.text;
 import android.content.Context;
 import android.support.annotation.NonNull;
 import android.support.annotation.StringRes;
+import android.text.InputFilter;
 
+import de.mrapp.android.validation.FilteringValidator;
 import de.mrapp.android.validation.validators.AbstractValidator;
 
 /**
@@ -26,7 +28,20 @@ import de.mrapp.android.validation.validators.AbstractValidator;
  * @author Michael Rapp
  * @since 1.0.0
  */
-public class NoWhitespaceValidator extends AbstractValidator<CharSequence> {
+public class NoWhitespaceValidator extends AbstractValidator<CharSequence>
+        implements FilteringValidator {
+
+    /**
+     * The input filter, which rejects spaces.
+     */
+    private static final InputFilter INPUT_FILTER = new CharacterFilter() {
+
+        @Override
+        protected boolean isAccepted(final char character) {
+            return character != ' ';
+        }
+
+    };
 
     /**
      * Creates a new validator, which allows to validate texts to ensure, that they contain no
@@ -61,4 +76,9 @@ public class NoWhitespaceValidator extends AbstractValidator<CharSequence> {
         return !value.toString().contains(" ");
     }
 
+    @Override
+    public final InputFilter getInputFilter() {
+        return INPUT_FILTER;
+    }
+
 }
\ No newline at end of file
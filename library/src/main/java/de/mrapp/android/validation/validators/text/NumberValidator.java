@@ -16,9 +16,13 @@ package de.mrapp.android.validation.validators.text;
 import android.content.Context;
 import android.support.annotation.NonNull;
 import android.support.annotation.StringRes;
+import android.text.InputFilter;
 
 import java.util.regex.Pattern;
 
+import de.mrapp.android.validation.FilteringValidator;
+import de.mrapp.android.validation.ValueSupplier;
+
 /**
  * A validator, which allows to validate texts to ensure, that they only contain numbers. Empty
  * texts are also accepted.
@@ -26,12 +30,45 @@ import java.util.regex.Pattern;
  * @author Michael Rapp
  * @since 1.0.0
  */
-public class NumberValidator extends RegexValidator {
+public class NumberValidator extends RegexValidator implements FilteringValidator {
+
+    /**
+     * Holds the regular expression, which is used by the validator, in order to compile it,
+     * when it is used for the first time.
+     */
+    private static final class RegexHolder {
+
+        /**
+         * The regular expression, which is used by the validator.
+         */
+        private static final Pattern REGEX = Pattern.compile("[0-9]*");
+
+    }
+
+    /**
+     * The supplier, which provides the regular expression, which is used by the validator. The
+     * regular expression is compiled, when it is obtained for the first time.
+     */
+    private static final ValueSupplier<Pattern> REGEX_SUPPLIER = new ValueSupplier<Pattern>() {
+
+        @Override
+        public Pattern getValue() {
+            return RegexHolder.REGEX;
+        }
+
+    };
 
     /**
-     * The regular expression, which is used by the validator.
+     * The input filter, which only accepts numbers.
      */
-    private static final Pattern REGEX = Pattern.compile("[0-9]*");
+    private static final InputFilter INPUT_FILTER = new CharacterFilter() {
+
+        @Override
+        protected boolean isAccepted(final char character) {
+            return character >= '0' && character <= '9';
+        }
+
+    };
 
     /**
      * Creates a new validator, which allows to validate texts to ensure, that they only contain
@@ -42,7 +79,8 @@ public class NumberValidator extends RegexValidator {
      *         the type {@link CharSequence}. The error message may not be null
      */
     public NumberValidator(@NonNull final CharSequence errorMessage) {
-        super(errorMessage, REGEX);
+        super(errorMessage);
+        setRegexSupplier(REGEX_SUPPLIER);
     }
 
     /**
@@ -58,7 +96,17 @@ public class NumberValidator extends RegexValidator {
      *         valid string resource
      */
     public NumberValidator(@NonNull final Context context, @StringRes final int resourceId) {
-        super(context, resourceId, REGEX);
+        super(context, resourceId);
+        setRegexSupplier(REGEX_SUPPLIER);
+    }
+
+    /**
+     * Returns the input filter, which only accepts numbers. If the regular expression of the
+     * validator has been changed, no input filter is returned.
+     */
+    @Override
+    public final InputFilter getInputFilter() {
+        return getRegexSupplier() == REGEX_SUPPLIER ? INPUT_FILTER : null;
     }
 
 }
\ No newline at end of file